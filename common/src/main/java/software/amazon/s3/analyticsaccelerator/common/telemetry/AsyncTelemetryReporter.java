@@ -0,0 +1,233 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.common.telemetry;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.s3.analyticsaccelerator.common.Preconditions;
+
+/**
+ * A {@link TelemetryReporter} that takes reporting off the measuring threads. Events are recorded
+ * into a bounded ring buffer of preallocated slots, and a background thread drains them into the
+ * underlying reporter, where they are formatted and logged. When the buffer is full, events are
+ * dropped rather than blocking the measuring thread, and counted in {@link #getDroppedEvents()}.
+ *
+ * <p>{@link #flush()} only asks the background thread to flush the underlying reporter, without
+ * waiting for it. {@link #close()} drains the buffer and closes the underlying reporter.
+ *
+ * <p>This class is thread safe.
+ */
+final class AsyncTelemetryReporter implements TelemetryReporter {
+  /** Reporter the events are drained into */
+  @Getter(AccessLevel.PACKAGE)
+  private final TelemetryReporter reporter;
+
+  private final Event[] events;
+  // Sequence of the event held by each slot, which tells the drainer that the slot is ready
+  private final AtomicLongArray publishedSequences;
+  private final int mask;
+  // Next sequence to be claimed by a measuring thread
+  private final AtomicLong tail = new AtomicLong();
+  // Next sequence to be drained, only written by the thread draining
+  private volatile long head;
+
+  private final LongAdder droppedEvents = new LongAdder();
+  private final AtomicBoolean flushRequested = new AtomicBoolean();
+  private final AtomicBoolean closed = new AtomicBoolean();
+  private final Thread drainer;
+
+  private static final long DRAIN_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+  private static final Logger LOG = LoggerFactory.getLogger(AsyncTelemetryReporter.class);
+
+  /**
+   * Creates a new instance of {@link AsyncTelemetryReporter} and starts its background thread.
+   *
+   * @param reporter the reporter to drain events into
+   * @param capacity the number of events the buffer holds, rounded up to a power of two
+   */
+  AsyncTelemetryReporter(@NonNull TelemetryReporter reporter, int capacity) {
+    Preconditions.checkArgument(capacity > 0, "`capacity` must be positive");
+    Preconditions.checkArgument(capacity <= 1 << 30, "`capacity` must be at most 2^30");
+
+    this.reporter = reporter;
+    int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+    this.events = new Event[size];
+    this.publishedSequences = new AtomicLongArray(size);
+    for (int i = 0; i < size; i++) {
+      this.events[i] = new Event();
+      this.publishedSequences.set(i, -1);
+    }
+    this.mask = size - 1;
+
+    this.drainer = new Thread(this::drainContinuously, "analytics-accelerator-telemetry");
+    this.drainer.setDaemon(true);
+    this.drainer.start();
+  }
+
+  /**
+   * Records the start of an operation into the buffer
+   *
+   * @param epochTimestampNanos wall clock time for the operation start
+   * @param operation and instance of {@link Operation} to start
+   */
+  @Override
+  public void reportStart(long epochTimestampNanos, Operation operation) {
+    publish(epochTimestampNanos, operation, null);
+  }
+
+  /**
+   * Records the completion of an operation into the buffer
+   *
+   * @param datapointMeasurement an instance of {@link TelemetryDatapointMeasurement}.
+   */
+  @Override
+  public void reportComplete(TelemetryDatapointMeasurement datapointMeasurement) {
+    publish(0, null, datapointMeasurement);
+  }
+
+  /** Asks the background thread to flush the underlying reporter, without waiting for it */
+  @Override
+  public void flush() {
+    flushRequested.set(true);
+    LockSupport.unpark(drainer);
+  }
+
+  /** Stops the background thread, drains the buffer and closes the underlying reporter */
+  @Override
+  public void close() {
+    if (!closed.compareAndSet(false, true)) {
+      return;
+    }
+
+    LockSupport.unpark(drainer);
+    try {
+      drainer.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+
+    // The background thread is gone, so this thread is now the only one draining
+    drain();
+    long dropped = getDroppedEvents();
+    if (dropped > 0) {
+      LOG.warn("{} telemetry events were dropped because the buffer was full", dropped);
+    }
+    reporter.close();
+  }
+
+  /**
+   * Returns the number of events dropped because the buffer was full
+   *
+   * @return the number of dropped events
+   */
+  long getDroppedEvents() {
+    return droppedEvents.sum();
+  }
+
+  /**
+   * Claims a slot of the buffer and fills it with the event, unless the buffer is full.
+   *
+   * @param epochTimestampNanos wall clock time for the operation start
+   * @param operation the started operation, if this is a start event
+   * @param datapointMeasurement the measurement, if this is a completion event
+   */
+  private void publish(
+      long epochTimestampNanos,
+      Operation operation,
+      TelemetryDatapointMeasurement datapointMeasurement) {
+    long sequence;
+    do {
+      sequence = tail.get();
+      if (sequence - head >= events.length) {
+        droppedEvents.increment();
+        return;
+      }
+    } while (!tail.compareAndSet(sequence, sequence + 1));
+
+    int index = (int) sequence & mask;
+    Event event = events[index];
+    event.epochTimestampNanos = epochTimestampNanos;
+    event.operation = operation;
+    event.datapointMeasurement = datapointMeasurement;
+    publishedSequences.lazySet(index, sequence);
+  }
+
+  /** Drains the buffer until the reporter is closed, flushing whenever asked to */
+  private void drainContinuously() {
+    while (!closed.get()) {
+      int drained = drain();
+      if (flushRequested.getAndSet(false)) {
+        try {
+          reporter.flush();
+        } catch (Exception e) {
+          LOG.error("Unexpected error flushing telemetry", e);
+        }
+      }
+      if (drained == 0) {
+        LockSupport.parkNanos(this, DRAIN_INTERVAL_NANOS);
+      }
+    }
+  }
+
+  /**
+   * Hands all the events published so far to the underlying reporter, in order
+   *
+   * @return the number of events drained
+   */
+  private int drain() {
+    int drained = 0;
+    long sequence = head;
+    while (true) {
+      int index = (int) sequence & mask;
+      if (publishedSequences.get(index) != sequence) {
+        return drained;
+      }
+
+      Event event = events[index];
+      try {
+        if (event.operation != null) {
+          reporter.reportStart(event.epochTimestampNanos, event.operation);
+        } else {
+          reporter.reportComplete(event.datapointMeasurement);
+        }
+      } catch (Exception e) {
+        LOG.error("Unexpected error reporting telemetry", e);
+      }
+      event.operation = null;
+      event.datapointMeasurement = null;
+
+      sequence++;
+      head = sequence;
+      drained++;
+    }
+  }
+
+  /** A preallocated slot of the buffer, holding either an operation start or a completion */
+  private static final class Event {
+    private long epochTimestampNanos;
+    private Operation operation;
+    private TelemetryDatapointMeasurement datapointMeasurement;
+  }
+}
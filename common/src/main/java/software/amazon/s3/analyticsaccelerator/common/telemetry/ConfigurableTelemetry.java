@@ -50,16 +50,33 @@ public class ConfigurableTelemetry extends DefaultTelemetry {
         DefaultElapsedClock.DEFAULT,
         telemetryReporter,
         createTelemetryAggregator(configuration, telemetryReporter),
-        TelemetryLevel.valueOf(configuration.getLevel().toUpperCase(Locale.ROOT)));
+        TelemetryLevel.valueOf(configuration.getLevel().toUpperCase(Locale.ROOT)),
+        TelemetrySampler.fromRules(configuration.getSamplingRules(), DefaultElapsedClock.DEFAULT));
   }
 
   /**
-   * Creates the telemetry reporter based on the configuration
+   * Creates the telemetry reporter based on the configuration, reporting from a background thread
+   * if configured
    *
    * @param configuration {@link ConfigurableTelemetry} configuration.
-   * @return a new instance of {@link ConfigurableTelemetry}.
+   * @return a new instance of {@link TelemetryReporter}.
    */
   private static TelemetryReporter createTelemetryReporter(TelemetryConfiguration configuration) {
+    TelemetryReporter telemetryReporter = createOutputTelemetryReporter(configuration);
+    if (configuration.isAsyncEnabled()) {
+      return new AsyncTelemetryReporter(telemetryReporter, configuration.getAsyncBufferSize());
+    }
+    return telemetryReporter;
+  }
+
+  /**
+   * Creates the reporters writing telemetry out, based on the configuration
+   *
+   * @param configuration {@link ConfigurableTelemetry} configuration.
+   * @return a new instance of {@link TelemetryReporter}.
+   */
+  private static TelemetryReporter createOutputTelemetryReporter(
+      TelemetryConfiguration configuration) {
     Optional<LoggingTelemetryReporter> loggingReporter = Optional.empty();
     Optional<PrintStreamTelemetryReporter> stdOutTelemetryReporter = Optional.empty();
     // Create logging reporter
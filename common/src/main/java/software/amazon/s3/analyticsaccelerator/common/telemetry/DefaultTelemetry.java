@@ -41,9 +41,30 @@ public class DefaultTelemetry implements Telemetry {
   private final Optional<TelemetryDatapointAggregator> aggregator;
   /** Telemetry level */
   @NonNull @Getter private final TelemetryLevel level;
+  /** Sampler deciding which executions of operations are measured */
+  @NonNull @Getter(AccessLevel.PACKAGE)
+  private final TelemetrySampler sampler;
 
   private static final Logger LOG = LoggerFactory.getLogger(DefaultTelemetry.class);
 
+  /**
+   * Creates a new instance of {@link DefaultTelemetry} measuring every execution of operations.
+   *
+   * @param epochClock clock used to measure the wall time for {@link Operation} start
+   * @param elapsedClock clock used to measure the duration for {@link Operation}
+   * @param reporter telemetry reporter
+   * @param aggregator telemetry aggregator
+   * @param level telemetry level
+   */
+  DefaultTelemetry(
+      @NonNull Clock epochClock,
+      @NonNull Clock elapsedClock,
+      @NonNull TelemetryReporter reporter,
+      @NonNull Optional<TelemetryDatapointAggregator> aggregator,
+      @NonNull TelemetryLevel level) {
+    this(epochClock, elapsedClock, reporter, aggregator, level, TelemetrySampler.NONE);
+  }
+
   /** Flushes the underlying reporter */
   @Override
   public void flush() {
@@ -70,8 +91,9 @@ public class DefaultTelemetry implements Telemetry {
       @NonNull TelemetryLevel level,
       @NonNull OperationSupplier operationSupplier,
       @NonNull TelemetryAction operationCode) {
-    if (produceTelemetryFor(level)) {
-      measureImpl(level, operationSupplier.apply(), operationCode);
+    long sampleWeight = sample(level, operationSupplier);
+    if (sampleWeight != TelemetrySampler.NOT_SAMPLED) {
+      measureImpl(level, createOperation(operationSupplier), sampleWeight, operationCode);
     } else {
       operationCode.apply();
     }
@@ -91,8 +113,9 @@ public class DefaultTelemetry implements Telemetry {
       @NonNull TelemetryLevel level,
       @NonNull OperationSupplier operationSupplier,
       @NonNull TelemetrySupplier<T> operationCode) {
-    if (produceTelemetryFor(level)) {
-      return measureImpl(level, operationSupplier.apply(), operationCode);
+    long sampleWeight = sample(level, operationSupplier);
+    if (sampleWeight != TelemetrySampler.NOT_SAMPLED) {
+      return measureImpl(level, createOperation(operationSupplier), sampleWeight, operationCode);
     } else {
       return operationCode.apply();
     }
@@ -116,38 +139,76 @@ public class DefaultTelemetry implements Telemetry {
       @NonNull TelemetryLevel level,
       @NonNull OperationSupplier operationSupplier,
       @NonNull CompletableFuture<T> operationCode) {
-    if (produceTelemetryFor(level)) {
-      return measureImpl(level, operationSupplier.apply(), operationCode);
+    long sampleWeight = sample(level, operationSupplier);
+    if (sampleWeight != TelemetrySampler.NOT_SAMPLED) {
+      return measureImpl(level, createOperation(operationSupplier), sampleWeight, operationCode);
     } else {
       return operationCode;
     }
   }
 
+  /**
+   * Measures the execution of the {@link CompletableFuture} returned by the given code, and records
+   * the telemetry as {@link Operation}. The operation is pushed on the stack while the code runs,
+   * so the tasks it wraps with {@link OperationContext#wrapSupplier} or {@link
+   * OperationContext#wrapFunction} run as its children.
+   *
+   * @param <T> - return type of the {@link CompletableFuture<T>}.
+   * @param level telemetry level.
+   * @param operationSupplier operation to record this execution as.
+   * @param operationCode code building the future to measure the execution of.
+   * @return the future returned by the code.
+   */
+  @SneakyThrows
+  public <T> CompletableFuture<T> measureAsync(
+      @NonNull TelemetryLevel level,
+      @NonNull OperationSupplier operationSupplier,
+      @NonNull TelemetrySupplier<CompletableFuture<T>> operationCode) {
+    long sampleWeight = sample(level, operationSupplier);
+    if (sampleWeight != TelemetrySampler.NOT_SAMPLED) {
+      return measureAsyncImpl(
+          level, createOperation(operationSupplier), sampleWeight, operationCode);
+    } else {
+      return operationCode.apply();
+    }
+  }
+
   @SneakyThrows
   public <T> T measureConditionally(
       @NonNull TelemetryLevel level,
       @NonNull OperationSupplier operationSupplier,
       @NonNull TelemetrySupplier<T> operationCode,
       @NonNull Predicate<T> shouldMeasure) {
-    if (produceTelemetryFor(level)) {
+    long sampleWeight = sample(level, operationSupplier);
+    if (sampleWeight != TelemetrySampler.NOT_SAMPLED) {
       return measureConditionallyImpl(
-          level, operationSupplier.apply(), operationCode, shouldMeasure);
+          level, createOperation(operationSupplier), sampleWeight, operationCode, shouldMeasure);
     } else {
       return operationCode.apply();
     }
   }
 
+  @Override
+  public boolean isEnabled(@NonNull TelemetryLevel level) {
+    return produceTelemetryFor(level);
+  }
+
   /**
    * Executes a given {@link Runnable} and record the telemetry as {@link Operation}.
    *
    * @param level level of the operation to record this execution as.
    * @param operation operation to record this execution as.
+   * @param sampleWeight number of executions this execution stands for.
    * @param operationCode code to execute.
    */
   @SneakyThrows
   private void measureImpl(
-      TelemetryLevel level, @NonNull Operation operation, TelemetryAction operationCode) {
-    OperationMeasurement.OperationMeasurementBuilder builder = startMeasurement(level, operation);
+      TelemetryLevel level,
+      @NonNull Operation operation,
+      long sampleWeight,
+      TelemetryAction operationCode) {
+    OperationMeasurement.OperationMeasurementBuilder builder =
+        startMeasurement(level, operation, sampleWeight);
     try {
       operation.getContext().pushOperation(operation);
       operationCode.apply();
@@ -165,14 +226,19 @@ public class DefaultTelemetry implements Telemetry {
    *
    * @param level level of the operation to record this execution as.
    * @param operation operation to record this execution as.
+   * @param sampleWeight number of executions this execution stands for.
    * @param operationCode code to execute.
    * @param <T> return type of the {@link Supplier<T>}.
    * @return the value that {@link Supplier<T>} returns.
    */
   @SneakyThrows
   private <T> T measureImpl(
-      TelemetryLevel level, @NonNull Operation operation, TelemetrySupplier<T> operationCode) {
-    OperationMeasurement.OperationMeasurementBuilder builder = startMeasurement(level, operation);
+      TelemetryLevel level,
+      @NonNull Operation operation,
+      long sampleWeight,
+      TelemetrySupplier<T> operationCode) {
+    OperationMeasurement.OperationMeasurementBuilder builder =
+        startMeasurement(level, operation, sampleWeight);
     try {
       operation.getContext().pushOperation(operation);
       T result = operationCode.apply();
@@ -193,6 +259,7 @@ public class DefaultTelemetry implements Telemetry {
    * @param <T> the return type of the enclosed computation
    * @param level level of the operation to record this execution as.
    * @param operation operation to record this execution as.
+   * @param sampleWeight number of executions this execution stands for.
    * @param operationCode code to execute.
    * @param shouldMeasure predicate to test with and decide whether the operation should be
    *     recorded.
@@ -202,9 +269,11 @@ public class DefaultTelemetry implements Telemetry {
   private <T> T measureConditionallyImpl(
       TelemetryLevel level,
       Operation operation,
+      long sampleWeight,
       TelemetrySupplier<T> operationCode,
       Predicate<T> shouldMeasure) {
-    OperationMeasurement.OperationMeasurementBuilder builder = startMeasurement(level, operation);
+    OperationMeasurement.OperationMeasurementBuilder builder =
+        startMeasurement(level, operation, sampleWeight);
     try {
       operation.getContext().pushOperation(operation);
       T result = operationCode.apply();
@@ -225,12 +294,12 @@ public class DefaultTelemetry implements Telemetry {
 
   /**
    * Measures the execution of the given {@link CompletableFuture} and records the telemetry as
-   * {@link Operation}. We do not currently carry the operation into the context of any
-   * continuations, so any {@link Operation}s that are created in that context need to carry the
-   * parenting chain.
+   * {@link Operation}. The future is already built, so the operation is never pushed on the stack
+   * and cannot parent the work of the future; use {@link #measureAsync} for that.
    *
    * @param level level of the operation to record this execution as.
    * @param operation operation to record this execution as.
+   * @param sampleWeight number of executions this execution stands for.
    * @param operationCode the future to measure the execution of.
    * @param <T> - return type of the {@link CompletableFuture<T>}.
    * @return an instance of {@link CompletableFuture} that returns the same result as the one passed
@@ -238,13 +307,51 @@ public class DefaultTelemetry implements Telemetry {
    */
   @SneakyThrows
   private <T> CompletableFuture<T> measureImpl(
-      TelemetryLevel level, Operation operation, CompletableFuture<T> operationCode) {
-    OperationMeasurement.OperationMeasurementBuilder builder = startMeasurement(level, operation);
+      TelemetryLevel level,
+      Operation operation,
+      long sampleWeight,
+      CompletableFuture<T> operationCode) {
+    OperationMeasurement.OperationMeasurementBuilder builder =
+        startMeasurement(level, operation, sampleWeight);
     operationCode.whenComplete(
         (result, error) -> completeMeasurement(builder, Optional.ofNullable(error)));
     return operationCode;
   }
 
+  /**
+   * Measures the execution of the {@link CompletableFuture} returned by the given code, and records
+   * the telemetry as {@link Operation}. The operation is on the stack while the code runs, and
+   * completes with the future.
+   *
+   * @param level level of the operation to record this execution as.
+   * @param operation operation to record this execution as.
+   * @param sampleWeight number of executions this execution stands for.
+   * @param operationCode code building the future to measure the execution of.
+   * @param <T> - return type of the {@link CompletableFuture<T>}.
+   * @return the future returned by the code.
+   */
+  @SneakyThrows
+  private <T> CompletableFuture<T> measureAsyncImpl(
+      TelemetryLevel level,
+      Operation operation,
+      long sampleWeight,
+      TelemetrySupplier<CompletableFuture<T>> operationCode) {
+    OperationMeasurement.OperationMeasurementBuilder builder =
+        startMeasurement(level, operation, sampleWeight);
+    CompletableFuture<T> result;
+    try {
+      operation.getContext().pushOperation(operation);
+      result = operationCode.apply();
+    } catch (Throwable error) {
+      completeMeasurement(builder, Optional.of(error));
+      throw error;
+    } finally {
+      operation.getContext().popOperation(operation);
+    }
+    result.whenComplete((value, error) -> completeMeasurement(builder, Optional.ofNullable(error)));
+    return result;
+  }
+
   /**
    * Records a measurement represented by a metric
    *
@@ -268,10 +375,11 @@ public class DefaultTelemetry implements Telemetry {
    *
    * @param level level of the operation being executed.
    * @param operation operation being executed.
+   * @param sampleWeight number of executions this execution stands for.
    * @return {@link OperationMeasurement.OperationMeasurementBuilder} with all the necessary state.
    */
   private OperationMeasurement.OperationMeasurementBuilder startMeasurement(
-      TelemetryLevel level, Operation operation) {
+      TelemetryLevel level, Operation operation, long sampleWeight) {
     // Create the builder
     OperationMeasurement.OperationMeasurementBuilder builder = OperationMeasurement.builder();
 
@@ -279,6 +387,7 @@ public class DefaultTelemetry implements Telemetry {
     long epochTimestampNanos = epochClock.getCurrentTimeNanos();
     builder.operation(operation);
     builder.level(level);
+    builder.sampleWeight(sampleWeight);
     builder.epochTimestampNanos(epochTimestampNanos);
     builder.elapsedStartTimeNanos(elapsedClock.getCurrentTimeNanos());
 
@@ -361,6 +470,35 @@ public class DefaultTelemetry implements Telemetry {
     }
   }
 
+  /**
+   * Creates the operation of an execution that is measured
+   *
+   * @param operationSupplier the supplier of the operation
+   * @return the operation
+   */
+  @SneakyThrows
+  private Operation createOperation(OperationSupplier operationSupplier) {
+    Operation operation = operationSupplier.apply();
+    sampler.verify(operationSupplier, operation);
+    return operation;
+  }
+
+  /**
+   * Decides whether this execution of the operation is measured, without creating the operation
+   * when it is not
+   *
+   * @param level {@link TelemetryLevel}
+   * @param operationSupplier the supplier of the operation
+   * @return the weight of the execution if it is measured, {@link TelemetrySampler#NOT_SAMPLED}
+   *     otherwise
+   */
+  private long sample(TelemetryLevel level, OperationSupplier operationSupplier) {
+    if (!produceTelemetryFor(level)) {
+      return TelemetrySampler.NOT_SAMPLED;
+    }
+    return sampler.sample(operationSupplier);
+  }
+
   /**
    * Determines whether telemetry should be produced for this operation
    *
@@ -0,0 +1,231 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.common.telemetry;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import software.amazon.s3.analyticsaccelerator.common.Preconditions;
+
+/**
+ * A lock-free histogram with log-linear buckets, used to estimate the percentiles of the values
+ * reported for a datapoint. Every power of two is split into {@link #SUB_BUCKETS} linear buckets,
+ * so that a value is reported with a relative error of at most 1/{@link #SUB_BUCKETS}, whatever its
+ * magnitude. Values below {@link #MIN_TRACKED_VALUE}, including zero and negative values, are
+ * counted in a single bucket, as are values at or above {@link #MAX_TRACKED_VALUE}.
+ *
+ * <p>The bucket of a value is derived from the bits of its double representation, whose exponent
+ * and top bits of mantissa are exactly the power of two and the linear bucket within it. To keep
+ * writers from contending with each other, the counts are striped by thread and only added up when
+ * percentiles are requested. Histograms are mergeable, so that the histograms of several sources
+ * can be combined into one.
+ *
+ * <p>This class is thread safe.
+ */
+final class Histogram {
+  private static final int SUB_BUCKET_BITS = 3;
+  static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  static final double MIN_TRACKED_VALUE = 0x1.0p-10;
+  static final double MAX_TRACKED_VALUE = 0x1.0p54;
+
+  // Shift that keeps the exponent and the top SUB_BUCKET_BITS bits of mantissa of a double
+  private static final int KEY_SHIFT = 52 - SUB_BUCKET_BITS;
+  private static final long FIRST_KEY = Double.doubleToRawLongBits(MIN_TRACKED_VALUE) >>> KEY_SHIFT;
+  private static final long LAST_KEY = Double.doubleToRawLongBits(MAX_TRACKED_VALUE) >>> KEY_SHIFT;
+  // One bucket per key, plus one for the values below and one for the values above the range
+  static final int BUCKET_COUNT = (int) (LAST_KEY - FIRST_KEY) + 2;
+
+  private static final int MAX_STRIPES = 8;
+
+  private final AtomicLongArray[] stripes;
+
+  /** Creates a new empty {@link Histogram}, striped according to the number of processors */
+  Histogram() {
+    this(Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Creates a new empty {@link Histogram}
+   *
+   * @param parallelism expected number of concurrent writers
+   */
+  Histogram(int parallelism) {
+    Preconditions.checkArgument(parallelism > 0, "`parallelism` must be positive");
+
+    // A power of two, so that the stripe of a thread is a mask of its id
+    int stripeCount = Integer.highestOneBit(Math.min(parallelism, MAX_STRIPES));
+    this.stripes = new AtomicLongArray[stripeCount];
+    for (int i = 0; i < stripeCount; i++) {
+      this.stripes[i] = new AtomicLongArray(BUCKET_COUNT);
+    }
+  }
+
+  /**
+   * Records a value
+   *
+   * @param value the value to record
+   */
+  void record(double value) {
+    record(value, 1);
+  }
+
+  /**
+   * Records a value several times
+   *
+   * @param value the value to record
+   * @param count the number of times to record the value
+   */
+  void record(double value, long count) {
+    AtomicLongArray stripe = stripes[(int) Thread.currentThread().getId() & (stripes.length - 1)];
+    stripe.addAndGet(bucketIndex(value), count);
+  }
+
+  /**
+   * Adds all the values recorded by another histogram to this one
+   *
+   * @param other the histogram to merge into this one
+   */
+  void merge(Histogram other) {
+    Preconditions.checkArgument(other != this, "a histogram cannot be merged into itself");
+
+    long[] counts = other.snapshot();
+    for (int i = 0; i < counts.length; i++) {
+      if (counts[i] != 0) {
+        stripes[0].addAndGet(i, counts[i]);
+      }
+    }
+  }
+
+  /**
+   * Returns the number of recorded values
+   *
+   * @return the number of recorded values
+   */
+  long getCount() {
+    long count = 0;
+    for (long bucketCount : snapshot()) {
+      count += bucketCount;
+    }
+    return count;
+  }
+
+  /**
+   * Estimates the value below which the given percentage of the recorded values fall. Values
+   * recorded concurrently may or may not be taken into account.
+   *
+   * @param percentile the percentile, between 0 and 100
+   * @return the estimated value, or 0 if no value was recorded
+   */
+  double getValueAtPercentile(double percentile) {
+    return getValuesAtPercentiles(percentile)[0];
+  }
+
+  /**
+   * Estimates the values below which the given percentages of the recorded values fall. The
+   * stripes are added up once for all the percentiles, which are thus consistent with each other.
+   * Values recorded concurrently may or may not be taken into account.
+   *
+   * @param percentiles the percentiles, each between 0 and 100
+   * @return the estimated values, in the order of the percentiles, or 0 if no value was recorded
+   */
+  double[] getValuesAtPercentiles(double... percentiles) {
+    for (double percentile : percentiles) {
+      Preconditions.checkArgument(
+          0 <= percentile && percentile <= 100, "`percentile` must be between 0 and 100");
+    }
+
+    long[] counts = snapshot();
+    long total = 0;
+    for (long count : counts) {
+      total += count;
+    }
+
+    double[] values = new double[percentiles.length];
+    if (total == 0) {
+      return values;
+    }
+    for (int p = 0; p < percentiles.length; p++) {
+      values[p] = valueAtRank(counts, Math.max(1, (long) Math.ceil(percentiles[p] / 100 * total)));
+    }
+    return values;
+  }
+
+  /**
+   * Returns the value of the bucket holding the recorded value of the given rank
+   *
+   * @param counts the count of each bucket
+   * @param rank the rank of the value, starting at 1
+   * @return the value representing the bucket
+   */
+  private static double valueAtRank(long[] counts, long rank) {
+    long seen = 0;
+    for (int i = 0; i < counts.length; i++) {
+      seen += counts[i];
+      if (seen >= rank) {
+        return bucketValue(i);
+      }
+    }
+    return bucketValue(counts.length - 1);
+  }
+
+  /**
+   * Adds up the counts of all the stripes
+   *
+   * @return the count of each bucket
+   */
+  private long[] snapshot() {
+    long[] counts = new long[BUCKET_COUNT];
+    for (AtomicLongArray stripe : stripes) {
+      for (int i = 0; i < BUCKET_COUNT; i++) {
+        counts[i] += stripe.get(i);
+      }
+    }
+    return counts;
+  }
+
+  /**
+   * Returns the index of the bucket a value falls into
+   *
+   * @param value the value
+   * @return the index of the bucket
+   */
+  static int bucketIndex(double value) {
+    // Also catches NaN, which fails every comparison
+    if (!(value >= MIN_TRACKED_VALUE)) {
+      return 0;
+    }
+    if (value >= MAX_TRACKED_VALUE) {
+      return BUCKET_COUNT - 1;
+    }
+    return (int) ((Double.doubleToRawLongBits(value) >>> KEY_SHIFT) - FIRST_KEY) + 1;
+  }
+
+  /**
+   * Returns the value reported for a bucket, which is the middle of the range it covers
+   *
+   * @param index the index of the bucket
+   * @return the value representing the bucket
+   */
+  static double bucketValue(int index) {
+    if (index == 0) {
+      return 0;
+    }
+    if (index == BUCKET_COUNT - 1) {
+      return MAX_TRACKED_VALUE;
+    }
+    double lower = Double.longBitsToDouble((FIRST_KEY + index - 1) << KEY_SHIFT);
+    double upper = Double.longBitsToDouble((FIRST_KEY + index) << KEY_SHIFT);
+    return (lower + upper) / 2;
+  }
+}
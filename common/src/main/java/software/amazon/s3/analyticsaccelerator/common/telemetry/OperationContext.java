@@ -15,13 +15,22 @@
  */
 package software.amazon.s3.analyticsaccelerator.common.telemetry;
 
-import java.util.EmptyStackException;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Optional;
-import java.util.Stack;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import lombok.NonNull;
 
-/** Context for carried telemetry contexts */
+/**
+ * Context for carried telemetry contexts. Operations in progress are tracked per thread, so work
+ * that hops threads, for example through a {@link java.util.concurrent.CompletableFuture}, needs to
+ * carry the operation it was started from to be parented correctly. {@link
+ * #wrapSupplier(Supplier)} and {@link #wrapFunction(Function)} capture the current operation and
+ * restore it around the work. Code running the work itself can capture the operation with {@link
+ * #getCurrentOperation()}, and restore it with {@link #pushOperation(Operation)} and {@link
+ * #popOperation(Operation)}.
+ */
 public final class OperationContext {
   // Important: we intentionally do not try to infer the parent in this case, as the default
   // operation can never have one.
@@ -45,13 +54,8 @@ public final class OperationContext {
    * specifically set, the stack is consulted, and the latest operation on the stack is used as a
    * parent. This allows for implicit parenting of operations.
    */
-  private final ThreadLocal<Stack<Operation>> operationsStack =
-      ThreadLocal.withInitial(
-          () -> {
-            Stack<Operation> stack = new Stack<>();
-            stack.push(this.defaultOperation);
-            return stack;
-          });
+  private final ThreadLocal<OperationStack> operationsStack =
+      ThreadLocal.withInitial(() -> new OperationStack(this.defaultOperation));
 
   /** Creates a new instance of {@link OperationContext}. */
   public OperationContext() {}
@@ -70,12 +74,7 @@ public final class OperationContext {
    * @return top operation on the stack.
    */
   public Operation getCurrentOperation() {
-    Stack<Operation> operationsStack = this.operationsStack.get();
-    try {
-      return operationsStack.peek();
-    } catch (EmptyStackException exception) {
-      throw new IllegalStateException("The operation stack must not be empty", exception);
-    }
+    return this.operationsStack.get().peek();
   }
 
   /**
@@ -109,19 +108,95 @@ public final class OperationContext {
   public void popOperation(@NonNull Operation operation) {
     // There is some logic here that is the same as is `getCurrentOperation`.
     // We inline it here so that we ony get the stack from the TLC onc, to reduce overhead.
-    Stack<Operation> operationsStack = this.operationsStack.get();
-    try {
-      Operation currentOperation = operationsStack.peek();
-      if (currentOperation != operation) {
-        throw new IllegalStateException(
-            String.format(
-                "The operation `%s` being popped is not equal to the current operation `%s`",
-                operation, currentOperation));
+    OperationStack operationsStack = this.operationsStack.get();
+    Operation currentOperation = operationsStack.peek();
+    if (currentOperation != operation) {
+      throw new IllegalStateException(
+          String.format(
+              "The operation `%s` being popped is not equal to the current operation `%s`",
+              operation, currentOperation));
+    }
+    operationsStack.pop();
+  }
+
+  /**
+   * Wraps a {@link Supplier} to be run on another thread, so that it runs with the operation that
+   * is current when this method is called.
+   *
+   * @param supplier the supplier to wrap
+   * @param <T> the type of the supplied value
+   * @return a supplier running the wrapped one with the current operation restored
+   */
+  public <T> Supplier<T> wrapSupplier(@NonNull Supplier<T> supplier) {
+    Operation operation = getCurrentOperation();
+    return () -> {
+      pushOperation(operation);
+      try {
+        return supplier.get();
+      } finally {
+        popOperation(operation);
       }
+    };
+  }
 
-    } catch (EmptyStackException exception) {
-      throw new IllegalStateException("The operation stack must not be empty", exception);
+  /**
+   * Wraps a {@link Function} to be run on another thread, for example as the continuation of a
+   * {@link java.util.concurrent.CompletableFuture}, so that it runs with the operation that is
+   * current when this method is called.
+   *
+   * @param function the function to wrap
+   * @param <T> the type of the input of the function
+   * @param <R> the type of the result of the function
+   * @return a function running the wrapped one with the current operation restored
+   */
+  public <T, R> Function<T, R> wrapFunction(@NonNull Function<T, R> function) {
+    Operation operation = getCurrentOperation();
+    return (T value) -> {
+      pushOperation(operation);
+      try {
+        return function.apply(value);
+      } finally {
+        popOperation(operation);
+      }
+    };
+  }
+
+  /**
+   * A stack of operations backed by an array. Unlike {@link java.util.Stack}, it is not
+   * synchronized, as it is only ever used by the thread owning it.
+   */
+  private static final class OperationStack {
+    private static final int INITIAL_CAPACITY = 8;
+
+    private Operation[] operations = new Operation[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Creates a stack holding the default operation
+     *
+     * @param defaultOperation the operation in progress when no other is
+     */
+    private OperationStack(Operation defaultOperation) {
+      push(defaultOperation);
+    }
+
+    private Operation peek() {
+      if (size == 0) {
+        throw new IllegalStateException("The operation stack must not be empty");
+      }
+      return operations[size - 1];
+    }
+
+    private void push(Operation operation) {
+      if (size == operations.length) {
+        operations = Arrays.copyOf(operations, size * 2);
+      }
+      operations[size++] = operation;
+    }
+
+    private void pop() {
+      // Release the reference, so that completed operations can be collected
+      operations[--size] = null;
     }
-    operationsStack.pop();
   }
 }
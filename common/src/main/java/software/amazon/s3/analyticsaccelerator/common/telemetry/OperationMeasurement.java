@@ -33,6 +33,8 @@ public class OperationMeasurement extends TelemetryDatapointMeasurement {
   private final long elapsedCompleteTimeNanos;
   /** Exception thrown as part of the execution. */
   @NonNull private final Optional<Throwable> error;
+  /** Number of executions of the operation this measurement stands for. */
+  private final long sampleWeight;
 
   /**
    * Creates a new instance of {@link OperationMeasurement}
@@ -43,6 +45,7 @@ public class OperationMeasurement extends TelemetryDatapointMeasurement {
    * @param elapsedStartTimeNanos elapsed clock time corresponding to operation start
    * @param elapsedCompleteTimeNanos elapsed clock time corresponding to operation completion
    * @param error exception thrown as part of the execution
+   * @param sampleWeight number of executions of the operation this measurement stands for
    */
   private OperationMeasurement(
       Operation operation,
@@ -50,12 +53,14 @@ public class OperationMeasurement extends TelemetryDatapointMeasurement {
       long epochTimestampNanos,
       long elapsedStartTimeNanos,
       long elapsedCompleteTimeNanos,
-      @NonNull Optional<Throwable> error) {
+      @NonNull Optional<Throwable> error,
+      long sampleWeight) {
     super(operation, epochTimestampNanos);
     this.level = level;
     this.elapsedStartTimeNanos = elapsedStartTimeNanos;
     this.elapsedCompleteTimeNanos = elapsedCompleteTimeNanos;
     this.error = error;
+    this.sampleWeight = sampleWeight;
   }
 
   /**
@@ -77,6 +82,17 @@ public class OperationMeasurement extends TelemetryDatapointMeasurement {
     return (Operation) this.getDatapoint();
   }
 
+  /**
+   * The number of executions of the operation this measurement stands for, which is more than one
+   * when executions are sampled
+   *
+   * @return the sample weight of this measurement
+   */
+  @Override
+  public long getSampleWeight() {
+    return sampleWeight;
+  }
+
   @Override
   public String toString(
       @NonNull TelemetryFormat telemetryFormat, @NonNull EpochFormatter epochFormatter) {
@@ -128,6 +144,7 @@ public class OperationMeasurement extends TelemetryDatapointMeasurement {
     private long elapsedStartTimeNanos = UNSET_NANOS;
     private long elapsedCompleteTimeNanos = UNSET_NANOS;
     private Optional<Throwable> error = Optional.empty();
+    private long sampleWeight = 1;
 
     /**
      * Sets operation.
@@ -184,6 +201,17 @@ public class OperationMeasurement extends TelemetryDatapointMeasurement {
       return this;
     }
 
+    /**
+     * Sets the number of executions of the operation the measurement stands for.
+     *
+     * @param sampleWeight sample weight.
+     * @return the current instance of {@link OperationMeasurementBuilder}.
+     */
+    public OperationMeasurementBuilder sampleWeight(long sampleWeight) {
+      this.sampleWeight = sampleWeight;
+      return this;
+    }
+
     /**
      * Builds the new {@link OperationMeasurement}.
      *
@@ -201,13 +229,15 @@ public class OperationMeasurement extends TelemetryDatapointMeasurement {
       Preconditions.checkArgument(
           this.elapsedCompleteTimeNanos >= elapsedStartTimeNanos,
           "The `elapsedCompleteTimeNanos` must be more or equal than `elapsedStartTimeNanos`.");
+      Preconditions.checkArgument(this.sampleWeight > 0, "The `sampleWeight` must be positive.");
       return new OperationMeasurement(
           this.operation,
           this.level,
           this.getEpochTimestampNanos(),
           this.elapsedStartTimeNanos,
           this.elapsedCompleteTimeNanos,
-          this.error);
+          this.error,
+          this.sampleWeight);
     }
   }
 }
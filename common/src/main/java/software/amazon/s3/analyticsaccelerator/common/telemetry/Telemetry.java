@@ -68,6 +68,24 @@ public interface Telemetry extends Closeable {
       @NonNull OperationSupplier operationSupplier,
       @NonNull CompletableFuture<T> operationCode);
 
+  /**
+   * Measures the execution of the {@link CompletableFuture} returned by the given code, and records
+   * the telemetry as {@link Operation}. The operation is pushed on the stack while the code runs,
+   * so the tasks it wraps with {@link OperationContext#wrapSupplier} or {@link
+   * OperationContext#wrapFunction} run as its children, on whichever thread they run. The operation
+   * completes with the future.
+   *
+   * @param <T> - return type of the {@link CompletableFuture<T>}.
+   * @param level telemetry level.
+   * @param operationSupplier operation to record this execution as.
+   * @param operationCode code building the future to measure the execution of.
+   * @return the future returned by the code.
+   */
+  <T> CompletableFuture<T> measureAsync(
+      @NonNull TelemetryLevel level,
+      @NonNull OperationSupplier operationSupplier,
+      @NonNull TelemetrySupplier<CompletableFuture<T>> operationCode);
+
   /**
    * This is a helper method to reduce verbosity on completed futures. Blocks on the execution on
    * {@link CompletableFuture#join()} and records the telemetry as {@link Operation}. We do not
@@ -195,6 +213,21 @@ public interface Telemetry extends Closeable {
     return measure(TelemetryLevel.STANDARD, operationSupplier, operationCode);
   }
 
+  /**
+   * Measures the execution of the {@link CompletableFuture} returned by the given code, and records
+   * the telemetry as {@link Operation}. The operation is current while the code runs, see {@link
+   * #measureAsync}. This is done at {@link TelemetryLevel#STANDARD}.
+   *
+   * @param <T> - return type of the {@link CompletableFuture<T>}.
+   * @param operationSupplier operation to record this execution as.
+   * @param operationCode code building the future to measure the execution of.
+   * @return the future returned by the code.
+   */
+  default <T> CompletableFuture<T> measureAsyncStandard(
+      OperationSupplier operationSupplier, TelemetrySupplier<CompletableFuture<T>> operationCode) {
+    return measureAsync(TelemetryLevel.STANDARD, operationSupplier, operationCode);
+  }
+
   /**
    * This is a helper method to reduce verbosity on completed futures. Blocks on the execution on
    * {@link CompletableFuture#join()} and records the telemetry as {@link Operation}. We do not
@@ -255,6 +288,21 @@ public interface Telemetry extends Closeable {
     return measure(TelemetryLevel.VERBOSE, operationSupplier, operationCode);
   }
 
+  /**
+   * Measures the execution of the {@link CompletableFuture} returned by the given code, and records
+   * the telemetry as {@link Operation}. The operation is current while the code runs, see {@link
+   * #measureAsync}. This is done at {@link TelemetryLevel#VERBOSE}.
+   *
+   * @param <T> - return type of the {@link CompletableFuture<T>}.
+   * @param operationSupplier operation to record this execution as.
+   * @param operationCode code building the future to measure the execution of.
+   * @return the future returned by the code.
+   */
+  default <T> CompletableFuture<T> measureAsyncVerbose(
+      OperationSupplier operationSupplier, TelemetrySupplier<CompletableFuture<T>> operationCode) {
+    return measureAsync(TelemetryLevel.VERBOSE, operationSupplier, operationCode);
+  }
+
   /**
    * This is a helper method to reduce verbosity on completed futures. Blocks on the execution on
    * {@link CompletableFuture#join()} and records the telemetry as {@link Operation}. We do not
@@ -290,6 +338,17 @@ public interface Telemetry extends Closeable {
       TelemetrySupplier<T> operationCode,
       Predicate<T> condition);
 
+  /**
+   * Checks whether operations at the given level are recorded. Hot paths can use this to skip
+   * building the lambdas passed to the measure methods when nothing would be recorded.
+   *
+   * @param level telemetry level
+   * @return true if operations at this level are recorded
+   */
+  default boolean isEnabled(@NonNull TelemetryLevel level) {
+    return true;
+  }
+
   /**
    * Records a measurement represented by a metric
    *
@@ -52,6 +52,18 @@ public class TelemetryConfiguration {
   public static final String AGGREGATIONS_FLUSH_INTERVAL_SECONDS_KEY =
       "aggregations.flush.interval.seconds";
 
+  // Asynchronous reporting is off by default
+  public static final String ASYNC_ENABLED_KEY = "async.enabled";
+  public static final boolean DEFAULT_ASYNC_ENABLED = false;
+
+  // Number of events buffered for asynchronous reporting
+  public static final String ASYNC_BUFFER_SIZE_KEY = "async.buffer.size";
+  public static final int DEFAULT_ASYNC_BUFFER_SIZE = 8192;
+
+  // Every execution of operations is measured by default
+  public static final String SAMPLING_RULES_KEY = "sampling.rules";
+  public static final String DEFAULT_SAMPLING_RULES = "";
+
   public static final String LOGGING_LEVEL_KEY = "logging.level";
   public static final String DEFAULT_LOGGING_LEVEL = Level.INFO.toString();
 
@@ -71,6 +83,16 @@ public class TelemetryConfiguration {
   @Builder.Default boolean aggregationsEnabled = DEFAULT_AGGREGATIONS_ENABLED;
   /** Aggregations flush interval. */
   @Builder.Default @NonNull Optional<Duration> aggregationsFlushInterval = Optional.empty();
+  /** Report from a background thread, dropping events when the buffer is full. */
+  @Builder.Default boolean asyncEnabled = DEFAULT_ASYNC_ENABLED;
+  /** Number of events buffered for asynchronous reporting. */
+  @Builder.Default int asyncBufferSize = DEFAULT_ASYNC_BUFFER_SIZE;
+  /**
+   * Sampling rules of operations, as a comma separated list of {@code <operation name>=<N>} to
+   * measure 1 in N executions, or {@code <operation name>=<N>/s} to measure N executions per
+   * second. For example: {@code stream.read=100,physical.io.read=10/s}.
+   */
+  @Builder.Default @NonNull String samplingRules = DEFAULT_SAMPLING_RULES;
   /** Logging level. */
   @Builder.Default @NonNull String loggingLevel = DEFAULT_LOGGING_LEVEL;
   /** Logger name. */
@@ -105,6 +127,9 @@ public class TelemetryConfiguration {
         .aggregationsEnabled(
             configuration.getBoolean(AGGREGATIONS_ENABLED_KEY, DEFAULT_AGGREGATIONS_ENABLED))
         .aggregationsFlushInterval(aggregationsFlushInterval)
+        .asyncEnabled(configuration.getBoolean(ASYNC_ENABLED_KEY, DEFAULT_ASYNC_ENABLED))
+        .asyncBufferSize(configuration.getInt(ASYNC_BUFFER_SIZE_KEY, DEFAULT_ASYNC_BUFFER_SIZE))
+        .samplingRules(configuration.getString(SAMPLING_RULES_KEY, DEFAULT_SAMPLING_RULES))
         .loggingName(configuration.getString(LOGGING_NAME_KEY, DEFAULT_LOGGING_NAME))
         .loggingLevel(configuration.getString(LOGGING_LEVEL_KEY, DEFAULT_LOGGING_LEVEL))
         .telemetryFormat(configuration.getString(TELEMETRY_FORMAT_KEY, DEFAULT_TELEMETRY_FORMAT))
@@ -17,24 +17,30 @@ package software.amazon.s3.analyticsaccelerator.common.telemetry;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.time.Duration;
+import java.util.Arrays;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.DoubleAccumulator;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
 import lombok.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import software.amazon.s3.analyticsaccelerator.common.Preconditions;
 
 /**
  * This class provides a simple metric/operation aggregation functionality. For every metric
  * reported, we extract an aggregation key (currently just the metric name, later attributes as
- * well) and build simple statistics (Min/Max/Avg/Sum/Count). The resulting measurements is then
- * converted into metrics that get sent to the reporter.
+ * well) and build simple statistics (Min/Max/Avg/Sum/Count) along with a {@link Histogram}, from
+ * which latency percentiles are estimated. Sampled measurements are counted as many times as their
+ * sample weight. The resulting measurements is then converted into metrics that get sent to the
+ * reporter.
  *
- * <p>This class is thread safe.
+ * <p>This class is thread safe. Values are accumulated without locking, so that measuring threads
+ * do not contend with each other or with flushes.
  */
 public class TelemetryDatapointAggregator implements TelemetryReporter {
   /** Reporter to report the aggregation to */
@@ -137,7 +143,7 @@ public class TelemetryDatapointAggregator implements TelemetryReporter {
 
     Aggregation aggregation =
         aggregations.computeIfAbsent(aggregationKey, (key) -> new Aggregation(aggregationKey));
-    aggregation.accumulate(datapointMeasurement.getValue());
+    aggregation.accumulate(datapointMeasurement.getValue(), datapointMeasurement.getSampleWeight());
   }
 
   @Override
@@ -159,40 +165,95 @@ public class TelemetryDatapointAggregator implements TelemetryReporter {
     private final String value;
   }
 
-  /** A set of aggregations - very primitive so far, just keeping sum and count */
+  @Getter
+  @AllArgsConstructor
+  enum PercentileKind {
+    P50("p50", 50),
+    P90("p90", 90),
+    P99("p99", 99),
+    P999("p999", 99.9);
+    private final String value;
+    private final double percentile;
+  }
+
+  /** The percentiles of {@link PercentileKind}, indexed by ordinal */
+  private static final double[] PERCENTILES =
+      Arrays.stream(PercentileKind.values()).mapToDouble(PercentileKind::getPercentile).toArray();
+
+  /**
+   * A set of aggregations of the values of a datapoint. Each statistic is updated atomically, but
+   * not together with the others, so a flush running concurrently with updates may see them at
+   * slightly different points in time.
+   */
   @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
   class Aggregation {
-    @Getter(onMethod_ = {@Synchronized})
-    @NonNull private final TelemetryDatapoint datapoint;
+    @Getter @NonNull private final TelemetryDatapoint datapoint;
 
-    @Getter(onMethod_ = {@Synchronized})
-    private long count = 0;
+    private final LongAdder count = new LongAdder();
+    private final DoubleAdder sum = new DoubleAdder();
+    private final DoubleAccumulator min =
+        new DoubleAccumulator(Math::min, Double.POSITIVE_INFINITY);
+    private final DoubleAccumulator max =
+        new DoubleAccumulator(Math::max, Double.NEGATIVE_INFINITY);
+    @Getter private final Histogram histogram = new Histogram();
 
-    @Getter(onMethod_ = {@Synchronized})
-    private double sum = 0;
+    /**
+     * Returns the number of values recorded.
+     *
+     * @return the number of values recorded
+     */
+    public long getCount() {
+      return count.sum();
+    }
 
-    @Getter(onMethod_ = {@Synchronized})
-    private double min = Double.MAX_VALUE;
+    /**
+     * Returns the sum of the values recorded.
+     *
+     * @return the sum of the values recorded
+     */
+    public double getSum() {
+      return sum.sum();
+    }
 
-    @Getter(onMethod_ = {@Synchronized})
-    private double max = Double.MIN_VALUE;
+    /**
+     * Returns the smallest value recorded.
+     *
+     * @return the smallest value recorded
+     */
+    public double getMin() {
+      return min.get();
+    }
 
     /**
-     * Records a new value. Note the `synchronized` - necessary to keep the data thread safe This is
-     * **very primitive** at the moment and keeps very basic stats
+     * Returns the largest value recorded.
+     *
+     * @return the largest value recorded
+     */
+    public double getMax() {
+      return max.get();
+    }
+
+    /**
+     * Records a new value, without locking.
      *
      * @param value to record
      */
-    @Synchronized
     public void accumulate(double value) {
-      count++;
-      sum += value;
-      if (value < min) {
-        min = value;
-      }
-      if (value > max) {
-        max = value;
-      }
+      accumulate(value, 1);
+    }
+
+    /**
+     * Records a new value, without locking, as standing for several values when it was sampled.
+     *
+     * @param value to record
+     * @param weight number of values the value stands for
+     */
+    public void accumulate(double value, long weight) {
+      count.add(weight);
+      sum.add(value * weight);
+      min.accumulate(value);
+      max.accumulate(value);
+      histogram.record(value, weight);
     }
 
     /**
@@ -200,37 +261,50 @@ public class TelemetryDatapointAggregator implements TelemetryReporter {
      *
      * @param reporter an instance of {@link TelemetryReporter} to report to
      */
-    @Synchronized
     public void flush(TelemetryReporter reporter) {
       long epochTimestampNanos = TelemetryDatapointAggregator.this.epochClock.getCurrentTimeNanos();
-      // We should always have some data points here, because the aggregate wouldn't have been
-      // created
-      Preconditions.checkState(this.count > 0);
+      long currentCount = getCount();
+      // The aggregation may have been created by a thread that has not recorded its value yet
+      if (currentCount == 0) {
+        return;
+      }
+      double currentSum = getSum();
+      double currentMin = getMin();
+      double currentMax = getMax();
       // Always report sum and count
       reporter.reportComplete(
-          createMetricMeasurement(epochTimestampNanos, AggregationKind.SUM, sum));
+          createMetricMeasurement(epochTimestampNanos, AggregationKind.SUM.value, currentSum));
       reporter.reportComplete(
-          createMetricMeasurement(epochTimestampNanos, AggregationKind.COUNT, count));
+          createMetricMeasurement(epochTimestampNanos, AggregationKind.COUNT.value, currentCount));
       reporter.reportComplete(
-          createMetricMeasurement(epochTimestampNanos, AggregationKind.AVG, sum / count));
+          createMetricMeasurement(
+              epochTimestampNanos, AggregationKind.AVG.value, currentSum / currentCount));
       reporter.reportComplete(
-          createMetricMeasurement(epochTimestampNanos, AggregationKind.MAX, max));
+          createMetricMeasurement(epochTimestampNanos, AggregationKind.MAX.value, currentMax));
       reporter.reportComplete(
-          createMetricMeasurement(epochTimestampNanos, AggregationKind.MIN, min));
+          createMetricMeasurement(epochTimestampNanos, AggregationKind.MIN.value, currentMin));
+      // All the percentiles come from a single pass over the histogram
+      double[] percentileValues = histogram.getValuesAtPercentiles(PERCENTILES);
+      for (PercentileKind percentileKind : PercentileKind.values()) {
+        // Bucket estimates can fall outside of the actual range of values, so clamp them to it
+        double value = percentileValues[percentileKind.ordinal()];
+        value = Math.max(currentMin, Math.min(currentMax, value));
+        reporter.reportComplete(
+            createMetricMeasurement(epochTimestampNanos, percentileKind.value, value));
+      }
     }
 
     /**
      * Creates a single measurement
      *
      * @param epochTimestampNanos timestamp
-     * @param aggregationKind aggregation kind
+     * @param suffix suffix of the metric name, naming the aggregation
      * @param value value measurement value
      * @return a new instance of {@link MetricMeasurement}
      */
     private MetricMeasurement createMetricMeasurement(
-        long epochTimestampNanos, AggregationKind aggregationKind, double value) {
-      Metric metric =
-          Metric.builder().name(datapoint.getName() + "." + aggregationKind.value).build();
+        long epochTimestampNanos, String suffix, double value) {
+      Metric metric = Metric.builder().name(datapoint.getName() + "." + suffix).build();
       return MetricMeasurement.builder()
           .metric(metric)
           .kind(MetricMeasurementKind.AGGREGATE)
@@ -45,6 +45,16 @@ public abstract class TelemetryDatapointMeasurement {
    */
   protected abstract double getValueCore();
 
+  /**
+   * The number of measurements this measurement stands for, which is more than one when it was
+   * sampled out of several
+   *
+   * @return the sample weight of this measurement
+   */
+  public long getSampleWeight() {
+    return 1;
+  }
+
   /**
    * Returns the String representation of the {@link TelemetryDatapoint}
    *
@@ -0,0 +1,304 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.common.telemetry;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.NonNull;
+import lombok.SneakyThrows;
+
+/**
+ * Decides which executions of an operation are measured, according to sampling rules configured
+ * per operation name. An operation can either be sampled 1 in N, or at a rate per second, in which
+ * case 1 in N is adjusted every second to the rate at which the operation was executed. Operations
+ * without a rule are always measured.
+ *
+ * <p>Every execution that is measured is given a weight, which is the number of executions it
+ * stands for, so that aggregates computed from the weighted measurements stay unbiased.
+ *
+ * <p>The decision is made before the {@link OperationSupplier} is invoked, so that operations which
+ * are not measured are not even created. To that end, the rule of an operation is resolved once per
+ * call site, keyed by the class of the supplier: the first time a call site is seen, its supplier
+ * is invoked to learn the name of the operation. This relies on operations being named by their
+ * call site, as they are throughout this library. A call site found to produce operations of
+ * another name, when one of them is measured, falls back to invoking its supplier for every
+ * execution and resolving the rule from the name produced.
+ *
+ * <p>This class is thread safe.
+ */
+final class TelemetrySampler {
+  /** A sampler without rules, measuring every execution */
+  static final TelemetrySampler NONE =
+      new TelemetrySampler(Collections.emptyMap(), DefaultElapsedClock.DEFAULT);
+
+  /** Weight returned for executions that are not measured */
+  static final long NOT_SAMPLED = 0;
+
+  private static final String RATE_SUFFIX = "/s";
+  private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+  private static final Rule ALWAYS = () -> 1;
+
+  private final Map<String, RuleSpec> rules;
+  private final Clock clock;
+  private final CallSites callSites = new CallSites();
+  private final ConcurrentHashMap<String, Rule> namedRules = new ConcurrentHashMap<>();
+
+  /**
+   * Creates a new instance of {@link TelemetrySampler}
+   *
+   * @param rules sampling rules, keyed by operation name
+   * @param clock clock measuring the elapsed time, for rates per second
+   */
+  private TelemetrySampler(Map<String, RuleSpec> rules, Clock clock) {
+    this.rules = rules;
+    this.clock = clock;
+  }
+
+  /**
+   * Creates a {@link TelemetrySampler} from a comma separated list of rules, each of the form
+   * {@code <operation name>=<N>} to sample 1 in N executions, or {@code <operation name>=<N>/s} to
+   * sample N executions per second. For example: {@code stream.read=100,physical.io.read=10/s}.
+   *
+   * @param rules the rules, empty to measure every execution
+   * @param clock clock measuring the elapsed time, for rates per second
+   * @return a new instance of {@link TelemetrySampler}
+   */
+  static TelemetrySampler fromRules(@NonNull String rules, @NonNull Clock clock) {
+    Map<String, RuleSpec> parsedRules = new HashMap<>();
+    for (String rule : rules.split(",")) {
+      rule = rule.trim();
+      if (rule.isEmpty()) {
+        continue;
+      }
+
+      int separator = rule.lastIndexOf('=');
+      if (separator <= 0) {
+        throw new IllegalArgumentException("Invalid telemetry sampling rule: " + rule);
+      }
+      String operationName = rule.substring(0, separator).trim();
+      String value = rule.substring(separator + 1).trim();
+      boolean perSecond = value.endsWith(RATE_SUFFIX);
+      if (perSecond) {
+        value = value.substring(0, value.length() - RATE_SUFFIX.length()).trim();
+      }
+
+      long n;
+      try {
+        n = Long.parseLong(value);
+      } catch (NumberFormatException e) {
+        throw new IllegalArgumentException("Invalid telemetry sampling rule: " + rule, e);
+      }
+      if (n <= 0) {
+        throw new IllegalArgumentException("Invalid telemetry sampling rule: " + rule);
+      }
+      if (parsedRules.put(operationName, new RuleSpec(n, perSecond)) != null) {
+        throw new IllegalArgumentException(
+            "Duplicate telemetry sampling rule for operation: " + operationName);
+      }
+    }
+    return new TelemetrySampler(parsedRules, clock);
+  }
+
+  /**
+   * Decides whether the next execution of an operation is measured
+   *
+   * @param operationSupplier the supplier of the operation, identifying its call site
+   * @return the weight of the execution if it is measured, {@link #NOT_SAMPLED} otherwise
+   */
+  @SneakyThrows
+  long sample(OperationSupplier operationSupplier) {
+    if (rules.isEmpty()) {
+      return 1;
+    }
+
+    CallSite callSite = callSites.get(operationSupplier.getClass());
+    if (callSite.resolvedPerExecution) {
+      return getRule(operationSupplier.apply().getName()).sample();
+    }
+
+    Rule rule = callSite.rule;
+    if (rule == null) {
+      // Concurrent resolutions of the same call site resolve the same rule
+      String name = operationSupplier.apply().getName();
+      rule = getRule(name);
+      callSite.name = name;
+      callSite.rule = rule;
+    }
+    return rule.sample();
+  }
+
+  /**
+   * Checks that a measured operation has the name its call site was resolved with. If it does not,
+   * the call site names its operations per execution, and its rule is resolved per execution from
+   * then on.
+   *
+   * @param operationSupplier the supplier of the operation, identifying its call site
+   * @param operation the operation it produced
+   */
+  void verify(OperationSupplier operationSupplier, Operation operation) {
+    if (rules.isEmpty()) {
+      return;
+    }
+
+    CallSite callSite = callSites.get(operationSupplier.getClass());
+    String name = callSite.name;
+    if (name != null && !name.equals(operation.getName())) {
+      callSite.resolvedPerExecution = true;
+    }
+  }
+
+  /**
+   * Returns the rule of an operation
+   *
+   * @param operationName the name of the operation
+   * @return the rule, which measures every execution if the operation has no rule
+   */
+  private Rule getRule(String operationName) {
+    RuleSpec spec = rules.get(operationName);
+    if (spec == null) {
+      return ALWAYS;
+    }
+    return namedRules.computeIfAbsent(operationName, name -> createRule(spec));
+  }
+
+  /**
+   * Creates the rule of an operation. Call sites of the same operation share their rule, so that a
+   * rate per second applies to the operation as a whole.
+   *
+   * @param spec sampling rule of the operation
+   * @return the rule
+   */
+  private Rule createRule(RuleSpec spec) {
+    if (!spec.perSecond) {
+      return () -> sampleOneIn(spec.n);
+    }
+    return spec.getOrCreateRateRule(clock);
+  }
+
+  /**
+   * Samples an execution with a probability of 1 in n
+   *
+   * @param n the inverse of the probability
+   * @return n if the execution is sampled, {@link #NOT_SAMPLED} otherwise
+   */
+  private static long sampleOneIn(long n) {
+    return n == 1 || ThreadLocalRandom.current().nextLong(n) == 0 ? n : NOT_SAMPLED;
+  }
+
+  /** Decides whether an execution is measured */
+  @FunctionalInterface
+  private interface Rule {
+    /**
+     * Decides whether an execution is measured
+     *
+     * @return the weight of the execution if it is measured, {@link TelemetrySampler#NOT_SAMPLED}
+     *     otherwise
+     */
+    long sample();
+  }
+
+  /** Sampling rule of an operation, as configured */
+  private static final class RuleSpec {
+    private final long n;
+    private final boolean perSecond;
+    private RateRule rateRule;
+
+    /**
+     * Creates a new instance of {@link RuleSpec}
+     *
+     * @param n 1 in n executions, or n executions per second
+     * @param perSecond whether n is a rate per second
+     */
+    private RuleSpec(long n, boolean perSecond) {
+      this.n = n;
+      this.perSecond = perSecond;
+    }
+
+    /**
+     * Returns the rate rule shared by all the call sites of the operation
+     *
+     * @param clock clock measuring the elapsed time
+     * @return the rate rule
+     */
+    private synchronized RateRule getOrCreateRateRule(Clock clock) {
+      if (rateRule == null) {
+        rateRule = new RateRule(n, clock);
+      }
+      return rateRule;
+    }
+  }
+
+  /**
+   * Samples executions 1 in N, where N is recomputed every second from the rate of executions of
+   * the previous second. Every execution of the first second is measured.
+   */
+  private static final class RateRule implements Rule {
+    private final long ratePerSecond;
+    private final Clock clock;
+    private final LongAdder executions = new LongAdder();
+    private final AtomicLong windowStartNanos;
+    private volatile long oneIn = 1;
+
+    /**
+     * Creates a new instance of {@link RateRule}
+     *
+     * @param ratePerSecond the number of executions to measure per second
+     * @param clock clock measuring the elapsed time
+     */
+    private RateRule(long ratePerSecond, Clock clock) {
+      this.ratePerSecond = ratePerSecond;
+      this.clock = clock;
+      this.windowStartNanos = new AtomicLong(clock.getCurrentTimeNanos());
+    }
+
+    @Override
+    public long sample() {
+      executions.increment();
+      long now = clock.getCurrentTimeNanos();
+      long windowStart = windowStartNanos.get();
+      long elapsed = now - windowStart;
+      if (elapsed >= WINDOW_NANOS && windowStartNanos.compareAndSet(windowStart, now)) {
+        double executionsPerSecond = executions.sumThenReset() * (double) WINDOW_NANOS / elapsed;
+        oneIn = Math.max(1, (long) Math.ceil(executionsPerSecond / ratePerSecond));
+      }
+      return sampleOneIn(oneIn);
+    }
+  }
+
+  /**
+   * Call sites, keyed by the class of their supplier. Unlike a map, this does not keep the classes
+   * from being unloaded.
+   */
+  private static final class CallSites extends ClassValue<CallSite> {
+    @Override
+    protected CallSite computeValue(Class<?> type) {
+      return new CallSite();
+    }
+  }
+
+  /** Rule resolved for a call site, once the name of its operation is known */
+  private static final class CallSite {
+    private volatile String name;
+    private volatile Rule rule;
+    private volatile boolean resolvedPerExecution;
+  }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.common.telemetry;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.Test;
+import software.amazon.s3.analyticsaccelerator.SpotBugsLambdaWorkaround;
+
+@SuppressFBWarnings(
+    value = "NP_NONNULL_PARAM_VIOLATION",
+    justification = "We mean to pass nulls to checks")
+public class AsyncTelemetryReporterTest {
+  private static final long TEST_EPOCH_NANOS = 1722944779101123456L;
+
+  @Test
+  void testCreate() {
+    CollectingTelemetryReporter collectingReporter = new CollectingTelemetryReporter();
+    try (AsyncTelemetryReporter reporter = new AsyncTelemetryReporter(collectingReporter, 16)) {
+      assertSame(collectingReporter, reporter.getReporter());
+      assertEquals(0, reporter.getDroppedEvents());
+    }
+  }
+
+  @Test
+  void testCreateWithInvalidArguments() {
+    SpotBugsLambdaWorkaround.assertThrowsClosableResult(
+        NullPointerException.class, () -> new AsyncTelemetryReporter(null, 16));
+    SpotBugsLambdaWorkaround.assertThrowsClosableResult(
+        IllegalArgumentException.class,
+        () -> new AsyncTelemetryReporter(new CollectingTelemetryReporter(), 0));
+    SpotBugsLambdaWorkaround.assertThrowsClosableResult(
+        IllegalArgumentException.class,
+        () -> new AsyncTelemetryReporter(new CollectingTelemetryReporter(), -1));
+  }
+
+  @Test
+  void testEventsAreDeliveredInOrder() {
+    // Given
+    CollectingTelemetryReporter collectingReporter = new CollectingTelemetryReporter();
+    List<Operation> operations = new ArrayList<>();
+
+    // When: the buffer is smaller than the number of events, so that slots are reused
+    try (AsyncTelemetryReporter reporter = new AsyncTelemetryReporter(collectingReporter, 4)) {
+      for (int i = 0; i < 100; i++) {
+        Operation operation = Operation.builder().name("foo").attribute("i", i).build();
+        operations.add(operation);
+        reporter.reportStart(TEST_EPOCH_NANOS, operation);
+        reporter.reportComplete(createMeasurement(operation));
+        waitFor(() -> collectingReporter.getOperationCompletions().size() == operations.size());
+      }
+    }
+
+    // Then
+    assertArrayEquals(operations.toArray(), collectingReporter.getOperationStarts().toArray());
+    List<Operation> completed = new ArrayList<>();
+    collectingReporter
+        .getOperationCompletions()
+        .forEach(measurement -> completed.add(measurement.getOperation()));
+    assertArrayEquals(operations.toArray(), completed.toArray());
+  }
+
+  @Test
+  void testEventsAreDroppedWhenFull() throws InterruptedException {
+    // Given: a reporter that blocks on the first event, so that nothing leaves the buffer
+    CountDownLatch release = new CountDownLatch(1);
+    CollectingTelemetryReporter collectingReporter =
+        new CollectingTelemetryReporter() {
+          @Override
+          public void reportStart(long epochTimestampNanos, Operation operation) {
+            try {
+              release.await();
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+            super.reportStart(epochTimestampNanos, operation);
+          }
+        };
+    Operation operation = Operation.builder().name("foo").build();
+
+    try (AsyncTelemetryReporter reporter = new AsyncTelemetryReporter(collectingReporter, 2)) {
+      // When
+      reporter.reportStart(TEST_EPOCH_NANOS, operation);
+      reporter.reportStart(TEST_EPOCH_NANOS, operation);
+      reporter.reportStart(TEST_EPOCH_NANOS, operation);
+      reporter.reportComplete(createMeasurement(operation));
+
+      // Then
+      assertEquals(2, reporter.getDroppedEvents());
+      release.countDown();
+    }
+    assertEquals(2, collectingReporter.getOperationStarts().size());
+    assertEquals(0, collectingReporter.getDatapointCompletions().size());
+  }
+
+  @Test
+  void testFlush() {
+    CollectingTelemetryReporter collectingReporter = new CollectingTelemetryReporter();
+    try (AsyncTelemetryReporter reporter = new AsyncTelemetryReporter(collectingReporter, 16)) {
+      reporter.flush();
+      waitFor(() -> collectingReporter.getFlushed().get());
+      assertFalse(collectingReporter.getClosed().get());
+    }
+  }
+
+  @Test
+  void testCloseDrainsAndClosesReporter() {
+    // Given
+    CollectingTelemetryReporter collectingReporter = new CollectingTelemetryReporter();
+    AsyncTelemetryReporter reporter = new AsyncTelemetryReporter(collectingReporter, 1024);
+    Operation operation = Operation.builder().name("foo").build();
+
+    // When
+    for (int i = 0; i < 1000; i++) {
+      reporter.reportComplete(createMeasurement(operation));
+    }
+    reporter.close();
+
+    // Then
+    assertEquals(0, reporter.getDroppedEvents());
+    assertEquals(1000, collectingReporter.getOperationCompletions().size());
+    assertTrue(collectingReporter.getClosed().get());
+
+    // closing again does nothing
+    reporter.close();
+  }
+
+  @Test
+  void testReporterErrorsAreSwallowed() {
+    // Given: a reporter that fails on every start
+    CollectingTelemetryReporter collectingReporter =
+        new CollectingTelemetryReporter() {
+          @Override
+          public void reportStart(long epochTimestampNanos, Operation operation) {
+            throw new IllegalStateException("Error");
+          }
+        };
+    Operation operation = Operation.builder().name("foo").build();
+
+    // When
+    try (AsyncTelemetryReporter reporter = new AsyncTelemetryReporter(collectingReporter, 16)) {
+      reporter.reportStart(TEST_EPOCH_NANOS, operation);
+      reporter.reportComplete(createMeasurement(operation));
+    }
+
+    // Then: the events after the failing one are still delivered
+    assertEquals(1, collectingReporter.getOperationCompletions().size());
+  }
+
+  private static OperationMeasurement createMeasurement(Operation operation) {
+    return OperationMeasurement.builder()
+        .operation(operation)
+        .level(TelemetryLevel.STANDARD)
+        .epochTimestampNanos(TEST_EPOCH_NANOS)
+        .elapsedStartTimeNanos(10)
+        .elapsedCompleteTimeNanos(20)
+        .build();
+  }
+
+  private static void waitFor(BooleanSupplier condition) {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (!condition.getAsBoolean()) {
+      assertTrue(System.nanoTime() < deadline, "Timed out waiting for the reporter");
+      Thread.yield();
+    }
+  }
+}
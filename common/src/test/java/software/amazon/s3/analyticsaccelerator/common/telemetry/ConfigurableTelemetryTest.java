@@ -22,6 +22,7 @@ import java.time.temporal.ChronoUnit;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
 import org.slf4j.event.Level;
+import software.amazon.s3.analyticsaccelerator.SpotBugsLambdaWorkaround;
 
 public class ConfigurableTelemetryTest {
   @Test
@@ -102,6 +103,42 @@ public class ConfigurableTelemetryTest {
     }
   }
 
+  @Test
+  void testCreateAsyncEnabled() {
+    TelemetryConfiguration configuration =
+        TelemetryConfiguration.builder()
+            .loggingEnabled(true)
+            .aggregationsEnabled(true)
+            .asyncEnabled(true)
+            .asyncBufferSize(16)
+            .build();
+    try (ConfigurableTelemetry telemetry = new ConfigurableTelemetry(configuration)) {
+      // the output reporter is wrapped, and the aggregator reports through the same wrapper
+      assertInstanceOf(AsyncTelemetryReporter.class, telemetry.getReporter());
+      AsyncTelemetryReporter asyncTelemetryReporter =
+          (AsyncTelemetryReporter) telemetry.getReporter();
+      assertInstanceOf(LoggingTelemetryReporter.class, asyncTelemetryReporter.getReporter());
+
+      assertTrue(telemetry.getAggregator().isPresent());
+      assertSame(telemetry.getReporter(), telemetry.getAggregator().get().getTelemetryReporter());
+    }
+  }
+
+  @Test
+  void testCreateWithSamplingRules() {
+    TelemetryConfiguration configuration =
+        TelemetryConfiguration.builder().samplingRules("stream.read=100").build();
+    try (ConfigurableTelemetry telemetry = new ConfigurableTelemetry(configuration)) {
+      assertNotSame(TelemetrySampler.NONE, telemetry.getSampler());
+    }
+
+    SpotBugsLambdaWorkaround.assertThrowsClosableResult(
+        IllegalArgumentException.class,
+        () ->
+            new ConfigurableTelemetry(
+                TelemetryConfiguration.builder().samplingRules("stream.read").build()));
+  }
+
   @Test
   void testCreateCustomizeParameters() {
     TelemetryConfiguration configuration =
@@ -21,6 +21,9 @@ import static org.mockito.Mockito.*;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import software.amazon.s3.analyticsaccelerator.SpotBugsLambdaWorkaround;
@@ -76,6 +79,22 @@ public class DefaultTelemetryTest {
     }
   }
 
+  @Test
+  void testIsEnabled() {
+    TickingClock wallClock = new TickingClock(0L);
+    TickingClock elapsedClock = new TickingClock(0L);
+    CollectingTelemetryReporter reporter = new CollectingTelemetryReporter();
+    try (DefaultTelemetry defaultTelemetry =
+        new DefaultTelemetry(
+            wallClock, elapsedClock, reporter, Optional.empty(), TelemetryLevel.STANDARD)) {
+
+      assertTrue(defaultTelemetry.isEnabled(TelemetryLevel.CRITICAL));
+      assertTrue(defaultTelemetry.isEnabled(TelemetryLevel.STANDARD));
+      assertFalse(defaultTelemetry.isEnabled(TelemetryLevel.VERBOSE));
+      assertThrows(NullPointerException.class, () -> defaultTelemetry.isEnabled(null));
+    }
+  }
+
   @Test
   void testFlushAndClose() {
     TickingClock wallClock = new TickingClock(0L);
@@ -125,6 +144,54 @@ public class DefaultTelemetryTest {
     }
   }
 
+  @Test
+  void testSampledOperations() {
+    TickingClock wallClock = new TickingClock(0L);
+    TickingClock elapsedClock = new TickingClock(0L);
+    CollectingTelemetryReporter reporter = new CollectingTelemetryReporter();
+    try (DefaultTelemetry defaultTelemetry =
+        new DefaultTelemetry(
+            wallClock,
+            elapsedClock,
+            reporter,
+            Optional.empty(),
+            TelemetryLevel.VERBOSE,
+            TelemetrySampler.fromRules("foo=1/s", elapsedClock))) {
+      AtomicInteger created = new AtomicInteger();
+      AtomicInteger executed = new AtomicInteger();
+
+      // Given: 4 executions in the first second, all of which are measured, then one more a second
+      // later, after which the rate of 5 per second brings sampling down to 1 in 5
+      for (int i = 0; i < 105; i++) {
+        if (i == 4) {
+          elapsedClock.tick(TimeUnit.SECONDS.toNanos(1));
+        }
+        defaultTelemetry.measureVerbose(
+            () -> {
+              created.incrementAndGet();
+              return Operation.builder().name("foo").build();
+            },
+            () -> {
+              executed.incrementAndGet();
+            });
+      }
+
+      // Then: every execution runs, but after the first second only 1 in 5 is measured
+      assertEquals(105, executed.get());
+      long totalWeight = 0;
+      int index = 0;
+      for (OperationMeasurement measurement : reporter.getOperationCompletions()) {
+        assertEquals(index < 4 ? 1 : 5, measurement.getSampleWeight());
+        totalWeight += measurement.getSampleWeight();
+        index++;
+      }
+      assertTrue(reporter.getOperationCompletions().size() < 105);
+      assertTrue(totalWeight > 4);
+      // Operations are only created for measured executions, plus once to learn their name
+      assertEquals(reporter.getOperationCompletions().size() + 1, created.get());
+    }
+  }
+
   @Test
   void testMeasureMetricNoAggregator() {
     TickingClock wallClock = new TickingClock(0L);
@@ -913,6 +980,116 @@ public class DefaultTelemetryTest {
     }
   }
 
+  @Test
+  void testMeasureAsync() throws Exception {
+    TickingClock wallClock = new TickingClock(0L);
+    TickingClock elapsedClock = new TickingClock(0L);
+    try (CollectingTelemetryReporter reporter = new CollectingTelemetryReporter()) {
+      try (DefaultTelemetry defaultTelemetry =
+          new DefaultTelemetry(
+              wallClock, elapsedClock, reporter, Optional.empty(), TelemetryLevel.STANDARD)) {
+
+        Operation operation = Operation.builder().name("name").attribute("foo", "bar").build();
+        CompletableFuture<Long> completableFuture = new CompletableFuture<>();
+        AtomicReference<Operation> childOperation = new AtomicReference<>();
+
+        elapsedClock.tick(10);
+        wallClock.tick(5);
+        CompletableFuture<Long> result =
+            defaultTelemetry.measureAsyncStandard(
+                () -> operation,
+                () -> {
+                  // The operation is current while the future is built
+                  assertSame(operation, OperationContext.DEFAULT.getCurrentOperation());
+                  return completableFuture.thenApply(
+                      OperationContext.DEFAULT.wrapFunction(
+                          (Long value) -> {
+                            childOperation.set(Operation.builder().name("child").build());
+                            return value;
+                          }));
+                });
+        assertFalse(result.isDone());
+        assertNotSame(operation, OperationContext.DEFAULT.getCurrentOperation());
+        assertEquals(0, reporter.getOperationCompletions().size());
+
+        // Tick ahead
+        elapsedClock.tick(5);
+
+        // Complete the future on another thread
+        Thread thread = new Thread(() -> completableFuture.complete(42L));
+        thread.start();
+        thread.join();
+        assertEquals(42, result.get());
+
+        assertEquals(Optional.of(operation), childOperation.get().getParent());
+        assertEquals(1, reporter.getOperationCompletions().size());
+        OperationMeasurement operationMeasurement =
+            reporter.getOperationCompletions().stream().findFirst().get();
+        assertEquals(operation, operationMeasurement.getOperation());
+        assertEquals(10, operationMeasurement.getElapsedStartTimeNanos());
+        assertEquals(15, operationMeasurement.getElapsedCompleteTimeNanos());
+        assertEquals(TelemetryLevel.STANDARD, operationMeasurement.getLevel());
+        assertEquals(Optional.empty(), operationMeasurement.getError());
+      }
+    }
+  }
+
+  @Test
+  void testMeasureAsyncBelowLevel() throws Exception {
+    try (CollectingTelemetryReporter reporter = new CollectingTelemetryReporter()) {
+      try (DefaultTelemetry defaultTelemetry =
+          new DefaultTelemetry(
+              new TickingClock(0L),
+              new TickingClock(0L),
+              reporter,
+              Optional.empty(),
+              TelemetryLevel.STANDARD)) {
+
+        Operation operation = Operation.builder().name("name").attribute("foo", "bar").build();
+        CompletableFuture<Long> completableFuture = CompletableFuture.completedFuture(42L);
+
+        CompletableFuture<Long> result =
+            defaultTelemetry.measureAsyncVerbose(() -> operation, () -> completableFuture);
+
+        assertSame(completableFuture, result);
+        assertEquals(0, reporter.getOperationStarts().size());
+        assertEquals(0, reporter.getOperationCompletions().size());
+      }
+    }
+  }
+
+  @Test
+  void testMeasureAsyncWithException() throws Exception {
+    try (CollectingTelemetryReporter reporter = new CollectingTelemetryReporter()) {
+      try (DefaultTelemetry defaultTelemetry =
+          new DefaultTelemetry(
+              new TickingClock(0L),
+              new TickingClock(0L),
+              reporter,
+              Optional.empty(),
+              TelemetryLevel.STANDARD)) {
+
+        Operation operation = Operation.builder().name("name").attribute("foo", "bar").build();
+        Exception error = new IllegalStateException("error");
+
+        assertThrows(
+            IllegalStateException.class,
+            () ->
+                defaultTelemetry.measureAsyncStandard(
+                    () -> operation,
+                    () -> {
+                      throw error;
+                    }));
+
+        assertNotSame(operation, OperationContext.DEFAULT.getCurrentOperation());
+        assertEquals(1, reporter.getOperationCompletions().size());
+        OperationMeasurement operationMeasurement =
+            reporter.getOperationCompletions().stream().findFirst().get();
+        assertEquals(Optional.of(error), operationMeasurement.getError());
+      }
+    }
+  }
+
   @Test
   void testMeasureConditionallyWithNulls() {
     TickingClock wallClock = new TickingClock(0L);
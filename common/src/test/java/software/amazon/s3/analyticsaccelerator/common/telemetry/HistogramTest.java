@@ -0,0 +1,167 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.common.telemetry;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+public class HistogramTest {
+  @Test
+  void testEmptyHistogram() {
+    Histogram histogram = new Histogram();
+
+    assertEquals(0, histogram.getCount());
+    assertEquals(0, histogram.getValueAtPercentile(50));
+  }
+
+  @Test
+  void testInvalidArguments() {
+    Histogram histogram = new Histogram();
+
+    assertThrows(IllegalArgumentException.class, () -> new Histogram(0));
+    assertThrows(IllegalArgumentException.class, () -> histogram.getValueAtPercentile(-1));
+    assertThrows(IllegalArgumentException.class, () -> histogram.getValueAtPercentile(101));
+    assertThrows(IllegalArgumentException.class, () -> histogram.getValuesAtPercentiles(50, 101));
+    assertThrows(IllegalArgumentException.class, () -> histogram.merge(histogram));
+  }
+
+  @Test
+  void testValuesAtPercentilesMatchSinglePercentiles() {
+    // Given: a histogram of the values 1 to 10000
+    Histogram histogram = new Histogram();
+    for (int i = 1; i <= 10000; i++) {
+      histogram.record(i);
+    }
+
+    // When: several percentiles are estimated at once
+    double[] values = histogram.getValuesAtPercentiles(50, 90, 99, 99.9);
+
+    // Then: each matches the estimate of its percentile alone
+    assertEquals(4, values.length);
+    assertEquals(histogram.getValueAtPercentile(50), values[0]);
+    assertEquals(histogram.getValueAtPercentile(90), values[1]);
+    assertEquals(histogram.getValueAtPercentile(99), values[2]);
+    assertEquals(histogram.getValueAtPercentile(99.9), values[3]);
+    assertArrayEquals(new double[2], new Histogram().getValuesAtPercentiles(50, 99));
+  }
+
+  @Test
+  void testPercentilesAreWithinRelativeError() {
+    // Given: a histogram of the values 1 to 10000
+    Histogram histogram = new Histogram();
+    for (int i = 1; i <= 10000; i++) {
+      histogram.record(i);
+    }
+
+    // Then: percentiles are estimated within the relative error of the buckets
+    assertEquals(10000, histogram.getCount());
+    assertPercentile(histogram, 50, 5000);
+    assertPercentile(histogram, 90, 9000);
+    assertPercentile(histogram, 99, 9900);
+    assertPercentile(histogram, 99.9, 9990);
+    assertPercentile(histogram, 100, 10000);
+  }
+
+  @Test
+  void testValuesOutsideOfTheTrackedRange() {
+    assertEquals(0, Histogram.bucketIndex(0));
+    assertEquals(0, Histogram.bucketIndex(-5));
+    assertEquals(0, Histogram.bucketIndex(Double.NaN));
+    assertEquals(0, Histogram.bucketIndex(Histogram.MIN_TRACKED_VALUE / 2));
+    assertEquals(1, Histogram.bucketIndex(Histogram.MIN_TRACKED_VALUE));
+    assertEquals(Histogram.BUCKET_COUNT - 1, Histogram.bucketIndex(Histogram.MAX_TRACKED_VALUE));
+    assertEquals(Histogram.BUCKET_COUNT - 1, Histogram.bucketIndex(Double.POSITIVE_INFINITY));
+    assertEquals(
+        Histogram.BUCKET_COUNT - 2,
+        Histogram.bucketIndex(Math.nextDown(Histogram.MAX_TRACKED_VALUE)));
+  }
+
+  @Test
+  void testBucketsAreOrdered() {
+    for (int i = 1; i < Histogram.BUCKET_COUNT; i++) {
+      assertTrue(Histogram.bucketValue(i - 1) < Histogram.bucketValue(i));
+      assertEquals(i, Histogram.bucketIndex(Histogram.bucketValue(i)));
+    }
+  }
+
+  @Test
+  void testRecordSeveralTimes() {
+    // Given
+    Histogram histogram = new Histogram();
+
+    // When: a value is recorded as standing for several values
+    histogram.record(1);
+    histogram.record(100, 9);
+
+    // Then
+    assertEquals(10, histogram.getCount());
+    assertPercentile(histogram, 10, 1);
+    assertPercentile(histogram, 50, 100);
+  }
+
+  @Test
+  void testMerge() {
+    // Given: two histograms with different values
+    Histogram low = new Histogram(2);
+    Histogram high = new Histogram(4);
+    for (int i = 0; i < 100; i++) {
+      low.record(10);
+      high.record(1000);
+    }
+
+    // When: one is merged into the other
+    low.merge(high);
+
+    // Then: the merged histogram holds the values of both, the other one is unchanged
+    assertEquals(200, low.getCount());
+    assertPercentile(low, 25, 10);
+    assertPercentile(low, 75, 1000);
+    assertEquals(100, high.getCount());
+  }
+
+  @Test
+  void testConcurrentRecords() throws InterruptedException {
+    int threadCount = 8;
+    int iterationCount = 10000;
+    Histogram histogram = new Histogram(threadCount);
+
+    ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+    try {
+      for (int i = 0; i < threadCount; i++) {
+        executor.execute(
+            () -> {
+              for (int j = 0; j < iterationCount; j++) {
+                histogram.record(j);
+              }
+            });
+      }
+    } finally {
+      executor.shutdown();
+      assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+    }
+
+    assertEquals((long) threadCount * iterationCount, histogram.getCount());
+  }
+
+  private static void assertPercentile(Histogram histogram, double percentile, double expected) {
+    double actual = histogram.getValueAtPercentile(percentile);
+    assertEquals(expected, actual, expected / Histogram.SUB_BUCKETS);
+  }
+}
@@ -18,6 +18,11 @@ package software.amazon.s3.analyticsaccelerator.common.telemetry;
 import static org.junit.jupiter.api.Assertions.*;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import org.junit.jupiter.api.Test;
 
 @SuppressFBWarnings(
@@ -126,4 +131,100 @@ public class OperationContextTest {
     assertThrows(IllegalStateException.class, () -> context.popOperation(operation));
     assertThrows(IllegalStateException.class, context::getCurrentOperation);
   }
+
+  @Test
+  void testDeeplyNestedOperations() {
+    // Given: more nested operations than the stack initially holds
+    OperationContext context = new OperationContext();
+    Operation[] operations = new Operation[100];
+    for (int i = 0; i < operations.length; i++) {
+      operations[i] = Operation.builder().name("op" + i).context(context).build();
+      if (i > 0) {
+        assertEquals(operations[i - 1], operations[i].getParent().get());
+      }
+      context.pushOperation(operations[i]);
+    }
+
+    // When / Then: they are popped in reverse order
+    for (int i = operations.length - 1; i >= 0; i--) {
+      assertSame(operations[i], context.getCurrentOperation());
+      context.popOperation(operations[i]);
+    }
+    assertSame(context.defaultOperation, context.getCurrentOperation());
+  }
+
+  @Test
+  void testWrapSupplierCarriesOperationAcrossThreads() throws Exception {
+    // Given
+    OperationContext context = new OperationContext();
+    Operation parent = Operation.builder().name("read").context(context).build();
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      context.pushOperation(parent);
+      Supplier<Operation> supplier;
+      try {
+        supplier =
+            context.wrapSupplier(
+                () -> Operation.builder().name("prefetch").context(context).build());
+      } finally {
+        context.popOperation(parent);
+      }
+
+      // When: the supplier runs on another thread, after the parent completed here
+      Operation child = CompletableFuture.supplyAsync(supplier, executor).get();
+
+      // Then: the operation is parented, and the other thread is left as it was
+      assertEquals(parent, child.getParent().get());
+      assertFalse(
+          CompletableFuture.supplyAsync(context::getCurrentNonDefaultOperation, executor)
+              .get()
+              .isPresent());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void testWrapFunctionCarriesOperationAcrossThreads() throws Exception {
+    // Given
+    OperationContext context = new OperationContext();
+    Operation parent = Operation.builder().name("read").context(context).build();
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      context.pushOperation(parent);
+      Function<String, Operation> function;
+      try {
+        function =
+            context.wrapFunction(
+                (String name) -> Operation.builder().name(name).context(context).build());
+      } finally {
+        context.popOperation(parent);
+      }
+
+      // When
+      Operation child =
+          CompletableFuture.supplyAsync(() -> "prefetch", executor).thenApplyAsync(function).get();
+
+      // Then
+      assertEquals("prefetch", child.getName());
+      assertEquals(parent, child.getParent().get());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void testWrapRestoresStackOnFailure() {
+    OperationContext context = new OperationContext();
+    Supplier<Object> supplier =
+        context.wrapSupplier(
+            () -> {
+              throw new IllegalStateException("Error");
+            });
+
+    assertThrows(IllegalStateException.class, supplier::get);
+    assertSame(context.defaultOperation, context.getCurrentOperation());
+    assertThrows(NullPointerException.class, () -> context.wrapSupplier(null));
+    assertThrows(NullPointerException.class, () -> context.wrapFunction(null));
+  }
 }
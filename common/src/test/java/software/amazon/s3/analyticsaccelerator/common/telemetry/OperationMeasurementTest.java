@@ -44,6 +44,7 @@ public class OperationMeasurementTest {
     assertEquals(12, operationMeasurement.getElapsedCompleteTimeNanos());
     assertEquals(2, operationMeasurement.getElapsedTimeNanos());
     assertEquals(2, operationMeasurement.getValue());
+    assertEquals(1, operationMeasurement.getSampleWeight());
 
     assertFalse(operationMeasurement.getError().isPresent());
     assertTrue(operationMeasurement.succeeded());
@@ -169,4 +170,32 @@ public class OperationMeasurementTest {
               .build();
         });
   }
+
+  @Test
+  void testCreateOperationMeasurementWithSampleWeight() {
+    Operation operation = Operation.builder().name("foo").build();
+    OperationMeasurement operationMeasurement =
+        OperationMeasurement.builder()
+            .operation(operation)
+            .level(TelemetryLevel.VERBOSE)
+            .epochTimestampNanos(1)
+            .elapsedStartTimeNanos(10)
+            .elapsedCompleteTimeNanos(12)
+            .sampleWeight(100)
+            .build();
+
+    assertEquals(100, operationMeasurement.getSampleWeight());
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> {
+          OperationMeasurement.builder()
+              .operation(operation)
+              .level(TelemetryLevel.VERBOSE)
+              .epochTimestampNanos(1)
+              .elapsedStartTimeNanos(10)
+              .elapsedCompleteTimeNanos(12)
+              .sampleWeight(0)
+              .build();
+        });
+  }
 }
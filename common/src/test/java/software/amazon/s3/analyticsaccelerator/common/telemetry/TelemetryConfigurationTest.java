@@ -47,6 +47,10 @@ public class TelemetryConfigurationTest {
     assertEquals(Level.INFO.toString(), configuration.getLoggingLevel());
     assertEquals(TelemetryConfiguration.DEFAULT_LOGGING_NAME, configuration.getLoggingName());
     assertEquals(Optional.empty(), configuration.getAggregationsFlushInterval());
+    assertFalse(configuration.isAsyncEnabled());
+    assertEquals(
+        TelemetryConfiguration.DEFAULT_ASYNC_BUFFER_SIZE, configuration.getAsyncBufferSize());
+    assertEquals("", configuration.getSamplingRules());
   }
 
   @Test
@@ -73,6 +77,9 @@ public class TelemetryConfigurationTest {
     assertEquals(
         Optional.of(Duration.of(30, ChronoUnit.SECONDS)),
         configuration.getAggregationsFlushInterval());
+    assertTrue(configuration.isAsyncEnabled());
+    assertEquals(1024, configuration.getAsyncBufferSize());
+    assertEquals("stream.read=100", configuration.getSamplingRules());
   }
 
   @Test
@@ -86,6 +93,9 @@ public class TelemetryConfigurationTest {
     assertThrows(
         NullPointerException.class,
         () -> TelemetryConfiguration.builder().aggregationsFlushInterval(null).build());
+    assertThrows(
+        NullPointerException.class,
+        () -> TelemetryConfiguration.builder().samplingRules(null).build());
     assertThrows(NullPointerException.class, () -> TelemetryConfiguration.fromConfiguration(null));
   }
 
@@ -103,6 +113,10 @@ public class TelemetryConfigurationTest {
     properties.put(TEST_PREFIX + "." + TelemetryConfiguration.AGGREGATIONS_ENABLED_KEY, "true");
     properties.put(
         TEST_PREFIX + "." + TelemetryConfiguration.AGGREGATIONS_FLUSH_INTERVAL_SECONDS_KEY, "30");
+    properties.put(TEST_PREFIX + "." + TelemetryConfiguration.ASYNC_ENABLED_KEY, "true");
+    properties.put(TEST_PREFIX + "." + TelemetryConfiguration.ASYNC_BUFFER_SIZE_KEY, "1024");
+    properties.put(
+        TEST_PREFIX + "." + TelemetryConfiguration.SAMPLING_RULES_KEY, "stream.read=100");
 
     return new ConnectorConfiguration(properties, TEST_PREFIX);
   }
@@ -99,7 +99,7 @@ public class TelemetryDatapointAggregatorTest {
 
         // assert the state
         assertFalse(telemetryReporter.getMetrics().isEmpty());
-        assertEquals(5, telemetryReporter.getMetrics().size());
+        assertEquals(9, telemetryReporter.getMetrics().size());
         Map<String, MetricMeasurement> measurements =
             telemetryReporter.getMetrics().stream()
                 .collect(Collectors.toMap(m -> m.getMetric().getName(), m -> m));
@@ -109,6 +109,83 @@ public class TelemetryDatapointAggregatorTest {
         assertMeasurement(measurements, 20L, "Foo.count", 3);
         assertMeasurement(measurements, 20L, "Foo.min", 1);
         assertMeasurement(measurements, 20L, "Foo.max", 9);
+        // Percentiles are estimated from histogram buckets and clamped to the actual values
+        assertMeasurement(measurements, 20L, "Foo.p50", 2.125);
+        assertMeasurement(measurements, 20L, "Foo.p90", 9);
+        assertMeasurement(measurements, 20L, "Foo.p99", 9);
+        assertMeasurement(measurements, 20L, "Foo.p999", 9);
+      }
+    }
+  }
+
+  @Test
+  void testSampledOperationsAreWeighted() {
+    TickingClock elapsedClock = new TickingClock(0L);
+    try (CollectingTelemetryReporter telemetryReporter = new CollectingTelemetryReporter()) {
+      try (TelemetryDatapointAggregator aggregator =
+          new TelemetryDatapointAggregator(telemetryReporter, Optional.empty(), elapsedClock)) {
+        Operation operation = Operation.builder().name("Foo").build();
+
+        // Given: a measurement standing for itself, and one standing for three executions
+        aggregator.reportComplete(
+            OperationMeasurement.builder()
+                .operation(operation)
+                .level(TelemetryLevel.VERBOSE)
+                .epochTimestampNanos(1)
+                .elapsedStartTimeNanos(0)
+                .elapsedCompleteTimeNanos(4)
+                .build());
+        aggregator.reportComplete(
+            OperationMeasurement.builder()
+                .operation(operation)
+                .level(TelemetryLevel.VERBOSE)
+                .epochTimestampNanos(1)
+                .elapsedStartTimeNanos(0)
+                .elapsedCompleteTimeNanos(8)
+                .sampleWeight(3)
+                .build());
+
+        // When
+        elapsedClock.tick(20L);
+        aggregator.flush();
+
+        // Then: the aggregates are those of the four executions
+        Map<String, MetricMeasurement> measurements =
+            telemetryReporter.getMetrics().stream()
+                .collect(Collectors.toMap(m -> m.getMetric().getName(), m -> m));
+        assertMeasurement(measurements, 20L, "Foo.count", 4);
+        assertMeasurement(measurements, 20L, "Foo.sum", 28);
+        assertMeasurement(measurements, 20L, "Foo.avg", 7);
+        assertMeasurement(measurements, 20L, "Foo.min", 4);
+        assertMeasurement(measurements, 20L, "Foo.max", 8);
+        assertMeasurement(measurements, 20L, "Foo.p50", 8);
+      }
+    }
+  }
+
+  @Test
+  void testNegativeValuesProduceCorrectMax() {
+    TickingClock elapsedClock = new TickingClock(0L);
+    try (CollectingTelemetryReporter telemetryReporter = new CollectingTelemetryReporter()) {
+      try (TelemetryDatapointAggregator aggregator =
+          new TelemetryDatapointAggregator(telemetryReporter, Optional.empty(), elapsedClock)) {
+        Metric metric = Metric.builder().name("Foo").build();
+
+        // Produce metrics that are all negative
+        aggregator.reportComplete(
+            MetricMeasurement.builder().metric(metric).value(-3).epochTimestampNanos(1).build());
+        aggregator.reportComplete(
+            MetricMeasurement.builder().metric(metric).value(-1).epochTimestampNanos(1).build());
+
+        aggregator.flush();
+
+        // The max is the largest value reported, not the initial value of the aggregation
+        Map<String, MetricMeasurement> measurements =
+            telemetryReporter.getMetrics().stream()
+                .collect(Collectors.toMap(m -> m.getMetric().getName(), m -> m));
+        assertMeasurement(measurements, 0L, "Foo.min", -3);
+        assertMeasurement(measurements, 0L, "Foo.max", -1);
+        assertMeasurement(measurements, 0L, "Foo.p50", -1);
       }
     }
   }
@@ -162,7 +239,7 @@ public class TelemetryDatapointAggregatorTest {
 
         // assert the state
         assertFalse(telemetryReporter.getMetrics().isEmpty());
-        assertEquals(5, telemetryReporter.getMetrics().size());
+        assertEquals(9, telemetryReporter.getMetrics().size());
         Map<String, MetricMeasurement> measurements =
             telemetryReporter.getMetrics().stream()
                 .collect(Collectors.toMap(m -> m.getMetric().getName(), m -> m));
@@ -204,7 +281,7 @@ public class TelemetryDatapointAggregatorTest {
 
         // assert the state
         assertFalse(telemetryReporter.getMetrics().isEmpty());
-        assertEquals(5, telemetryReporter.getMetrics().size());
+        assertEquals(9, telemetryReporter.getMetrics().size());
         Map<String, MetricMeasurement> measurements =
             telemetryReporter.getMetrics().stream()
                 .collect(Collectors.toMap(m -> m.getMetric().getName(), m -> m));
@@ -253,7 +330,7 @@ public class TelemetryDatapointAggregatorTest {
 
         // assert the state
         assertFalse(telemetryReporter.getMetrics().isEmpty());
-        assertEquals(10, telemetryReporter.getMetrics().size());
+        assertEquals(18, telemetryReporter.getMetrics().size());
         Map<String, MetricMeasurement> measurements =
             telemetryReporter.getMetrics().stream()
                 .collect(Collectors.toMap(m -> m.getMetric().getName(), m -> m));
@@ -0,0 +1,195 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.common.telemetry;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+@SuppressFBWarnings(
+    value = "NP_NONNULL_PARAM_VIOLATION",
+    justification = "We mean to pass nulls to checks")
+public class TelemetrySamplerTest {
+  private static final long ONE_SECOND_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  @Test
+  void testNoneMeasuresEverythingWithoutCreatingOperations() {
+    AtomicInteger created = new AtomicInteger();
+    OperationSupplier operationSupplier = createSupplier("foo", created);
+
+    for (int i = 0; i < 10; i++) {
+      assertEquals(1, TelemetrySampler.NONE.sample(operationSupplier));
+    }
+    assertEquals(0, created.get());
+  }
+
+  @Test
+  void testFromRulesWithNulls() {
+    assertThrows(
+        NullPointerException.class,
+        () -> TelemetrySampler.fromRules(null, DefaultElapsedClock.DEFAULT));
+    assertThrows(NullPointerException.class, () -> TelemetrySampler.fromRules("foo=1", null));
+  }
+
+  @Test
+  void testFromRulesWithInvalidRules() {
+    String[] invalidRules = {
+      "foo", "=5", "foo=", "foo=0", "foo=-1", "foo=x", "foo=5/m", "foo=1/s,foo=2"
+    };
+    for (String rules : invalidRules) {
+      assertThrows(
+          IllegalArgumentException.class,
+          () -> TelemetrySampler.fromRules(rules, DefaultElapsedClock.DEFAULT),
+          rules);
+    }
+  }
+
+  @Test
+  void testFromRulesIgnoresBlanks() {
+    TelemetrySampler sampler =
+        TelemetrySampler.fromRules(" , foo = 1 ,, bar = 2/s ,", DefaultElapsedClock.DEFAULT);
+
+    assertEquals(1, sampler.sample(() -> Operation.builder().name("foo").build()));
+    assertEquals(1, sampler.sample(() -> Operation.builder().name("bar").build()));
+  }
+
+  @Test
+  void testOperationsWithoutRuleAreAlwaysMeasured() {
+    // Given
+    AtomicInteger created = new AtomicInteger();
+    TelemetrySampler sampler = TelemetrySampler.fromRules("foo=1000", DefaultElapsedClock.DEFAULT);
+    OperationSupplier operationSupplier = createSupplier("bar", created);
+
+    // When / Then
+    for (int i = 0; i < 100; i++) {
+      assertEquals(1, sampler.sample(operationSupplier));
+    }
+    // The supplier is only invoked once, to learn the name of the operation
+    assertEquals(1, created.get());
+  }
+
+  @Test
+  void testOneInN() {
+    // Given
+    AtomicInteger created = new AtomicInteger();
+    TelemetrySampler sampler = TelemetrySampler.fromRules("foo=10", DefaultElapsedClock.DEFAULT);
+    OperationSupplier operationSupplier = createSupplier("foo", created);
+
+    // When
+    int executions = 100_000;
+    long sampled = 0;
+    long totalWeight = 0;
+    for (int i = 0; i < executions; i++) {
+      long weight = sampler.sample(operationSupplier);
+      assertTrue(weight == TelemetrySampler.NOT_SAMPLED || weight == 10);
+      if (weight != TelemetrySampler.NOT_SAMPLED) {
+        sampled++;
+        totalWeight += weight;
+      }
+    }
+
+    // Then: about 1 in 10 executions are measured, and stand for all of them
+    assertEquals(executions / 10.0, sampled, executions * 0.005);
+    assertEquals(executions, totalWeight, executions * 0.05);
+    assertEquals(1, created.get());
+  }
+
+  @Test
+  void testRatePerSecond() {
+    // Given
+    AtomicInteger created = new AtomicInteger();
+    TickingClock clock = new TickingClock(0L);
+    TelemetrySampler sampler = TelemetrySampler.fromRules("foo=10/s", clock);
+    OperationSupplier operationSupplier = createSupplier("foo", created);
+
+    // When: every execution of the first second is measured
+    for (int i = 0; i < 999; i++) {
+      assertEquals(1, sampler.sample(operationSupplier));
+    }
+
+    // Then: 1000 executions in the first second bring the rate down to 1 in 100
+    clock.tick(ONE_SECOND_NANOS);
+    for (int i = 0; i < 100; i++) {
+      long weight = sampler.sample(operationSupplier);
+      assertTrue(weight == TelemetrySampler.NOT_SAMPLED || weight == 100);
+    }
+
+    // When: the executions slow down to 100 in a second, then to a single one in the next, every
+    // execution is measured again
+    clock.tick(ONE_SECOND_NANOS);
+    long weight = sampler.sample(operationSupplier);
+    assertTrue(weight == TelemetrySampler.NOT_SAMPLED || weight == 10);
+    clock.tick(ONE_SECOND_NANOS);
+    assertEquals(1, sampler.sample(operationSupplier));
+    assertEquals(1, sampler.sample(operationSupplier));
+    assertEquals(1, created.get());
+  }
+
+  @Test
+  void testRatePerSecondIsSharedByCallSites() {
+    // Given: two call sites of the same operation
+    AtomicInteger created = new AtomicInteger();
+    TickingClock clock = new TickingClock(0L);
+    TelemetrySampler sampler = TelemetrySampler.fromRules("foo=5/s", clock);
+    OperationSupplier operationSupplier1 = createSupplier("foo", created);
+    OperationSupplier operationSupplier2 = () -> Operation.builder().name("foo").build();
+
+    // When
+    for (int i = 0; i < 250; i++) {
+      sampler.sample(operationSupplier1);
+      sampler.sample(operationSupplier2);
+    }
+    clock.tick(ONE_SECOND_NANOS);
+
+    // Then: the rate accounts for the executions of both call sites
+    long weight = sampler.sample(operationSupplier1);
+    assertTrue(weight == TelemetrySampler.NOT_SAMPLED || weight == 101);
+  }
+
+  @Test
+  void testCallSiteChangingNamesFallsBackToRulePerName() throws Throwable {
+    // Given: a call site naming its operations from state, resolved with a name without rule
+    AtomicReference<String> name = new AtomicReference<>("bar");
+    TelemetrySampler sampler =
+        TelemetrySampler.fromRules("foo=1000000", DefaultElapsedClock.DEFAULT);
+    OperationSupplier operationSupplier = () -> Operation.builder().name(name.get()).build();
+    assertEquals(1, sampler.sample(operationSupplier));
+
+    // When: it produces an operation of another name, which is measured
+    name.set("foo");
+    assertEquals(1, sampler.sample(operationSupplier));
+    sampler.verify(operationSupplier, operationSupplier.apply());
+
+    // Then: its executions are sampled by the rule of the name they produce
+    for (int i = 0; i < 100; i++) {
+      long weight = sampler.sample(operationSupplier);
+      assertTrue(weight == TelemetrySampler.NOT_SAMPLED || weight == 1_000_000);
+    }
+    name.set("bar");
+    assertEquals(1, sampler.sample(operationSupplier));
+  }
+
+  private static OperationSupplier createSupplier(String name, AtomicInteger created) {
+    return () -> {
+      created.incrementAndGet();
+      return Operation.builder().name(name).build();
+    };
+  }
+}
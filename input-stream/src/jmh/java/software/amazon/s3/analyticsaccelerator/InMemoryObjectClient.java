@@ -0,0 +1,59 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator;
+
+import java.io.ByteArrayInputStream;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import software.amazon.s3.analyticsaccelerator.request.GetRequest;
+import software.amazon.s3.analyticsaccelerator.request.HeadRequest;
+import software.amazon.s3.analyticsaccelerator.request.ObjectClient;
+import software.amazon.s3.analyticsaccelerator.request.ObjectContent;
+import software.amazon.s3.analyticsaccelerator.request.ObjectMetadata;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+
+/** An {@link ObjectClient} serving a single object held in memory, for micro benchmarks */
+class InMemoryObjectClient implements ObjectClient {
+  private final byte[] data;
+
+  /**
+   * Creates a new instance of {@link InMemoryObjectClient}
+   *
+   * @param data the content of the object
+   */
+  InMemoryObjectClient(byte[] data) {
+    this.data = data;
+  }
+
+  @Override
+  public CompletableFuture<ObjectMetadata> headObject(HeadRequest headRequest) {
+    return CompletableFuture.completedFuture(
+        ObjectMetadata.builder().contentLength(data.length).build());
+  }
+
+  @Override
+  public CompletableFuture<ObjectContent> getObject(GetRequest getRequest) {
+    Range range = getRequest.getRange();
+    byte[] content = Arrays.copyOfRange(data, (int) range.getStart(), (int) range.getEnd() + 1);
+    return CompletableFuture.completedFuture(
+        ObjectContent.builder().stream(new ByteArrayInputStream(content)).build());
+  }
+
+  @Override
+  public void close() {
+    // Nothing to release
+  }
+}
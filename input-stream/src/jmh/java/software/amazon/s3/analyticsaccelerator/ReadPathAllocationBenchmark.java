@@ -0,0 +1,120 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+/**
+ * Measures reads served from blocks that are already cached, which should not allocate. The
+ * object is held in memory and fully prefetched before the measurements, so that only the read
+ * path itself is exercised. The object is read under a plain key and under a Parquet key, whose
+ * reads also go through the Parquet prefetcher. Run it with the gc profiler, whose
+ * gc.alloc.rate.norm should stay at zero bytes per operation:
+ *
+ * <pre>
+ * java -jar input-stream/build/libs/input-stream-jmh.jar ReadPathAllocationBenchmark -prof gc
+ * </pre>
+ */
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class ReadPathAllocationBenchmark {
+  private static final int OBJECT_SIZE = 1024 * 1024;
+
+  @Param({"data.bin", "data.parquet"})
+  public String key;
+
+  @Param({"4096"})
+  public int readSize;
+
+  private S3SeekableInputStreamFactory factory;
+  private S3SeekableInputStream stream;
+  private byte[] buffer;
+  private long position;
+
+  /**
+   * Opens a stream on a fully prefetched in-memory object
+   *
+   * @throws IOException thrown if the stream cannot be opened
+   */
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    byte[] data = new byte[OBJECT_SIZE];
+    new Random(0).nextBytes(data);
+    S3URI s3URI = S3URI.of("bucket", key);
+
+    factory =
+        new S3SeekableInputStreamFactory(
+            new InMemoryObjectClient(data), S3SeekableInputStreamConfiguration.DEFAULT);
+    factory
+        .prefetch(s3URI, Collections.singletonList(new Range(0, OBJECT_SIZE - 1)))
+        .getCompletion()
+        .join();
+    stream = factory.createStream(s3URI);
+    buffer = new byte[readSize];
+  }
+
+  /**
+   * Closes the stream and the factory
+   *
+   * @throws IOException thrown if closing fails
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    stream.close();
+    factory.close();
+  }
+
+  /**
+   * Reads at positions walking through the object, without moving the stream
+   *
+   * @return the number of bytes read
+   * @throws IOException thrown if the read fails
+   */
+  @Benchmark
+  public int positionedRead() throws IOException {
+    return stream.read(nextPosition(), buffer, 0, readSize);
+  }
+
+  /**
+   * Seeks to positions walking through the object and reads from there
+   *
+   * @return the number of bytes read
+   * @throws IOException thrown if the read fails
+   */
+  @Benchmark
+  public int seekAndRead() throws IOException {
+    stream.seek(nextPosition());
+    return stream.read(buffer, 0, readSize);
+  }
+
+  private long nextPosition() {
+    position += readSize;
+    if (position + readSize > OBJECT_SIZE) {
+      position = 0;
+    }
+    return position;
+  }
+}
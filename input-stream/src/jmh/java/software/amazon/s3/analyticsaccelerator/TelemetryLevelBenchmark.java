@@ -0,0 +1,123 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.TelemetryConfiguration;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.TelemetryLevel;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+/**
+ * Compares the throughput of reads served from cached blocks at each {@link TelemetryLevel}, with
+ * telemetry reported either on the reading threads or from the background thread. The object is
+ * held in memory and fully prefetched before the measurements, so that the cost of telemetry is
+ * not hidden behind I/O. Operations are reported to the configured logger, which is part of what is
+ * measured:
+ *
+ * <pre>
+ * java -jar input-stream/build/libs/input-stream-jmh.jar TelemetryLevelBenchmark
+ * </pre>
+ */
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Threads(4)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class TelemetryLevelBenchmark {
+  private static final int OBJECT_SIZE = 1024 * 1024;
+  private static final int READ_SIZE = 4096;
+  private static final S3URI S3_URI = S3URI.of("bucket", "data.bin");
+
+  @Param({"CRITICAL", "STANDARD", "VERBOSE"})
+  public TelemetryLevel level;
+
+  @Param({"false", "true"})
+  public boolean asyncEnabled;
+
+  private S3SeekableInputStreamFactory factory;
+  private S3SeekableInputStream stream;
+
+  /**
+   * Opens a stream on a fully prefetched in-memory object, with the telemetry under test
+   *
+   * @throws IOException thrown if the stream cannot be opened
+   */
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    byte[] data = new byte[OBJECT_SIZE];
+    new Random(0).nextBytes(data);
+
+    S3SeekableInputStreamConfiguration configuration =
+        S3SeekableInputStreamConfiguration.builder()
+            .telemetryConfiguration(
+                TelemetryConfiguration.builder()
+                    .level(level.toString())
+                    .asyncEnabled(asyncEnabled)
+                    .build())
+            .build();
+    factory = new S3SeekableInputStreamFactory(new InMemoryObjectClient(data), configuration);
+    factory
+        .prefetch(S3_URI, Collections.singletonList(new Range(0, OBJECT_SIZE - 1)))
+        .getCompletion()
+        .join();
+    stream = factory.createStream(S3_URI);
+  }
+
+  /**
+   * Closes the stream and the factory
+   *
+   * @throws IOException thrown if closing fails
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    stream.close();
+    factory.close();
+  }
+
+  /** Per thread read buffer and position */
+  @State(Scope.Thread)
+  public static class Reader {
+    private final byte[] buffer = new byte[READ_SIZE];
+    private long position;
+
+    private long nextPosition() {
+      position += READ_SIZE;
+      if (position + READ_SIZE > OBJECT_SIZE) {
+        position = 0;
+      }
+      return position;
+    }
+  }
+
+  /**
+   * Reads at positions walking through the object, from several threads sharing the stream
+   *
+   * @param reader the state of the reading thread
+   * @return the number of bytes read
+   * @throws IOException thrown if the read fails
+   */
+  @Benchmark
+  public int positionedRead(Reader reader) throws IOException {
+    return stream.read(reader.nextPosition(), reader.buffer, 0, READ_SIZE);
+  }
+}
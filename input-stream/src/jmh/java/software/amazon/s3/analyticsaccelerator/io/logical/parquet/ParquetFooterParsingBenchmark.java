@@ -0,0 +1,161 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.parquet;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.parquet.format.ColumnChunk;
+import org.apache.parquet.format.ColumnMetaData;
+import org.apache.parquet.format.CompressionCodec;
+import org.apache.parquet.format.Encoding;
+import org.apache.parquet.format.FieldRepetitionType;
+import org.apache.parquet.format.FileMetaData;
+import org.apache.parquet.format.KeyValue;
+import org.apache.parquet.format.PageEncodingStats;
+import org.apache.parquet.format.PageType;
+import org.apache.parquet.format.RowGroup;
+import org.apache.parquet.format.SchemaElement;
+import org.apache.parquet.format.Statistics;
+import org.apache.parquet.format.Type;
+import org.openjdk.jmh.annotations.*;
+import shaded.parquet.org.apache.thrift.protocol.TCompactProtocol;
+import shaded.parquet.org.apache.thrift.transport.TIOStreamTransport;
+
+/**
+ * Compares decoding Parquet footers with {@link ParquetFooterDecoder} against the full Thrift
+ * deserialization, for files with wide schemas. The footers are synthetic and held in memory, so
+ * no S3 access is needed.
+ */
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ParquetFooterParsingBenchmark {
+  @Param({"100", "1000", "10000"})
+  public int columns;
+
+  @Param({"1", "10"})
+  public int rowGroups;
+
+  private ByteBuffer footer;
+
+  /**
+   * Builds a serialized footer with the given number of columns and row groups
+   *
+   * @throws Exception thrown if the footer cannot be serialized
+   */
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    fileMetaData(columns, rowGroups).write(new TCompactProtocol(new TIOStreamTransport(out)));
+    footer = ByteBuffer.wrap(out.toByteArray());
+  }
+
+  /**
+   * Deserializes the whole footer with Thrift, copying it out of the buffer first
+   *
+   * @return the deserialized footer
+   * @throws Exception thrown if the footer cannot be deserialized
+   */
+  @Benchmark
+  @SuppressWarnings("deprecation")
+  public FileMetaData thriftDeserialization() throws Exception {
+    ByteBuffer duplicate = footer.duplicate();
+    byte[] bytes = new byte[duplicate.remaining()];
+    duplicate.get(bytes);
+
+    FileMetaData fileMetaData = new FileMetaData();
+    fileMetaData.read(
+        new org.apache.parquet.format.InterningProtocol(
+            new TCompactProtocol(new TIOStreamTransport(new ByteArrayInputStream(bytes)))));
+    return fileMetaData;
+  }
+
+  /**
+   * Decodes the fields used for prefetching straight from the buffer
+   *
+   * @return the decoded footer
+   * @throws Exception thrown if the footer cannot be decoded
+   */
+  @Benchmark
+  public FileMetaData footerDecoder() throws Exception {
+    return ParquetFooterDecoder.decode(footer);
+  }
+
+  private static FileMetaData fileMetaData(int columns, int rowGroups) {
+    List<SchemaElement> schema = new ArrayList<>();
+    schema.add(new SchemaElement("schema").setNum_children(columns));
+    for (int column = 0; column < columns; column++) {
+      schema.add(
+          new SchemaElement("column_" + column)
+              .setType(Type.INT64)
+              .setRepetition_type(FieldRepetitionType.OPTIONAL));
+    }
+
+    List<RowGroup> rowGroupList = new ArrayList<>();
+    long offset = 4;
+    for (int rowGroup = 0; rowGroup < rowGroups; rowGroup++) {
+      List<ColumnChunk> columnChunks = new ArrayList<>();
+      for (int column = 0; column < columns; column++) {
+        columnChunks.add(columnChunk("column_" + column, offset));
+        offset += 10_000;
+      }
+      rowGroupList.add(new RowGroup(columnChunks, (long) columns * 10_000, 100_000));
+    }
+
+    FileMetaData fileMetaData = new FileMetaData(2, schema, 100_000L * rowGroups, rowGroupList);
+    fileMetaData.setCreated_by("parquet-mr version 1.13.1");
+    fileMetaData.setKey_value_metadata(
+        Collections.singletonList(new KeyValue("writer.model.name").setValue("example")));
+    return fileMetaData;
+  }
+
+  private static ColumnChunk columnChunk(String name, long offset) {
+    ColumnMetaData columnMetaData =
+        new ColumnMetaData(
+            Type.INT64,
+            Arrays.asList(Encoding.PLAIN, Encoding.RLE, Encoding.RLE_DICTIONARY),
+            Collections.singletonList(name),
+            CompressionCodec.SNAPPY,
+            100_000,
+            20_000,
+            10_000,
+            offset + 1_000);
+    columnMetaData.setDictionary_page_offset(offset);
+    columnMetaData.setEncoding_stats(
+        Arrays.asList(
+            new PageEncodingStats(PageType.DICTIONARY_PAGE, Encoding.PLAIN, 1),
+            new PageEncodingStats(PageType.DATA_PAGE, Encoding.RLE_DICTIONARY, 10)));
+    columnMetaData.setStatistics(
+        new Statistics()
+            .setMin_value(name.getBytes(StandardCharsets.UTF_8))
+            .setMax_value(name.getBytes(StandardCharsets.UTF_8))
+            .setNull_count(0));
+
+    ColumnChunk columnChunk = new ColumnChunk(offset);
+    columnChunk.setMeta_data(columnMetaData);
+    return columnChunk;
+  }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+
+/**
+ * Compares the executor modes under a high number of concurrent streams, each of which runs an
+ * asynchronous task blocking on a simulated S3 request, the way footer parsing and prefetching do.
+ * Virtual threads are only used when running on JDK 21 or later, the bounded pool otherwise.
+ */
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class AsyncExecutorBenchmark {
+  private static final long REQUEST_LATENCY_MILLIS = 1;
+
+  @Param({"common_pool", "bounded", "virtual"})
+  public String mode;
+
+  @Param({"64", "512"})
+  public int streams;
+
+  private ExecutorService executor;
+
+  /** Creates the executor of the selected mode */
+  @Setup(Level.Trial)
+  public void setUp() {
+    executor =
+        AsyncExecutors.create(
+            LogicalIOConfiguration.builder()
+                .asyncExecutorMode(ExecutorMode.fromString(mode))
+                .build());
+  }
+
+  /** Shuts the executor down */
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    executor.shutdown();
+  }
+
+  /**
+   * Runs a blocking task per stream and waits for all of them to complete
+   *
+   * @throws Exception thrown if a task fails
+   */
+  @Benchmark
+  public void blockingTasks() throws Exception {
+    CompletableFuture<?>[] futures = new CompletableFuture<?>[streams];
+    for (int i = 0; i < streams; i++) {
+      futures[i] = CompletableFuture.runAsync(AsyncExecutorBenchmark::simulateRequest, executor);
+    }
+    CompletableFuture.allOf(futures).get();
+  }
+
+  private static void simulateRequest() {
+    try {
+      Thread.sleep(REQUEST_LATENCY_MILLIS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
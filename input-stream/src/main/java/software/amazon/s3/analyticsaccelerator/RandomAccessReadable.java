@@ -17,6 +17,7 @@ package software.amazon.s3.analyticsaccelerator;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import software.amazon.s3.analyticsaccelerator.request.ObjectMetadata;
 
 /** An InputStream-like entity implementing blocking random-access reads. */
@@ -49,6 +50,18 @@ public interface RandomAccessReadable extends Closeable {
    */
   int read(byte[] buf, int off, int len, long pos) throws IOException;
 
+  /**
+   * Reads request data into the provided buffer, heap or direct, starting at its current position.
+   * As many bytes as the buffer has remaining are read, unless the end of the object is reached
+   * first, and the position of the buffer is advanced by the number of bytes read.
+   *
+   * @param dst buffer to read data into
+   * @param pos the position to begin reading from
+   * @return the total number of bytes read into the buffer
+   * @throws IOException if an error occurs while reading the file
+   */
+  int read(ByteBuffer dst, long pos) throws IOException;
+
   /**
    * Reads the last n bytes from the stream into a byte buffer. Blocks until end of stream is
    * reached. Leaves the position of the stream unaltered.
@@ -17,38 +17,74 @@ package software.amazon.s3.analyticsaccelerator;
 
 import java.io.EOFException;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import lombok.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import software.amazon.s3.analyticsaccelerator.common.Preconditions;
 import software.amazon.s3.analyticsaccelerator.common.telemetry.Operation;
 import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.TelemetryLevel;
 import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIO;
+import software.amazon.s3.analyticsaccelerator.io.logical.parquet.ParquetFooter;
+import software.amazon.s3.analyticsaccelerator.util.IOStatistics;
+import software.amazon.s3.analyticsaccelerator.util.IOStatisticsSnapshot;
 import software.amazon.s3.analyticsaccelerator.util.S3URI;
 import software.amazon.s3.analyticsaccelerator.util.StreamAttributes;
 
 /**
  * High throughput seekable stream used to read data from Amazon S3.
  *
- * <p>Don't share between threads. The current implementation is not thread safe in that calling
- * {@link #seek(long) seek} will modify the position of the stream and the behaviour of calling
- * {@link #seek(long) seek} and {@link #read() read} concurrently from two different threads is
- * undefined.
+ * <p>Don't share between threads for sequential reads. The current implementation is not thread
+ * safe in that calling {@link #seek(long) seek} will modify the position of the stream and the
+ * behaviour of calling {@link #seek(long) seek} and {@link #read() read} concurrently from two
+ * different threads is undefined.
+ *
+ * <p>Positioned reads, such as {@link #read(long, byte[], int, int)} and {@link #readFully(long,
+ * byte[], int, int)}, leave the position of the stream unaltered and can be called concurrently
+ * from many threads. This allows for reading several parts of an object in parallel through a
+ * single stream, sharing its prefetching state, instead of opening a stream per thread.
+ *
+ * <p>The I/O done on behalf of the stream, such as the GET requests it issued and the time it
+ * spent waiting for data, is available from {@link #getIOStatistics()} and logged at debug level
+ * when the stream is closed.
  */
 public class S3SeekableInputStream extends SeekableInputStream {
   private final LogicalIO logicalIO;
   private final Telemetry telemetry;
   private final S3URI s3URI;
+  private final IOStatistics statistics;
   private long position;
   private static final int EOF = -1;
+  private static final ByteBuffer EMPTY_CURSOR = ByteBuffer.allocate(0).asReadOnlyBuffer();
+
+  // View of the block holding the byte at the position, from which single byte reads are served
+  // until the position leaves the block
+  private ByteBuffer cursor = EMPTY_CURSOR;
+  private long cursorStart;
+  private long markPosition = -1;
+
+  // Single bytes served by read() that are yet to be added to the statistics, which take them in
+  // batches
+  private long byteReads;
+
+  private static final Logger LOG = LoggerFactory.getLogger(S3SeekableInputStream.class);
 
   private static final String OPERATION_READ = "stream.read";
   private static final String FLAVOR_TAIL = "tail";
   private static final String FLAVOR_BYTE = "byte";
+  private static final String FLAVOR_ASYNC = "async";
+  private static final String FLAVOR_FULLY = "fully";
+  private static final String FLAVOR_POSITIONED = "positioned";
 
   private static final String OPERATION_STREAM_CLOSE = "seekablestream.close";
   private final long streamBirth = System.nanoTime();
 
   /**
-   * Given a LogicalIO, creates a new instance of {@link S3SeekableInputStream}.
+   * Given a LogicalIO, creates a new instance of {@link S3SeekableInputStream} that keeps no I/O
+   * statistics.
    *
    * @param s3URI the object this stream is using
    * @param logicalIO already initialised LogicalIO
@@ -56,9 +92,27 @@ public class S3SeekableInputStream extends SeekableInputStream {
    */
   S3SeekableInputStream(
       @NonNull S3URI s3URI, @NonNull LogicalIO logicalIO, @NonNull Telemetry telemetry) {
+    this(s3URI, logicalIO, telemetry, IOStatistics.NONE);
+  }
+
+  /**
+   * Given a LogicalIO, creates a new instance of {@link S3SeekableInputStream} recording its I/O
+   * into the given statistics.
+   *
+   * @param s3URI the object this stream is using
+   * @param logicalIO already initialised LogicalIO
+   * @param telemetry The {@link Telemetry} to use to report measurements.
+   * @param statistics the statistics the PhysicalIO of the stream records its I/O into
+   */
+  S3SeekableInputStream(
+      @NonNull S3URI s3URI,
+      @NonNull LogicalIO logicalIO,
+      @NonNull Telemetry telemetry,
+      @NonNull IOStatistics statistics) {
     this.s3URI = s3URI;
     this.logicalIO = logicalIO;
     this.telemetry = telemetry;
+    this.statistics = statistics;
     this.position = 0;
   }
 
@@ -75,12 +129,20 @@ public class S3SeekableInputStream extends SeekableInputStream {
    */
   @Override
   public int read() throws IOException {
+    // Serve the byte from the current block for as long as the position stays within it
+    long offset = this.position - this.cursorStart;
+    if (0 <= offset && offset < this.cursor.limit()) {
+      this.position++;
+      this.byteReads++;
+      return Byte.toUnsignedInt(this.cursor.get((int) offset));
+    }
+
     // -1 if we are past the end of the stream
     if (this.position >= getContentLength()) {
       return EOF;
     }
 
-    // Delegate to the LogicalIO and advance the position by 1
+    // Move the cursor to the block holding the byte and advance the position by 1
     return this.telemetry.measureVerbose(
         () ->
             Operation.builder()
@@ -90,7 +152,12 @@ public class S3SeekableInputStream extends SeekableInputStream {
                 .attribute(StreamAttributes.range(this.getPos(), this.getPos()))
                 .build(),
         () -> {
-          int byteRead = this.logicalIO.read(this.position);
+          ByteBuffer block = this.logicalIO.blockView(this.position);
+          flushByteReads();
+          this.byteReads++;
+          this.cursor = block;
+          this.cursorStart = this.position - block.position();
+          int byteRead = Byte.toUnsignedInt(block.get(block.position()));
           advancePosition(1);
           return byteRead;
         });
@@ -134,6 +201,11 @@ public class S3SeekableInputStream extends SeekableInputStream {
       return EOF;
     }
 
+    // Skip building the measured lambdas, which allocate on every read, if nothing is recorded
+    if (!this.telemetry.isEnabled(TelemetryLevel.VERBOSE)) {
+      return advancePosition(this.logicalIO.read(buffer, offset, length, position));
+    }
+
     return this.telemetry.measureVerbose(
         () ->
             Operation.builder()
@@ -148,6 +220,176 @@ public class S3SeekableInputStream extends SeekableInputStream {
         });
   }
 
+  /**
+   * Reads data from the stream into the provided buffer, heap or direct, starting at its current
+   * position. An attempt is made to read as many bytes as the buffer has remaining, but a smaller
+   * number may be read if the end of the stream is reached. The data is copied straight from the
+   * fetched blocks into the buffer, without going through an intermediate array. The position of
+   * the buffer and of the stream are advanced by the number of bytes read.
+   *
+   * @param dst the buffer into which the data is read
+   * @return the total number of bytes read into the buffer, or <code>-1</code> if there is no more
+   *     data because the end of the stream has been reached
+   * @throws IOException if an I/O error occurs
+   */
+  public int read(@NonNull ByteBuffer dst) throws IOException {
+    if (this.position >= getContentLength()) {
+      return EOF;
+    }
+
+    if (!dst.hasRemaining()) {
+      return 0;
+    }
+
+    if (!this.telemetry.isEnabled(TelemetryLevel.VERBOSE)) {
+      return advancePosition(this.logicalIO.read(dst, position));
+    }
+
+    return this.telemetry.measureVerbose(
+        () ->
+            Operation.builder()
+                .name(OPERATION_READ)
+                .attribute(StreamAttributes.uri(this.s3URI))
+                .attribute(StreamAttributes.range(position, position + dst.remaining() - 1))
+                .build(),
+        () -> {
+          // Delegate to the LogicalIO and advance the position accordingly
+          int bytesRead = this.logicalIO.read(dst, position);
+          return advancePosition(bytesRead);
+        });
+  }
+
+  /**
+   * Reads up to <code>length</code> bytes of data at the given position into an array of bytes. An
+   * attempt is made to read as many as <code>length</code> bytes, but a smaller number may be read
+   * if the end of the stream is reached. The position of the stream is unaltered, so this method
+   * can be called concurrently from many threads.
+   *
+   * @param position the position to begin reading from
+   * @param buffer the buffer into which the data is read
+   * @param offset the start offset in the buffer at which the data is written
+   * @param length the maximum number of bytes to read
+   * @return the total number of bytes read into the buffer, or <code>-1</code> if the position is
+   *     at or past the end of the stream
+   * @throws IOException if an I/O error occurs
+   */
+  public int read(long position, byte @NonNull [] buffer, int offset, int length)
+      throws IOException {
+    Preconditions.checkArgument(position >= 0, "position must be non-negative");
+    checkFromIndexSize(offset, length, buffer.length);
+
+    if (position >= getContentLength()) {
+      return EOF;
+    }
+
+    if (length == 0) {
+      return 0;
+    }
+
+    if (!this.telemetry.isEnabled(TelemetryLevel.VERBOSE)) {
+      return this.logicalIO.read(buffer, offset, length, position);
+    }
+
+    return this.telemetry.measureVerbose(
+        () ->
+            Operation.builder()
+                .name(OPERATION_READ)
+                .attribute(StreamAttributes.variant(FLAVOR_POSITIONED))
+                .attribute(StreamAttributes.uri(this.s3URI))
+                .attribute(StreamAttributes.range(position, position + length - 1))
+                .build(),
+        () -> this.logicalIO.read(buffer, offset, length, position));
+  }
+
+  /**
+   * Reads exactly <code>length</code> bytes of data at the given position into an array of bytes.
+   * The position of the stream is unaltered, so this method can be called concurrently from many
+   * threads.
+   *
+   * @param position the position to begin reading from
+   * @param buffer the buffer into which the data is read
+   * @param offset the start offset in the buffer at which the data is written
+   * @param length the number of bytes to read
+   * @throws EOFException if the end of the stream is reached before <code>length</code> bytes are
+   *     read
+   * @throws IOException if an I/O error occurs
+   */
+  public void readFully(long position, byte @NonNull [] buffer, int offset, int length)
+      throws IOException {
+    checkFromIndexSize(offset, length, buffer.length);
+    checkReadFullyRange(position, length);
+
+    if (!this.telemetry.isEnabled(TelemetryLevel.VERBOSE)) {
+      readFullyImpl(position, buffer, offset, length);
+      return;
+    }
+
+    this.telemetry.measureVerbose(
+        () ->
+            Operation.builder()
+                .name(OPERATION_READ)
+                .attribute(StreamAttributes.variant(FLAVOR_FULLY))
+                .attribute(StreamAttributes.uri(this.s3URI))
+                .attribute(StreamAttributes.range(position, position + Math.max(0, length - 1)))
+                .build(),
+        () -> readFullyImpl(position, buffer, offset, length));
+  }
+
+  private void readFullyImpl(long position, byte[] buffer, int offset, int length)
+      throws IOException {
+    int numBytesRead = 0;
+    while (numBytesRead < length) {
+      int bytesRead =
+          this.logicalIO.read(
+              buffer, offset + numBytesRead, length - numBytesRead, position + numBytesRead);
+      if (bytesRead <= 0) {
+        throw new EOFException("Unexpected end of stream at position " + (position + numBytesRead));
+      }
+      numBytesRead += bytesRead;
+    }
+  }
+
+  /**
+   * Reads data at the given position into the provided buffer, heap or direct, until the buffer is
+   * full. The data is copied straight from the fetched blocks into the buffer, and the position of
+   * the buffer is advanced accordingly. The position of the stream is unaltered.
+   *
+   * @param position the position to begin reading from
+   * @param dst the buffer into which the data is read
+   * @throws EOFException if the end of the stream is reached before the buffer is full
+   * @throws IOException if an I/O error occurs
+   */
+  public void readFully(long position, @NonNull ByteBuffer dst) throws IOException {
+    checkReadFullyRange(position, dst.remaining());
+
+    if (!this.telemetry.isEnabled(TelemetryLevel.VERBOSE)) {
+      readFullyImpl(position, dst);
+      return;
+    }
+
+    this.telemetry.measureVerbose(
+        () ->
+            Operation.builder()
+                .name(OPERATION_READ)
+                .attribute(StreamAttributes.variant(FLAVOR_FULLY))
+                .attribute(StreamAttributes.uri(this.s3URI))
+                .attribute(
+                    StreamAttributes.range(position, position + Math.max(0, dst.remaining() - 1)))
+                .build(),
+        () -> readFullyImpl(position, dst));
+  }
+
+  private void readFullyImpl(long position, ByteBuffer dst) throws IOException {
+    long nextPosition = position;
+    while (dst.hasRemaining()) {
+      int bytesRead = this.logicalIO.read(dst, nextPosition);
+      if (bytesRead <= 0) {
+        throw new EOFException("Unexpected end of stream at position " + nextPosition);
+      }
+      nextPosition += bytesRead;
+    }
+  }
+
   /**
    * Sets the offset, measured from the beginning of this stream, at which the next read occurs. The
    * offset may be set beyond the end of the file. Setting the offset beyond the end of the file
@@ -183,6 +425,81 @@ public class S3SeekableInputStream extends SeekableInputStream {
     return this.position;
   }
 
+  /**
+   * Skips over and discards up to <code>n</code> bytes of data from the stream. Unlike the default
+   * implementation of {@link java.io.InputStream#skip(long)}, no data is read: the position is
+   * moved as with {@link #seek(long) seek}, and the skipped bytes are only fetched if they are read
+   * later. Skipping stops at the end of the stream.
+   *
+   * @param n the number of bytes to be skipped
+   * @return the actual number of bytes skipped, <code>0</code> if <code>n</code> is negative or the
+   *     stream is at its end
+   * @throws IOException if an I/O error occurs
+   */
+  @Override
+  public long skip(long n) throws IOException {
+    if (n <= 0) {
+      return 0;
+    }
+
+    long skipped = Math.min(n, Math.max(0, getContentLength() - this.position));
+    this.position += skipped;
+    return skipped;
+  }
+
+  /**
+   * Returns the number of bytes that can be read without blocking, which are the bytes of the
+   * block holding the position that are already fetched, from the position to the end of the
+   * block. Callers can use it to size their reads so that they are served from memory. Nothing is
+   * fetched, so this is <code>0</code> until a read or a prefetch has brought the block in.
+   *
+   * @return the number of bytes that can be read without blocking
+   */
+  @Override
+  public int available() {
+    long offset = this.position - this.cursorStart;
+    if (0 <= offset && offset < this.cursor.limit()) {
+      return (int) (this.cursor.limit() - offset);
+    }
+
+    return this.logicalIO.available(this.position);
+  }
+
+  /**
+   * Marks the current position in the stream, so that a later call to {@link #reset()} goes back
+   * to it. Going back does not fetch the data again, since it is still held by the fetched blocks.
+   *
+   * @param readLimit ignored, the mark stays valid however many bytes are read after it
+   */
+  @Override
+  public void mark(int readLimit) {
+    this.markPosition = this.position;
+  }
+
+  /**
+   * Moves the stream back to the position of the last {@link #mark(int)}.
+   *
+   * @throws IOException if the stream was never marked
+   */
+  @Override
+  public void reset() throws IOException {
+    if (this.markPosition < 0) {
+      throw new IOException("Resetting to invalid mark");
+    }
+
+    this.position = this.markPosition;
+  }
+
+  /**
+   * Tells that this stream supports {@link #mark(int)} and {@link #reset()}.
+   *
+   * @return true
+   */
+  @Override
+  public boolean markSupported() {
+    return true;
+  }
+
   /**
    * Reads the last n bytes from the stream into a byte buffer. Blocks until end of stream is
    * reached. Leaves the position of the stream unaltered.
@@ -205,6 +522,59 @@ public class S3SeekableInputStream extends SeekableInputStream {
         () -> logicalIO.readTail(buf, off, n));
   }
 
+  /**
+   * Reads data at the given position into the provided buffer without blocking the caller, so that
+   * asynchronous engines can keep many reads in flight without holding a thread for each of them.
+   * The returned future completes once the data has arrived and has been copied into the buffer,
+   * starting at its current position. The position of the buffer is then advanced by the number of
+   * bytes read, and must not be changed in the meantime. The position of the stream is unaltered.
+   *
+   * @param position the position to begin reading from
+   * @param dst buffer to read data into, at most its remaining bytes are read
+   * @return a future completing with the number of bytes read, or -1 if the position is at or past
+   *     the end of the stream
+   */
+  public CompletableFuture<Integer> readAsync(long position, @NonNull ByteBuffer dst) {
+    Preconditions.checkArgument(position >= 0, "position must be non-negative");
+
+    return this.telemetry.measureVerbose(
+        () ->
+            Operation.builder()
+                .name(OPERATION_READ)
+                .attribute(StreamAttributes.variant(FLAVOR_ASYNC))
+                .attribute(StreamAttributes.uri(this.s3URI))
+                .attribute(
+                    StreamAttributes.range(position, position + Math.max(0, dst.remaining() - 1)))
+                .build(),
+        this.logicalIO.readAsync(position, dst));
+  }
+
+  /**
+   * Returns the Parquet footer of the object, as parsed by this library. Integrations can use it
+   * instead of reading the footer with {@link #readTail(byte[], int, int)} and decoding it again.
+   * The footer is shared between all streams of the object.
+   *
+   * @return the parsed footer, or empty if the object is not read as a Parquet object or its footer
+   *     could not be parsed
+   */
+  public Optional<ParquetFooter> getParquetFooter() {
+    return this.logicalIO.parquetFooter();
+  }
+
+  /**
+   * Returns a snapshot of the I/O done on behalf of this stream: the reads served and the bytes
+   * they asked for, the GET requests issued and the bytes they fetched, how many reads were served
+   * from blocks already fetched or in flight, the prefetched bytes and those released without being
+   * read, and the time spent blocked waiting for data. Like {@link #read() read}, this should be
+   * called from the thread reading the stream, or once the stream is closed.
+   *
+   * @return the I/O statistics of this stream
+   */
+  public IOStatisticsSnapshot getIOStatistics() {
+    flushByteReads();
+    return this.statistics.snapshot();
+  }
+
   /**
    * Releases all resources associated with the {@link S3SeekableInputStream}.
    *
@@ -220,6 +590,11 @@ public class S3SeekableInputStream extends SeekableInputStream {
                     StreamAttributes.streamRelativeTimestamp(System.nanoTime() - streamBirth))
                 .build(),
         () -> this.logicalIO.close());
+    this.cursor = EMPTY_CURSOR;
+
+    if (LOG.isDebugEnabled()) {
+      LOG.debug("I/O statistics of stream on {}: {}", this.s3URI, getIOStatistics());
+    }
 
     // Flush telemetry after a stream closes to have full coverage of all operations of this stream
     this.telemetry.flush();
@@ -234,6 +609,55 @@ public class S3SeekableInputStream extends SeekableInputStream {
     return this.logicalIO.metadata().getContentLength();
   }
 
+  /**
+   * Checks that a full read of the given range stays within the stream.
+   *
+   * @param position the position to begin reading from
+   * @param length the number of bytes to read
+   * @throws EOFException if the range goes past the end of the stream
+   */
+  private void checkReadFullyRange(long position, int length) throws EOFException {
+    Preconditions.checkArgument(position >= 0, "position must be non-negative");
+
+    if (position + length > getContentLength()) {
+      throw new EOFException(
+          "Reading "
+              + length
+              + " bytes at position "
+              + position
+              + " goes past the end of the object");
+    }
+  }
+
+  /**
+   * Checks that a sub-range of an array is within its bounds, as {@link java.io.InputStream} does.
+   *
+   * @param offset the start offset of the sub-range
+   * @param length the length of the sub-range
+   * @param arrayLength the length of the array
+   */
+  private static void checkFromIndexSize(int offset, int length, int arrayLength) {
+    if (offset < 0 || length < 0 || length > arrayLength - offset) {
+      throw new IndexOutOfBoundsException(
+          "Range ["
+              + offset
+              + ", "
+              + offset
+              + " + "
+              + length
+              + ") out of bounds for length "
+              + arrayLength);
+    }
+  }
+
+  /** Adds the single bytes served by {@link #read()} since the last flush to the statistics. */
+  private void flushByteReads() {
+    if (this.byteReads > 0) {
+      this.statistics.recordBytesRequested(this.byteReads);
+      this.byteReads = 0;
+    }
+  }
+
   /**
    * Advance the position based on the bytes read. If `bytesRead` is negative, we do not advance
    *
@@ -16,17 +16,33 @@
 package software.amazon.s3.analyticsaccelerator;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
 import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIO;
 import software.amazon.s3.analyticsaccelerator.io.logical.impl.DefaultLogicalIOImpl;
+import software.amazon.s3.analyticsaccelerator.io.logical.impl.OrcColumnPrefetchStore;
+import software.amazon.s3.analyticsaccelerator.io.logical.impl.OrcLogicalIOImpl;
 import software.amazon.s3.analyticsaccelerator.io.logical.impl.ParquetColumnPrefetchStore;
 import software.amazon.s3.analyticsaccelerator.io.logical.impl.ParquetLogicalIOImpl;
+import software.amazon.s3.analyticsaccelerator.io.logical.parquet.ParquetReadHints;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
 import software.amazon.s3.analyticsaccelerator.io.physical.data.BlobStore;
 import software.amazon.s3.analyticsaccelerator.io.physical.data.MetadataStore;
 import software.amazon.s3.analyticsaccelerator.io.physical.impl.PhysicalIOImpl;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlan;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanExecution;
 import software.amazon.s3.analyticsaccelerator.request.ObjectClient;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+import software.amazon.s3.analyticsaccelerator.util.AsyncExecutors;
+import software.amazon.s3.analyticsaccelerator.util.IOStatistics;
+import software.amazon.s3.analyticsaccelerator.util.IOStatisticsSnapshot;
+import software.amazon.s3.analyticsaccelerator.util.ObjectFormat;
 import software.amazon.s3.analyticsaccelerator.util.ObjectFormatSelector;
 import software.amazon.s3.analyticsaccelerator.util.S3URI;
 
@@ -38,18 +54,32 @@ import software.amazon.s3.analyticsaccelerator.util.S3URI;
  * <p>This factory does NOT assume ownership of the passed {@link ObjectClient}. It is the
  * responsibility of the caller to close the client and to make sure that it remains active for
  * {@link S3SeekableInputStreamFactory#createStream(S3URI)} to vend correct {@link
- * SeekableInputStream}.
+ * SeekableInputStream}. The same goes for an executor passed in by the caller, whereas the
+ * executor created from the configuration is shut down when the factory is closed.
+ *
+ * <p>The I/O statistics of all the streams created by the factory, and of the prefetches it
+ * executed, are aggregated into {@link #getIOStatistics()}.
  */
 @Getter
 public class S3SeekableInputStreamFactory implements AutoCloseable {
   private final ObjectClient objectClient;
   private final S3SeekableInputStreamConfiguration configuration;
   private final ParquetColumnPrefetchStore parquetColumnPrefetchStore;
+  private final OrcColumnPrefetchStore orcColumnPrefetchStore;
 
   private final MetadataStore objectMetadataStore;
   private final BlobStore objectBlobStore;
   private final Telemetry telemetry;
   private final ObjectFormatSelector objectFormatSelector;
+  private final ExecutorService asyncExecutor;
+
+  @Getter(AccessLevel.NONE)
+  private final boolean asyncExecutorOwned;
+
+  @Getter(AccessLevel.NONE)
+  private final IOStatistics ioStatistics = new IOStatistics();
+
+  private static final Logger LOG = LoggerFactory.getLogger(S3SeekableInputStreamFactory.class);
 
   /**
    * Creates a new instance of {@link S3SeekableInputStreamFactory}. This factory should be used to
@@ -62,11 +92,43 @@ public class S3SeekableInputStreamFactory implements AutoCloseable {
   public S3SeekableInputStreamFactory(
       @NonNull ObjectClient objectClient,
       @NonNull S3SeekableInputStreamConfiguration configuration) {
+    this(
+        objectClient,
+        configuration,
+        AsyncExecutors.create(configuration.getLogicalIOConfiguration()),
+        true);
+  }
+
+  /**
+   * Creates a new instance of {@link S3SeekableInputStreamFactory} running its asynchronous work,
+   * such as prefetching, on the given executor. This allows for sharing an executor with the rest
+   * of the application, which remains responsible for shutting it down.
+   *
+   * @param objectClient Object client
+   * @param configuration {@link S3SeekableInputStream} configuration
+   * @param asyncExecutor executor running the asynchronous work of the streams
+   */
+  public S3SeekableInputStreamFactory(
+      @NonNull ObjectClient objectClient,
+      @NonNull S3SeekableInputStreamConfiguration configuration,
+      @NonNull ExecutorService asyncExecutor) {
+    this(objectClient, configuration, asyncExecutor, false);
+  }
+
+  private S3SeekableInputStreamFactory(
+      ObjectClient objectClient,
+      S3SeekableInputStreamConfiguration configuration,
+      ExecutorService asyncExecutor,
+      boolean asyncExecutorOwned) {
     this.objectClient = objectClient;
+    this.asyncExecutor = asyncExecutor;
+    this.asyncExecutorOwned = asyncExecutorOwned;
     this.configuration = configuration;
     this.telemetry = Telemetry.createTelemetry(configuration.getTelemetryConfiguration());
     this.parquetColumnPrefetchStore =
         new ParquetColumnPrefetchStore(configuration.getLogicalIOConfiguration());
+    this.orcColumnPrefetchStore =
+        new OrcColumnPrefetchStore(configuration.getLogicalIOConfiguration());
     this.objectMetadataStore =
         new MetadataStore(objectClient, telemetry, configuration.getPhysicalIOConfiguration());
     this.objectFormatSelector = new ObjectFormatSelector(configuration.getLogicalIOConfiguration());
@@ -85,27 +147,132 @@ public class S3SeekableInputStreamFactory implements AutoCloseable {
    * @return An instance of the input stream.
    */
   public S3SeekableInputStream createStream(@NonNull S3URI s3URI) {
-    return new S3SeekableInputStream(s3URI, createLogicalIO(s3URI), telemetry);
+    return createStream(s3URI, ParquetReadHints.NONE);
+  }
+
+  /**
+   * Create an instance of S3SeekableInputStream with hints about how the object is going to be
+   * read. The hints are only used for Parquet objects, where a column projection makes the stream
+   * prefetch exactly the projected columns rather than the columns recently read for the same
+   * schema.
+   *
+   * @param s3URI the object's S3 URI
+   * @param parquetReadHints hints about how the object is going to be read
+   * @return An instance of the input stream.
+   */
+  public S3SeekableInputStream createStream(
+      @NonNull S3URI s3URI, @NonNull ParquetReadHints parquetReadHints) {
+    IOStatistics streamStatistics = new IOStatistics(ioStatistics);
+    return new S3SeekableInputStream(
+        s3URI,
+        createLogicalIO(s3URI, parquetReadHints, streamStatistics),
+        telemetry,
+        streamStatistics);
+  }
+
+  /**
+   * Returns a snapshot of the I/O done by all the streams created by this factory, including the
+   * streams that are still open, and by the prefetches it executed.
+   *
+   * @return the aggregated I/O statistics of the factory
+   */
+  public IOStatisticsSnapshot getIOStatistics() {
+    return ioStatistics.snapshot();
+  }
+
+  /**
+   * Warms up the cache with the given ranges of an object before any stream is opened on it. The
+   * ranges are fetched asynchronously and are shared with all the streams this factory later
+   * creates for the same object, so that their reads are served from the already fetched blocks.
+   * This is useful when the caller knows upfront which ranges it is going to read, for example
+   * from table metadata or from a previous run.
+   *
+   * @param s3URI the object's S3 URI
+   * @param ranges the ranges of the object to fetch
+   * @return a handle on the prefetch. Its {@link IOPlanExecution#getCompletion()} can be joined to
+   *     wait for the data, or cancelled to abandon the fetches that are still in flight.
+   */
+  public IOPlanExecution prefetch(@NonNull S3URI s3URI, @NonNull List<Range> ranges) {
+    return objectBlobStore.get(s3URI).execute(new IOPlan(ranges), ioStatistics);
   }
 
   LogicalIO createLogicalIO(S3URI s3URI) {
-    switch (objectFormatSelector.getObjectFormat(s3URI)) {
+    return createLogicalIO(s3URI, ParquetReadHints.NONE);
+  }
+
+  LogicalIO createLogicalIO(S3URI s3URI, ParquetReadHints parquetReadHints) {
+    return createLogicalIO(s3URI, parquetReadHints, new IOStatistics(ioStatistics));
+  }
+
+  LogicalIO createLogicalIO(
+      S3URI s3URI, ParquetReadHints parquetReadHints, IOStatistics streamStatistics) {
+    PhysicalIO physicalIO =
+        new PhysicalIOImpl(
+            s3URI, objectMetadataStore, objectBlobStore, telemetry, streamStatistics);
+    // Format detection and the prefetching tasks read on their own, not on behalf of the reader,
+    // so only the GET requests they issue are counted into the statistics of the stream
+    PhysicalIO internalPhysicalIO =
+        new PhysicalIOImpl(
+            s3URI, objectMetadataStore, objectBlobStore, telemetry, streamStatistics.internal());
+    switch (getObjectFormat(s3URI, internalPhysicalIO)) {
       case PARQUET:
         return new ParquetLogicalIOImpl(
             s3URI,
-            new PhysicalIOImpl(s3URI, objectMetadataStore, objectBlobStore, telemetry),
+            physicalIO,
+            internalPhysicalIO,
             telemetry,
             configuration.getLogicalIOConfiguration(),
-            parquetColumnPrefetchStore);
+            parquetColumnPrefetchStore,
+            parquetReadHints,
+            asyncExecutor);
 
-      default:
-        return new DefaultLogicalIOImpl(
+      case ORC:
+        return new OrcLogicalIOImpl(
             s3URI,
-            new PhysicalIOImpl(s3URI, objectMetadataStore, objectBlobStore, telemetry),
-            telemetry);
+            physicalIO,
+            internalPhysicalIO,
+            telemetry,
+            configuration.getLogicalIOConfiguration(),
+            orcColumnPrefetchStore,
+            asyncExecutor);
+
+      default:
+        return new DefaultLogicalIOImpl(s3URI, physicalIO, telemetry);
     }
   }
 
+  /**
+   * Selects the format of an object from its key. When the key does not tell and format detection
+   * is enabled, the last bytes of the object are read to look for the magic of a known format, so
+   * that columnar files get the format-aware logical IO whatever their name. The bytes read are
+   * cached, and served again when the logical IO reads the tail.
+   *
+   * @param s3URI the object's S3 URI
+   * @param physicalIO the PhysicalIO of the object
+   * @return the format of the object
+   */
+  private ObjectFormat getObjectFormat(S3URI s3URI, PhysicalIO physicalIO) {
+    ObjectFormat objectFormat = objectFormatSelector.getObjectFormat(s3URI);
+    if (objectFormat != ObjectFormat.DEFAULT
+        || !configuration.getLogicalIOConfiguration().isFormatDetectionEnabled()) {
+      return objectFormat;
+    }
+
+    try {
+      long contentLength = physicalIO.metadata().getContentLength();
+      if (contentLength >= ObjectFormatSelector.FORMAT_DETECTION_TAIL_LENGTH) {
+        byte[] tail = new byte[ObjectFormatSelector.FORMAT_DETECTION_TAIL_LENGTH];
+        physicalIO.readTail(tail, 0, tail.length);
+        objectFormat = objectFormatSelector.getObjectFormat(tail, contentLength);
+      }
+    } catch (Exception e) {
+      // Errors surface on the first read of the stream instead
+      LOG.debug("Unable to detect the format of {}.", s3URI.getKey(), e);
+    }
+
+    return objectFormat;
+  }
+
   /**
    * Closes the factory and underlying resources.
    *
@@ -116,5 +283,8 @@ public class S3SeekableInputStreamFactory implements AutoCloseable {
     this.objectMetadataStore.close();
     this.objectBlobStore.close();
     this.telemetry.close();
+    if (asyncExecutorOwned) {
+      this.asyncExecutor.shutdown();
+    }
   }
 }
@@ -0,0 +1,79 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical;
+
+import java.util.Optional;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+
+/**
+ * Utils class for reading the tail of columnar files. Parquet and ORC both keep their metadata at
+ * the end of the file, and read it the same way: footerCachingSize bytes are read from the end of
+ * the file, or the whole file when it is small enough to be prefetched entirely.
+ */
+public final class FileTailUtils {
+  /** Prevent direct instantiation, this is meant to be a facade. */
+  private FileTailUtils() {}
+
+  /**
+   * Gets range of file tail to be read.
+   *
+   * @param logicalIOConfiguration logical io configuration
+   * @param startRange start of file
+   * @param contentLength length of file
+   * @return range to be read
+   */
+  public static Optional<Range> getFileTailRange(
+      LogicalIOConfiguration logicalIOConfiguration, long startRange, long contentLength) {
+    return getFileTailRange(
+        logicalIOConfiguration,
+        startRange,
+        contentLength,
+        logicalIOConfiguration.getFooterCachingSize());
+  }
+
+  /**
+   * Gets range of file tail to be read.
+   *
+   * @param logicalIOConfiguration logical io configuration
+   * @param startRange start of file
+   * @param contentLength length of file
+   * @param tailSize size of the tail to read, unless the whole file is to be read
+   * @return range to be read
+   */
+  public static Optional<Range> getFileTailRange(
+      LogicalIOConfiguration logicalIOConfiguration,
+      long startRange,
+      long contentLength,
+      long tailSize) {
+
+    if (contentLength > tailSize) {
+      boolean shouldPrefetchSmallFile =
+          logicalIOConfiguration.isSmallObjectsPrefetchingEnabled()
+              && contentLength <= logicalIOConfiguration.getSmallObjectSizeThreshold();
+
+      if (!shouldPrefetchSmallFile) {
+        startRange = contentLength - tailSize;
+      }
+    }
+
+    // Return a range if we have non-zero range to work with, and Empty otherwise
+    if (startRange < contentLength) {
+      return Optional.of(new Range(startRange, contentLength - 1));
+    } else {
+      return Optional.empty();
+    }
+  }
+}
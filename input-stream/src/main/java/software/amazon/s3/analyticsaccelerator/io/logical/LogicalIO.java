@@ -15,7 +15,12 @@
  */
 package software.amazon.s3.analyticsaccelerator.io.logical;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import software.amazon.s3.analyticsaccelerator.RandomAccessReadable;
+import software.amazon.s3.analyticsaccelerator.io.logical.parquet.ParquetFooter;
 
 /**
  * Interface responsible for implementing "logical" reads. Logical reads are not concerned with the
@@ -27,6 +32,49 @@ import software.amazon.s3.analyticsaccelerator.RandomAccessReadable;
  * logical layer should be able to create an IOPlan based on this and use the physical layer to
  * execute this asynchronously.
  *
- * <p>For now, this interface is a marker interface but should become more soon.
+ * <p>Logical IO implementations that understand the format of the object also expose what they
+ * learnt about it, such as the parsed Parquet footer.
  */
-public interface LogicalIO extends RandomAccessReadable {}
+public interface LogicalIO extends RandomAccessReadable {
+  /**
+   * Returns the parsed Parquet footer of the object. The footer is parsed once and shared between
+   * all streams of the object.
+   *
+   * @return the parsed footer, or empty if the object is not read as a Parquet object or its footer
+   *     could not be parsed
+   */
+  Optional<ParquetFooter> parquetFooter();
+
+  /**
+   * Reads data into the provided buffer without blocking the caller, so that many reads can be in
+   * flight without holding a thread each. The returned future completes once the data is available
+   * and copied into the buffer, starting at its current position. The position of the buffer is
+   * then advanced by the number of bytes read, and must not be changed in the meantime.
+   *
+   * @param position the position to begin reading from
+   * @param dst buffer to read data into, at most its remaining bytes are read
+   * @return a future completing with the number of bytes read, or -1 if the position is at or past
+   *     the end of the object
+   */
+  CompletableFuture<Integer> readAsync(long position, ByteBuffer dst);
+
+  /**
+   * Returns a read-only view of the block holding the byte at the given position, fetching the
+   * block if needed. Streams use it to serve consecutive single byte reads without going through
+   * the IO layers for each of them.
+   *
+   * @param position the position of the byte
+   * @return a buffer spanning the whole block, positioned at the byte
+   * @throws IOException IO error, if incurred
+   */
+  ByteBuffer blockView(long position) throws IOException;
+
+  /**
+   * Returns the number of bytes that can be read from the given position without blocking. Streams
+   * use it to answer {@link java.io.InputStream#available()} whichever read brought the data in.
+   *
+   * @param position the position of the byte
+   * @return the number of bytes that are already fetched from the position on
+   */
+  int available(long position);
+}
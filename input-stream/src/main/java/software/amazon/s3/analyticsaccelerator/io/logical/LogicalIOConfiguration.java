@@ -15,12 +15,14 @@
  */
 package software.amazon.s3.analyticsaccelerator.io.logical;
 
+import static software.amazon.s3.analyticsaccelerator.util.Constants.ONE_KB;
 import static software.amazon.s3.analyticsaccelerator.util.Constants.ONE_MB;
 
 import lombok.Builder;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import software.amazon.s3.analyticsaccelerator.common.ConnectorConfiguration;
+import software.amazon.s3.analyticsaccelerator.util.ExecutorMode;
 import software.amazon.s3.analyticsaccelerator.util.PrefetchMode;
 
 /** Configuration for {@link LogicalIO} */
@@ -34,8 +36,22 @@ public class LogicalIOConfiguration {
   private static final long DEFAULT_SMALL_OBJECT_SIZE_THRESHOLD = 3 * ONE_MB;
   private static final int DEFAULT_PARQUET_METADATA_STORE_SIZE = 45;
   private static final int DEFAULT_MAX_COLUMN_ACCESS_STORE_SIZE = 15;
+  private static final int DEFAULT_COLUMN_ACCESS_HALF_LIFE = 15;
+  private static final int DEFAULT_MAX_TRACKED_COLUMNS_PER_SCHEMA = 512;
+  private static final double DEFAULT_COLUMN_PREFETCH_MIN_CONFIDENCE = 0.1;
+  private static final boolean DEFAULT_TABLE_SCOPED_COLUMN_PREDICTION_ENABLED = false;
   private static final String DEFAULT_PARQUET_FORMAT_SELECTOR_REGEX = "^.*.(parquet|par)$";
+  private static final String DEFAULT_ORC_FORMAT_SELECTOR_REGEX = "^.*\\.orc$";
+  private static final boolean DEFAULT_FORMAT_DETECTION_ENABLED = false;
   private static final PrefetchMode DEFAULT_PREFETCHING_MODE = PrefetchMode.ROW_GROUP;
+  private static final boolean DEFAULT_PAGE_INDEX_PREFETCHING_ENABLED = false;
+  private static final long DEFAULT_PAGE_PREFETCH_MAX_GAP_BYTES = 64 * ONE_KB;
+  private static final boolean DEFAULT_DICTIONARY_FIRST_PREFETCHING_ENABLED = false;
+  private static final boolean DEFAULT_ADAPTIVE_FOOTER_CACHING_ENABLED = false;
+  private static final int DEFAULT_ROW_GROUP_PREFETCH_LOOK_AHEAD = 0;
+  private static final long DEFAULT_ROW_GROUP_PREFETCH_LOOK_AHEAD_BYTES = 64 * ONE_MB;
+  private static final ExecutorMode DEFAULT_ASYNC_EXECUTOR_MODE = ExecutorMode.BOUNDED;
+  private static final int DEFAULT_ASYNC_EXECUTOR_THREADS = 32;
 
   @Builder.Default private boolean footerCachingEnabled = DEFAULT_FOOTER_CACHING_ENABLED;
 
@@ -70,11 +86,84 @@ public class LogicalIOConfiguration {
 
   private static final String MAX_COLUMN_ACCESS_STORE_SIZE_KEY = "max.column.access.store.size";
 
+  @Builder.Default private int columnAccessHalfLife = DEFAULT_COLUMN_ACCESS_HALF_LIFE;
+
+  private static final String COLUMN_ACCESS_HALF_LIFE_KEY = "column.access.half.life";
+
+  @Builder.Default
+  private int maxTrackedColumnsPerSchema = DEFAULT_MAX_TRACKED_COLUMNS_PER_SCHEMA;
+
+  private static final String MAX_TRACKED_COLUMNS_PER_SCHEMA_KEY =
+      "max.tracked.columns.per.schema";
+
+  @Builder.Default
+  private double columnPrefetchMinConfidence = DEFAULT_COLUMN_PREFETCH_MIN_CONFIDENCE;
+
+  private static final String COLUMN_PREFETCH_MIN_CONFIDENCE_KEY =
+      "column.prefetch.min.confidence";
+
+  @Builder.Default
+  private boolean tableScopedColumnPredictionEnabled =
+      DEFAULT_TABLE_SCOPED_COLUMN_PREDICTION_ENABLED;
+
+  private static final String TABLE_SCOPED_COLUMN_PREDICTION_ENABLED_KEY =
+      "table.scoped.column.prediction.enabled";
+
   @Builder.Default
   private String parquetFormatSelectorRegex = DEFAULT_PARQUET_FORMAT_SELECTOR_REGEX;
 
   private static final String PARQUET_FORMAT_SELECTOR_REGEX = "parquet.format.selector.regex";
 
+  @Builder.Default private String orcFormatSelectorRegex = DEFAULT_ORC_FORMAT_SELECTOR_REGEX;
+
+  private static final String ORC_FORMAT_SELECTOR_REGEX = "orc.format.selector.regex";
+
+  // Opening a key that no format regex matches costs a HEAD and a 4-byte GET of the object tail
+  // before the stream is returned, so this adds one round trip to the open latency of such keys.
+  @Builder.Default private boolean formatDetectionEnabled = DEFAULT_FORMAT_DETECTION_ENABLED;
+
+  private static final String FORMAT_DETECTION_ENABLED_KEY = "format.detection.enabled";
+
+  @Builder.Default
+  private boolean pageIndexPrefetchingEnabled = DEFAULT_PAGE_INDEX_PREFETCHING_ENABLED;
+
+  private static final String PAGE_INDEX_PREFETCHING_ENABLED_KEY =
+      "page.index.prefetching.enabled";
+
+  @Builder.Default private long pagePrefetchMaxGapBytes = DEFAULT_PAGE_PREFETCH_MAX_GAP_BYTES;
+
+  private static final String PAGE_PREFETCH_MAX_GAP_BYTES_KEY = "page.prefetch.max.gap.bytes";
+
+  @Builder.Default
+  private boolean dictionaryFirstPrefetchingEnabled = DEFAULT_DICTIONARY_FIRST_PREFETCHING_ENABLED;
+
+  private static final String DICTIONARY_FIRST_PREFETCHING_ENABLED_KEY =
+      "dictionary.first.prefetching.enabled";
+
+  @Builder.Default
+  private boolean adaptiveFooterCachingEnabled = DEFAULT_ADAPTIVE_FOOTER_CACHING_ENABLED;
+
+  private static final String ADAPTIVE_FOOTER_CACHING_ENABLED_KEY =
+      "adaptive.footer.caching.enabled";
+
+  @Builder.Default private int rowGroupPrefetchLookAhead = DEFAULT_ROW_GROUP_PREFETCH_LOOK_AHEAD;
+
+  private static final String ROW_GROUP_PREFETCH_LOOK_AHEAD_KEY = "row.group.prefetch.look.ahead";
+
+  @Builder.Default
+  private long rowGroupPrefetchLookAheadBytes = DEFAULT_ROW_GROUP_PREFETCH_LOOK_AHEAD_BYTES;
+
+  private static final String ROW_GROUP_PREFETCH_LOOK_AHEAD_BYTES_KEY =
+      "row.group.prefetch.look.ahead.bytes";
+
+  @Builder.Default private ExecutorMode asyncExecutorMode = DEFAULT_ASYNC_EXECUTOR_MODE;
+
+  private static final String ASYNC_EXECUTOR_MODE_KEY = "async.executor.mode";
+
+  @Builder.Default private int asyncExecutorThreads = DEFAULT_ASYNC_EXECUTOR_THREADS;
+
+  private static final String ASYNC_EXECUTOR_THREADS_KEY = "async.executor.threads";
+
   public static final LogicalIOConfiguration DEFAULT = LogicalIOConfiguration.builder().build();
 
   /**
@@ -101,12 +190,55 @@ public class LogicalIOConfiguration {
         .maxColumnAccessCountStoreSize(
             configuration.getInt(
                 MAX_COLUMN_ACCESS_STORE_SIZE_KEY, DEFAULT_MAX_COLUMN_ACCESS_STORE_SIZE))
+        .columnAccessHalfLife(
+            configuration.getInt(COLUMN_ACCESS_HALF_LIFE_KEY, DEFAULT_COLUMN_ACCESS_HALF_LIFE))
+        .maxTrackedColumnsPerSchema(
+            configuration.getInt(
+                MAX_TRACKED_COLUMNS_PER_SCHEMA_KEY, DEFAULT_MAX_TRACKED_COLUMNS_PER_SCHEMA))
+        .columnPrefetchMinConfidence(
+            configuration.getDouble(
+                COLUMN_PREFETCH_MIN_CONFIDENCE_KEY, DEFAULT_COLUMN_PREFETCH_MIN_CONFIDENCE))
+        .tableScopedColumnPredictionEnabled(
+            configuration.getBoolean(
+                TABLE_SCOPED_COLUMN_PREDICTION_ENABLED_KEY,
+                DEFAULT_TABLE_SCOPED_COLUMN_PREDICTION_ENABLED))
         .parquetFormatSelectorRegex(
             configuration.getString(
                 PARQUET_FORMAT_SELECTOR_REGEX, DEFAULT_PARQUET_FORMAT_SELECTOR_REGEX))
+        .orcFormatSelectorRegex(
+            configuration.getString(ORC_FORMAT_SELECTOR_REGEX, DEFAULT_ORC_FORMAT_SELECTOR_REGEX))
+        .formatDetectionEnabled(
+            configuration.getBoolean(
+                FORMAT_DETECTION_ENABLED_KEY, DEFAULT_FORMAT_DETECTION_ENABLED))
         .prefetchingMode(
             PrefetchMode.fromString(
                 configuration.getString(PREFETCHING_MODE_KEY, DEFAULT_PREFETCHING_MODE.toString())))
+        .pageIndexPrefetchingEnabled(
+            configuration.getBoolean(
+                PAGE_INDEX_PREFETCHING_ENABLED_KEY, DEFAULT_PAGE_INDEX_PREFETCHING_ENABLED))
+        .pagePrefetchMaxGapBytes(
+            configuration.getLong(
+                PAGE_PREFETCH_MAX_GAP_BYTES_KEY, DEFAULT_PAGE_PREFETCH_MAX_GAP_BYTES))
+        .dictionaryFirstPrefetchingEnabled(
+            configuration.getBoolean(
+                DICTIONARY_FIRST_PREFETCHING_ENABLED_KEY,
+                DEFAULT_DICTIONARY_FIRST_PREFETCHING_ENABLED))
+        .adaptiveFooterCachingEnabled(
+            configuration.getBoolean(
+                ADAPTIVE_FOOTER_CACHING_ENABLED_KEY, DEFAULT_ADAPTIVE_FOOTER_CACHING_ENABLED))
+        .rowGroupPrefetchLookAhead(
+            configuration.getInt(
+                ROW_GROUP_PREFETCH_LOOK_AHEAD_KEY, DEFAULT_ROW_GROUP_PREFETCH_LOOK_AHEAD))
+        .rowGroupPrefetchLookAheadBytes(
+            configuration.getLong(
+                ROW_GROUP_PREFETCH_LOOK_AHEAD_BYTES_KEY,
+                DEFAULT_ROW_GROUP_PREFETCH_LOOK_AHEAD_BYTES))
+        .asyncExecutorMode(
+            ExecutorMode.fromString(
+                configuration.getString(
+                    ASYNC_EXECUTOR_MODE_KEY, DEFAULT_ASYNC_EXECUTOR_MODE.toString())))
+        .asyncExecutorThreads(
+            configuration.getInt(ASYNC_EXECUTOR_THREADS_KEY, DEFAULT_ASYNC_EXECUTOR_THREADS))
         .build();
   }
 }
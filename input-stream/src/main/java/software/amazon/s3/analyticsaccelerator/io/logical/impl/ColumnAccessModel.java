@@ -0,0 +1,120 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import software.amazon.s3.analyticsaccelerator.common.Preconditions;
+import software.amazon.s3.analyticsaccelerator.io.logical.parquet.ColumnPrediction;
+
+/**
+ * Recency weighted access frequencies of the columns of a schema, used to predict which columns
+ * to prefetch. Every access adds to the score of its column, and scores decay exponentially with
+ * the number of accesses made since, halving every halfLife accesses. A column read in every file
+ * then keeps a high score, while a column read once fades away, however many other columns the
+ * workload reads.
+ *
+ * <p>Rather than decaying every score on each access, each access is weighted by a factor growing
+ * exponentially over time, and scores are rescaled once in a while to stay within range. The
+ * number of tracked columns is bounded, the column with the lowest score being evicted first.
+ *
+ * <p>This class is not thread-safe, {@link ParquetColumnPrefetchStore} and {@link
+ * OrcColumnPrefetchStore} synchronize access to it.
+ */
+final class ColumnAccessModel {
+  private static final double MAX_WEIGHT = 1e100;
+
+  private final double weightGrowth;
+  private final int maxColumns;
+  private final Map<String, Double> scores = new HashMap<>();
+  private double weight = 1;
+
+  /**
+   * Creates a new instance of {@link ColumnAccessModel}.
+   *
+   * @param halfLife number of accesses after which the score of an access is halved
+   * @param maxColumns maximum number of columns to keep track of
+   */
+  ColumnAccessModel(int halfLife, int maxColumns) {
+    Preconditions.checkArgument(halfLife > 0, "`halfLife` must be positive");
+    Preconditions.checkArgument(maxColumns > 0, "`maxColumns` must be positive");
+    this.weightGrowth = Math.pow(2, 1.0 / halfLife);
+    this.maxColumns = maxColumns;
+  }
+
+  /**
+   * Records an access to a column.
+   *
+   * @param columnName the column accessed
+   */
+  void recordAccess(String columnName) {
+    scores.merge(columnName, weight, Double::sum);
+    if (scores.size() > maxColumns) {
+      evictLowestScore(columnName);
+    }
+
+    weight *= weightGrowth;
+    if (weight > MAX_WEIGHT) {
+      scores.replaceAll((column, score) -> score / weight);
+      weight = 1;
+    }
+  }
+
+  /**
+   * Predicts the columns to be read, most likely first.
+   *
+   * @param minConfidence the confidence below which columns are left out
+   * @return the predicted columns, sorted by decreasing confidence
+   */
+  List<ColumnPrediction> predict(double minConfidence) {
+    double maxScore = 0;
+    for (double score : scores.values()) {
+      maxScore = Math.max(maxScore, score);
+    }
+
+    List<ColumnPrediction> predictions = new ArrayList<>();
+    for (Map.Entry<String, Double> entry : scores.entrySet()) {
+      double confidence = entry.getValue() / maxScore;
+      if (confidence >= minConfidence) {
+        predictions.add(new ColumnPrediction(entry.getKey(), confidence));
+      }
+    }
+    predictions.sort((left, right) -> Double.compare(right.getConfidence(), left.getConfidence()));
+
+    return predictions;
+  }
+
+  /**
+   * Evicts the column with the lowest score, other than the column just read. A column read for the
+   * first time scores lower than the columns read many times, and would otherwise be evicted right
+   * away, so that no new column could enter a model full of frequently read columns.
+   *
+   * @param readColumn the column just read
+   */
+  private void evictLowestScore(String readColumn) {
+    String lowestScoreColumn = null;
+    double lowestScore = Double.MAX_VALUE;
+    for (Map.Entry<String, Double> entry : scores.entrySet()) {
+      if (entry.getValue() < lowestScore && !entry.getKey().equals(readColumn)) {
+        lowestScoreColumn = entry.getKey();
+        lowestScore = entry.getValue();
+      }
+    }
+    scores.remove(lowestScoreColumn);
+  }
+}
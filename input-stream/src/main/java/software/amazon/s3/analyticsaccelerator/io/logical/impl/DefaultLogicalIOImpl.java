@@ -16,17 +16,24 @@
 package software.amazon.s3.analyticsaccelerator.io.logical.impl;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import lombok.NonNull;
 import software.amazon.s3.analyticsaccelerator.common.telemetry.Operation;
 import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
 import software.amazon.s3.analyticsaccelerator.common.telemetry.TelemetryLevel;
 import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIO;
+import software.amazon.s3.analyticsaccelerator.io.logical.parquet.ParquetFooter;
 import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
 import software.amazon.s3.analyticsaccelerator.request.ObjectMetadata;
 import software.amazon.s3.analyticsaccelerator.util.S3URI;
 import software.amazon.s3.analyticsaccelerator.util.StreamAttributes;
 
-/** The default implementation of a LogicalIO layer. Will be used for all non-parquet files. */
+/**
+ * The default implementation of a LogicalIO layer. Will be used for all files that are neither
+ * Parquet nor ORC.
+ */
 public class DefaultLogicalIOImpl implements LogicalIO {
 
   private static final String OPERATION_LOGICAL_READ = "logical.read";
@@ -77,6 +84,11 @@ public class DefaultLogicalIOImpl implements LogicalIO {
    */
   @Override
   public int read(byte[] buf, int off, int len, long position) throws IOException {
+    // Skip building the measured lambdas, which allocate on every read, if nothing is recorded
+    if (!telemetry.isEnabled(TelemetryLevel.VERBOSE)) {
+      return physicalIO.read(buf, off, len, position);
+    }
+
     // Perform read
     return telemetry.measureConditionally(
         TelemetryLevel.VERBOSE,
@@ -93,6 +105,78 @@ public class DefaultLogicalIOImpl implements LogicalIO {
         bytesRead -> bytesRead > 1);
   }
 
+  /**
+   * Reads data into the provided buffer, starting at its current position
+   *
+   * @param dst buffer to read data into
+   * @param position the position to begin reading from
+   * @return the total number of bytes read into the buffer
+   * @throws IOException IO error, if incurred.
+   */
+  @Override
+  public int read(@NonNull ByteBuffer dst, long position) throws IOException {
+    int len = dst.remaining();
+    return telemetry.measureConditionally(
+        TelemetryLevel.VERBOSE,
+        () ->
+            Operation.builder()
+                .name(OPERATION_LOGICAL_READ)
+                .attribute(StreamAttributes.logicalReadPosition(position))
+                .attribute(StreamAttributes.logicalReadLength(len))
+                .attribute(StreamAttributes.uri(s3URI))
+                .attribute(
+                    StreamAttributes.logicalIORelativeTimestamp(System.nanoTime() - birthTimestamp))
+                .build(),
+        () -> physicalIO.read(dst, position),
+        bytesRead -> bytesRead > 1);
+  }
+
+  /**
+   * Reads data into the provided buffer without blocking the caller.
+   *
+   * @param position the position to begin reading from
+   * @param dst buffer to read data into, at most its remaining bytes are read
+   * @return a future completing with the number of bytes read, or -1 if the position is at or past
+   *     the end of the object
+   */
+  @Override
+  public CompletableFuture<Integer> readAsync(long position, @NonNull ByteBuffer dst) {
+    return telemetry.measureVerbose(
+        () ->
+            Operation.builder()
+                .name(OPERATION_LOGICAL_READ)
+                .attribute(StreamAttributes.logicalReadPosition(position))
+                .attribute(StreamAttributes.logicalReadLength(dst.remaining()))
+                .attribute(StreamAttributes.uri(s3URI))
+                .attribute(
+                    StreamAttributes.logicalIORelativeTimestamp(System.nanoTime() - birthTimestamp))
+                .build(),
+        physicalIO.readAsync(position, dst));
+  }
+
+  /**
+   * Returns a read-only view of the block holding the byte at the given position
+   *
+   * @param position the position of the byte
+   * @return a buffer spanning the whole block, positioned at the byte
+   * @throws IOException IO error, if incurred.
+   */
+  @Override
+  public ByteBuffer blockView(long position) throws IOException {
+    return physicalIO.blockView(position);
+  }
+
+  /**
+   * Returns the number of bytes that can be read from the given position without blocking
+   *
+   * @param position the position of the byte
+   * @return the number of bytes that are already fetched from the position on
+   */
+  @Override
+  public int available(long position) {
+    return physicalIO.available(position);
+  }
+
   @Override
   public int readTail(byte[] buf, int off, int len) throws IOException {
     long contentLength = metadata().getContentLength();
@@ -120,6 +204,16 @@ public class DefaultLogicalIOImpl implements LogicalIO {
     return this.physicalIO.metadata();
   }
 
+  /**
+   * Returns the parsed Parquet footer of the object, which is never parsed by this implementation.
+   *
+   * @return an empty optional
+   */
+  @Override
+  public Optional<ParquetFooter> parquetFooter() {
+    return Optional.empty();
+  }
+
   /**
    * Closes associate resources.
    *
@@ -0,0 +1,227 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.impl;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.logical.orc.OrcMetadata;
+import software.amazon.s3.analyticsaccelerator.io.logical.orc.OrcPrefetchingTask;
+import software.amazon.s3.analyticsaccelerator.io.logical.orc.OrcStream;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+/**
+ * This class maintains the state required for ORC prefetching operations, independent of the life
+ * of individual streams, the same way {@link ParquetColumnPrefetchStore} does for Parquet. It
+ * stores the parsed tail and the streams of the stripes of individual files, and a model of the
+ * columns recently read for each schema.
+ */
+@SuppressFBWarnings(
+    value = "SE_BAD_FIELD",
+    justification = "The closure classes trigger this. We never use serialization on this class")
+public class OrcColumnPrefetchStore {
+
+  /**
+   * This is a mapping of S3 URI's of ORC files to their parsed tail, which lists the stripes of the
+   * file and names its columns. The tail is parsed once in {@link OrcPrefetchingTask}.
+   */
+  private final Map<S3URI, OrcMetadata> orcMetadataStore;
+
+  /**
+   * This is a mapping of S3 URI's of ORC files to the streams of their stripes, by stripe index.
+   * The streams of a stripe are only known once its stripe footer has been read, which happens when
+   * the stripe is prefetched or first read.
+   */
+  private final Map<S3URI, Map<Integer, List<OrcStream>>> stripeStreamsStore;
+
+  /** This is a mapping of S3 URI's of ORC files to the stripes prefetched for them. */
+  private final Map<S3URI, Set<Integer>> stripesPrefetched;
+
+  /**
+   * This is a mapping of schema to a model of the columns read for it. As for Parquet, all ORC
+   * files whose columns have the same names are said to have the same schema.
+   */
+  private final Map<Integer, ColumnAccessModel> columnAccessModelsPerSchema;
+
+  private final LogicalIOConfiguration configuration;
+
+  /**
+   * Creates a new instance of {@link OrcColumnPrefetchStore}.
+   *
+   * @param configuration object containing information about the metadata store size
+   */
+  public OrcColumnPrefetchStore(LogicalIOConfiguration configuration) {
+    this(
+        configuration,
+        new LinkedHashMap<S3URI, OrcMetadata>() {
+          @Override
+          protected boolean removeEldestEntry(final Map.Entry<S3URI, OrcMetadata> eldest) {
+            return this.size() > configuration.getParquetMetadataStoreSize();
+          }
+        },
+        new LinkedHashMap<S3URI, Map<Integer, List<OrcStream>>>() {
+          @Override
+          protected boolean removeEldestEntry(
+              final Map.Entry<S3URI, Map<Integer, List<OrcStream>>> eldest) {
+            return this.size() > configuration.getParquetMetadataStoreSize();
+          }
+        },
+        new LinkedHashMap<S3URI, Set<Integer>>() {
+          @Override
+          protected boolean removeEldestEntry(final Map.Entry<S3URI, Set<Integer>> eldest) {
+            return this.size() > configuration.getParquetMetadataStoreSize();
+          }
+        },
+        new LinkedHashMap<Integer, ColumnAccessModel>() {
+          @Override
+          protected boolean removeEldestEntry(final Map.Entry<Integer, ColumnAccessModel> eldest) {
+            return this.size() > configuration.getMaxColumnAccessCountStoreSize();
+          }
+        });
+  }
+
+  /**
+   * Creates a new instance of {@link OrcColumnPrefetchStore}. This constructor is used for
+   * dependency injection.
+   *
+   * @param configuration LogicalIO configuration
+   * @param orcMetadataStore Store of parsed tails
+   * @param stripeStreamsStore Store of the streams of the stripes of each file
+   * @param stripesPrefetched Map of ORC file URI to the stripes that have been prefetched for it
+   * @param columnAccessModelsPerSchema Model of the columns read for each schema
+   */
+  OrcColumnPrefetchStore(
+      LogicalIOConfiguration configuration,
+      Map<S3URI, OrcMetadata> orcMetadataStore,
+      Map<S3URI, Map<Integer, List<OrcStream>>> stripeStreamsStore,
+      Map<S3URI, Set<Integer>> stripesPrefetched,
+      Map<Integer, ColumnAccessModel> columnAccessModelsPerSchema) {
+    this.configuration = configuration;
+    this.orcMetadataStore = orcMetadataStore;
+    this.stripeStreamsStore = stripeStreamsStore;
+    this.stripesPrefetched = stripesPrefetched;
+    this.columnAccessModelsPerSchema = columnAccessModelsPerSchema;
+  }
+
+  /**
+   * Gets the parsed tail of an ORC file.
+   *
+   * @param s3URI the S3URI of the file
+   * @return the parsed tail, or null if it has not been parsed
+   */
+  public synchronized OrcMetadata getOrcMetadata(S3URI s3URI) {
+    return orcMetadataStore.get(s3URI);
+  }
+
+  /**
+   * Stores the parsed tail of an ORC file.
+   *
+   * @param s3URI the S3URI of the file
+   * @param orcMetadata the parsed tail
+   */
+  public synchronized void putOrcMetadata(S3URI s3URI, OrcMetadata orcMetadata) {
+    orcMetadataStore.put(s3URI, orcMetadata);
+  }
+
+  /**
+   * Gets the streams of a stripe.
+   *
+   * @param s3URI the S3URI of the file
+   * @param stripeIndex the index of the stripe
+   * @return the streams of the stripe, or null if its stripe footer has not been parsed
+   */
+  public synchronized List<OrcStream> getStripeStreams(S3URI s3URI, int stripeIndex) {
+    Map<Integer, List<OrcStream>> streamsByStripe = stripeStreamsStore.get(s3URI);
+    return streamsByStripe == null ? null : streamsByStripe.get(stripeIndex);
+  }
+
+  /**
+   * Stores the streams of a stripe.
+   *
+   * @param s3URI the S3URI of the file
+   * @param stripeIndex the index of the stripe
+   * @param streams the streams of the stripe, in file order
+   */
+  public synchronized void putStripeStreams(
+      S3URI s3URI, int stripeIndex, List<OrcStream> streams) {
+    stripeStreamsStore.computeIfAbsent(s3URI, key -> new HashMap<>()).put(stripeIndex, streams);
+  }
+
+  /**
+   * Checks whether a stripe was prefetched, or is being prefetched.
+   *
+   * @param s3URI the S3URI of the file
+   * @param stripeIndex the index of the stripe
+   * @return true if the stripe was marked as prefetched
+   */
+  public synchronized boolean isStripePrefetched(S3URI s3URI, int stripeIndex) {
+    Set<Integer> stripes = stripesPrefetched.get(s3URI);
+    return stripes != null && stripes.contains(stripeIndex);
+  }
+
+  /**
+   * Marks a stripe as prefetched, unless it already was.
+   *
+   * @param s3URI the S3URI of the file
+   * @param stripeIndex the index of the stripe
+   * @return true if the stripe was not prefetched yet, and is to be prefetched by the caller
+   */
+  public synchronized boolean markStripePrefetched(S3URI s3URI, int stripeIndex) {
+    return stripesPrefetched.computeIfAbsent(s3URI, key -> new HashSet<>()).add(stripeIndex);
+  }
+
+  /**
+   * Records a read to a column for a particular schema. Reads are weighted by recency, as
+   * described in {@link ParquetColumnPrefetchStore#addRecentColumn}.
+   *
+   * @param schemaHash the schema of the file read
+   * @param columnName the full path of the column read
+   */
+  public synchronized void addRecentColumn(int schemaHash, String columnName) {
+    columnAccessModelsPerSchema
+        .computeIfAbsent(
+            schemaHash,
+            key ->
+                new ColumnAccessModel(
+                    configuration.getColumnAccessHalfLife(),
+                    configuration.getMaxTrackedColumnsPerSchema()))
+        .recordAccess(columnName);
+  }
+
+  /**
+   * Gets the names of the columns predicted to be read for a particular schema, with a confidence
+   * above columnPrefetchMinConfidence.
+   *
+   * @param schemaHash the schema for which to predict columns
+   * @return Unique set of predicted columns
+   */
+  public synchronized Set<String> getPredictedColumnsForSchema(int schemaHash) {
+    ColumnAccessModel columnAccessModel = columnAccessModelsPerSchema.get(schemaHash);
+    Set<String> predictedColumns = new HashSet<>();
+    if (columnAccessModel != null) {
+      columnAccessModel
+          .predict(configuration.getColumnPrefetchMinConfidence())
+          .forEach(columnPrediction -> predictedColumns.add(columnPrediction.getColumnId()));
+    }
+
+    return predictedColumns;
+  }
+}
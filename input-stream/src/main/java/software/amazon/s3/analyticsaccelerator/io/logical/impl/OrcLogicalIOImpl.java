@@ -0,0 +1,238 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.impl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import lombok.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.OperationContext;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.logical.orc.OrcMetadata;
+import software.amazon.s3.analyticsaccelerator.io.logical.orc.OrcPrefetchingTask;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanExecution;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanState;
+import software.amazon.s3.analyticsaccelerator.util.AsyncExecutors;
+import software.amazon.s3.analyticsaccelerator.util.PrefetchMode;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+/**
+ * An ORC-aware implementation of a LogicalIO layer. It is capable of prefetching and parsing file
+ * tails, and of prefetching the streams of the next stripe based on recent access patterns.
+ *
+ * <p>Prefetching is best effort only, failures are logged and the stream keeps reading the object
+ * as the {@link DefaultLogicalIOImpl} would.
+ */
+public class OrcLogicalIOImpl extends DefaultLogicalIOImpl {
+  private final S3URI s3URI;
+  private final LogicalIOConfiguration logicalIOConfiguration;
+  private final OrcPrefetchingTask orcPrefetchingTask;
+  private final Executor asyncExecutor;
+  private final CompletableFuture<IOPlanExecution> tailPrefetch;
+
+  private static final Logger LOG = LoggerFactory.getLogger(OrcLogicalIOImpl.class);
+
+  /**
+   * Constructs an instance of OrcLogicalIOImpl, prefetching on the executor returned by {@link
+   * AsyncExecutors#shared()}.
+   *
+   * @param s3Uri s3Uri pointing to object to fetch
+   * @param physicalIO underlying physical IO that knows how to fetch bytes
+   * @param telemetry an instance of {@link Telemetry} to use
+   * @param logicalIOConfiguration configuration for this logical IO implementation
+   * @param orcColumnPrefetchStore object where ORC usage information is aggregated
+   */
+  public OrcLogicalIOImpl(
+      @NonNull S3URI s3Uri,
+      @NonNull PhysicalIO physicalIO,
+      @NonNull Telemetry telemetry,
+      @NonNull LogicalIOConfiguration logicalIOConfiguration,
+      @NonNull OrcColumnPrefetchStore orcColumnPrefetchStore) {
+    this(
+        s3Uri,
+        physicalIO,
+        physicalIO,
+        telemetry,
+        logicalIOConfiguration,
+        orcColumnPrefetchStore,
+        AsyncExecutors.shared());
+  }
+
+  /**
+   * Constructs an instance of OrcLogicalIOImpl.
+   *
+   * @param s3Uri s3Uri pointing to object to fetch
+   * @param physicalIO underlying physical IO that knows how to fetch bytes
+   * @param prefetchingPhysicalIO physical IO of the prefetching task, whose reads are not counted
+   *     as reads of the stream
+   * @param telemetry an instance of {@link Telemetry} to use
+   * @param logicalIOConfiguration configuration for this logical IO implementation
+   * @param orcColumnPrefetchStore object where ORC usage information is aggregated
+   * @param asyncExecutor the executor running the prefetching tasks
+   */
+  public OrcLogicalIOImpl(
+      @NonNull S3URI s3Uri,
+      @NonNull PhysicalIO physicalIO,
+      @NonNull PhysicalIO prefetchingPhysicalIO,
+      @NonNull Telemetry telemetry,
+      @NonNull LogicalIOConfiguration logicalIOConfiguration,
+      @NonNull OrcColumnPrefetchStore orcColumnPrefetchStore,
+      @NonNull Executor asyncExecutor) {
+    this(
+        s3Uri,
+        physicalIO,
+        telemetry,
+        logicalIOConfiguration,
+        orcColumnPrefetchStore,
+        new OrcPrefetchingTask(
+            s3Uri,
+            telemetry,
+            logicalIOConfiguration,
+            prefetchingPhysicalIO,
+            orcColumnPrefetchStore),
+        asyncExecutor);
+  }
+
+  /**
+   * Constructs an instance of OrcLogicalIOImpl. This version of the constructor is useful for
+   * testing as it allows dependency injection.
+   *
+   * @param s3Uri s3Uri pointing to object to fetch
+   * @param physicalIO underlying physical IO that knows how to fetch bytes
+   * @param telemetry an instance of {@link Telemetry} to use
+   * @param logicalIOConfiguration configuration for this logical IO implementation
+   * @param orcColumnPrefetchStore object where ORC usage information is aggregated
+   * @param orcPrefetchingTask task doing the prefetching
+   * @param asyncExecutor the executor running the prefetching tasks
+   */
+  OrcLogicalIOImpl(
+      @NonNull S3URI s3Uri,
+      @NonNull PhysicalIO physicalIO,
+      @NonNull Telemetry telemetry,
+      @NonNull LogicalIOConfiguration logicalIOConfiguration,
+      @NonNull OrcColumnPrefetchStore orcColumnPrefetchStore,
+      @NonNull OrcPrefetchingTask orcPrefetchingTask,
+      @NonNull Executor asyncExecutor) {
+    super(s3Uri, physicalIO, telemetry);
+    this.s3URI = s3Uri;
+    this.logicalIOConfiguration = logicalIOConfiguration;
+    this.orcPrefetchingTask = orcPrefetchingTask;
+    this.asyncExecutor = asyncExecutor;
+    this.tailPrefetch = prefetchTailAndFirstStripe(orcColumnPrefetchStore);
+  }
+
+  /**
+   * Reads data into the provided buffer
+   *
+   * @param buf buffer to read data into
+   * @param off start position in buffer at which data is written
+   * @param len length of data to be read
+   * @param position the position to begin reading from
+   * @return an unsigned int representing the byte that was read
+   * @throws IOException IO error, if incurred.
+   */
+  @Override
+  public int read(byte[] buf, int off, int len, long position) throws IOException {
+    onRead(position, len);
+    return super.read(buf, off, len, position);
+  }
+
+  /**
+   * Reads data into the provided buffer, starting at its current position
+   *
+   * @param dst buffer to read data into
+   * @param position the position to begin reading from
+   * @return the total number of bytes read into the buffer
+   * @throws IOException IO error, if incurred.
+   */
+  @Override
+  public int read(@NonNull ByteBuffer dst, long position) throws IOException {
+    onRead(position, dst.remaining());
+    return super.read(dst, position);
+  }
+
+  /**
+   * Reads data into the provided buffer without blocking the caller.
+   *
+   * @param position the position to begin reading from
+   * @param dst buffer to read data into, at most its remaining bytes are read
+   * @return a future completing with the number of bytes read, or -1 if the position is at or past
+   *     the end of the object
+   */
+  @Override
+  public CompletableFuture<Integer> readAsync(long position, @NonNull ByteBuffer dst) {
+    onRead(position, dst.remaining());
+    return super.readAsync(position, dst);
+  }
+
+  private void onRead(long position, int len) {
+    if (logicalIOConfiguration.getPrefetchingMode() == PrefetchMode.OFF) {
+      return;
+    }
+
+    if (!this.tailPrefetch.isDone()) {
+      // Until the tail is parsed, the columns read cannot be told, so the read is recorded later
+      this.tailPrefetch.thenApplyAsync(
+          OperationContext.DEFAULT.wrapFunction(
+              (IOPlanExecution ignored) -> orcPrefetchingTask.onRead(position, len)),
+          asyncExecutor);
+      return;
+    }
+
+    // The read is recorded right away, only the prefetch of the next stripe is left to the executor
+    int nextStripeIndex = orcPrefetchingTask.recordRead(position, len);
+    if (nextStripeIndex >= 0) {
+      CompletableFuture.supplyAsync(
+          OperationContext.DEFAULT.wrapSupplier(
+              () -> orcPrefetchingTask.prefetchStripe(nextStripeIndex)),
+          asyncExecutor);
+    }
+  }
+
+  private CompletableFuture<IOPlanExecution> prefetchTailAndFirstStripe(
+      OrcColumnPrefetchStore orcColumnPrefetchStore) {
+    if (logicalIOConfiguration.isFooterCachingEnabled()) {
+      try {
+        orcPrefetchingTask.prefetchTail();
+      } catch (Exception e) {
+        LOG.debug("Unable to prefetch the tail of {}.", s3URI.getKey(), e);
+      }
+    }
+
+    if (logicalIOConfiguration.getPrefetchingMode() == PrefetchMode.OFF) {
+      return CompletableFuture.completedFuture(
+          IOPlanExecution.builder().state(IOPlanState.SKIPPED).build());
+    }
+
+    return CompletableFuture.supplyAsync(
+            OperationContext.DEFAULT.wrapSupplier(
+                () -> {
+                  // The tail may have been parsed already by another stream of the object
+                  OrcMetadata orcMetadata = orcColumnPrefetchStore.getOrcMetadata(s3URI);
+                  return orcMetadata != null ? orcMetadata : orcPrefetchingTask.readTail();
+                }),
+            asyncExecutor)
+        .thenApply(
+            OperationContext.DEFAULT.wrapFunction(
+                (OrcMetadata metadata) -> orcPrefetchingTask.prefetchStripe(metadata, 0)))
+        .exceptionally(e -> IOPlanExecution.builder().state(IOPlanState.FAILED).build());
+  }
+}
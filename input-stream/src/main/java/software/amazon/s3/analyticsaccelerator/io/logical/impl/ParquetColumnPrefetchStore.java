@@ -20,13 +20,15 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.OptionalLong;
 import java.util.Set;
 import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
 import software.amazon.s3.analyticsaccelerator.io.logical.parquet.ColumnMappers;
 import software.amazon.s3.analyticsaccelerator.io.logical.parquet.ColumnMetadata;
+import software.amazon.s3.analyticsaccelerator.io.logical.parquet.ColumnPrediction;
+import software.amazon.s3.analyticsaccelerator.io.logical.parquet.ParquetFooter;
 import software.amazon.s3.analyticsaccelerator.io.logical.parquet.ParquetMetadataParsingTask;
 import software.amazon.s3.analyticsaccelerator.io.logical.parquet.ParquetPredictivePrefetchingTask;
 import software.amazon.s3.analyticsaccelerator.util.PrefetchMode;
@@ -35,10 +37,10 @@ import software.amazon.s3.analyticsaccelerator.util.S3URI;
 /**
  * This class maintains a shared state required for Parquet prefetching operations that is required
  * independent of the life of individual streams. It is used to store Parquet metadata for
- * individual files, and a list of recently read columns. This is meant to be shared across multiple
- * streams as calling applications may open and close a stream to a file several times while
- * reading. For Spark, this was observed to happen as a stream to a Parquet file is first opened to
- * read the footer, and then a separate stream is opened to read the data.
+ * individual files, and a model of the columns recently read. This is meant to be shared across
+ * multiple streams as calling applications may open and close a stream to a file several times
+ * while reading. For Spark, this was observed to happen as a stream to a Parquet file is first
+ * opened to read the footer, and then a separate stream is opened to read the data.
  */
 @SuppressFBWarnings(
     value = "SE_BAD_FIELD",
@@ -58,10 +60,10 @@ public class ParquetColumnPrefetchStore {
    * <p>When a read for particular position is made, offsetIndexToColumnMap is used to check if this
    * position corresponds to a column for this file. For example, if a read() is made at position
    * 100, then for the above, offsetIndexToColumnMap is used to infer that this read was for the
-   * colum ss_a. This column is then added to the list of recently read columns.
+   * colum ss_a. This read of the column is then recorded for the schema of the file.
    *
    * <p>columnNameToColumnMap is required when predictively prefetching columns for a newly opened
-   * file in {@link ParquetPredictivePrefetchingTask}. For a list of recently read columns, for
+   * file in {@link ParquetPredictivePrefetchingTask}. For the columns predicted to be read, for
    * example [ss_a, ss_b], to prefetch these columns for a new file, the columnNameToColumnMap is
    * used to find the metadata for a column called ss_a in the newly opened file. If such a key does
    * exist, then the information stored in it's ColumnMetadata, specifically the start position and
@@ -70,22 +72,25 @@ public class ParquetColumnPrefetchStore {
   private final Map<S3URI, ColumnMappers> columnMappersStore;
 
   /**
-   * This is a mapping of schema and the recently read columns for it. For a Parquet file, a hash is
-   * calculated by concatenating all the column names in the file metadata into a single string, and
-   * then computing the hash. This helps separate all Parquet files belonging to the same table. Eg:
-   * Two files belonging to store_sales table will have the same columns, and so have the same
+   * This is a mapping of S3 URI's of Parquet files to an immutable view of their parsed footer. The
+   * footer is parsed once in {@link ParquetMetadataParsingTask} and kept here, so that integrations
+   * can get it from any stream of the object instead of reading and decoding the footer again.
+   */
+  private final Map<S3URI, ParquetFooter> parquetFooterStore;
+
+  /**
+   * This is a mapping of schema and a model of the columns read for it. For a Parquet file, a hash
+   * is calculated by concatenating all the column names in the file metadata into a single string,
+   * and then computing the hash. This helps separate all Parquet files belonging to the same table.
+   * Eg: Two files belonging to store_sales table will have the same columns, and so have the same
    * schema hash.
    *
-   * <p>This map is then used to store a list of recently read columns for each schema. For example,
-   * if a stream recently read columns [ss_a, ss_b] for a store_sales schema, the list would contain
-   * [ss_a, ss_b]. The list is limited to a size defined by maxColumnAccessCountStoreSize in {@link
-   * LogicalIOConfiguration}. By default, this 15. This means that this list will contain the last
-   * 15 columns that were read for this particular schema.
-   *
-   * <p>If a query is reading ss_a and ss_b, this list will look something like [ss_a, ss_b, ss_a,
-   * ss_b]. This helps us maintain a history of the columns currently being read.
+   * <p>For each schema, a {@link ColumnAccessModel} keeps recency weighted access counts of its
+   * columns. If a query is reading ss_a and ss_b, both get high scores, while a column read once by
+   * an earlier query decays away. The columns predicted to be read, with a confidence above
+   * columnPrefetchMinConfidence in {@link LogicalIOConfiguration}, are the ones prefetched.
    */
-  private final Map<Integer, LinkedList<String>> recentlyReadColumnsPerSchema;
+  private final Map<Integer, ColumnAccessModel> columnAccessModelsPerSchema;
 
   /**
    * This is a mapping of S3 URI's of Parquet files to a list of row group indexes prefetched. This
@@ -105,6 +110,29 @@ public class ParquetColumnPrefetchStore {
    */
   private final Map<S3URI, List<Integer>> rowGroupsPrefetched;
 
+  /**
+   * This is a mapping of S3 URI's of Parquet files to the row group indexes for which only the
+   * dictionary pages have been prefetched so far. This is used when dictionary first prefetching is
+   * enabled in {@link LogicalIOConfiguration}. Query engines can skip a whole row group based on
+   * the contents of its dictionaries, so in this mode the data pages of a row group are only
+   * prefetched once a read past the dictionary of one of its column chunks shows that the row group
+   * was not skipped. The row group index is then removed from this map, so that its data pages are
+   * prefetched only once.
+   */
+  private final Map<S3URI, Set<Integer>> rowGroupsAwaitingDataPages;
+
+  /**
+   * This is a mapping of prefixes, such as the location of a table, to the footer size expected for
+   * Parquet files under them, including the 8 byte trailer holding the footer length and the magic
+   * string. Files of a table tend to have footers of similar sizes, so when adaptive footer caching
+   * is enabled in {@link LogicalIOConfiguration}, the tail of a new file is fetched with the size
+   * learned for its prefix instead of footerCachingSize.
+   *
+   * <p>The expected size follows the largest footers seen, but decays by an eighth with every
+   * smaller footer, so that it adapts when the footers of a table shrink.
+   */
+  private final Map<String, Long> footerSizesPerPrefix;
+
   private final LogicalIOConfiguration configuration;
 
   /**
@@ -121,9 +149,15 @@ public class ParquetColumnPrefetchStore {
             return this.size() > configuration.getParquetMetadataStoreSize();
           }
         },
-        new LinkedHashMap<Integer, LinkedList<String>>() {
+        new LinkedHashMap<S3URI, ParquetFooter>() {
+          @Override
+          protected boolean removeEldestEntry(final Map.Entry<S3URI, ParquetFooter> eldest) {
+            return this.size() > configuration.getParquetMetadataStoreSize();
+          }
+        },
+        new LinkedHashMap<Integer, ColumnAccessModel>() {
           @Override
-          protected boolean removeEldestEntry(final Map.Entry<Integer, LinkedList<String>> eldest) {
+          protected boolean removeEldestEntry(final Map.Entry<Integer, ColumnAccessModel> eldest) {
             return this.size() > configuration.getMaxColumnAccessCountStoreSize();
           }
         },
@@ -132,6 +166,18 @@ public class ParquetColumnPrefetchStore {
           protected boolean removeEldestEntry(final Map.Entry<S3URI, List<Integer>> eldest) {
             return this.size() > configuration.getParquetMetadataStoreSize();
           }
+        },
+        new LinkedHashMap<S3URI, Set<Integer>>() {
+          @Override
+          protected boolean removeEldestEntry(final Map.Entry<S3URI, Set<Integer>> eldest) {
+            return this.size() > configuration.getParquetMetadataStoreSize();
+          }
+        },
+        new LinkedHashMap<String, Long>() {
+          @Override
+          protected boolean removeEldestEntry(final Map.Entry<String, Long> eldest) {
+            return this.size() > configuration.getParquetMetadataStoreSize();
+          }
         });
   }
 
@@ -141,19 +187,29 @@ public class ParquetColumnPrefetchStore {
    *
    * @param configuration LogicalIO configuration
    * @param columnMappersStore Store of column mappings
-   * @param recentlyReadColumnsPerSchema List of recent read columns for each schema
+   * @param parquetFooterStore Store of parsed footers
+   * @param columnAccessModelsPerSchema Model of the columns read for each schema
    * @param rowGroupsPrefetched Map of Parquet file URI to row groups that have been prefetched for
    *     it
+   * @param rowGroupsAwaitingDataPages Map of Parquet file URI to row groups for which only the
+   *     dictionary pages have been prefetched
+   * @param footerSizesPerPrefix Map of prefix to the footer size expected for files under it
    */
   ParquetColumnPrefetchStore(
       LogicalIOConfiguration configuration,
       Map<S3URI, ColumnMappers> columnMappersStore,
-      Map<Integer, LinkedList<String>> recentlyReadColumnsPerSchema,
-      Map<S3URI, List<Integer>> rowGroupsPrefetched) {
+      Map<S3URI, ParquetFooter> parquetFooterStore,
+      Map<Integer, ColumnAccessModel> columnAccessModelsPerSchema,
+      Map<S3URI, List<Integer>> rowGroupsPrefetched,
+      Map<S3URI, Set<Integer>> rowGroupsAwaitingDataPages,
+      Map<String, Long> footerSizesPerPrefix) {
     this.configuration = configuration;
     this.columnMappersStore = columnMappersStore;
-    this.recentlyReadColumnsPerSchema = recentlyReadColumnsPerSchema;
+    this.parquetFooterStore = parquetFooterStore;
+    this.columnAccessModelsPerSchema = columnAccessModelsPerSchema;
     this.rowGroupsPrefetched = rowGroupsPrefetched;
+    this.rowGroupsAwaitingDataPages = rowGroupsAwaitingDataPages;
+    this.footerSizesPerPrefix = footerSizesPerPrefix;
   }
 
   /**
@@ -177,76 +233,96 @@ public class ParquetColumnPrefetchStore {
   }
 
   /**
-   * Adds a column to the list of recent columns for a particular schema. This is a fixed sized
-   * list, whose size is defined by maxColumnAccessCountStoreSize in {@link LogicalIOConfiguration}.
-   * The default value is 15.
+   * Gets the parsed footer for a key.
+   *
+   * @param s3URI The S3URI to get the footer for.
+   * @return the parsed footer, or null if it has not been parsed
+   */
+  public synchronized ParquetFooter getParquetFooter(S3URI s3URI) {
+    return parquetFooterStore.get(s3URI);
+  }
+
+  /**
+   * Stores the parsed footer of an object.
+   *
+   * @param s3URI S3URI to store the footer for
+   * @param parquetFooter the parsed footer
+   */
+  public synchronized void putParquetFooter(S3URI s3URI, ParquetFooter parquetFooter) {
+    parquetFooterStore.put(s3URI, parquetFooter);
+  }
+
+  /**
+   * Records a read to a column for a particular schema.
    *
    * <p>Reads at particular file offset correspond to a specific column being read. When a read
    * happens, {@link ColumnMappers} are used to find if this read corresponds to a column for the
    * currently open Parquet file. When a read happens, {@code
    * ParquetPredictivePrefetchingTask.addToRecentColumnList()} is used to decipher if it corresponds
    * to a column, that is, is there a column in the Parquet file with the same file_offset as the
-   * current position of the stream? If yes, this column gets added to the recently read columns for
-   * that particular schema. All Parquet files that have the exact same columns, and so the same
-   * hash(concatenated string of columnNames), are said to belong to the same schema eg:
-   * "store_sales".
-   *
-   * <p>This list maintains names of the last 15 columns that were read for a schema. This is used
-   * to maintain a brief recent history of the columns being read by a workload and make predictions
-   * when prefetching. Only columns that exist in this list are prefetched by {@link
-   * ParquetPredictivePrefetchingTask}.
+   * current position of the stream? If yes, the read is recorded for that particular schema. All
+   * Parquet files that have the exact same columns, and so the same hash(concatenated string of
+   * columnNames), are said to belong to the same schema eg: "store_sales". With
+   * tableScopedColumnPredictionEnabled set in {@link LogicalIOConfiguration}, all the Parquet files
+   * of a table are said to belong to the same schema instead, whatever version of the schema of the
+   * table they were written with. Columns are tracked by {@link ColumnMetadata#getColumnId()}, so
+   * that a column keeps its history when other columns are added or when it is renamed, as long as
+   * the writer assigns field ids.
    *
-   * <p>For example, assume that this list is of size 3, and the current query executing is Select
-   * ss_a, ss_b from store_sales. This list will then contain something like [ss_a, ss_b, ss_a]. If
-   * the query changes to Select ss_d, ss_e from store_sales, this list will start getting updated
-   * as the reads for column ss_d and ss_e are requested.
-   *
-   * <p>The list will change as follows: // new read for ss_d is requested, update list. Since list
-   * is already at capacity, remove the first element from it as this the column we saw least
-   * recently. The list then becomes: [ss_b, ss_a, ss_d]
-   *
-   * <p>// A read for ss_e comes in, update list. Again, since list is at capacity, remove the least
-   * recently seen column. List becomes: [ss_a, ss_d, ss_e]
-   *
-   * <p>After the next read, list will be [ss_d, ss_e, ss_d]
-   *
-   * <p>In this way, a fixed size list helps maintain the most recent columns and increases accuracy
-   * when prefetching.
+   * <p>Reads are weighted by recency, the weight of a read halving every columnAccessHalfLife reads
+   * made since, as set in {@link LogicalIOConfiguration}. For example, if the current query is
+   * Select ss_a, ss_b from store_sales, ss_a and ss_b are read for every file and keep the highest
+   * scores. If the query changes to Select ss_d, ss_e from store_sales, the scores of ss_d and ss_e
+   * grow while those of ss_a and ss_b decay, until ss_a and ss_b are no longer predicted. Unlike a
+   * fixed size list of the last reads, a query reading more columns than the list can hold does not
+   * push its own columns out, and a column read once weighs less than one read for every file.
    *
    * @param columnMetadata column to be added
    */
   public synchronized void addRecentColumn(ColumnMetadata columnMetadata) {
+    columnAccessModelsPerSchema
+        .computeIfAbsent(
+            columnMetadata.getSchemaHash(),
+            schemaHash ->
+                new ColumnAccessModel(
+                    configuration.getColumnAccessHalfLife(),
+                    configuration.getMaxTrackedColumnsPerSchema()))
+        .recordAccess(columnMetadata.getColumnId());
+  }
 
-    LinkedList<String> schemaRecentColumns =
-        recentlyReadColumnsPerSchema.getOrDefault(
-            columnMetadata.getSchemaHash(), new LinkedList<>());
+  /**
+   * Predicts the columns to be read for a particular schema, from the columns recently read for it.
+   * Columns with a confidence below columnPrefetchMinConfidence are left out, so that columns read
+   * only occasionally do not get prefetched for every file.
+   *
+   * @param schemaHash the schema for which to predict columns
+   * @return the predicted columns, sorted by decreasing confidence
+   */
+  public synchronized List<ColumnPrediction> getColumnPredictionsForSchema(int schemaHash) {
+    ColumnAccessModel columnAccessModel = columnAccessModelsPerSchema.get(schemaHash);
 
-    if (schemaRecentColumns.size() == this.configuration.getMaxColumnAccessCountStoreSize()) {
-      schemaRecentColumns.removeFirst();
+    if (columnAccessModel != null) {
+      return columnAccessModel.predict(configuration.getColumnPrefetchMinConfidence());
     }
 
-    schemaRecentColumns.add(columnMetadata.getColumnName());
-
-    recentlyReadColumnsPerSchema.put(columnMetadata.getSchemaHash(), schemaRecentColumns);
+    return Collections.emptyList();
   }
 
   /**
-   * Gets a list of unique column names from the recently read list. The recently read list contains
-   * a history of recent columns read for a particular schema. For example, for a store_sales schema
-   * this can be [ss_a, ss_b, ss_a, ss_b, ss_c, ss_c]. For prefetching, a set of unique columns to
-   * prefetch from this list is required. In this case, this will [ss_a, ss_b, ss_c].
+   * Gets the ids of the columns predicted to be read for a particular schema, as given by {@link
+   * ColumnMetadata#getColumnId()}. For example, for a store_sales schema whose recent reads are
+   * [ss_a, ss_b, ss_a, ss_b, ss_c, ss_c], this will be [ss_a, ss_b, ss_c].
    *
    * @param schemaHash the schema for which to retrieve columns for
-   * @return Unique set of recently read columns
+   * @return Unique set of predicted column ids
    */
-  public synchronized Set<String> getUniqueRecentColumnsForSchema(int schemaHash) {
-    List<String> schemaRecentColumns = recentlyReadColumnsPerSchema.get(schemaHash);
-
-    if (schemaRecentColumns != null) {
-      return new HashSet<>(schemaRecentColumns);
+  public synchronized Set<String> getPredictedColumnsForSchema(int schemaHash) {
+    Set<String> predictedColumns = new HashSet<>();
+    for (ColumnPrediction columnPrediction : getColumnPredictionsForSchema(schemaHash)) {
+      predictedColumns.add(columnPrediction.getColumnId());
     }
 
-    return Collections.emptySet();
+    return predictedColumns;
   }
 
   /**
@@ -281,4 +357,64 @@ public class ParquetColumnPrefetchStore {
     rowGroupsPrefetchedForKey.add(rowGroupIndex);
     rowGroupsPrefetched.put(s3URI, rowGroupsPrefetchedForKey);
   }
+
+  /**
+   * Stores a row group index for which only the dictionary pages have been prefetched for a
+   * particular S3 URI. This is required when dictionary first prefetching is enabled, where data
+   * pages are only prefetched once the row group is known to be read.
+   *
+   * @param s3URI to store the row group index for
+   * @param rowGroupIndex for which dictionary pages have been prefetched
+   */
+  public synchronized void storeRowGroupAwaitingDataPages(S3URI s3URI, Integer rowGroupIndex) {
+    Set<Integer> rowGroupsForKey = rowGroupsAwaitingDataPages.getOrDefault(s3URI, new HashSet<>());
+    rowGroupsForKey.add(rowGroupIndex);
+    rowGroupsAwaitingDataPages.put(s3URI, rowGroupsForKey);
+  }
+
+  /**
+   * Removes a row group index for which only the dictionary pages have been prefetched, if present.
+   * As checking and removing happen atomically, only one caller is told to prefetch the data pages.
+   *
+   * @param s3URI to remove the row group index for
+   * @param rowGroupIndex to remove
+   * @return true if the row group was awaiting its data pages
+   */
+  public synchronized boolean removeRowGroupAwaitingDataPages(S3URI s3URI, Integer rowGroupIndex) {
+    Set<Integer> rowGroupsForKey = rowGroupsAwaitingDataPages.get(s3URI);
+
+    return rowGroupsForKey != null && rowGroupsForKey.remove(rowGroupIndex);
+  }
+
+  /**
+   * Gets the footer size expected for a Parquet file, learned from the files read under the same
+   * prefix.
+   *
+   * @param s3URI the S3URI of the file
+   * @return the expected footer size, including the 8 byte trailer, or empty if nothing was learned
+   *     for the prefix yet
+   */
+  public synchronized OptionalLong getExpectedFooterSize(S3URI s3URI) {
+    Long footerSize = footerSizesPerPrefix.get(prefixOf(s3URI));
+    return footerSize == null ? OptionalLong.empty() : OptionalLong.of(footerSize);
+  }
+
+  /**
+   * Records the footer size of a Parquet file, which updates the footer size expected for files
+   * under the same prefix.
+   *
+   * @param s3URI the S3URI of the file
+   * @param footerSize the footer size, including the 8 byte trailer
+   */
+  public synchronized void recordFooterSize(S3URI s3URI, long footerSize) {
+    footerSizesPerPrefix.merge(
+        prefixOf(s3URI),
+        footerSize,
+        (expected, actual) -> Math.max(actual, expected - (expected >> 3)));
+  }
+
+  private static String prefixOf(S3URI s3URI) {
+    String key = s3URI.getKey();
+    return s3URI.getBucket() + "/" + key.substring(0, key.lastIndexOf('/') + 1);
+  }
 }
@@ -16,10 +16,17 @@
 package software.amazon.s3.analyticsaccelerator.io.logical.impl;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import lombok.NonNull;
 import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
 import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.logical.parquet.ParquetFooter;
+import software.amazon.s3.analyticsaccelerator.io.logical.parquet.ParquetReadHints;
 import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
+import software.amazon.s3.analyticsaccelerator.util.AsyncExecutors;
 import software.amazon.s3.analyticsaccelerator.util.S3URI;
 
 /**
@@ -45,12 +52,78 @@ public class ParquetLogicalIOImpl extends DefaultLogicalIOImpl {
       @NonNull Telemetry telemetry,
       @NonNull LogicalIOConfiguration logicalIOConfiguration,
       @NonNull ParquetColumnPrefetchStore parquetColumnPrefetchStore) {
+    this(
+        s3Uri,
+        physicalIO,
+        telemetry,
+        logicalIOConfiguration,
+        parquetColumnPrefetchStore,
+        ParquetReadHints.NONE);
+  }
+
+  /**
+   * Constructs an instance of LogicalIOImpl, prefetching on the executor returned by {@link
+   * AsyncExecutors#shared()}.
+   *
+   * @param s3Uri s3Uri pointing to object to fetch
+   * @param physicalIO underlying physical IO that knows how to fetch bytes
+   * @param telemetry an instance of {@link Telemetry} to use
+   * @param logicalIOConfiguration configuration for this logical IO implementation
+   * @param parquetColumnPrefetchStore object where Parquet usage information is aggregated
+   * @param parquetReadHints hints supplied by the caller, such as the projected columns
+   */
+  public ParquetLogicalIOImpl(
+      @NonNull S3URI s3Uri,
+      @NonNull PhysicalIO physicalIO,
+      @NonNull Telemetry telemetry,
+      @NonNull LogicalIOConfiguration logicalIOConfiguration,
+      @NonNull ParquetColumnPrefetchStore parquetColumnPrefetchStore,
+      @NonNull ParquetReadHints parquetReadHints) {
+    this(
+        s3Uri,
+        physicalIO,
+        physicalIO,
+        telemetry,
+        logicalIOConfiguration,
+        parquetColumnPrefetchStore,
+        parquetReadHints,
+        AsyncExecutors.shared());
+  }
+
+  /**
+   * Constructs an instance of LogicalIOImpl.
+   *
+   * @param s3Uri s3Uri pointing to object to fetch
+   * @param physicalIO underlying physical IO that knows how to fetch bytes
+   * @param prefetchingPhysicalIO physical IO of the prefetching tasks, whose reads are not counted
+   *     as reads of the stream
+   * @param telemetry an instance of {@link Telemetry} to use
+   * @param logicalIOConfiguration configuration for this logical IO implementation
+   * @param parquetColumnPrefetchStore object where Parquet usage information is aggregated
+   * @param parquetReadHints hints supplied by the caller, such as the projected columns
+   * @param asyncExecutor the executor running the prefetching tasks
+   */
+  public ParquetLogicalIOImpl(
+      @NonNull S3URI s3Uri,
+      @NonNull PhysicalIO physicalIO,
+      @NonNull PhysicalIO prefetchingPhysicalIO,
+      @NonNull Telemetry telemetry,
+      @NonNull LogicalIOConfiguration logicalIOConfiguration,
+      @NonNull ParquetColumnPrefetchStore parquetColumnPrefetchStore,
+      @NonNull ParquetReadHints parquetReadHints,
+      @NonNull Executor asyncExecutor) {
     super(s3Uri, physicalIO, telemetry);
 
     // Initialise prefetcher and start prefetching
     this.parquetPrefetcher =
         new ParquetPrefetcher(
-            s3Uri, physicalIO, telemetry, logicalIOConfiguration, parquetColumnPrefetchStore);
+            s3Uri,
+            prefetchingPhysicalIO,
+            telemetry,
+            logicalIOConfiguration,
+            parquetColumnPrefetchStore,
+            parquetReadHints,
+            asyncExecutor);
     this.parquetPrefetcher.prefetchFooterAndBuildMetadata();
   }
 
@@ -72,4 +145,49 @@ public class ParquetLogicalIOImpl extends DefaultLogicalIOImpl {
 
     return super.read(buf, off, len, position);
   }
+
+  /**
+   * Reads data into the provided buffer, starting at its current position
+   *
+   * @param dst buffer to read data into
+   * @param position the position to begin reading from
+   * @return the total number of bytes read into the buffer
+   * @throws IOException IO error, if incurred.
+   */
+  @Override
+  public int read(@NonNull ByteBuffer dst, long position) throws IOException {
+    // Perform async prefetching before doing the blocking read
+    this.parquetPrefetcher.prefetchRemainingColumnChunk(position, dst.remaining());
+    this.parquetPrefetcher.addToRecentColumnList(position, dst.remaining());
+
+    return super.read(dst, position);
+  }
+
+  /**
+   * Reads data into the provided buffer without blocking the caller.
+   *
+   * @param position the position to begin reading from
+   * @param dst buffer to read data into, at most its remaining bytes are read
+   * @return a future completing with the number of bytes read, or -1 if the position is at or past
+   *     the end of the object
+   */
+  @Override
+  public CompletableFuture<Integer> readAsync(long position, @NonNull ByteBuffer dst) {
+    // Prefetching is asynchronous, so it does not block the caller either
+    this.parquetPrefetcher.prefetchRemainingColumnChunk(position, dst.remaining());
+    this.parquetPrefetcher.addToRecentColumnList(position, dst.remaining());
+
+    return super.readAsync(position, dst);
+  }
+
+  /**
+   * Returns the parsed Parquet footer of the object. If the footer is being parsed following the
+   * opening of this stream, waits for it rather than parsing it a second time.
+   *
+   * @return the parsed footer, or empty if the footer could not be parsed
+   */
+  @Override
+  public Optional<ParquetFooter> parquetFooter() {
+    return this.parquetPrefetcher.getParquetFooter();
+  }
 }
@@ -16,19 +16,22 @@
 package software.amazon.s3.analyticsaccelerator.io.logical.impl;
 
 import java.util.Collections;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
-import lombok.AccessLevel;
-import lombok.AllArgsConstructor;
+import java.util.concurrent.Executor;
 import lombok.NonNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import software.amazon.s3.analyticsaccelerator.common.telemetry.Operation;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.OperationContext;
 import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.TelemetryLevel;
 import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
 import software.amazon.s3.analyticsaccelerator.io.logical.parquet.*;
 import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
 import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanExecution;
 import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanState;
+import software.amazon.s3.analyticsaccelerator.util.AsyncExecutors;
 import software.amazon.s3.analyticsaccelerator.util.PrefetchMode;
 import software.amazon.s3.analyticsaccelerator.util.S3URI;
 import software.amazon.s3.analyticsaccelerator.util.StreamAttributes;
@@ -41,7 +44,6 @@ import software.amazon.s3.analyticsaccelerator.util.StreamAttributes;
  * <p>The Parquet prefetcher swallows all exceptions arising from the tasks it schedules because
  * exceptions do not escape CompletableFutures.
  */
-@AllArgsConstructor(access = AccessLevel.PACKAGE)
 public class ParquetPrefetcher {
   @NonNull private final S3URI s3URI;
   @NonNull private final LogicalIOConfiguration logicalIOConfiguration;
@@ -55,6 +57,13 @@ public class ParquetPrefetcher {
   @NonNull private final ParquetPrefetchRemainingColumnTask parquetPrefetchRemainingColumnTask;
   @NonNull private final ParquetPredictivePrefetchingTask parquetPredictivePrefetchingTask;
 
+  // Executor running the tasks
+  @NonNull private final Executor asyncExecutor;
+
+  // Parsing of the footer started when prefetching, which getParquetFooter() waits for
+  private volatile CompletableFuture<ColumnMappers> footerParsing =
+      CompletableFuture.completedFuture(null);
+
   private static final Logger LOG = LoggerFactory.getLogger(ParquetPrefetcher.class);
 
   private static final String OPERATION_PARQUET_PREFETCH_COLUMN_CHUNK =
@@ -62,6 +71,11 @@ public class ParquetPrefetcher {
   private static final String OPERATION_PARQUET_PREFETCH_FOOTER_AND_METADATA =
       "parquet.prefetcher.prefetch.footer.and.metadata.async";
 
+  // Returned whenever nothing is prefetched, which happens on most reads
+  private static final CompletableFuture<IOPlanExecution> SKIPPED_EXECUTION =
+      CompletableFuture.completedFuture(
+          IOPlanExecution.builder().state(IOPlanState.SKIPPED).build());
+
   /**
    * Constructs a ParquetPrefetcher.
    *
@@ -78,18 +92,199 @@ public class ParquetPrefetcher {
       Telemetry telemetry,
       LogicalIOConfiguration logicalIOConfiguration,
       ParquetColumnPrefetchStore parquetColumnPrefetchStore) {
+    this(
+        s3Uri,
+        physicalIO,
+        telemetry,
+        logicalIOConfiguration,
+        parquetColumnPrefetchStore,
+        ParquetReadHints.NONE);
+  }
+
+  /**
+   * Constructs a ParquetPrefetcher running its tasks on the executor returned by {@link
+   * AsyncExecutors#shared()}.
+   *
+   * @param s3Uri the S3Uri of the underlying object
+   * @param physicalIO the PhysicalIO capable of actually fetching the physical bytes from the
+   *     object store
+   * @param telemetry an instance of {@link Telemetry} to use
+   * @param logicalIOConfiguration the LogicalIO's configuration
+   * @param parquetColumnPrefetchStore a common place for Parquet usage information
+   * @param parquetReadHints hints supplied by the caller when opening the stream
+   */
+  public ParquetPrefetcher(
+      S3URI s3Uri,
+      PhysicalIO physicalIO,
+      Telemetry telemetry,
+      LogicalIOConfiguration logicalIOConfiguration,
+      ParquetColumnPrefetchStore parquetColumnPrefetchStore,
+      ParquetReadHints parquetReadHints) {
+    this(
+        s3Uri,
+        physicalIO,
+        telemetry,
+        logicalIOConfiguration,
+        parquetColumnPrefetchStore,
+        parquetReadHints,
+        AsyncExecutors.shared());
+  }
+
+  /**
+   * Constructs a ParquetPrefetcher.
+   *
+   * @param s3Uri the S3Uri of the underlying object
+   * @param physicalIO the PhysicalIO capable of actually fetching the physical bytes from the
+   *     object store
+   * @param telemetry an instance of {@link Telemetry} to use
+   * @param logicalIOConfiguration the LogicalIO's configuration
+   * @param parquetColumnPrefetchStore a common place for Parquet usage information
+   * @param parquetReadHints hints supplied by the caller when opening the stream
+   * @param asyncExecutor the executor running the prefetching tasks
+   */
+  public ParquetPrefetcher(
+      S3URI s3Uri,
+      PhysicalIO physicalIO,
+      Telemetry telemetry,
+      LogicalIOConfiguration logicalIOConfiguration,
+      ParquetColumnPrefetchStore parquetColumnPrefetchStore,
+      ParquetReadHints parquetReadHints,
+      Executor asyncExecutor) {
+    this(
+        s3Uri,
+        physicalIO,
+        telemetry,
+        logicalIOConfiguration,
+        parquetColumnPrefetchStore,
+        parquetReadHints,
+        asyncExecutor,
+        ParquetUtils.getFileTailSize(logicalIOConfiguration, parquetColumnPrefetchStore, s3Uri));
+  }
+
+  /**
+   * Constructs a ParquetPrefetcher whose tail prefetch and tail read use the same tail size, so
+   * that a footer size learned from another stream in between cannot make the read exceed the
+   * prefetched range.
+   *
+   * @param s3Uri the S3Uri of the underlying object
+   * @param physicalIO the PhysicalIO capable of actually fetching the physical bytes from the
+   *     object store
+   * @param telemetry an instance of {@link Telemetry} to use
+   * @param logicalIOConfiguration the LogicalIO's configuration
+   * @param parquetColumnPrefetchStore a common place for Parquet usage information
+   * @param parquetReadHints hints supplied by the caller when opening the stream
+   * @param asyncExecutor the executor running the prefetching tasks
+   * @param fileTailSize the size of the tail to prefetch and read
+   */
+  private ParquetPrefetcher(
+      S3URI s3Uri,
+      PhysicalIO physicalIO,
+      Telemetry telemetry,
+      LogicalIOConfiguration logicalIOConfiguration,
+      ParquetColumnPrefetchStore parquetColumnPrefetchStore,
+      ParquetReadHints parquetReadHints,
+      Executor asyncExecutor,
+      long fileTailSize) {
     this(
         s3Uri,
         logicalIOConfiguration,
         parquetColumnPrefetchStore,
         telemetry,
-        new ParquetMetadataParsingTask(s3Uri, parquetColumnPrefetchStore),
-        new ParquetPrefetchTailTask(s3Uri, telemetry, logicalIOConfiguration, physicalIO),
-        new ParquetReadTailTask(s3Uri, telemetry, logicalIOConfiguration, physicalIO),
+        new ParquetMetadataParsingTask(s3Uri, parquetColumnPrefetchStore, logicalIOConfiguration),
+        new ParquetPrefetchTailTask(
+            s3Uri, telemetry, logicalIOConfiguration, physicalIO, fileTailSize),
+        new ParquetReadTailTask(
+            s3Uri,
+            telemetry,
+            logicalIOConfiguration,
+            physicalIO,
+            parquetColumnPrefetchStore,
+            fileTailSize),
         new ParquetPrefetchRemainingColumnTask(
             s3Uri, telemetry, physicalIO, parquetColumnPrefetchStore),
         new ParquetPredictivePrefetchingTask(
-            s3Uri, telemetry, logicalIOConfiguration, physicalIO, parquetColumnPrefetchStore));
+            s3Uri,
+            telemetry,
+            logicalIOConfiguration,
+            physicalIO,
+            parquetColumnPrefetchStore,
+            parquetReadHints),
+        asyncExecutor);
+  }
+
+  /**
+   * Constructs a ParquetPrefetcher running its tasks on the shared executor of the library. This
+   * version of the constructor is useful for testing as it allows dependency injection.
+   *
+   * @param s3URI the S3Uri of the underlying object
+   * @param logicalIOConfiguration the LogicalIO's configuration
+   * @param parquetColumnPrefetchStore a common place for Parquet usage information
+   * @param telemetry an instance of {@link Telemetry} to use
+   * @param parquetMetadataParsingTask task parsing the footer
+   * @param parquetPrefetchTailTask task prefetching the tail
+   * @param parquetReadTailTask task reading the tail
+   * @param parquetPrefetchRemainingColumnTask task prefetching the rest of column chunks
+   * @param parquetPredictivePrefetchingTask task prefetching the predicted columns
+   */
+  ParquetPrefetcher(
+      S3URI s3URI,
+      LogicalIOConfiguration logicalIOConfiguration,
+      ParquetColumnPrefetchStore parquetColumnPrefetchStore,
+      Telemetry telemetry,
+      ParquetMetadataParsingTask parquetMetadataParsingTask,
+      ParquetPrefetchTailTask parquetPrefetchTailTask,
+      ParquetReadTailTask parquetReadTailTask,
+      ParquetPrefetchRemainingColumnTask parquetPrefetchRemainingColumnTask,
+      ParquetPredictivePrefetchingTask parquetPredictivePrefetchingTask) {
+    this(
+        s3URI,
+        logicalIOConfiguration,
+        parquetColumnPrefetchStore,
+        telemetry,
+        parquetMetadataParsingTask,
+        parquetPrefetchTailTask,
+        parquetReadTailTask,
+        parquetPrefetchRemainingColumnTask,
+        parquetPredictivePrefetchingTask,
+        AsyncExecutors.shared());
+  }
+
+  /**
+   * Constructs a ParquetPrefetcher. This version of the constructor is useful for testing as it
+   * allows dependency injection.
+   *
+   * @param s3URI the S3Uri of the underlying object
+   * @param logicalIOConfiguration the LogicalIO's configuration
+   * @param parquetColumnPrefetchStore a common place for Parquet usage information
+   * @param telemetry an instance of {@link Telemetry} to use
+   * @param parquetMetadataParsingTask task parsing the footer
+   * @param parquetPrefetchTailTask task prefetching the tail
+   * @param parquetReadTailTask task reading the tail
+   * @param parquetPrefetchRemainingColumnTask task prefetching the rest of column chunks
+   * @param parquetPredictivePrefetchingTask task prefetching the predicted columns
+   * @param asyncExecutor the executor running the prefetching tasks
+   */
+  ParquetPrefetcher(
+      @NonNull S3URI s3URI,
+      @NonNull LogicalIOConfiguration logicalIOConfiguration,
+      @NonNull ParquetColumnPrefetchStore parquetColumnPrefetchStore,
+      @NonNull Telemetry telemetry,
+      @NonNull ParquetMetadataParsingTask parquetMetadataParsingTask,
+      @NonNull ParquetPrefetchTailTask parquetPrefetchTailTask,
+      @NonNull ParquetReadTailTask parquetReadTailTask,
+      @NonNull ParquetPrefetchRemainingColumnTask parquetPrefetchRemainingColumnTask,
+      @NonNull ParquetPredictivePrefetchingTask parquetPredictivePrefetchingTask,
+      @NonNull Executor asyncExecutor) {
+    this.s3URI = s3URI;
+    this.logicalIOConfiguration = logicalIOConfiguration;
+    this.parquetColumnPrefetchStore = parquetColumnPrefetchStore;
+    this.telemetry = telemetry;
+    this.parquetMetadataParsingTask = parquetMetadataParsingTask;
+    this.parquetPrefetchTailTask = parquetPrefetchTailTask;
+    this.parquetReadTailTask = parquetReadTailTask;
+    this.parquetPrefetchRemainingColumnTask = parquetPrefetchRemainingColumnTask;
+    this.parquetPredictivePrefetchingTask = parquetPredictivePrefetchingTask;
+    this.asyncExecutor = asyncExecutor;
   }
 
   /**
@@ -101,18 +296,26 @@ public class ParquetPrefetcher {
    *     result of this call
    */
   public CompletableFuture<IOPlanExecution> prefetchRemainingColumnChunk(long position, int len) {
-    return telemetry.measureVerbose(
+    // Called on every read, so skip building the measured lambdas when there is nothing to measure
+    if (logicalIOConfiguration.getPrefetchingMode() != PrefetchMode.COLUMN_BOUND) {
+      return SKIPPED_EXECUTION;
+    }
+    if (!telemetry.isEnabled(TelemetryLevel.VERBOSE)) {
+      return prefetchRemainingColumnChunkImpl(position, len);
+    }
+
+    return telemetry.measureAsyncVerbose(
         () ->
             Operation.builder()
                 .name(OPERATION_PARQUET_PREFETCH_COLUMN_CHUNK)
                 .attribute(StreamAttributes.uri(this.s3URI))
                 .attribute(StreamAttributes.range(position, position + len - 1))
                 .build(),
-        prefetchRemainingColumnChunkImpl(position, len));
+        () -> prefetchRemainingColumnChunkImpl(position, len));
   }
 
   /**
-   * Given a position and length, prefetches the remaining part of the Parquet column.
+   * Prefetches the remaining part of the Parquet column, in COLUMN_BOUND mode.
    *
    * @param position a position of a read
    * @param len the length of a read
@@ -121,14 +324,11 @@ public class ParquetPrefetcher {
    */
   private CompletableFuture<IOPlanExecution> prefetchRemainingColumnChunkImpl(
       long position, int len) {
-    if (logicalIOConfiguration.getPrefetchingMode() == PrefetchMode.COLUMN_BOUND) {
-      // TODO: https://github.com/awslabs/analytics-accelerator-s3/issues/88
-      return CompletableFuture.supplyAsync(
-          () -> parquetPrefetchRemainingColumnTask.prefetchRemainingColumnChunk(position, len));
-    }
-
-    return CompletableFuture.completedFuture(
-        IOPlanExecution.builder().state(IOPlanState.SKIPPED).build());
+    // TODO: https://github.com/awslabs/analytics-accelerator-s3/issues/88
+    return CompletableFuture.supplyAsync(
+        OperationContext.DEFAULT.wrapSupplier(
+            () -> parquetPrefetchRemainingColumnTask.prefetchRemainingColumnChunk(position, len)),
+        asyncExecutor);
   }
 
   /**
@@ -138,13 +338,13 @@ public class ParquetPrefetcher {
    *     result of this call
    */
   public CompletableFuture<IOPlanExecution> prefetchFooterAndBuildMetadata() {
-    return telemetry.measureStandard(
+    return telemetry.measureAsyncStandard(
         () ->
             Operation.builder()
                 .name(OPERATION_PARQUET_PREFETCH_FOOTER_AND_METADATA)
                 .attribute(StreamAttributes.uri(this.s3URI))
                 .build(),
-        prefetchFooterAndBuildMetadataImpl());
+        this::prefetchFooterAndBuildMetadataImpl);
   }
 
   /**
@@ -161,16 +361,20 @@ public class ParquetPrefetcher {
     if (shouldPrefetch()) {
       // TODO: https://github.com/awslabs/analytics-accelerator-s3/issues/88
       CompletableFuture<ColumnMappers> columnMappersCompletableFuture =
-          CompletableFuture.supplyAsync(parquetReadTailTask::readFileTail)
-              .thenApply(parquetMetadataParsingTask::storeColumnMappers)
+          CompletableFuture.supplyAsync(
+                  OperationContext.DEFAULT.wrapSupplier(parquetReadTailTask::readFileTail),
+                  asyncExecutor)
+              .thenApply(
+                  OperationContext.DEFAULT.wrapFunction(
+                      parquetMetadataParsingTask::storeColumnMappers))
               .exceptionally(
                   (e) -> new ColumnMappers(Collections.emptyMap(), Collections.emptyMap()));
+      this.footerParsing = columnMappersCompletableFuture;
 
       return prefetchPredictedColumns(columnMappersCompletableFuture);
     }
 
-    return CompletableFuture.completedFuture(
-        IOPlanExecution.builder().state(IOPlanState.SKIPPED).build());
+    return SKIPPED_EXECUTION;
   }
 
   private CompletableFuture<IOPlanExecution> prefetchPredictedColumns(
@@ -178,13 +382,38 @@ public class ParquetPrefetcher {
 
     if (logicalIOConfiguration.getPrefetchingMode() == PrefetchMode.ALL) {
       return columnMappersCompletableFuture.thenApply(
-          (ColumnMappers columnMappers) ->
-              parquetPredictivePrefetchingTask.prefetchRecentColumns(
-                  columnMappers, ParquetUtils.constructRowGroupsToPrefetch()));
+          OperationContext.DEFAULT.wrapFunction(
+              (ColumnMappers columnMappers) ->
+                  parquetPredictivePrefetchingTask.prefetchRecentColumns(
+                      columnMappers, ParquetUtils.constructRowGroupsToPrefetch())));
+    }
+
+    return SKIPPED_EXECUTION;
+  }
+
+  /**
+   * Returns the parsed footer of the object. If the footer is being parsed by {@link
+   * #prefetchFooterAndBuildMetadata()}, waits for it rather than parsing it a second time. If no
+   * stream of the object has parsed it yet, the file tail is read and parsed, which also stores the
+   * column mappings used for prefetching.
+   *
+   * @return the parsed footer, or empty if the footer could not be parsed
+   */
+  public Optional<ParquetFooter> getParquetFooter() {
+    // Failures map to empty column mappers, and are handled below by parsing the footer again
+    this.footerParsing.join();
+
+    ParquetFooter parquetFooter = parquetColumnPrefetchStore.getParquetFooter(s3URI);
+    if (parquetFooter == null) {
+      try {
+        parquetMetadataParsingTask.storeColumnMappers(parquetReadTailTask.readFileTail());
+        parquetFooter = parquetColumnPrefetchStore.getParquetFooter(s3URI);
+      } catch (Exception e) {
+        LOG.debug("Unable to get the parsed footer of {}.", s3URI.getKey(), e);
+      }
     }
 
-    return CompletableFuture.completedFuture(
-        IOPlanExecution.builder().state(IOPlanState.SKIPPED).build());
+    return Optional.ofNullable(parquetFooter);
   }
 
   /**
@@ -0,0 +1,71 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.orc;
+
+import java.util.List;
+import lombok.NonNull;
+import lombok.Value;
+
+/** What is known about an ORC file once its tail is parsed. */
+@Value
+public class OrcMetadata {
+  /** Compression kind of the file, as encoded in the postscript. */
+  int compression;
+  /** Maximum size of a compression chunk, once decompressed. */
+  long compressionBlockSize;
+  /** Stripes of the file, in file order. */
+  @NonNull List<OrcStripe> stripes;
+  /**
+   * Full path of each column, indexed by column id, with nested fields joined by ".". Column 0 is
+   * the root of the schema and has an empty name.
+   */
+  @NonNull List<String> columnNames;
+  /** Hash of the column names, shared by all files with the same schema. */
+  int schemaHash;
+
+  /**
+   * Finds the stripe a position belongs to.
+   *
+   * @param position the position in the file
+   * @return the index of the stripe, or -1 if the position is outside of all stripes
+   */
+  public int getStripeIndex(long position) {
+    int low = 0;
+    int high = stripes.size() - 1;
+    while (low <= high) {
+      int middle = (low + high) >>> 1;
+      OrcStripe stripe = stripes.get(middle);
+      if (position < stripe.getOffset()) {
+        high = middle - 1;
+      } else if (!stripe.contains(position)) {
+        low = middle + 1;
+      } else {
+        return middle;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Gets the name of a column.
+   *
+   * @param column the id of the column
+   * @return the full path of the column, or null if the id is unknown
+   */
+  public String getColumnName(int column) {
+    return column >= 0 && column < columnNames.size() ? columnNames.get(column) : null;
+  }
+}
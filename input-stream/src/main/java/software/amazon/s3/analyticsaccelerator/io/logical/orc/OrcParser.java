@@ -0,0 +1,465 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.orc;
+
+import static software.amazon.s3.analyticsaccelerator.util.Constants.ORC_MAGIC_STR;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import lombok.Value;
+
+/**
+ * Parses the tail and the stripe footers of an ORC file. The postscript, footer and stripe footers
+ * are protocol buffers messages, of which only the fields used for prefetching are decoded.
+ *
+ * <p>Footers written without compression or with zlib are supported. Other codecs would require a
+ * dependency on their implementation, files using them are read without ORC optimisations.
+ */
+final class OrcParser {
+  static final int COMPRESSION_NONE = 0;
+  static final int COMPRESSION_ZLIB = 1;
+
+  private static final int CHUNK_HEADER_SIZE = 3;
+
+  // Protocol buffers wire types
+  private static final int WIRE_VARINT = 0;
+  private static final int WIRE_FIXED64 = 1;
+  private static final int WIRE_LENGTH_DELIMITED = 2;
+  private static final int WIRE_FIXED32 = 5;
+
+  /** Prevent direct instantiation, this is meant to be a facade. */
+  private OrcParser() {}
+
+  /** The postscript of an ORC file, stored uncompressed at the very end of the file. */
+  @Value
+  static class PostScript {
+    /** Length of the postscript itself. */
+    int postScriptLength;
+    /** Length of the (possibly compressed) footer preceding the postscript. */
+    long footerLength;
+    /** Compression kind of the footer and of the streams. */
+    int compression;
+    /** Maximum size of a compression chunk, once decompressed. */
+    long compressionBlockSize;
+
+    /**
+     * Size of the tail holding the footer, the postscript and the byte giving its length.
+     *
+     * @return the number of bytes at the end of the file needed to parse the footer
+     */
+    long getTailSize() {
+      return footerLength + postScriptLength + 1;
+    }
+  }
+
+  /**
+   * Parses the postscript at the end of the tail of an ORC file.
+   *
+   * @param tail the last bytes of the file, between position and limit
+   * @return the postscript
+   * @throws IOException if the tail does not end with an ORC postscript
+   */
+  static PostScript parsePostScript(ByteBuffer tail) throws IOException {
+    try {
+      int end = tail.limit() - 1;
+      int postScriptLength = tail.get(end) & 0xFF;
+      if (postScriptLength == 0 || postScriptLength > end - tail.position()) {
+        throw new IOException("can not read PostScript: invalid length " + postScriptLength);
+      }
+
+      ProtoReader reader = new ProtoReader(slice(tail, end - postScriptLength, postScriptLength));
+      long footerLength = -1;
+      int compression = COMPRESSION_NONE;
+      long compressionBlockSize = 256 * 1024;
+      String magic = null;
+      int tag;
+      while ((tag = reader.readTag()) != 0) {
+        int field = tag >>> 3;
+        int wireType = tag & 0x07;
+        if (field == 1 && wireType == WIRE_VARINT) {
+          footerLength = reader.readVarint64();
+        } else if (field == 2 && wireType == WIRE_VARINT) {
+          compression = (int) reader.readVarint64();
+        } else if (field == 3 && wireType == WIRE_VARINT) {
+          compressionBlockSize = reader.readVarint64();
+        } else if (field == 8000 && wireType == WIRE_LENGTH_DELIMITED) {
+          magic = reader.readString();
+        } else {
+          reader.skip(wireType);
+        }
+      }
+
+      if (!ORC_MAGIC_STR.equals(magic) || footerLength < 0) {
+        throw new IOException("can not read PostScript: not an ORC file");
+      }
+      return new PostScript(postScriptLength, footerLength, compression, compressionBlockSize);
+    } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+      throw new IOException("can not read PostScript: " + e, e);
+    }
+  }
+
+  /**
+   * Parses the footer of an ORC file, which lists its stripes and its schema.
+   *
+   * @param tail the last bytes of the file, between position and limit, holding at least {@link
+   *     PostScript#getTailSize()} bytes
+   * @param postScript the postscript of the file
+   * @return the metadata of the file
+   * @throws IOException if the footer is malformed, or if its compression is not supported
+   */
+  static OrcMetadata parseFooter(ByteBuffer tail, PostScript postScript) throws IOException {
+    if (postScript.getTailSize() > tail.remaining()) {
+      throw new IOException(
+          "Insufficient data in tail: required length is "
+              + postScript.getTailSize()
+              + ", provided length of data is "
+              + tail.remaining());
+    }
+
+    try {
+      int footerStart = (int) (tail.limit() - postScript.getTailSize());
+      ProtoReader reader =
+          new ProtoReader(
+              decompress(
+                  slice(tail, footerStart, (int) postScript.getFooterLength()),
+                  postScript.getCompression()));
+
+      List<OrcStripe> stripes = new ArrayList<>();
+      List<Type> types = new ArrayList<>();
+      int tag;
+      while ((tag = reader.readTag()) != 0) {
+        int field = tag >>> 3;
+        int wireType = tag & 0x07;
+        if (field == 3 && wireType == WIRE_LENGTH_DELIMITED) {
+          stripes.add(readStripe(reader.readMessage(), stripes.size()));
+        } else if (field == 4 && wireType == WIRE_LENGTH_DELIMITED) {
+          types.add(readType(reader.readMessage()));
+        } else {
+          reader.skip(wireType);
+        }
+      }
+
+      List<String> columnNames = getColumnNames(types);
+      return new OrcMetadata(
+          postScript.getCompression(),
+          postScript.getCompressionBlockSize(),
+          Collections.unmodifiableList(stripes),
+          Collections.unmodifiableList(columnNames),
+          String.join(",", columnNames).hashCode());
+    } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+      throw new IOException("can not read Footer: " + e, e);
+    }
+  }
+
+  /**
+   * Parses the footer of a stripe, which lists its streams in file order.
+   *
+   * @param stripeFooter the (possibly compressed) stripe footer, between position and limit
+   * @param orcMetadata the metadata of the file
+   * @param stripe the stripe the footer belongs to
+   * @return the streams of the stripe, with their position in the file
+   * @throws IOException if the stripe footer is malformed
+   */
+  static List<OrcStream> parseStripeFooter(
+      ByteBuffer stripeFooter, OrcMetadata orcMetadata, OrcStripe stripe) throws IOException {
+    try {
+      ProtoReader reader =
+          new ProtoReader(decompress(stripeFooter.duplicate(), orcMetadata.getCompression()));
+
+      List<OrcStream> streams = new ArrayList<>();
+      long offset = stripe.getOffset();
+      int tag;
+      while ((tag = reader.readTag()) != 0) {
+        int field = tag >>> 3;
+        int wireType = tag & 0x07;
+        if (field == 1 && wireType == WIRE_LENGTH_DELIMITED) {
+          OrcStream stream = readStream(reader.readMessage(), offset);
+          streams.add(stream);
+          offset += stream.getLength();
+        } else {
+          reader.skip(wireType);
+        }
+      }
+      return streams;
+    } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+      throw new IOException("can not read StripeFooter: " + e, e);
+    }
+  }
+
+  private static OrcStripe readStripe(ProtoReader reader, int stripeIndex) {
+    long offset = 0;
+    long indexLength = 0;
+    long dataLength = 0;
+    long footerLength = 0;
+    long numberOfRows = 0;
+    int tag;
+    while ((tag = reader.readTag()) != 0) {
+      int field = tag >>> 3;
+      int wireType = tag & 0x07;
+      if (wireType != WIRE_VARINT) {
+        reader.skip(wireType);
+      } else if (field == 1) {
+        offset = reader.readVarint64();
+      } else if (field == 2) {
+        indexLength = reader.readVarint64();
+      } else if (field == 3) {
+        dataLength = reader.readVarint64();
+      } else if (field == 4) {
+        footerLength = reader.readVarint64();
+      } else if (field == 5) {
+        numberOfRows = reader.readVarint64();
+      } else {
+        reader.skip(wireType);
+      }
+    }
+    return new OrcStripe(stripeIndex, offset, indexLength, dataLength, footerLength, numberOfRows);
+  }
+
+  private static Type readType(ProtoReader reader) {
+    List<Integer> subtypes = new ArrayList<>();
+    List<String> fieldNames = new ArrayList<>();
+    int tag;
+    while ((tag = reader.readTag()) != 0) {
+      int field = tag >>> 3;
+      int wireType = tag & 0x07;
+      if (field == 2 && wireType == WIRE_VARINT) {
+        subtypes.add((int) reader.readVarint64());
+      } else if (field == 2 && wireType == WIRE_LENGTH_DELIMITED) {
+        // Packed repeated field
+        ProtoReader packed = reader.readMessage();
+        while (packed.hasRemaining()) {
+          subtypes.add((int) packed.readVarint64());
+        }
+      } else if (field == 3 && wireType == WIRE_LENGTH_DELIMITED) {
+        fieldNames.add(reader.readString());
+      } else {
+        reader.skip(wireType);
+      }
+    }
+    return new Type(subtypes, fieldNames);
+  }
+
+  private static OrcStream readStream(ProtoReader reader, long offset) {
+    int column = 0;
+    long length = 0;
+    int tag;
+    while ((tag = reader.readTag()) != 0) {
+      int field = tag >>> 3;
+      int wireType = tag & 0x07;
+      if (field == 2 && wireType == WIRE_VARINT) {
+        column = (int) reader.readVarint64();
+      } else if (field == 3 && wireType == WIRE_VARINT) {
+        length = reader.readVarint64();
+      } else {
+        reader.skip(wireType);
+      }
+    }
+    return new OrcStream(column, offset, length);
+  }
+
+  /**
+   * Names the columns of the schema. Types are listed in pre-order, the type of column 0 being the
+   * root struct. Children of structs are named after their field, children of lists, maps and
+   * unions, which have no field name, after their position.
+   *
+   * @param types the types of the schema, in pre-order
+   * @return the full path of each column, indexed by column id
+   */
+  private static List<String> getColumnNames(List<Type> types) {
+    String[] names = new String[types.size()];
+    if (names.length > 0) {
+      names[0] = "";
+    }
+
+    for (int column = 0; column < types.size(); column++) {
+      Type type = types.get(column);
+      String parent = names[column] == null ? "" : names[column];
+      for (int i = 0; i < type.getSubtypes().size(); i++) {
+        int subtype = type.getSubtypes().get(i);
+        if (subtype <= column || subtype >= names.length) {
+          throw new IllegalArgumentException("Invalid subtype " + subtype);
+        }
+        String name = i < type.getFieldNames().size() ? type.getFieldNames().get(i) : "_" + i;
+        names[subtype] = parent.isEmpty() ? name : parent + "." + name;
+      }
+    }
+
+    List<String> columnNames = new ArrayList<>(names.length);
+    for (String name : names) {
+      columnNames.add(name == null ? "" : name);
+    }
+    return columnNames;
+  }
+
+  /**
+   * Decompresses a footer. Compressed ORC data is a sequence of chunks, each with a 3 byte little
+   * endian header holding the length of the chunk and whether it was stored uncompressed.
+   *
+   * @param input the compressed data, between position and limit
+   * @param compression the compression kind of the file
+   * @return the decompressed data
+   * @throws IOException if the compression is not supported or the data is corrupt
+   */
+  private static ByteBuffer decompress(ByteBuffer input, int compression) throws IOException {
+    if (compression == COMPRESSION_NONE) {
+      return input;
+    }
+    if (compression != COMPRESSION_ZLIB) {
+      throw new IOException("Unsupported ORC compression kind " + compression);
+    }
+
+    ByteArrayOutputStream output = new ByteArrayOutputStream(input.remaining() * 4);
+    Inflater inflater = new Inflater(true);
+    try {
+      byte[] buffer = new byte[64 * 1024];
+      while (input.hasRemaining()) {
+        if (input.remaining() < CHUNK_HEADER_SIZE) {
+          throw new IOException("can not decompress: truncated chunk header");
+        }
+        int header = (input.get() & 0xFF) | (input.get() & 0xFF) << 8 | (input.get() & 0xFF) << 16;
+        int chunkLength = header >>> 1;
+        if (chunkLength > input.remaining()) {
+          throw new IOException("can not decompress: invalid chunk length " + chunkLength);
+        }
+
+        byte[] chunk = new byte[chunkLength];
+        input.get(chunk);
+        if ((header & 1) == 1) {
+          output.write(chunk, 0, chunkLength);
+          continue;
+        }
+
+        inflater.reset();
+        inflater.setInput(chunk);
+        while (!inflater.finished()) {
+          int inflated = inflater.inflate(buffer);
+          if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+            throw new IOException("can not decompress: truncated chunk");
+          }
+          output.write(buffer, 0, inflated);
+        }
+      }
+    } catch (DataFormatException e) {
+      throw new IOException("can not decompress: " + e.getMessage(), e);
+    } finally {
+      inflater.end();
+    }
+    return ByteBuffer.wrap(output.toByteArray());
+  }
+
+  private static ByteBuffer slice(ByteBuffer buffer, int position, int length) {
+    if (position < 0 || length < 0 || position + length > buffer.limit()) {
+      throw new IndexOutOfBoundsException("Specified range is outside of the buffer");
+    }
+    ByteBuffer slice = buffer.duplicate();
+    slice.position(position);
+    slice.limit(position + length);
+    return slice.slice();
+  }
+
+  /** A type of the schema, reduced to what is needed to name the columns. */
+  @Value
+  private static class Type {
+    List<Integer> subtypes;
+    List<String> fieldNames;
+  }
+
+  /** Reads protocol buffers fields from a buffer, between its position and its limit. */
+  private static final class ProtoReader {
+    private final ByteBuffer buffer;
+
+    private ProtoReader(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    private boolean hasRemaining() {
+      return buffer.hasRemaining();
+    }
+
+    /**
+     * Reads the tag of the next field.
+     *
+     * @return the field number and wire type of the field, or 0 at the end of the message
+     */
+    private int readTag() {
+      return buffer.hasRemaining() ? (int) readVarint64() : 0;
+    }
+
+    private long readVarint64() {
+      long result = 0;
+      for (int shift = 0; shift < 70; shift += 7) {
+        byte b = buffer.get();
+        result |= (long) (b & 0x7F) << shift;
+        if ((b & 0x80) == 0) {
+          return result;
+        }
+      }
+      throw new IllegalArgumentException("Variable length integer is too long");
+    }
+
+    private ByteBuffer readBytes() {
+      long length = readVarint64();
+      if (length < 0 || length > buffer.remaining()) {
+        throw new IllegalArgumentException("Invalid length " + length);
+      }
+      ByteBuffer bytes = slice(buffer, buffer.position(), (int) length);
+      buffer.position(buffer.position() + (int) length);
+      return bytes;
+    }
+
+    private ProtoReader readMessage() {
+      return new ProtoReader(readBytes());
+    }
+
+    private String readString() {
+      return StandardCharsets.UTF_8.decode(readBytes()).toString();
+    }
+
+    private void skip(int wireType) {
+      switch (wireType) {
+        case WIRE_VARINT:
+          readVarint64();
+          break;
+        case WIRE_FIXED64:
+          skipBytes(Long.BYTES);
+          break;
+        case WIRE_LENGTH_DELIMITED:
+          readBytes();
+          break;
+        case WIRE_FIXED32:
+          skipBytes(Integer.BYTES);
+          break;
+        default:
+          throw new IllegalArgumentException("Unsupported wire type " + wireType);
+      }
+    }
+
+    private void skipBytes(int count) {
+      if (count > buffer.remaining()) {
+        throw new BufferUnderflowException();
+      }
+      buffer.position(buffer.position() + count);
+    }
+  }
+}
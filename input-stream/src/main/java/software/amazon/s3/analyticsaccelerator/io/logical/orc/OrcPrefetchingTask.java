@@ -0,0 +1,325 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.orc;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import lombok.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Operation;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
+import software.amazon.s3.analyticsaccelerator.io.logical.FileTailUtils;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.logical.impl.OrcColumnPrefetchStore;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlan;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanExecution;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanState;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+import software.amazon.s3.analyticsaccelerator.util.StreamAttributes;
+
+/**
+ * Task for prefetching ORC files. Like Parquet, ORC keeps its metadata at the end of the file: the
+ * postscript, preceded by the footer listing the stripes and the schema. Each stripe then ends with
+ * a stripe footer listing the streams of its columns.
+ *
+ * <p>On open, the tail is prefetched and parsed. As the file is read, reads are mapped to the
+ * column streams of the stripe they fall in and recorded for the schema of the file. Whenever a
+ * stripe starts being read, the footer of the next stripe is read and the streams of the columns
+ * recently read for the schema are prefetched from it, so that they are ready by the time the
+ * reader gets to the next stripe.
+ */
+public class OrcPrefetchingTask {
+  private final S3URI s3URI;
+  private final Telemetry telemetry;
+  private final LogicalIOConfiguration logicalIOConfiguration;
+  private final PhysicalIO physicalIO;
+  private final OrcColumnPrefetchStore orcColumnPrefetchStore;
+
+  private static final String OPERATION_ORC_PREFETCH_TAIL = "orc.task.prefetch.tail";
+  private static final String OPERATION_ORC_READ_TAIL = "orc.task.read.tail";
+  private static final String OPERATION_ORC_PREFETCH_STRIPE = "orc.task.prefetch.stripe";
+  private static final Logger LOG = LoggerFactory.getLogger(OrcPrefetchingTask.class);
+
+  /**
+   * Creates a new instance of {@link OrcPrefetchingTask}.
+   *
+   * @param s3URI the S3URI of the object
+   * @param telemetry an instance of {@link Telemetry} to use
+   * @param logicalIOConfiguration LogicalIO configuration
+   * @param physicalIO PhysicalIO instance
+   * @param orcColumnPrefetchStore object containing ORC usage information
+   */
+  public OrcPrefetchingTask(
+      @NonNull S3URI s3URI,
+      @NonNull Telemetry telemetry,
+      @NonNull LogicalIOConfiguration logicalIOConfiguration,
+      @NonNull PhysicalIO physicalIO,
+      @NonNull OrcColumnPrefetchStore orcColumnPrefetchStore) {
+    this.s3URI = s3URI;
+    this.telemetry = telemetry;
+    this.logicalIOConfiguration = logicalIOConfiguration;
+    this.physicalIO = physicalIO;
+    this.orcColumnPrefetchStore = orcColumnPrefetchStore;
+  }
+
+  /**
+   * Prefetches the tail of the ORC file.
+   *
+   * @return range of file prefetched
+   */
+  public List<Range> prefetchTail() {
+    return telemetry.measureStandard(
+        () ->
+            Operation.builder()
+                .name(OPERATION_ORC_PREFETCH_TAIL)
+                .attribute(StreamAttributes.uri(this.s3URI))
+                .build(),
+        () -> {
+          try {
+            long contentLength = physicalIO.metadata().getContentLength();
+            IOPlan ioPlan =
+                FileTailUtils.getFileTailRange(logicalIOConfiguration, 0, contentLength)
+                    .map(IOPlan::new)
+                    .orElse(IOPlan.EMPTY_PLAN);
+            physicalIO.execute(ioPlan);
+            return ioPlan.getPrefetchRanges();
+          } catch (Exception e) {
+            LOG.warn(
+                "Unable to prefetch file tail for {}, orc prefetch optimisations will be disabled for this key.",
+                this.s3URI.getKey(),
+                e);
+            throw new CompletionException("Error in executing tail prefetch plan", e);
+          }
+        });
+  }
+
+  /**
+   * Reads and parses the tail of the ORC file, and stores the result for other streams of the
+   * file. When the footer does not fit in the tail read, the missing bytes are read with a second,
+   * targeted request.
+   *
+   * @return the parsed tail
+   */
+  public OrcMetadata readTail() {
+    return telemetry.measureStandard(
+        () ->
+            Operation.builder()
+                .name(OPERATION_ORC_READ_TAIL)
+                .attribute(StreamAttributes.uri(this.s3URI))
+                .build(),
+        () -> {
+          try {
+            long contentLength = physicalIO.metadata().getContentLength();
+            Optional<Range> tailRange =
+                FileTailUtils.getFileTailRange(logicalIOConfiguration, 0, contentLength);
+            if (!tailRange.isPresent()) {
+              throw new IOException("Object is empty");
+            }
+
+            int tailLength = (int) tailRange.get().getLength();
+            byte[] tail = new byte[tailLength];
+            physicalIO.readTail(tail, 0, tailLength);
+
+            OrcParser.PostScript postScript = OrcParser.parsePostScript(ByteBuffer.wrap(tail));
+            long tailSize = postScript.getTailSize();
+            if (tailSize > tailLength
+                && tailSize <= contentLength
+                && tailSize <= Integer.MAX_VALUE) {
+              int missingLength = (int) tailSize - tailLength;
+              byte[] fullTail = new byte[(int) tailSize];
+              physicalIO.read(fullTail, 0, missingLength, contentLength - tailSize);
+              System.arraycopy(tail, 0, fullTail, missingLength, tailLength);
+              tail = fullTail;
+            }
+
+            OrcMetadata orcMetadata = OrcParser.parseFooter(ByteBuffer.wrap(tail), postScript);
+            orcColumnPrefetchStore.putOrcMetadata(s3URI, orcMetadata);
+            return orcMetadata;
+          } catch (Exception e) {
+            LOG.warn(
+                "Unable to parse orc tail for {}, orc prefetch optimisations will be disabled for this key.",
+                this.s3URI.getKey(),
+                e);
+            throw new CompletionException("Error parsing orc tail", e);
+          }
+        });
+  }
+
+  /**
+   * Records the columns of the stripe a read falls in, and prefetches the next stripe if it was
+   * not prefetched yet.
+   *
+   * @param position the position of the read
+   * @param len the length of the read
+   * @return the IOPlanExecution object of the prefetch of the next stripe
+   */
+  public IOPlanExecution onRead(long position, int len) {
+    int nextStripeIndex = recordRead(position, len);
+    if (nextStripeIndex < 0) {
+      return IOPlanExecution.builder().state(IOPlanState.SKIPPED).build();
+    }
+
+    return prefetchStripe(nextStripeIndex);
+  }
+
+  /**
+   * Records the columns of the stripe a read falls in. This is cheap enough to be done by the
+   * reader: the footer of the stripe is usually parsed already, and ORC readers read it themselves
+   * before the streams of the stripe otherwise.
+   *
+   * @param position the position of the read
+   * @param len the length of the read
+   * @return the index of the next stripe if it still has to be prefetched, or -1
+   */
+  public int recordRead(long position, int len) {
+    OrcMetadata orcMetadata = orcColumnPrefetchStore.getOrcMetadata(s3URI);
+    if (orcMetadata == null) {
+      return -1;
+    }
+
+    int stripeIndex = orcMetadata.getStripeIndex(position);
+    if (stripeIndex < 0) {
+      return -1;
+    }
+
+    try {
+      addToRecentColumnList(orcMetadata, stripeIndex, position, len);
+    } catch (Exception e) {
+      LOG.debug("Unable to record the columns read for {}.", s3URI.getKey(), e);
+    }
+
+    int nextStripeIndex = stripeIndex + 1;
+    if (nextStripeIndex >= orcMetadata.getStripes().size()
+        || orcColumnPrefetchStore.isStripePrefetched(s3URI, nextStripeIndex)) {
+      return -1;
+    }
+    return nextStripeIndex;
+  }
+
+  /**
+   * Prefetches the streams of the columns recently read for the schema of the file, from the given
+   * stripe, unless the stripe was already prefetched or the tail of the file is not parsed.
+   *
+   * @param stripeIndex the stripe to prefetch
+   * @return the IOPlanExecution object of the prefetch
+   */
+  public IOPlanExecution prefetchStripe(int stripeIndex) {
+    OrcMetadata orcMetadata = orcColumnPrefetchStore.getOrcMetadata(s3URI);
+    if (orcMetadata == null) {
+      return IOPlanExecution.builder().state(IOPlanState.SKIPPED).build();
+    }
+
+    return prefetchStripe(orcMetadata, stripeIndex);
+  }
+
+  /**
+   * Prefetches the streams of the columns recently read for the schema of the file, from the given
+   * stripe, unless the stripe was already prefetched.
+   *
+   * @param orcMetadata the parsed tail of the file
+   * @param stripeIndex the stripe to prefetch
+   * @return the IOPlanExecution object of the prefetch
+   */
+  public IOPlanExecution prefetchStripe(OrcMetadata orcMetadata, int stripeIndex) {
+    if (stripeIndex >= orcMetadata.getStripes().size()
+        || !orcColumnPrefetchStore.markStripePrefetched(s3URI, stripeIndex)) {
+      return IOPlanExecution.builder().state(IOPlanState.SKIPPED).build();
+    }
+
+    return telemetry.measureStandard(
+        () ->
+            Operation.builder()
+                .name(OPERATION_ORC_PREFETCH_STRIPE)
+                .attribute(StreamAttributes.uri(this.s3URI))
+                .build(),
+        () -> {
+          try {
+            Set<String> recentColumns =
+                orcColumnPrefetchStore.getPredictedColumnsForSchema(orcMetadata.getSchemaHash());
+            if (recentColumns.isEmpty()) {
+              return IOPlanExecution.builder().state(IOPlanState.SKIPPED).build();
+            }
+
+            List<Range> prefetchRanges = new ArrayList<>();
+            for (OrcStream stream : getStripeStreams(orcMetadata, stripeIndex)) {
+              if (stream.getLength() > 0
+                  && recentColumns.contains(orcMetadata.getColumnName(stream.getColumn()))) {
+                prefetchRanges.add(
+                    new Range(stream.getOffset(), stream.getOffset() + stream.getLength() - 1));
+              }
+            }
+
+            return physicalIO.execute(
+                prefetchRanges.isEmpty() ? IOPlan.EMPTY_PLAN : new IOPlan(prefetchRanges));
+          } catch (Exception e) {
+            LOG.debug("Unable to prefetch stripe {} of {}.", stripeIndex, s3URI.getKey(), e);
+            return IOPlanExecution.builder().state(IOPlanState.FAILED).build();
+          }
+        });
+  }
+
+  private void addToRecentColumnList(
+      OrcMetadata orcMetadata, int stripeIndex, long position, int len) throws IOException {
+    // A read covering several streams, as readers do to coalesce them, counts once per column
+    Set<String> columnsRead = new LinkedHashSet<>();
+    long end = position + Math.max(len, 1);
+    for (OrcStream stream : getStripeStreams(orcMetadata, stripeIndex)) {
+      boolean startsInRead = stream.getOffset() >= position && stream.getOffset() < end;
+      if (stream.getColumn() > 0 && (stream.contains(position) || startsInRead)) {
+        String columnName = orcMetadata.getColumnName(stream.getColumn());
+        if (columnName != null && columnsRead.add(columnName)) {
+          orcColumnPrefetchStore.addRecentColumn(orcMetadata.getSchemaHash(), columnName);
+        }
+      }
+    }
+  }
+
+  /**
+   * Gets the streams of a stripe, reading and parsing its stripe footer if needed.
+   *
+   * @param orcMetadata the parsed tail of the file
+   * @param stripeIndex the index of the stripe
+   * @return the streams of the stripe, in file order
+   * @throws IOException if the stripe footer cannot be read or parsed
+   */
+  private List<OrcStream> getStripeStreams(OrcMetadata orcMetadata, int stripeIndex)
+      throws IOException {
+    List<OrcStream> streams = orcColumnPrefetchStore.getStripeStreams(s3URI, stripeIndex);
+    if (streams == null) {
+      OrcStripe stripe = orcMetadata.getStripes().get(stripeIndex);
+      if (stripe.getFooterLength() <= 0 || stripe.getFooterLength() > Integer.MAX_VALUE) {
+        streams = Collections.emptyList();
+      } else {
+        byte[] stripeFooter = new byte[(int) stripe.getFooterLength()];
+        physicalIO.read(stripeFooter, 0, stripeFooter.length, stripe.getFooterOffset());
+        streams = OrcParser.parseStripeFooter(ByteBuffer.wrap(stripeFooter), orcMetadata, stripe);
+      }
+      orcColumnPrefetchStore.putStripeStreams(s3URI, stripeIndex, streams);
+    }
+
+    return streams;
+  }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.orc;
+
+import lombok.Value;
+
+/** A stream of a column within a stripe of an ORC file, as listed in the stripe footer. */
+@Value
+public class OrcStream {
+  /** Id of the column the stream belongs to, 0 being the root of the schema. */
+  int column;
+  /** Position of the first byte of the stream in the file. */
+  long offset;
+  /** Length of the stream. */
+  long length;
+
+  /**
+   * Checks whether a position lies within the stream.
+   *
+   * @param position the position to check
+   * @return true if the position belongs to the stream
+   */
+  public boolean contains(long position) {
+    return position >= offset && position < offset + length;
+  }
+}
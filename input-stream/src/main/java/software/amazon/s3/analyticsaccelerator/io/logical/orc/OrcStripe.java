@@ -0,0 +1,57 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.orc;
+
+import lombok.Value;
+
+/**
+ * Location of a stripe of an ORC file, as listed in the file footer. A stripe is made of its index
+ * streams, followed by its data streams and by the stripe footer describing the streams.
+ */
+@Value
+public class OrcStripe {
+  /** Index of the stripe within the file. */
+  int stripeIndex;
+  /** Position of the first byte of the stripe. */
+  long offset;
+  /** Total length of the index streams of the stripe. */
+  long indexLength;
+  /** Total length of the data streams of the stripe. */
+  long dataLength;
+  /** Length of the stripe footer. */
+  long footerLength;
+  /** Number of rows in the stripe. */
+  long numberOfRows;
+
+  /**
+   * Position of the stripe footer, right after the data streams.
+   *
+   * @return the position of the first byte of the stripe footer
+   */
+  public long getFooterOffset() {
+    return offset + indexLength + dataLength;
+  }
+
+  /**
+   * Checks whether a position lies within the stripe, its footer included.
+   *
+   * @param position the position to check
+   * @return true if the position belongs to the stripe
+   */
+  public boolean contains(long position) {
+    return position >= offset && position < getFooterOffset() + footerLength;
+  }
+}
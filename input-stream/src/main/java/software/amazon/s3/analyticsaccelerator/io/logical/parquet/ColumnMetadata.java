@@ -15,14 +15,114 @@
  */
 package software.amazon.s3.analyticsaccelerator.io.logical.parquet;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NonNull;
 
 /** Container for storing necessary parquet column information. */
 @Data
+@AllArgsConstructor
 public class ColumnMetadata {
   private final int rowGroupIndex;
   private final String columnName;
   private final long startPos;
   private final long compressedSize;
   private final int schemaHash;
+  @NonNull private final ColumnStatistics statistics;
+  @NonNull private final ColumnPageIndex pageIndex;
+  private final long dataPageOffset;
+
+  /**
+   * Identity of the column that is stable across versions of the schema, under which accesses to
+   * the column are tracked: its Parquet field id when the writer assigned one, otherwise its path.
+   */
+  @NonNull private final String columnId;
+
+  /**
+   * Creates a new instance of {@link ColumnMetadata} for a column chunk without statistics, a page
+   * index or a dictionary page.
+   *
+   * @param rowGroupIndex index of the row group the column chunk belongs to
+   * @param columnName full path of the column
+   * @param startPos position of the first byte of the column chunk
+   * @param compressedSize compressed size of the column chunk
+   * @param schemaHash hash of the schema of the file
+   */
+  public ColumnMetadata(
+      int rowGroupIndex, String columnName, long startPos, long compressedSize, int schemaHash) {
+    this(rowGroupIndex, columnName, startPos, compressedSize, schemaHash, ColumnStatistics.NONE);
+  }
+
+  /**
+   * Creates a new instance of {@link ColumnMetadata} for a column chunk without a page index or a
+   * dictionary page.
+   *
+   * @param rowGroupIndex index of the row group the column chunk belongs to
+   * @param columnName full path of the column
+   * @param startPos position of the first byte of the column chunk
+   * @param compressedSize compressed size of the column chunk
+   * @param schemaHash hash of the schema of the file
+   * @param statistics statistics of the column chunk
+   */
+  public ColumnMetadata(
+      int rowGroupIndex,
+      String columnName,
+      long startPos,
+      long compressedSize,
+      int schemaHash,
+      ColumnStatistics statistics) {
+    this(
+        rowGroupIndex,
+        columnName,
+        startPos,
+        compressedSize,
+        schemaHash,
+        statistics,
+        ColumnPageIndex.NONE,
+        startPos);
+  }
+
+  /**
+   * Creates a new instance of {@link ColumnMetadata} for a column chunk without a field id, which
+   * is then identified by its path.
+   *
+   * @param rowGroupIndex index of the row group the column chunk belongs to
+   * @param columnName full path of the column
+   * @param startPos position of the first byte of the column chunk
+   * @param compressedSize compressed size of the column chunk
+   * @param schemaHash hash of the schema of the file
+   * @param statistics statistics of the column chunk
+   * @param pageIndex page index of the column chunk
+   * @param dataPageOffset position of the first data page of the column chunk
+   */
+  public ColumnMetadata(
+      int rowGroupIndex,
+      String columnName,
+      long startPos,
+      long compressedSize,
+      int schemaHash,
+      ColumnStatistics statistics,
+      ColumnPageIndex pageIndex,
+      long dataPageOffset) {
+    this(
+        rowGroupIndex,
+        columnName,
+        startPos,
+        compressedSize,
+        schemaHash,
+        statistics,
+        pageIndex,
+        dataPageOffset,
+        columnName);
+  }
+
+  /**
+   * Whether the column chunk starts with a dictionary page, which then spans from the start of the
+   * column chunk to its first data page.
+   *
+   * @return true if the column chunk has a dictionary page
+   */
+  public boolean hasDictionary() {
+    return dataPageOffset > startPos;
+  }
 }
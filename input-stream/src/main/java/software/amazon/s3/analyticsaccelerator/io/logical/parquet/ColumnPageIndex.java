@@ -0,0 +1,143 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.parquet;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import lombok.NonNull;
+import lombok.Value;
+import org.apache.parquet.format.ColumnIndex;
+import org.apache.parquet.format.OffsetIndex;
+import org.apache.parquet.format.PageLocation;
+import org.apache.parquet.format.SchemaElement;
+import org.apache.parquet.format.Type;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+
+/**
+ * Location and, if available, statistics of each data page of a Parquet column chunk, as read from
+ * the page index (the OffsetIndex and ColumnIndex structures written next to the footer). This
+ * allows prefetching only the pages that hold the rows a query needs, instead of the whole column
+ * chunk.
+ */
+@Value
+public class ColumnPageIndex {
+  /** Page index of a column chunk which does not have one. */
+  public static final ColumnPageIndex NONE =
+      new ColumnPageIndex(0, 0, Collections.emptyList(), Collections.emptyList());
+
+  /** Index of the first row of the row group within the file. */
+  long rowGroupFirstRow;
+  /** Number of rows in the row group. */
+  long rowGroupRowCount;
+  /** Location of each data page, in file order. */
+  @NonNull List<PageLocation> pageLocations;
+  /** Statistics of each data page, or an empty list if the column chunk has no ColumnIndex. */
+  @NonNull List<ColumnStatistics> pageStatistics;
+
+  /**
+   * Builds the page index of a column chunk from its parsed OffsetIndex and optional ColumnIndex.
+   *
+   * @param rowGroupFirstRow index of the first row of the row group within the file
+   * @param rowGroupRowCount number of rows in the row group
+   * @param type physical type of the column
+   * @param schemaElement the schema element of the column, or null if it is not known
+   * @param offsetIndex the OffsetIndex of the column chunk
+   * @param columnIndex the ColumnIndex of the column chunk, or null if there is none
+   * @return the page index of the column chunk
+   */
+  public static ColumnPageIndex of(
+      long rowGroupFirstRow,
+      long rowGroupRowCount,
+      Type type,
+      SchemaElement schemaElement,
+      @NonNull OffsetIndex offsetIndex,
+      ColumnIndex columnIndex) {
+    List<PageLocation> pageLocations = offsetIndex.getPage_locations();
+    List<ColumnStatistics> pageStatistics = new ArrayList<>();
+    if (columnIndex != null && columnIndex.getNull_pages().size() == pageLocations.size()) {
+      for (int i = 0; i < pageLocations.size(); i++) {
+        pageStatistics.add(
+            ColumnStatistics.ofPage(
+                type,
+                schemaElement,
+                toBytes(columnIndex.getMin_values().get(i)),
+                toBytes(columnIndex.getMax_values().get(i)),
+                columnIndex.getNull_pages().get(i)));
+      }
+    }
+
+    return new ColumnPageIndex(
+        rowGroupFirstRow,
+        rowGroupRowCount,
+        Collections.unmodifiableList(new ArrayList<>(pageLocations)),
+        Collections.unmodifiableList(pageStatistics));
+  }
+
+  private static byte[] toBytes(ByteBuffer value) {
+    ByteBuffer duplicate = value.duplicate();
+    byte[] bytes = new byte[duplicate.remaining()];
+    duplicate.get(bytes);
+    return bytes;
+  }
+
+  /**
+   * Whether the page locations of the column chunk are known.
+   *
+   * @return true if the column chunk has an OffsetIndex
+   */
+  public boolean hasPageLocations() {
+    return !pageLocations.isEmpty();
+  }
+
+  /**
+   * Whether the page statistics of the column chunk are known.
+   *
+   * @return true if the column chunk has a ColumnIndex
+   */
+  public boolean hasPageStatistics() {
+    return !pageStatistics.isEmpty();
+  }
+
+  /**
+   * Returns the rows, relative to the start of the row group, held by a data page.
+   *
+   * @param pageIndex index of the page
+   * @return the inclusive range of rows held by the page
+   */
+  public Range getPageRows(int pageIndex) {
+    long firstRow = pageLocations.get(pageIndex).getFirst_row_index();
+    long lastRow =
+        pageIndex + 1 < pageLocations.size()
+            ? pageLocations.get(pageIndex + 1).getFirst_row_index() - 1
+            : rowGroupRowCount - 1;
+    return new Range(firstRow, Math.max(firstRow, lastRow));
+  }
+
+  /**
+   * Returns the bytes of a data page.
+   *
+   * @param pageIndex index of the page
+   * @return the inclusive byte range of the page in the file
+   */
+  public Range getPageBytes(int pageIndex) {
+    PageLocation pageLocation = pageLocations.get(pageIndex);
+    return new Range(
+        pageLocation.getOffset(),
+        pageLocation.getOffset() + pageLocation.getCompressed_page_size() - 1);
+  }
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.parquet;
+
+import lombok.NonNull;
+import lombok.Value;
+
+/** A column predicted to be read in files of a schema, along with how confident we are of it. */
+@Value
+public class ColumnPrediction {
+  /** Identity of the column, as given by {@link ColumnMetadata#getColumnId()}. */
+  @NonNull String columnId;
+
+  /**
+   * Confidence in the column being read, between 0 and 1. This is the recency weighted access
+   * frequency of the column, relative to that of the most frequently read column of the schema.
+   */
+  double confidence;
+}
@@ -0,0 +1,352 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.parquet;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.OptionalInt;
+import lombok.EqualsAndHashCode;
+import lombok.NonNull;
+import org.apache.parquet.format.ColumnMetaData;
+import org.apache.parquet.format.LogicalType;
+import org.apache.parquet.format.SchemaElement;
+import org.apache.parquet.format.Statistics;
+import org.apache.parquet.format.Type;
+
+/**
+ * Min/max statistics of a Parquet column chunk or data page, used to decide whether the row group
+ * or page can contain rows matching a {@link ParquetPredicate}. Values are compared in the sort
+ * order of the logical type of the column, as given by the schema. Whenever the statistics are
+ * missing or cannot be interpreted, including for logical types whose order is not supported such
+ * as DECIMAL, the rows are assumed to match.
+ */
+@EqualsAndHashCode
+public final class ColumnStatistics {
+  /** Statistics of a column chunk for which nothing is known. */
+  public static final ColumnStatistics NONE =
+      new ColumnStatistics(null, SortOrder.UNKNOWN, null, null, -1, -1);
+
+  private final Type type;
+  private final SortOrder sortOrder;
+  private final byte[] min;
+  private final byte[] max;
+  private final long nullCount;
+  private final long numValues;
+
+  private ColumnStatistics(
+      Type type, SortOrder sortOrder, byte[] min, byte[] max, long nullCount, long numValues) {
+    this.type = type;
+    this.sortOrder = sortOrder;
+    this.min = min == null ? null : min.clone();
+    this.max = max == null ? null : max.clone();
+    this.nullCount = nullCount;
+    this.numValues = numValues;
+  }
+
+  /**
+   * Extracts the statistics of a column chunk from its metadata, for a column without a logical or
+   * converted type, whose values are ordered as their physical type.
+   *
+   * @param columnMetaData the column chunk metadata from the Parquet footer
+   * @return the statistics of the column chunk
+   */
+  public static ColumnStatistics fromColumnMetaData(@NonNull ColumnMetaData columnMetaData) {
+    return fromColumnMetaData(columnMetaData, null);
+  }
+
+  /**
+   * Extracts the statistics of a column chunk from its metadata.
+   *
+   * @param columnMetaData the column chunk metadata from the Parquet footer
+   * @param schemaElement the schema element of the column, or null if it is not known
+   * @return the statistics of the column chunk
+   */
+  public static ColumnStatistics fromColumnMetaData(
+      @NonNull ColumnMetaData columnMetaData, SchemaElement schemaElement) {
+    if (!columnMetaData.isSetStatistics() || !columnMetaData.isSetType()) {
+      return NONE;
+    }
+
+    SortOrder sortOrder = getSortOrder(columnMetaData.getType(), schemaElement);
+
+    Statistics statistics = columnMetaData.getStatistics();
+    byte[] min = null;
+    byte[] max = null;
+    if (statistics.isSetMin_value() && statistics.isSetMax_value()) {
+      min = statistics.getMin_value();
+      max = statistics.getMax_value();
+    } else if (statistics.isSetMin() && statistics.isSetMax() && sortOrder == SortOrder.SIGNED) {
+      // The deprecated min and max fields are only correct for types with a signed sort order
+      min = statistics.getMin();
+      max = statistics.getMax();
+    }
+    long nullCount = statistics.isSetNull_count() ? statistics.getNull_count() : -1;
+
+    return new ColumnStatistics(
+        columnMetaData.getType(), sortOrder, min, max, nullCount, columnMetaData.getNum_values());
+  }
+
+  /**
+   * Creates the statistics of a single data page from the entries of a ColumnIndex.
+   *
+   * @param type physical type of the column
+   * @param schemaElement the schema element of the column, or null if it is not known
+   * @param min the minimum value of the page
+   * @param max the maximum value of the page
+   * @param nullPage whether the page only contains nulls
+   * @return the statistics of the page
+   */
+  static ColumnStatistics ofPage(
+      Type type, SchemaElement schemaElement, byte[] min, byte[] max, boolean nullPage) {
+    SortOrder sortOrder = getSortOrder(type, schemaElement);
+    if (nullPage) {
+      // A page made of nulls only, in which no value can match
+      return new ColumnStatistics(type, sortOrder, null, null, 1, 1);
+    }
+    return new ColumnStatistics(type, sortOrder, min, max, -1, -1);
+  }
+
+  /**
+   * Returns the minimum value, plain encoded as in the Parquet format.
+   *
+   * @return a copy of the minimum value, or null if it is not known
+   */
+  public byte[] getMin() {
+    return min == null ? null : min.clone();
+  }
+
+  /**
+   * Returns the maximum value, plain encoded as in the Parquet format.
+   *
+   * @return a copy of the maximum value, or null if it is not known
+   */
+  public byte[] getMax() {
+    return max == null ? null : max.clone();
+  }
+
+  /**
+   * Returns the number of nulls.
+   *
+   * @return the number of nulls, or -1 if it is not known
+   */
+  public long getNullCount() {
+    return nullCount;
+  }
+
+  /**
+   * Checks whether the column chunk can contain values matching the predicate.
+   *
+   * @param predicate the predicate to evaluate
+   * @return false only if the statistics prove that no value matches
+   */
+  public boolean mightMatch(@NonNull ParquetPredicate predicate) {
+    if (nullCount >= 0 && nullCount == numValues) {
+      // Only nulls, which never satisfy a comparison
+      return false;
+    }
+
+    if (type == null || sortOrder == SortOrder.UNKNOWN || min == null || max == null) {
+      return true;
+    }
+
+    OptionalInt literalToMin = compare(predicate.getLiteral(), min);
+    OptionalInt literalToMax = compare(predicate.getLiteral(), max);
+    if (!literalToMin.isPresent() || !literalToMax.isPresent()) {
+      return true;
+    }
+
+    switch (predicate.getComparison()) {
+      case EQ:
+        return literalToMin.getAsInt() >= 0 && literalToMax.getAsInt() <= 0;
+      case LT:
+        return literalToMin.getAsInt() > 0;
+      case LT_EQ:
+        return literalToMin.getAsInt() >= 0;
+      case GT:
+        return literalToMax.getAsInt() < 0;
+      case GT_EQ:
+        return literalToMax.getAsInt() <= 0;
+      default:
+        return true;
+    }
+  }
+
+  /**
+   * Compares the literal to a plain encoded statistics value.
+   *
+   * @param literal the literal of the predicate
+   * @param value the plain encoded value
+   * @return the sign of (literal - value), or empty if they cannot be compared
+   */
+  private OptionalInt compare(Object literal, byte[] value) {
+    ByteBuffer buffer = ByteBuffer.wrap(value).order(ByteOrder.LITTLE_ENDIAN);
+    switch (type) {
+      case INT32:
+        if (value.length != Integer.BYTES) {
+          return OptionalInt.empty();
+        }
+        return sortOrder == SortOrder.UNSIGNED
+            ? compareNumber(literal, Integer.toUnsignedLong(buffer.getInt()))
+            : compareNumber(literal, buffer.getInt());
+      case INT64:
+        if (value.length != Long.BYTES) {
+          return OptionalInt.empty();
+        }
+        return sortOrder == SortOrder.UNSIGNED
+            ? compareUnsignedNumber(literal, buffer.getLong())
+            : compareNumber(literal, buffer.getLong());
+      case FLOAT:
+        return value.length == Float.BYTES
+            ? compareNumber(literal, (double) buffer.getFloat())
+            : OptionalInt.empty();
+      case DOUBLE:
+        return value.length == Double.BYTES
+            ? compareNumber(literal, buffer.getDouble())
+            : OptionalInt.empty();
+      case BYTE_ARRAY:
+      case FIXED_LEN_BYTE_ARRAY:
+        if (!(literal instanceof String) || sortOrder != SortOrder.UNSIGNED) {
+          return OptionalInt.empty();
+        }
+        byte[] bytes = ((String) literal).getBytes(StandardCharsets.UTF_8);
+        return OptionalInt.of(compareUnsigned(bytes, value));
+      default:
+        return OptionalInt.empty();
+    }
+  }
+
+  private static OptionalInt compareNumber(Object literal, long value) {
+    if (literal instanceof Long) {
+      return OptionalInt.of(Long.compare((Long) literal, value));
+    }
+    return compareNumber(literal, (double) value);
+  }
+
+  private static OptionalInt compareUnsignedNumber(Object literal, long value) {
+    if (value >= 0) {
+      return compareNumber(literal, value);
+    }
+    if (literal instanceof Long) {
+      // The value is at least 2^63, above any long
+      return OptionalInt.of(-1);
+    }
+    return compareNumber(literal, (double) (value >>> 1) * 2 + (value & 1));
+  }
+
+  private static OptionalInt compareNumber(Object literal, double value) {
+    if (!(literal instanceof Number) || Double.isNaN(value)) {
+      return OptionalInt.empty();
+    }
+
+    double number = ((Number) literal).doubleValue();
+    if (Double.isNaN(number)) {
+      return OptionalInt.empty();
+    }
+    // Not Double.compare, so that -0.0 and 0.0 are considered equal
+    return OptionalInt.of(number < value ? -1 : (number > value ? 1 : 0));
+  }
+
+  private static int compareUnsigned(byte[] left, byte[] right) {
+    int length = Math.min(left.length, right.length);
+    for (int i = 0; i < length; i++) {
+      int result = Integer.compare(left[i] & 0xFF, right[i] & 0xFF);
+      if (result != 0) {
+        return result;
+      }
+    }
+    return Integer.compare(left.length, right.length);
+  }
+
+  /**
+   * Gets the order in which the values of a column are sorted by the writer, following the rules
+   * of the Parquet format: the logical type, or else the converted type, decides the order, and
+   * columns without either are ordered as their physical type.
+   *
+   * @param type physical type of the column
+   * @param schemaElement the schema element of the column, or null if it is not known
+   * @return the sort order of the column
+   */
+  private static SortOrder getSortOrder(Type type, SchemaElement schemaElement) {
+    if (schemaElement != null && schemaElement.isSetLogicalType()) {
+      LogicalType logicalType = schemaElement.getLogicalType();
+      if (logicalType.isSetINTEGER()) {
+        return logicalType.getINTEGER().isIsSigned() ? SortOrder.SIGNED : SortOrder.UNSIGNED;
+      }
+      if (logicalType.isSetSTRING()
+          || logicalType.isSetENUM()
+          || logicalType.isSetJSON()
+          || logicalType.isSetBSON()
+          || logicalType.isSetUUID()) {
+        return SortOrder.UNSIGNED;
+      }
+      if (logicalType.isSetDATE() || logicalType.isSetTIME() || logicalType.isSetTIMESTAMP()) {
+        return SortOrder.SIGNED;
+      }
+      // DECIMAL values are compared as unscaled numbers, which a literal is not
+      return SortOrder.UNKNOWN;
+    }
+
+    if (schemaElement != null && schemaElement.isSetConverted_type()) {
+      switch (schemaElement.getConverted_type()) {
+        case UINT_8:
+        case UINT_16:
+        case UINT_32:
+        case UINT_64:
+        case UTF8:
+        case ENUM:
+        case JSON:
+        case BSON:
+          return SortOrder.UNSIGNED;
+        case INT_8:
+        case INT_16:
+        case INT_32:
+        case INT_64:
+        case DATE:
+        case TIME_MILLIS:
+        case TIME_MICROS:
+        case TIMESTAMP_MILLIS:
+        case TIMESTAMP_MICROS:
+          return SortOrder.SIGNED;
+        default:
+          return SortOrder.UNKNOWN;
+      }
+    }
+
+    if (type == null) {
+      return SortOrder.UNKNOWN;
+    }
+    switch (type) {
+      case INT32:
+      case INT64:
+      case FLOAT:
+      case DOUBLE:
+        return SortOrder.SIGNED;
+      case BYTE_ARRAY:
+      case FIXED_LEN_BYTE_ARRAY:
+        return SortOrder.UNSIGNED;
+      default:
+        return SortOrder.UNKNOWN;
+    }
+  }
+
+  /** Order in which the values of a column are sorted, as in the Parquet format. */
+  private enum SortOrder {
+    SIGNED,
+    UNSIGNED,
+    UNKNOWN
+  }
+}
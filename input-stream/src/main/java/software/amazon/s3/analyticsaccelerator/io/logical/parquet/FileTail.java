@@ -16,11 +16,25 @@
 package software.amazon.s3.analyticsaccelerator.io.logical.parquet;
 
 import java.nio.ByteBuffer;
+import lombok.AllArgsConstructor;
 import lombok.Data;
 
 /** Container for tail of a parquet file. */
 @Data
+@AllArgsConstructor
 public class FileTail {
   private final ByteBuffer fileTail;
   private final int fileTailLength;
+  /** Position of the first byte of the tail in the file, or -1 if unknown. */
+  private final long fileTailStartPos;
+
+  /**
+   * Creates a new instance of {@link FileTail} whose position in the file is unknown.
+   *
+   * @param fileTail the tail bytes
+   * @param fileTailLength length of the tail
+   */
+  public FileTail(ByteBuffer fileTail, int fileTailLength) {
+    this(fileTail, fileTailLength, -1);
+  }
 }
@@ -0,0 +1,51 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.parquet;
+
+import java.util.List;
+import lombok.NonNull;
+import lombok.Value;
+
+/** Immutable view of a column chunk of a Parquet row group, part of a {@link ParquetFooter}. */
+@Value
+public class ParquetColumnChunk {
+  /** Full path of the column, with nested fields joined by ".". */
+  @NonNull String columnName;
+  /** Names of the fields leading from the root of the schema to the column. */
+  @NonNull List<String> path;
+  /** Physical type of the values of the column, or null if unknown. */
+  ParquetSchemaElement.PhysicalType physicalType;
+  /** Position of the first byte of the column chunk, its dictionary page if it has one. */
+  long startPos;
+  /** Position of the first data page of the column chunk. */
+  long dataPageOffset;
+  /** Compressed size of the column chunk, including page headers. */
+  long compressedSize;
+  /** Number of values in the column chunk, including nulls. */
+  long numValues;
+  /** Statistics of the column chunk. */
+  @NonNull ColumnStatistics statistics;
+
+  /**
+   * Whether the column chunk starts with a dictionary page, which then spans from the start of the
+   * column chunk to its first data page.
+   *
+   * @return true if the column chunk has a dictionary page
+   */
+  public boolean hasDictionary() {
+    return dataPageOffset > startPos;
+  }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.parquet;
+
+import java.util.List;
+import java.util.Map;
+import lombok.NonNull;
+import lombok.Value;
+
+/**
+ * Immutable view of the footer of a Parquet file, as parsed by {@link ParquetMetadataParsingTask}.
+ * The footer of an object is decoded once and this view is shared between all of its streams, so
+ * that integrations can plan their reads without reading and decoding the footer again.
+ */
+@Value
+public class ParquetFooter {
+  /** Number of rows in the file. */
+  long numRows;
+  /** Application that wrote the file, or null if unknown. */
+  String createdBy;
+  /** Key/value metadata of the file, such as the schema of the writing engine. */
+  @NonNull Map<String, String> keyValueMetadata;
+  /** Root of the schema of the file, or null if the footer has no schema. */
+  ParquetSchemaElement schema;
+  /** Full paths of the leaf columns, with nested fields joined by ".", in file order. */
+  @NonNull List<String> columnNames;
+  /** Row groups of the file, in file order. */
+  @NonNull List<ParquetRowGroup> rowGroups;
+}
@@ -0,0 +1,706 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.parquet;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.parquet.format.BsonType;
+import org.apache.parquet.format.ColumnChunk;
+import org.apache.parquet.format.ColumnMetaData;
+import org.apache.parquet.format.ConvertedType;
+import org.apache.parquet.format.DateType;
+import org.apache.parquet.format.DecimalType;
+import org.apache.parquet.format.EnumType;
+import org.apache.parquet.format.FieldRepetitionType;
+import org.apache.parquet.format.FileMetaData;
+import org.apache.parquet.format.IntType;
+import org.apache.parquet.format.JsonType;
+import org.apache.parquet.format.KeyValue;
+import org.apache.parquet.format.ListType;
+import org.apache.parquet.format.LogicalType;
+import org.apache.parquet.format.MapType;
+import org.apache.parquet.format.MicroSeconds;
+import org.apache.parquet.format.MilliSeconds;
+import org.apache.parquet.format.NanoSeconds;
+import org.apache.parquet.format.NullType;
+import org.apache.parquet.format.RowGroup;
+import org.apache.parquet.format.SchemaElement;
+import org.apache.parquet.format.Statistics;
+import org.apache.parquet.format.StringType;
+import org.apache.parquet.format.TimeType;
+import org.apache.parquet.format.TimeUnit;
+import org.apache.parquet.format.TimestampType;
+import org.apache.parquet.format.Type;
+import org.apache.parquet.format.UUIDType;
+
+/**
+ * Decodes a Parquet footer, serialized with the Thrift compact protocol, straight from the file
+ * tail. Only the fields the prefetcher uses are materialized, everything else (the encodings,
+ * column key/value metadata, encoding stats, bloom filter and size statistics) is skipped without
+ * being allocated. For files with thousands of columns
+ * this avoids copying the footer out of the tail and building the full object graph, most of which
+ * is never looked at.
+ *
+ * <p>The result is a {@link FileMetaData} in which only the decoded fields are set. Repeated
+ * strings, such as column paths which repeat across row groups, are shared.
+ */
+final class ParquetFooterDecoder {
+  // Compact protocol type identifiers
+  private static final int TYPE_STOP = 0;
+  private static final int TYPE_BOOLEAN_TRUE = 1;
+  private static final int TYPE_BOOLEAN_FALSE = 2;
+  private static final int TYPE_BYTE = 3;
+  private static final int TYPE_I16 = 4;
+  private static final int TYPE_I32 = 5;
+  private static final int TYPE_I64 = 6;
+  private static final int TYPE_DOUBLE = 7;
+  private static final int TYPE_BINARY = 8;
+  private static final int TYPE_LIST = 9;
+  private static final int TYPE_SET = 10;
+  private static final int TYPE_MAP = 11;
+  private static final int TYPE_STRUCT = 12;
+
+  private static final int MAX_NESTING_DEPTH = 64;
+
+  private final ByteBuffer buffer;
+  private final Map<ByteBuffer, String> strings = new HashMap<>();
+  private final Map<List<String>, List<String>> paths = new HashMap<>();
+  private int lastFieldId;
+
+  private ParquetFooterDecoder(ByteBuffer buffer) {
+    this.buffer = buffer;
+  }
+
+  /**
+   * Decodes the footer between the position and the limit of the buffer. The buffer is read
+   * through a duplicate, so neither its position nor its contents are modified.
+   *
+   * @param footer the serialized footer
+   * @return the decoded footer
+   * @throws IOException if the footer is malformed
+   */
+  static FileMetaData decode(ByteBuffer footer) throws IOException {
+    try {
+      return new ParquetFooterDecoder(footer.duplicate()).readFileMetaData();
+    } catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException e) {
+      throw new IOException("can not read FileMetaData: " + e, e);
+    }
+  }
+
+  private FileMetaData readFileMetaData() throws IOException {
+    FileMetaData fileMetaData = new FileMetaData();
+    lastFieldId = 0;
+    int fieldType;
+    while ((fieldType = readFieldHeader()) != TYPE_STOP) {
+      int fieldId = lastFieldId;
+      if (fieldId == 2 && fieldType == TYPE_LIST) {
+        int size = readListHeader(TYPE_STRUCT);
+        List<SchemaElement> schema = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+          schema.add(readSchemaElement());
+        }
+        fileMetaData.setSchema(schema);
+      } else if (fieldId == 3 && fieldType == TYPE_I64) {
+        fileMetaData.setNum_rows(readI64());
+      } else if (fieldId == 4 && fieldType == TYPE_LIST) {
+        int size = readListHeader(TYPE_STRUCT);
+        List<RowGroup> rowGroups = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+          rowGroups.add(readRowGroup());
+        }
+        fileMetaData.setRow_groups(rowGroups);
+      } else if (fieldId == 5 && fieldType == TYPE_LIST) {
+        int size = readListHeader(TYPE_STRUCT);
+        List<KeyValue> keyValues = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+          keyValues.add(readKeyValue());
+        }
+        fileMetaData.setKey_value_metadata(keyValues);
+      } else if (fieldId == 6 && fieldType == TYPE_BINARY) {
+        fileMetaData.setCreated_by(readString());
+      } else {
+        skip(fieldType, false, 0);
+      }
+    }
+
+    if (!fileMetaData.isSetRow_groups()) {
+      throw new IOException("can not read FileMetaData: required field 'row_groups' is missing");
+    }
+    return fileMetaData;
+  }
+
+  private SchemaElement readSchemaElement() throws IOException {
+    SchemaElement schemaElement = new SchemaElement();
+    int parentFieldId = lastFieldId;
+    lastFieldId = 0;
+    int fieldType;
+    while ((fieldType = readFieldHeader()) != TYPE_STOP) {
+      int fieldId = lastFieldId;
+      if (fieldId == 1 && fieldType == TYPE_I32) {
+        Type type = Type.findByValue(readI32());
+        if (type != null) {
+          schemaElement.setType(type);
+        }
+      } else if (fieldId == 2 && fieldType == TYPE_I32) {
+        schemaElement.setType_length(readI32());
+      } else if (fieldId == 3 && fieldType == TYPE_I32) {
+        FieldRepetitionType repetitionType = FieldRepetitionType.findByValue(readI32());
+        if (repetitionType != null) {
+          schemaElement.setRepetition_type(repetitionType);
+        }
+      } else if (fieldId == 4 && fieldType == TYPE_BINARY) {
+        schemaElement.setName(readString());
+      } else if (fieldId == 5 && fieldType == TYPE_I32) {
+        schemaElement.setNum_children(readI32());
+      } else if (fieldId == 6 && fieldType == TYPE_I32) {
+        ConvertedType convertedType = ConvertedType.findByValue(readI32());
+        if (convertedType != null) {
+          schemaElement.setConverted_type(convertedType);
+        }
+      } else if (fieldId == 7 && fieldType == TYPE_I32) {
+        schemaElement.setScale(readI32());
+      } else if (fieldId == 8 && fieldType == TYPE_I32) {
+        schemaElement.setPrecision(readI32());
+      } else if (fieldId == 9 && fieldType == TYPE_I32) {
+        schemaElement.setField_id(readI32());
+      } else if (fieldId == 10 && fieldType == TYPE_STRUCT) {
+        LogicalType logicalType = readLogicalType();
+        if (logicalType != null) {
+          schemaElement.setLogicalType(logicalType);
+        }
+      } else {
+        skip(fieldType, false, 0);
+      }
+    }
+    lastFieldId = parentFieldId;
+    return schemaElement;
+  }
+
+  /**
+   * Reads a LogicalType union. Logical types added by later versions of the format are skipped.
+   *
+   * @return the logical type, or null if it is unknown
+   */
+  private LogicalType readLogicalType() throws IOException {
+    LogicalType logicalType = null;
+    int parentFieldId = lastFieldId;
+    lastFieldId = 0;
+    int fieldType;
+    while ((fieldType = readFieldHeader()) != TYPE_STOP) {
+      int fieldId = lastFieldId;
+      if (fieldType != TYPE_STRUCT) {
+        skip(fieldType, false, 0);
+      } else if (fieldId == 5) {
+        logicalType = readDecimalType();
+      } else if (fieldId == 7 || fieldId == 8) {
+        logicalType = readTimeType(fieldId == 8);
+      } else if (fieldId == 10) {
+        logicalType = readIntType();
+      } else {
+        skipStruct(0);
+        logicalType = toEmptyLogicalType(fieldId);
+      }
+    }
+    lastFieldId = parentFieldId;
+    return logicalType;
+  }
+
+  private static LogicalType toEmptyLogicalType(int fieldId) {
+    switch (fieldId) {
+      case 1:
+        return LogicalType.STRING(new StringType());
+      case 2:
+        return LogicalType.MAP(new MapType());
+      case 3:
+        return LogicalType.LIST(new ListType());
+      case 4:
+        return LogicalType.ENUM(new EnumType());
+      case 6:
+        return LogicalType.DATE(new DateType());
+      case 11:
+        return LogicalType.UNKNOWN(new NullType());
+      case 12:
+        return LogicalType.JSON(new JsonType());
+      case 13:
+        return LogicalType.BSON(new BsonType());
+      case 14:
+        return LogicalType.UUID(new UUIDType());
+      default:
+        return null;
+    }
+  }
+
+  private LogicalType readDecimalType() throws IOException {
+    DecimalType decimalType = new DecimalType();
+    int parentFieldId = lastFieldId;
+    lastFieldId = 0;
+    int fieldType;
+    while ((fieldType = readFieldHeader()) != TYPE_STOP) {
+      int fieldId = lastFieldId;
+      if (fieldId == 1 && fieldType == TYPE_I32) {
+        decimalType.setScale(readI32());
+      } else if (fieldId == 2 && fieldType == TYPE_I32) {
+        decimalType.setPrecision(readI32());
+      } else {
+        skip(fieldType, false, 0);
+      }
+    }
+    lastFieldId = parentFieldId;
+    return LogicalType.DECIMAL(decimalType);
+  }
+
+  private LogicalType readIntType() throws IOException {
+    IntType intType = new IntType();
+    int parentFieldId = lastFieldId;
+    lastFieldId = 0;
+    int fieldType;
+    while ((fieldType = readFieldHeader()) != TYPE_STOP) {
+      int fieldId = lastFieldId;
+      if (fieldId == 1 && fieldType == TYPE_BYTE) {
+        intType.setBitWidth(buffer.get());
+      } else if (fieldId == 2 && isBoolean(fieldType)) {
+        intType.setIsSigned(fieldType == TYPE_BOOLEAN_TRUE);
+      } else {
+        skip(fieldType, false, 0);
+      }
+    }
+    lastFieldId = parentFieldId;
+    return LogicalType.INTEGER(intType);
+  }
+
+  /**
+   * Reads a TimeType or a TimestampType, which share the same fields.
+   *
+   * @param timestamp whether to read a TimestampType rather than a TimeType
+   * @return the logical type, or null if its unit is unknown
+   */
+  private LogicalType readTimeType(boolean timestamp) throws IOException {
+    boolean isAdjustedToUTC = false;
+    TimeUnit unit = null;
+    int parentFieldId = lastFieldId;
+    lastFieldId = 0;
+    int fieldType;
+    while ((fieldType = readFieldHeader()) != TYPE_STOP) {
+      int fieldId = lastFieldId;
+      if (fieldId == 1 && isBoolean(fieldType)) {
+        isAdjustedToUTC = fieldType == TYPE_BOOLEAN_TRUE;
+      } else if (fieldId == 2 && fieldType == TYPE_STRUCT) {
+        unit = readTimeUnit();
+      } else {
+        skip(fieldType, false, 0);
+      }
+    }
+    lastFieldId = parentFieldId;
+
+    if (unit == null) {
+      return null;
+    }
+    return timestamp
+        ? LogicalType.TIMESTAMP(new TimestampType(isAdjustedToUTC, unit))
+        : LogicalType.TIME(new TimeType(isAdjustedToUTC, unit));
+  }
+
+  private TimeUnit readTimeUnit() throws IOException {
+    TimeUnit unit = null;
+    int parentFieldId = lastFieldId;
+    lastFieldId = 0;
+    int fieldType;
+    while ((fieldType = readFieldHeader()) != TYPE_STOP) {
+      int fieldId = lastFieldId;
+      if (fieldType == TYPE_STRUCT && fieldId == 1) {
+        skipStruct(0);
+        unit = TimeUnit.MILLIS(new MilliSeconds());
+      } else if (fieldType == TYPE_STRUCT && fieldId == 2) {
+        skipStruct(0);
+        unit = TimeUnit.MICROS(new MicroSeconds());
+      } else if (fieldType == TYPE_STRUCT && fieldId == 3) {
+        skipStruct(0);
+        unit = TimeUnit.NANOS(new NanoSeconds());
+      } else {
+        skip(fieldType, false, 0);
+      }
+    }
+    lastFieldId = parentFieldId;
+    return unit;
+  }
+
+  private RowGroup readRowGroup() throws IOException {
+    RowGroup rowGroup = new RowGroup();
+    int parentFieldId = lastFieldId;
+    lastFieldId = 0;
+    int fieldType;
+    while ((fieldType = readFieldHeader()) != TYPE_STOP) {
+      int fieldId = lastFieldId;
+      if (fieldId == 1 && fieldType == TYPE_LIST) {
+        int size = readListHeader(TYPE_STRUCT);
+        List<ColumnChunk> columns = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+          columns.add(readColumnChunk());
+        }
+        rowGroup.setColumns(columns);
+      } else if (fieldId == 2 && fieldType == TYPE_I64) {
+        rowGroup.setTotal_byte_size(readI64());
+      } else if (fieldId == 3 && fieldType == TYPE_I64) {
+        rowGroup.setNum_rows(readI64());
+      } else {
+        skip(fieldType, false, 0);
+      }
+    }
+    lastFieldId = parentFieldId;
+
+    if (!rowGroup.isSetColumns()) {
+      throw new IOException("can not read FileMetaData: required field 'columns' is missing");
+    }
+    return rowGroup;
+  }
+
+  private ColumnChunk readColumnChunk() throws IOException {
+    ColumnChunk columnChunk = new ColumnChunk();
+    int parentFieldId = lastFieldId;
+    lastFieldId = 0;
+    int fieldType;
+    while ((fieldType = readFieldHeader()) != TYPE_STOP) {
+      int fieldId = lastFieldId;
+      if (fieldId == 2 && fieldType == TYPE_I64) {
+        columnChunk.setFile_offset(readI64());
+      } else if (fieldId == 3 && fieldType == TYPE_STRUCT) {
+        columnChunk.setMeta_data(readColumnMetaData());
+      } else if (fieldId == 4 && fieldType == TYPE_I64) {
+        columnChunk.setOffset_index_offset(readI64());
+      } else if (fieldId == 5 && fieldType == TYPE_I32) {
+        columnChunk.setOffset_index_length(readI32());
+      } else if (fieldId == 6 && fieldType == TYPE_I64) {
+        columnChunk.setColumn_index_offset(readI64());
+      } else if (fieldId == 7 && fieldType == TYPE_I32) {
+        columnChunk.setColumn_index_length(readI32());
+      } else {
+        skip(fieldType, false, 0);
+      }
+    }
+    lastFieldId = parentFieldId;
+    return columnChunk;
+  }
+
+  private ColumnMetaData readColumnMetaData() throws IOException {
+    ColumnMetaData columnMetaData = new ColumnMetaData();
+    int parentFieldId = lastFieldId;
+    lastFieldId = 0;
+    int fieldType;
+    while ((fieldType = readFieldHeader()) != TYPE_STOP) {
+      int fieldId = lastFieldId;
+      if (fieldId == 1 && fieldType == TYPE_I32) {
+        Type type = Type.findByValue(readI32());
+        if (type != null) {
+          columnMetaData.setType(type);
+        }
+      } else if (fieldId == 3 && fieldType == TYPE_LIST) {
+        columnMetaData.setPath_in_schema(readPath());
+      } else if (fieldId == 5 && fieldType == TYPE_I64) {
+        columnMetaData.setNum_values(readI64());
+      } else if (fieldId == 7 && fieldType == TYPE_I64) {
+        columnMetaData.setTotal_compressed_size(readI64());
+      } else if (fieldId == 9 && fieldType == TYPE_I64) {
+        columnMetaData.setData_page_offset(readI64());
+      } else if (fieldId == 11 && fieldType == TYPE_I64) {
+        columnMetaData.setDictionary_page_offset(readI64());
+      } else if (fieldId == 12 && fieldType == TYPE_STRUCT) {
+        columnMetaData.setStatistics(readStatistics());
+      } else {
+        skip(fieldType, false, 0);
+      }
+    }
+    lastFieldId = parentFieldId;
+
+    if (!columnMetaData.isSetPath_in_schema()) {
+      throw new IOException(
+          "can not read FileMetaData: required field 'path_in_schema' is missing");
+    }
+    return columnMetaData;
+  }
+
+  private Statistics readStatistics() throws IOException {
+    Statistics statistics = new Statistics();
+    int parentFieldId = lastFieldId;
+    lastFieldId = 0;
+    int fieldType;
+    while ((fieldType = readFieldHeader()) != TYPE_STOP) {
+      int fieldId = lastFieldId;
+      if (fieldId == 1 && fieldType == TYPE_BINARY) {
+        statistics.setMax(readBinary());
+      } else if (fieldId == 2 && fieldType == TYPE_BINARY) {
+        statistics.setMin(readBinary());
+      } else if (fieldId == 3 && fieldType == TYPE_I64) {
+        statistics.setNull_count(readI64());
+      } else if (fieldId == 5 && fieldType == TYPE_BINARY) {
+        statistics.setMax_value(readBinary());
+      } else if (fieldId == 6 && fieldType == TYPE_BINARY) {
+        statistics.setMin_value(readBinary());
+      } else {
+        skip(fieldType, false, 0);
+      }
+    }
+    lastFieldId = parentFieldId;
+    return statistics;
+  }
+
+  private KeyValue readKeyValue() throws IOException {
+    KeyValue keyValue = new KeyValue();
+    int parentFieldId = lastFieldId;
+    lastFieldId = 0;
+    int fieldType;
+    while ((fieldType = readFieldHeader()) != TYPE_STOP) {
+      int fieldId = lastFieldId;
+      if (fieldId == 1 && fieldType == TYPE_BINARY) {
+        keyValue.setKey(readString());
+      } else if (fieldId == 2 && fieldType == TYPE_BINARY) {
+        keyValue.setValue(readString());
+      } else {
+        skip(fieldType, false, 0);
+      }
+    }
+    lastFieldId = parentFieldId;
+    return keyValue;
+  }
+
+  private List<String> readPath() throws IOException {
+    int size = readListHeader(TYPE_BINARY);
+    List<String> path = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      path.add(readString());
+    }
+
+    // Every row group lists the same columns, so the paths are shared rather than repeated
+    List<String> shared = paths.get(path);
+    if (shared == null) {
+      shared = Collections.unmodifiableList(path);
+      paths.put(shared, shared);
+    }
+    return shared;
+  }
+
+  /**
+   * Reads a field header and updates the id of the current field.
+   *
+   * @return the type of the field, or STOP at the end of the struct
+   */
+  private int readFieldHeader() {
+    int header = buffer.get() & 0xFF;
+    int fieldType = header & 0x0F;
+    if (fieldType == TYPE_STOP) {
+      return TYPE_STOP;
+    }
+
+    int delta = header >>> 4;
+    lastFieldId = delta == 0 ? (short) zigzagToInt(readVarint32()) : lastFieldId + delta;
+    return fieldType;
+  }
+
+  /**
+   * Reads a list (or set) header, checking the type of its elements.
+   *
+   * @param expectedElementType the compact protocol type the elements must have
+   * @return the number of elements
+   */
+  private int readListHeader(int expectedElementType) throws IOException {
+    int header = buffer.get() & 0xFF;
+    int size = header >>> 4;
+    if (size == 15) {
+      size = readVarint32();
+    }
+    int elementType = header & 0x0F;
+    if (size < 0 || size > buffer.remaining()) {
+      throw new IOException("can not read FileMetaData: invalid list size " + size);
+    }
+    if (size > 0 && elementType != expectedElementType) {
+      throw new IOException("can not read FileMetaData: unexpected list element type");
+    }
+    return size;
+  }
+
+  private static boolean isBoolean(int fieldType) {
+    return fieldType == TYPE_BOOLEAN_TRUE || fieldType == TYPE_BOOLEAN_FALSE;
+  }
+
+  private int readI32() {
+    return zigzagToInt(readVarint32());
+  }
+
+  private long readI64() {
+    long value = readVarint64();
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  private int readBinaryLength() throws IOException {
+    int length = readVarint32();
+    if (length < 0 || length > buffer.remaining()) {
+      throw new IOException("can not read FileMetaData: invalid binary length " + length);
+    }
+    return length;
+  }
+
+  private byte[] readBinary() throws IOException {
+    byte[] bytes = new byte[readBinaryLength()];
+    buffer.get(bytes);
+    return bytes;
+  }
+
+  private String readString() throws IOException {
+    int length = readBinaryLength();
+    ByteBuffer key = buffer.slice();
+    key.limit(length);
+    buffer.position(buffer.position() + length);
+
+    String string = strings.get(key);
+    if (string == null) {
+      byte[] bytes = new byte[length];
+      key.duplicate().get(bytes);
+      string = new String(bytes, StandardCharsets.UTF_8);
+      strings.put(key, string);
+    }
+    return string;
+  }
+
+  /**
+   * Skips a value of the given type.
+   *
+   * @param type the type of the value
+   * @param element whether the value is a list, set or map element rather than a struct field
+   * @param depth the nesting depth of the value
+   */
+  private void skip(int type, boolean element, int depth) throws IOException {
+    if (depth > MAX_NESTING_DEPTH) {
+      throw new IOException("can not read FileMetaData: maximum nesting depth exceeded");
+    }
+
+    switch (type) {
+      case TYPE_BOOLEAN_TRUE:
+      case TYPE_BOOLEAN_FALSE:
+        // A boolean field carries its value in its type, only container elements take a byte
+        if (element) {
+          buffer.get();
+        }
+        break;
+      case TYPE_BYTE:
+        buffer.get();
+        break;
+      case TYPE_I16:
+      case TYPE_I32:
+      case TYPE_I64:
+        readVarint64();
+        break;
+      case TYPE_DOUBLE:
+        skipBytes(Double.BYTES);
+        break;
+      case TYPE_BINARY:
+        skipBytes(readBinaryLength());
+        break;
+      case TYPE_LIST:
+      case TYPE_SET:
+        skipList(depth);
+        break;
+      case TYPE_MAP:
+        skipMap(depth);
+        break;
+      case TYPE_STRUCT:
+        skipStruct(depth);
+        break;
+      default:
+        throw new IOException("can not read FileMetaData: unknown field type " + type);
+    }
+  }
+
+  private void skipList(int depth) throws IOException {
+    int header = buffer.get() & 0xFF;
+    int size = header >>> 4;
+    if (size == 15) {
+      size = readVarint32();
+    }
+    if (size < 0) {
+      throw new IOException("can not read FileMetaData: invalid list size " + size);
+    }
+    int elementType = header & 0x0F;
+    for (int i = 0; i < size; i++) {
+      skip(elementType, true, depth + 1);
+    }
+  }
+
+  private void skipMap(int depth) throws IOException {
+    int size = readVarint32();
+    if (size < 0) {
+      throw new IOException("can not read FileMetaData: invalid map size " + size);
+    }
+    if (size == 0) {
+      return;
+    }
+    int types = buffer.get() & 0xFF;
+    for (int i = 0; i < size; i++) {
+      skip(types >>> 4, true, depth + 1);
+      skip(types & 0x0F, true, depth + 1);
+    }
+  }
+
+  private void skipStruct(int depth) throws IOException {
+    int parentFieldId = lastFieldId;
+    lastFieldId = 0;
+    int fieldType;
+    while ((fieldType = readFieldHeader()) != TYPE_STOP) {
+      skip(fieldType, false, depth + 1);
+    }
+    lastFieldId = parentFieldId;
+  }
+
+  private void skipBytes(int count) {
+    if (count > buffer.remaining()) {
+      throw new BufferUnderflowException();
+    }
+    buffer.position(buffer.position() + count);
+  }
+
+  private int readVarint32() {
+    int result = 0;
+    for (int shift = 0; shift < 35; shift += 7) {
+      byte b = buffer.get();
+      result |= (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return result;
+      }
+    }
+    throw new IllegalArgumentException("Variable length integer is too long");
+  }
+
+  private long readVarint64() {
+    long result = 0;
+    for (int shift = 0; shift < 70; shift += 7) {
+      byte b = buffer.get();
+      result |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return result;
+      }
+    }
+    throw new IllegalArgumentException("Variable length integer is too long");
+  }
+
+  private static int zigzagToInt(int n) {
+    return (n >>> 1) ^ -(n & 1);
+  }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.parquet;
+
+import lombok.NonNull;
+import lombok.Value;
+import org.apache.parquet.format.DecimalType;
+import org.apache.parquet.format.IntType;
+import org.apache.parquet.format.LogicalType;
+import org.apache.parquet.format.SchemaElement;
+
+/**
+ * Immutable view of the logical type of a field of a Parquet file, which tells how the values of
+ * its physical type are to be interpreted. Fields written with the older converted types are given
+ * the equivalent logical type.
+ */
+@Value
+public class ParquetLogicalType {
+  /** The kind of logical type. */
+  @NonNull Kind kind;
+  /** Number of bits of an INTEGER, 0 otherwise. */
+  int bitWidth;
+  /** Whether an INTEGER is signed. */
+  boolean signed;
+  /** Number of digits after the decimal point of a DECIMAL, 0 otherwise. */
+  int scale;
+  /** Number of digits of a DECIMAL, 0 otherwise. */
+  int precision;
+  /** Whether a TIME or TIMESTAMP is adjusted to UTC. */
+  boolean adjustedToUtc;
+  /** Unit of a TIME or TIMESTAMP, or null otherwise. */
+  TimeUnit timeUnit;
+
+  /**
+   * Gets the logical type of a schema element, from its logical type or else its converted type.
+   *
+   * @param schemaElement the schema element
+   * @return the logical type, or null if the element has none
+   */
+  static ParquetLogicalType fromSchemaElement(@NonNull SchemaElement schemaElement) {
+    if (schemaElement.isSetLogicalType()) {
+      return fromLogicalType(schemaElement.getLogicalType());
+    }
+    if (!schemaElement.isSetConverted_type()) {
+      return null;
+    }
+
+    switch (schemaElement.getConverted_type()) {
+      case UTF8:
+        return of(Kind.STRING);
+      case MAP:
+      case MAP_KEY_VALUE:
+        return of(Kind.MAP);
+      case LIST:
+        return of(Kind.LIST);
+      case ENUM:
+        return of(Kind.ENUM);
+      case DECIMAL:
+        return new ParquetLogicalType(
+            Kind.DECIMAL,
+            0,
+            false,
+            schemaElement.getScale(),
+            schemaElement.getPrecision(),
+            false,
+            null);
+      case DATE:
+        return of(Kind.DATE);
+      case TIME_MILLIS:
+        return new ParquetLogicalType(Kind.TIME, 0, false, 0, 0, true, TimeUnit.MILLIS);
+      case TIME_MICROS:
+        return new ParquetLogicalType(Kind.TIME, 0, false, 0, 0, true, TimeUnit.MICROS);
+      case TIMESTAMP_MILLIS:
+        return new ParquetLogicalType(Kind.TIMESTAMP, 0, false, 0, 0, true, TimeUnit.MILLIS);
+      case TIMESTAMP_MICROS:
+        return new ParquetLogicalType(Kind.TIMESTAMP, 0, false, 0, 0, true, TimeUnit.MICROS);
+      case UINT_8:
+        return integer(8, false);
+      case UINT_16:
+        return integer(16, false);
+      case UINT_32:
+        return integer(32, false);
+      case UINT_64:
+        return integer(64, false);
+      case INT_8:
+        return integer(8, true);
+      case INT_16:
+        return integer(16, true);
+      case INT_32:
+        return integer(32, true);
+      case INT_64:
+        return integer(64, true);
+      case JSON:
+        return of(Kind.JSON);
+      case BSON:
+        return of(Kind.BSON);
+      case INTERVAL:
+        return of(Kind.INTERVAL);
+      default:
+        return null;
+    }
+  }
+
+  private static ParquetLogicalType fromLogicalType(LogicalType logicalType) {
+    if (logicalType.isSetSTRING()) {
+      return of(Kind.STRING);
+    } else if (logicalType.isSetMAP()) {
+      return of(Kind.MAP);
+    } else if (logicalType.isSetLIST()) {
+      return of(Kind.LIST);
+    } else if (logicalType.isSetENUM()) {
+      return of(Kind.ENUM);
+    } else if (logicalType.isSetDECIMAL()) {
+      DecimalType decimalType = logicalType.getDECIMAL();
+      return new ParquetLogicalType(
+          Kind.DECIMAL, 0, false, decimalType.getScale(), decimalType.getPrecision(), false, null);
+    } else if (logicalType.isSetDATE()) {
+      return of(Kind.DATE);
+    } else if (logicalType.isSetTIME()) {
+      return new ParquetLogicalType(
+          Kind.TIME,
+          0,
+          false,
+          0,
+          0,
+          logicalType.getTIME().isIsAdjustedToUTC(),
+          toTimeUnit(logicalType.getTIME().getUnit()));
+    } else if (logicalType.isSetTIMESTAMP()) {
+      return new ParquetLogicalType(
+          Kind.TIMESTAMP,
+          0,
+          false,
+          0,
+          0,
+          logicalType.getTIMESTAMP().isIsAdjustedToUTC(),
+          toTimeUnit(logicalType.getTIMESTAMP().getUnit()));
+    } else if (logicalType.isSetINTEGER()) {
+      IntType intType = logicalType.getINTEGER();
+      return integer(intType.getBitWidth(), intType.isIsSigned());
+    } else if (logicalType.isSetUNKNOWN()) {
+      return of(Kind.UNKNOWN);
+    } else if (logicalType.isSetJSON()) {
+      return of(Kind.JSON);
+    } else if (logicalType.isSetBSON()) {
+      return of(Kind.BSON);
+    } else if (logicalType.isSetUUID()) {
+      return of(Kind.UUID);
+    }
+    return null;
+  }
+
+  private static TimeUnit toTimeUnit(org.apache.parquet.format.TimeUnit timeUnit) {
+    if (timeUnit.isSetMILLIS()) {
+      return TimeUnit.MILLIS;
+    }
+    return timeUnit.isSetMICROS() ? TimeUnit.MICROS : TimeUnit.NANOS;
+  }
+
+  private static ParquetLogicalType of(Kind kind) {
+    return new ParquetLogicalType(kind, 0, false, 0, 0, false, null);
+  }
+
+  private static ParquetLogicalType integer(int bitWidth, boolean signed) {
+    return new ParquetLogicalType(Kind.INTEGER, bitWidth, signed, 0, 0, false, null);
+  }
+
+  /** Kinds of logical types. */
+  public enum Kind {
+    STRING,
+    MAP,
+    LIST,
+    ENUM,
+    DECIMAL,
+    DATE,
+    TIME,
+    TIMESTAMP,
+    INTEGER,
+    UNKNOWN,
+    JSON,
+    BSON,
+    UUID,
+    INTERVAL
+  }
+
+  /** Units of TIME and TIMESTAMP values. */
+  public enum TimeUnit {
+    MILLIS,
+    MICROS,
+    NANOS
+  }
+}
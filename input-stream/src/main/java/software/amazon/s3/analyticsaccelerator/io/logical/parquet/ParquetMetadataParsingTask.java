@@ -16,16 +16,28 @@
 package software.amazon.s3.analyticsaccelerator.io.logical.parquet;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletionException;
 import lombok.NonNull;
 import org.apache.parquet.format.ColumnChunk;
+import org.apache.parquet.format.ColumnIndex;
+import org.apache.parquet.format.ColumnMetaData;
 import org.apache.parquet.format.FileMetaData;
+import org.apache.parquet.format.KeyValue;
+import org.apache.parquet.format.OffsetIndex;
 import org.apache.parquet.format.RowGroup;
+import org.apache.parquet.format.SchemaElement;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
 import software.amazon.s3.analyticsaccelerator.io.logical.impl.ParquetColumnPrefetchStore;
+import software.amazon.s3.analyticsaccelerator.io.logical.parquet.ParquetSchemaElement.PhysicalType;
+import software.amazon.s3.analyticsaccelerator.io.logical.parquet.ParquetSchemaElement.Repetition;
 import software.amazon.s3.analyticsaccelerator.util.S3URI;
 
 /**
@@ -37,6 +49,7 @@ public class ParquetMetadataParsingTask {
   private final S3URI s3URI;
   private final ParquetParser parquetParser;
   private final ParquetColumnPrefetchStore parquetColumnPrefetchStore;
+  private final LogicalIOConfiguration logicalIOConfiguration;
 
   private static final Logger LOG = LoggerFactory.getLogger(ParquetMetadataParsingTask.class);
 
@@ -48,7 +61,36 @@ public class ParquetMetadataParsingTask {
    */
   public ParquetMetadataParsingTask(
       S3URI s3URI, ParquetColumnPrefetchStore parquetColumnPrefetchStore) {
-    this(s3URI, parquetColumnPrefetchStore, new ParquetParser());
+    this(s3URI, parquetColumnPrefetchStore, LogicalIOConfiguration.DEFAULT);
+  }
+
+  /**
+   * Creates a new instance of {@link ParquetMetadataParsingTask}.
+   *
+   * @param s3URI the S3Uri of the object
+   * @param parquetColumnPrefetchStore object containing Parquet usage information
+   * @param logicalIOConfiguration logical io configuration
+   */
+  public ParquetMetadataParsingTask(
+      S3URI s3URI,
+      ParquetColumnPrefetchStore parquetColumnPrefetchStore,
+      LogicalIOConfiguration logicalIOConfiguration) {
+    this(s3URI, parquetColumnPrefetchStore, logicalIOConfiguration, new ParquetParser());
+  }
+
+  /**
+   * Creates a new instance of {@link ParquetMetadataParsingTask}. This version of the constructor
+   * is useful for testing as it allows dependency injection.
+   *
+   * @param s3URI the S3Uri of the object
+   * @param parquetColumnPrefetchStore object containing Parquet usage information
+   * @param parquetParser parser for getting the file metadata
+   */
+  ParquetMetadataParsingTask(
+      @NonNull S3URI s3URI,
+      @NonNull ParquetColumnPrefetchStore parquetColumnPrefetchStore,
+      @NonNull ParquetParser parquetParser) {
+    this(s3URI, parquetColumnPrefetchStore, LogicalIOConfiguration.DEFAULT, parquetParser);
   }
 
   /**
@@ -57,19 +99,22 @@ public class ParquetMetadataParsingTask {
    *
    * @param s3URI the S3Uri of the object
    * @param parquetColumnPrefetchStore object containing Parquet usage information
+   * @param logicalIOConfiguration logical io configuration
    * @param parquetParser parser for getting the file metadata
    */
   ParquetMetadataParsingTask(
       @NonNull S3URI s3URI,
       @NonNull ParquetColumnPrefetchStore parquetColumnPrefetchStore,
+      @NonNull LogicalIOConfiguration logicalIOConfiguration,
       @NonNull ParquetParser parquetParser) {
     this.s3URI = s3URI;
     this.parquetParser = parquetParser;
     this.parquetColumnPrefetchStore = parquetColumnPrefetchStore;
+    this.logicalIOConfiguration = logicalIOConfiguration;
   }
 
   /**
-   * Stores parquet metadata column mappings for future use
+   * Stores parquet metadata column mappings, along with the parsed footer, for future use
    *
    * @param fileTail tail of parquet file to be parsed
    * @return Column mappings
@@ -79,8 +124,11 @@ public class ParquetMetadataParsingTask {
       FileMetaData fileMetaData =
           parquetParser.parseParquetFooter(
               fileTail.getFileTail(), fileTail.getFileTailLength(), this.s3URI);
-      ColumnMappers columnMappers = buildColumnMaps(fileMetaData);
+      List<ParquetRowGroup> rowGroups = new ArrayList<>();
+      ColumnMappers columnMappers = buildColumnMaps(fileMetaData, fileTail, rowGroups);
       parquetColumnPrefetchStore.putColumnMappers(this.s3URI, columnMappers);
+      parquetColumnPrefetchStore.putParquetFooter(
+          this.s3URI, buildParquetFooter(fileMetaData, rowGroups));
       return columnMappers;
     } catch (Exception e) {
       LOG.warn(
@@ -91,18 +139,32 @@ public class ParquetMetadataParsingTask {
     }
   }
 
-  private ColumnMappers buildColumnMaps(FileMetaData fileMetaData) {
+  private ColumnMappers buildColumnMaps(
+      FileMetaData fileMetaData, FileTail fileTail, List<ParquetRowGroup> rowGroups) {
     HashMap<Long, ColumnMetadata> offsetIndexToColumnMap = new HashMap<>();
     HashMap<String, List<ColumnMetadata>> columnNameToColumnMap = new HashMap<>();
-    String concatenatedColumnNames = concatColumnNames(fileMetaData);
+    int predictionKey = getPredictionKey(fileMetaData);
+    Map<String, SchemaElement> leafSchemaElements = getLeafSchemaElements(fileMetaData);
 
     int rowGroupIndex = 0;
+    long rowGroupFirstRow = 0;
     for (RowGroup rowGroup : fileMetaData.getRow_groups()) {
+      List<ParquetColumnChunk> rowGroupColumns = new ArrayList<>();
 
       for (ColumnChunk columnChunk : rowGroup.getColumns()) {
 
         // Get the full path to support nested schema
         String columnName = String.join(".", columnChunk.getMeta_data().getPath_in_schema());
+        SchemaElement schemaElement = leafSchemaElements.get(columnName);
+        String columnId =
+            schemaElement == null || !schemaElement.isSetField_id()
+                ? columnName
+                : "#" + schemaElement.getField_id();
+        ColumnStatistics columnStatistics =
+            ColumnStatistics.fromColumnMetaData(columnChunk.getMeta_data(), schemaElement);
+        ColumnPageIndex columnPageIndex =
+            readPageIndex(
+                fileTail, columnChunk, schemaElement, rowGroupFirstRow, rowGroup.getNum_rows());
 
         if (columnChunk.getMeta_data().getDictionary_page_offset() != 0) {
           ColumnMetadata columnMetadata =
@@ -111,12 +173,17 @@ public class ParquetMetadataParsingTask {
                   columnName,
                   columnChunk.getMeta_data().getDictionary_page_offset(),
                   columnChunk.getMeta_data().getTotal_compressed_size(),
-                  concatenatedColumnNames.hashCode());
+                  predictionKey,
+                  columnStatistics,
+                  columnPageIndex,
+                  columnChunk.getMeta_data().getData_page_offset(),
+                  columnId);
           offsetIndexToColumnMap.put(
               columnChunk.getMeta_data().getDictionary_page_offset(), columnMetadata);
           List<ColumnMetadata> columnMetadataList =
               columnNameToColumnMap.computeIfAbsent(columnName, metadataList -> new ArrayList<>());
           columnMetadataList.add(columnMetadata);
+          rowGroupColumns.add(toColumnChunk(columnMetadata, columnChunk.getMeta_data()));
         } else {
           ColumnMetadata columnMetadata =
               new ColumnMetadata(
@@ -124,20 +191,229 @@ public class ParquetMetadataParsingTask {
                   columnName,
                   columnChunk.getFile_offset(),
                   columnChunk.getMeta_data().getTotal_compressed_size(),
-                  concatenatedColumnNames.hashCode());
+                  predictionKey,
+                  columnStatistics,
+                  columnPageIndex,
+                  columnChunk.getFile_offset(),
+                  columnId);
           offsetIndexToColumnMap.put(columnChunk.getFile_offset(), columnMetadata);
           List<ColumnMetadata> columnMetadataList =
               columnNameToColumnMap.computeIfAbsent(columnName, metadataList -> new ArrayList<>());
           columnMetadataList.add(columnMetadata);
+          rowGroupColumns.add(toColumnChunk(columnMetadata, columnChunk.getMeta_data()));
         }
       }
 
+      rowGroups.add(
+          new ParquetRowGroup(
+              rowGroupIndex,
+              rowGroupFirstRow,
+              rowGroup.getNum_rows(),
+              rowGroup.getTotal_byte_size(),
+              Collections.unmodifiableList(rowGroupColumns)));
       rowGroupIndex++;
+      rowGroupFirstRow += rowGroup.getNum_rows();
     }
 
     return new ColumnMappers(offsetIndexToColumnMap, columnNameToColumnMap);
   }
 
+  private ParquetFooter buildParquetFooter(
+      FileMetaData fileMetaData, List<ParquetRowGroup> rowGroups) {
+    Map<String, String> keyValueMetadata = new LinkedHashMap<>();
+    if (fileMetaData.isSetKey_value_metadata()) {
+      for (KeyValue keyValue : fileMetaData.getKey_value_metadata()) {
+        keyValueMetadata.put(keyValue.getKey(), keyValue.getValue());
+      }
+    }
+
+    List<String> columnNames = new ArrayList<>();
+    if (!rowGroups.isEmpty()) {
+      for (ParquetColumnChunk columnChunk : rowGroups.get(0).getColumns()) {
+        columnNames.add(columnChunk.getColumnName());
+      }
+    }
+
+    ParquetSchemaElement schema = null;
+    if (fileMetaData.isSetSchema() && !fileMetaData.getSchema().isEmpty()) {
+      schema = toSchemaElement(fileMetaData.getSchema().iterator());
+    }
+
+    return new ParquetFooter(
+        fileMetaData.getNum_rows(),
+        fileMetaData.getCreated_by(),
+        Collections.unmodifiableMap(keyValueMetadata),
+        schema,
+        Collections.unmodifiableList(columnNames),
+        Collections.unmodifiableList(rowGroups));
+  }
+
+  /**
+   * Builds the view of the schema element at the current position of the flattened schema, in
+   * which each group is followed by its children, depth first.
+   *
+   * @param schema iterator over the flattened schema, positioned on the element
+   * @return the view of the element and of its descendants
+   */
+  private static ParquetSchemaElement toSchemaElement(Iterator<SchemaElement> schema) {
+    SchemaElement element = schema.next();
+    List<ParquetSchemaElement> children = new ArrayList<>();
+    for (int i = 0; i < element.getNum_children() && schema.hasNext(); i++) {
+      children.add(toSchemaElement(schema));
+    }
+
+    return new ParquetSchemaElement(
+        element.getName(),
+        element.isSetType() ? PhysicalType.valueOf(element.getType().name()) : null,
+        element.getType_length(),
+        element.isSetRepetition_type()
+            ? Repetition.valueOf(element.getRepetition_type().name())
+            : null,
+        ParquetLogicalType.fromSchemaElement(element),
+        element.isSetField_id() ? Integer.valueOf(element.getField_id()) : null,
+        Collections.unmodifiableList(children));
+  }
+
+  private static ParquetColumnChunk toColumnChunk(
+      ColumnMetadata columnMetadata, ColumnMetaData columnMetaData) {
+    return new ParquetColumnChunk(
+        columnMetadata.getColumnName(),
+        Collections.unmodifiableList(columnMetaData.getPath_in_schema()),
+        columnMetaData.isSetType() ? PhysicalType.valueOf(columnMetaData.getType().name()) : null,
+        columnMetadata.getStartPos(),
+        columnMetadata.getDataPageOffset(),
+        columnMetadata.getCompressedSize(),
+        columnMetaData.getNum_values(),
+        columnMetadata.getStatistics());
+  }
+
+  /**
+   * Reads the page index of a column chunk when page index prefetching is enabled and the page
+   * index lies within the file tail, which is where Parquet writers put it. Best effort only, a
+   * column chunk whose page index cannot be read is prefetched as a whole.
+   *
+   * @param fileTail the tail of the file
+   * @param columnChunk the column chunk whose page index is read
+   * @param schemaElement the schema element of the column, or null if it is not known
+   * @param rowGroupFirstRow index of the first row of the row group in the file
+   * @param rowGroupRowCount number of rows of the row group
+   * @return the page index of the column chunk, or NONE if it is not read
+   */
+  private ColumnPageIndex readPageIndex(
+      FileTail fileTail,
+      ColumnChunk columnChunk,
+      SchemaElement schemaElement,
+      long rowGroupFirstRow,
+      long rowGroupRowCount) {
+    if (!logicalIOConfiguration.isPageIndexPrefetchingEnabled()
+        || !isInFileTail(
+            fileTail, columnChunk.getOffset_index_offset(), columnChunk.getOffset_index_length())) {
+      return ColumnPageIndex.NONE;
+    }
+
+    try {
+      OffsetIndex offsetIndex =
+          parquetParser.parseOffsetIndex(
+              fileTail.getFileTail(),
+              (int) (columnChunk.getOffset_index_offset() - fileTail.getFileTailStartPos()),
+              columnChunk.getOffset_index_length());
+      ColumnIndex columnIndex = null;
+      if (isInFileTail(
+          fileTail, columnChunk.getColumn_index_offset(), columnChunk.getColumn_index_length())) {
+        columnIndex =
+            parquetParser.parseColumnIndex(
+                fileTail.getFileTail(),
+                (int) (columnChunk.getColumn_index_offset() - fileTail.getFileTailStartPos()),
+                columnChunk.getColumn_index_length());
+      }
+
+      return ColumnPageIndex.of(
+          rowGroupFirstRow,
+          rowGroupRowCount,
+          columnChunk.getMeta_data().getType(),
+          schemaElement,
+          offsetIndex,
+          columnIndex);
+    } catch (Exception e) {
+      LOG.debug("Unable to read page index of a column chunk for {}.", this.s3URI.getKey(), e);
+      return ColumnPageIndex.NONE;
+    }
+  }
+
+  private static boolean isInFileTail(FileTail fileTail, long offset, int length) {
+    return fileTail.getFileTailStartPos() >= 0
+        && length > 0
+        && offset >= fileTail.getFileTailStartPos()
+        && offset + length <= fileTail.getFileTailStartPos() + fileTail.getFileTailLength();
+  }
+
+  /**
+   * Gets the key under which the columns read are tracked for prediction. By default this is the
+   * schema, so that files sharing the exact same columns share predictions. With table scoped
+   * prediction, it is the location of the table instead, so that predictions carry over the files
+   * written before and after a change to the schema of the table.
+   *
+   * @param fileMetaData the footer of the file
+   * @return the key of the predictions for the file
+   */
+  private int getPredictionKey(FileMetaData fileMetaData) {
+    if (logicalIOConfiguration.isTableScopedColumnPredictionEnabled()) {
+      return ParquetUtils.getTableLocation(this.s3URI).hashCode();
+    }
+
+    return concatColumnNames(fileMetaData).hashCode();
+  }
+
+  /**
+   * Gets the schema elements of the leaf columns, which carry the field ids assigned by the writer
+   * (which stay the same when columns are added, dropped or renamed) and the logical types of the
+   * columns.
+   *
+   * @param fileMetaData the footer of the file
+   * @return the schema elements by full column path
+   */
+  private static Map<String, SchemaElement> getLeafSchemaElements(FileMetaData fileMetaData) {
+    Map<String, SchemaElement> leafSchemaElements = new HashMap<>();
+    if (fileMetaData.isSetSchema() && !fileMetaData.getSchema().isEmpty()) {
+      List<SchemaElement> schema = fileMetaData.getSchema();
+      collectLeafSchemaElements(schema, 1, schema.get(0).getNum_children(), "", leafSchemaElements);
+    }
+
+    return leafSchemaElements;
+  }
+
+  /**
+   * Walks the children of a group of the flattened schema, in which each group is followed by its
+   * children, depth first.
+   *
+   * @param schema the flattened schema
+   * @param index the index of the first child of the group
+   * @param numChildren the number of children of the group
+   * @param parentPath the full path of the group, empty for the root
+   * @param leafSchemaElements the leaf schema elements found so far, by full column path
+   * @return the index of the element following the last descendant of the group
+   */
+  private static int collectLeafSchemaElements(
+      List<SchemaElement> schema,
+      int index,
+      int numChildren,
+      String parentPath,
+      Map<String, SchemaElement> leafSchemaElements) {
+    for (int i = 0; i < numChildren && index < schema.size(); i++) {
+      SchemaElement element = schema.get(index++);
+      String path = parentPath.isEmpty() ? element.getName() : parentPath + "." + element.getName();
+      if (element.getNum_children() > 0) {
+        index =
+            collectLeafSchemaElements(
+                schema, index, element.getNum_children(), path, leafSchemaElements);
+      } else {
+        leafSchemaElements.put(path, element);
+      }
+    }
+
+    return index;
+  }
+
   private String concatColumnNames(FileMetaData fileMetaData) {
     StringBuilder concatenatedColumnNames = new StringBuilder();
     RowGroup rowGroup = fileMetaData.getRow_groups().get(0);
@@ -22,7 +22,10 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import org.apache.parquet.format.ColumnIndex;
 import org.apache.parquet.format.FileMetaData;
+import org.apache.parquet.format.OffsetIndex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import shaded.parquet.org.apache.thrift.TException;
@@ -39,7 +42,8 @@ class ParquetParser {
   private static final Logger LOG = LoggerFactory.getLogger(ParquetParser.class);
 
   /**
-   * Parses the tail of a parquet file to obtain its FileMetaData.
+   * Parses the tail of a parquet file to obtain its FileMetaData. The footer is decoded in place,
+   * without copying it out of the tail, and only the fields used for prefetching are set.
    *
    * @param fileTail tail bytes of parquet file to be parsed
    * @param contentLen The length of the parquet file tail to be parsed
@@ -57,14 +61,16 @@ class ParquetParser {
     int fileMetadataLengthIndex =
         contentLen - PARQUET_MAGIC_STR_LENGTH - PARQUET_FOOTER_LENGTH_SIZE;
 
-    fileTail.position(fileMetadataLengthIndex);
-
-    byte[] buff = new byte[PARQUET_FOOTER_LENGTH_SIZE];
-    fileTail.get(buff, 0, PARQUET_FOOTER_LENGTH_SIZE);
-
-    int fileMetadataLength = readIntLittleEndian(new ByteArrayInputStream(buff));
+    // Read through a duplicate, so that the tail can be shared by concurrent parsers
+    ByteBuffer footer = fileTail.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+    int fileMetadataLength = footer.getInt(fileMetadataLengthIndex);
     int fileMetadataIndex = fileMetadataLengthIndex - fileMetadataLength;
 
+    if (fileMetadataLength < 0) {
+      throw new IOException(
+          "Invalid footer length for " + s3URI.getKey() + ": " + fileMetadataLength);
+    }
+
     if (fileMetadataIndex < 0) {
       LOG.warn(
           "Insufficient data in cached footer for {}. Required length  is {}, provided length of data is {}. Parquet optimisations will be turned off for this file. To prevent this, increase cached length using footer.caching.size",
@@ -80,19 +86,65 @@ class ParquetParser {
               + contentLen);
     }
 
-    fileTail.position(fileMetadataIndex);
-    byte[] footer = new byte[fileMetadataLength];
-    fileTail.get(footer, 0, fileMetadataLength);
+    footer.limit(fileMetadataLengthIndex);
+    footer.position(fileMetadataIndex);
+    return ParquetFooterDecoder.decode(footer);
+  }
+
+  /**
+   * Parses the offset index of a column chunk, which lists the location of each of its data pages.
+   *
+   * @param fileTail tail bytes of the parquet file
+   * @param position position of the offset index in the tail
+   * @param length length of the offset index
+   * @return OffsetIndex
+   * @throws IOException if the offset index cannot be parsed
+   */
+  public OffsetIndex parseOffsetIndex(ByteBuffer fileTail, int position, int length)
+      throws IOException {
+    try {
+      OffsetIndex offsetIndex = new OffsetIndex();
+      offsetIndex.read(protocol(slice(fileTail, position, length)));
+      return offsetIndex;
+    } catch (TException e) {
+      throw new IOException("can not read OffsetIndex: " + e.getMessage(), e);
+    }
+  }
 
+  /**
+   * Parses the column index of a column chunk, which holds the statistics of each of its data
+   * pages.
+   *
+   * @param fileTail tail bytes of the parquet file
+   * @param position position of the column index in the tail
+   * @param length length of the column index
+   * @return ColumnIndex
+   * @throws IOException if the column index cannot be parsed
+   */
+  public ColumnIndex parseColumnIndex(ByteBuffer fileTail, int position, int length)
+      throws IOException {
     try {
-      FileMetaData fmd = new FileMetaData();
-      fmd.read(protocol(new ByteArrayInputStream(footer)));
-      return fmd;
+      ColumnIndex columnIndex = new ColumnIndex();
+      columnIndex.read(protocol(slice(fileTail, position, length)));
+      return columnIndex;
     } catch (TException e) {
-      throw new IOException("can not read FileMetaData: " + e.getMessage(), e);
+      throw new IOException("can not read ColumnIndex: " + e.getMessage(), e);
     }
   }
 
+  private static InputStream slice(ByteBuffer fileTail, int position, int length) {
+    Preconditions.checkArgument(position >= 0, "`position` must not be negative");
+    Preconditions.checkArgument(length >= 0, "`length` must not be negative");
+    Preconditions.checkArgument(
+        (long) position + length <= fileTail.limit(), "Specified range is outside of the tail");
+
+    byte[] buff = new byte[length];
+    ByteBuffer duplicate = fileTail.duplicate();
+    duplicate.position(position);
+    duplicate.get(buff, 0, length);
+    return new ByteArrayInputStream(buff);
+  }
+
   private static TProtocol protocol(InputStream from) throws TTransportException {
     return protocol(new TIOStreamTransport(from));
   }
@@ -101,13 +153,4 @@ class ParquetParser {
   private static org.apache.parquet.format.InterningProtocol protocol(TIOStreamTransport t) {
     return new org.apache.parquet.format.InterningProtocol(new TCompactProtocol(t));
   }
-
-  private static int readIntLittleEndian(InputStream in) throws IOException {
-    int ch1 = in.read();
-    int ch2 = in.read();
-    int ch3 = in.read();
-    int ch4 = in.read();
-
-    return ((ch4 << 24) + (ch3 << 16) + (ch2 << 8) + (ch1 << 0));
-  }
 }
@@ -0,0 +1,87 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.parquet;
+
+import lombok.NonNull;
+import lombok.Value;
+
+/**
+ * A simple filter of the form (column, comparison, literal), for example {@code ss_sold_date_sk >=
+ * 2451545}. Predicates are evaluated against the column statistics of each row group, so that row
+ * groups that cannot contain matching rows are not prefetched. They only steer prefetching and
+ * never change what is returned by the stream.
+ */
+@Value
+public class ParquetPredicate {
+  /** Full path of the leaf column, with nested fields joined by ".". */
+  @NonNull String columnName;
+  /** How the column values are compared to the literal. */
+  @NonNull Comparison comparison;
+  /** The literal, either a {@link Long}, a {@link Double} or a {@link String}. */
+  @NonNull Object literal;
+
+  private ParquetPredicate(
+      @NonNull String columnName, @NonNull Comparison comparison, @NonNull Object literal) {
+    this.columnName = columnName;
+    this.comparison = comparison;
+    this.literal = literal;
+  }
+
+  /**
+   * Creates a predicate on an integral column.
+   *
+   * @param columnName full path of the column
+   * @param comparison the comparison to apply
+   * @param literal the value to compare against
+   * @return a new predicate
+   */
+  public static ParquetPredicate of(String columnName, Comparison comparison, long literal) {
+    return new ParquetPredicate(columnName, comparison, literal);
+  }
+
+  /**
+   * Creates a predicate on a floating point column.
+   *
+   * @param columnName full path of the column
+   * @param comparison the comparison to apply
+   * @param literal the value to compare against
+   * @return a new predicate
+   */
+  public static ParquetPredicate of(String columnName, Comparison comparison, double literal) {
+    return new ParquetPredicate(columnName, comparison, literal);
+  }
+
+  /**
+   * Creates a predicate on a string column.
+   *
+   * @param columnName full path of the column
+   * @param comparison the comparison to apply
+   * @param literal the value to compare against
+   * @return a new predicate
+   */
+  public static ParquetPredicate of(String columnName, Comparison comparison, String literal) {
+    return new ParquetPredicate(columnName, comparison, literal);
+  }
+
+  /** Comparisons supported by {@link ParquetPredicate}. */
+  public enum Comparison {
+    EQ,
+    LT,
+    LT_EQ,
+    GT,
+    GT_EQ
+  }
+}
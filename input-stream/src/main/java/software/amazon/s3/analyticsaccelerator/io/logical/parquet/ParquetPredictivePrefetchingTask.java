@@ -19,6 +19,8 @@ import static software.amazon.s3.analyticsaccelerator.util.Constants.DEFAULT_MIN
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -68,11 +70,32 @@ import software.amazon.s3.analyticsaccelerator.util.StreamAttributes;
  * Then for read(1000), position 1000 corresponds to column ss_b, so ss_b is added to the recently
  * read list, <store_sales, List<ss_a, ss_b>>.
  *
- * <p>When B.parquet is opened, {@code prefetchRecentColumns()} will check this recently read list,
- * which will return <ss_a, ss_b>. We then prefetch ss_a and ss_b for B.parquet, using the file
- * offsets and total_uncompressed_size fields in the metadata to get the correct bytes. In this
- * example, for B.parquet two GET requests will be made with ranges [600-899, 900-1199] which
- * correspond to the ranges of ss_a and ss_b in B.parquet.
+ * <p>When B.parquet is opened, {@code prefetchRecentColumns()} will ask the store for the columns
+ * predicted from these reads, which will return <ss_a, ss_b>. Reads are weighted by recency in
+ * {@link ParquetColumnPrefetchStore}, and columns predicted with a low confidence, such as a
+ * column read once by an earlier query, are left out. We then prefetch ss_a and ss_b for
+ * B.parquet, using the file offsets and total_uncompressed_size fields in the metadata to get the
+ * correct bytes. In this example, for B.parquet two GET requests will be made with ranges
+ * [600-899, 900-1199] which correspond to the ranges of ss_a and ss_b in B.parquet.
+ *
+ * <p>If the caller opened the stream with a column projection in {@link ParquetReadHints}, the
+ * recently read list is not consulted and exactly the projected columns are prefetched instead. If
+ * the caller also provided predicates, no column is prefetched for row groups whose statistics show
+ * that none of their rows can match.
+ *
+ * <p>When page index prefetching is enabled, only the pages of each column chunk that hold rows to
+ * be read are prefetched, using the OffsetIndex and ColumnIndex of the file. The rows to be read
+ * are narrowed down by the row range and the predicates in {@link ParquetReadHints}, and the pages
+ * are coalesced into as few requests as possible.
+ *
+ * <p>When dictionary first prefetching is enabled, only the dictionary pages of the predicted
+ * column chunks are prefetched at first. Query engines can skip a whole row group based on the
+ * contents of its dictionaries, in which case prefetching its data pages would be wasted. The data
+ * pages of the row group are prefetched once a read reaches the data pages of one of its column
+ * chunks, which shows that the row group is actually being read.
+ *
+ * <p>When PrefetchMode is ROW_GROUP and a row group look-ahead is configured, reading a row group
+ * also prefetches the predicted columns of the following row groups, within a byte budget.
  */
 public class ParquetPredictivePrefetchingTask {
   private final S3URI s3Uri;
@@ -80,6 +103,7 @@ public class ParquetPredictivePrefetchingTask {
   private final PhysicalIO physicalIO;
   private final ParquetColumnPrefetchStore parquetColumnPrefetchStore;
   private final LogicalIOConfiguration logicalIOConfiguration;
+  private final ParquetReadHints parquetReadHints;
   private static final String OPERATION_PARQUET_PREFETCH_COLUMNS = "parquet.task.prefetch.columns";
   private static final Logger LOG = LoggerFactory.getLogger(ParquetPredictivePrefetchingTask.class);
 
@@ -98,11 +122,38 @@ public class ParquetPredictivePrefetchingTask {
       @NonNull LogicalIOConfiguration logicalIOConfiguration,
       @NonNull PhysicalIO physicalIO,
       @NonNull ParquetColumnPrefetchStore parquetColumnPrefetchStore) {
+    this(
+        s3Uri,
+        telemetry,
+        logicalIOConfiguration,
+        physicalIO,
+        parquetColumnPrefetchStore,
+        ParquetReadHints.NONE);
+  }
+
+  /**
+   * Creates a new instance of {@link ParquetPredictivePrefetchingTask}
+   *
+   * @param s3Uri the object's S3URI
+   * @param telemetry an instance of {@link Telemetry} to use
+   * @param logicalIOConfiguration logical io configuration
+   * @param physicalIO PhysicalIO instance
+   * @param parquetColumnPrefetchStore object containing Parquet usage information
+   * @param parquetReadHints hints supplied by the caller when opening the stream
+   */
+  public ParquetPredictivePrefetchingTask(
+      @NonNull S3URI s3Uri,
+      @NonNull Telemetry telemetry,
+      @NonNull LogicalIOConfiguration logicalIOConfiguration,
+      @NonNull PhysicalIO physicalIO,
+      @NonNull ParquetColumnPrefetchStore parquetColumnPrefetchStore,
+      @NonNull ParquetReadHints parquetReadHints) {
     this.s3Uri = s3Uri;
     this.telemetry = telemetry;
     this.physicalIO = physicalIO;
     this.logicalIOConfiguration = logicalIOConfiguration;
     this.parquetColumnPrefetchStore = parquetColumnPrefetchStore;
+    this.parquetReadHints = parquetReadHints;
   }
 
   /**
@@ -122,6 +173,7 @@ public class ParquetPredictivePrefetchingTask {
         // Maybe prefetch all recent columns for the current row group, if they have not been
         // prefetched already.
         prefetchCurrentRowGroup(columnMappers, columnMetadata);
+        prefetchDataPagesIfReadPastDictionary(columnMappers, columnMetadata, position, len);
 
         List<ColumnMetadata> addedColumns =
             addAdjacentColumnsInLength(columnMetadata, columnMappers, position, len);
@@ -137,7 +189,12 @@ public class ParquetPredictivePrefetchingTask {
         // reading dictionaries/columnIndexes,
         // parquet-mr issues thousands of 1 byte read(0, pos, 1), and so without this we will end up
         // in this else clause more times than intended!
-        return addCurrentColumnAtPosition(position, columnMappers);
+        List<ColumnMetadata> addedColumns = addCurrentColumnAtPosition(position, columnMappers);
+        for (ColumnMetadata addedColumn : addedColumns) {
+          prefetchDataPagesIfReadPastDictionary(columnMappers, addedColumn, position, len);
+        }
+
+        return addedColumns;
       }
     }
 
@@ -151,23 +208,130 @@ public class ParquetPredictivePrefetchingTask {
    * already. Columns from this row group may have been prefetched already due to a read to another
    * column for this row group.
    *
+   * <p>With a row group look-ahead configured, the recent columns of the next row groups are
+   * prefetched as well, so that downloading them overlaps with decoding the current one instead of
+   * stalling the reader at every row group boundary.
+   *
    * @param columnMappers Parquet file column mappings
    * @param columnMetadata Column metadata of the current column being read
    */
   private void prefetchCurrentRowGroup(ColumnMappers columnMappers, ColumnMetadata columnMetadata) {
     // When prefetch mode is per row group, only prefetch columns from the current row group.
-    if (logicalIOConfiguration.getPrefetchingMode() == PrefetchMode.ROW_GROUP
-        && !parquetColumnPrefetchStore.isRowGroupPrefetched(
+    if (logicalIOConfiguration.getPrefetchingMode() == PrefetchMode.ROW_GROUP) {
+      List<Integer> rowGroupsToPrefetch = new ArrayList<>();
+      if (!parquetColumnPrefetchStore.isRowGroupPrefetched(
+          s3Uri, columnMetadata.getRowGroupIndex())) {
+        rowGroupsToPrefetch.add(columnMetadata.getRowGroupIndex());
+      }
+      if (logicalIOConfiguration.getRowGroupPrefetchLookAhead() > 0) {
+        rowGroupsToPrefetch.addAll(
+            getLookAheadRowGroups(columnMappers, columnMetadata.getRowGroupIndex()));
+      }
+
+      if (!rowGroupsToPrefetch.isEmpty()) {
+        prefetchRecentColumns(columnMappers, rowGroupsToPrefetch);
+        for (Integer rowGroupIndex : rowGroupsToPrefetch) {
+          parquetColumnPrefetchStore.storePrefetchedRowGroupIndex(s3Uri, rowGroupIndex);
+        }
+      }
+    }
+  }
+
+  /**
+   * Works out which of the row groups following the current one to prefetch. Up to
+   * rowGroupPrefetchLookAhead row groups are considered, and the window stops short of the first
+   * row group whose ranges to prefetch would take the total above rowGroupPrefetchLookAheadBytes.
+   * Each row group is charged the ranges {@link #prefetchRecentColumns} would issue for it, so only
+   * the dictionary pages or the selected data pages when these are all that gets prefetched. Row
+   * groups that were prefetched already, or that cannot match the predicates, are skipped.
+   *
+   * @param columnMappers Parquet file column mappings
+   * @param currentRowGroupIndex index of the row group being read
+   * @return indexes of the row groups to prefetch ahead of the reader
+   */
+  private List<Integer> getLookAheadRowGroups(
+      ColumnMappers columnMappers, int currentRowGroupIndex) {
+    ColumnChunkPart columnChunkPart = getRecentColumnsChunkPart();
+    Map<Integer, List<Range>> rowsToReadByRowGroup = new HashMap<>();
+    Map<Integer, List<Range>> rangesToPrefetchByRowGroup = new HashMap<>();
+    for (String column : getColumnsToPrefetch(columnMappers)) {
+      List<ColumnMetadata> columnMetadataList =
+          columnMappers.getColumnNameToColumnMap().get(column);
+      if (columnMetadataList != null) {
+        for (ColumnMetadata columnMetadata : columnMetadataList) {
+          rangesToPrefetchByRowGroup
+              .computeIfAbsent(
+                  columnMetadata.getRowGroupIndex(), rowGroupIndex -> new ArrayList<>())
+              .addAll(
+                  getRangesToPrefetch(
+                      columnMetadata, columnMappers, rowsToReadByRowGroup, columnChunkPart));
+        }
+      }
+    }
+
+    Set<Integer> rowGroupsThatCannotMatch = getRowGroupsThatCannotMatch(columnMappers);
+    List<Integer> lookAheadRowGroups = new ArrayList<>();
+    long budget = logicalIOConfiguration.getRowGroupPrefetchLookAheadBytes();
+    for (int i = 1; i <= logicalIOConfiguration.getRowGroupPrefetchLookAhead(); i++) {
+      int rowGroupIndex = currentRowGroupIndex + i;
+      List<Range> rangesToPrefetch = rangesToPrefetchByRowGroup.get(rowGroupIndex);
+      if (rangesToPrefetch == null) {
+        // Past the last row group
+        break;
+      }
+      if (rowGroupsThatCannotMatch.contains(rowGroupIndex)
+          || parquetColumnPrefetchStore.isRowGroupPrefetched(s3Uri, rowGroupIndex)) {
+        continue;
+      }
+      if (logicalIOConfiguration.isPageIndexPrefetchingEnabled()) {
+        // The gaps filled in when coalescing the pages are downloaded too
+        rangesToPrefetch =
+            ParquetUtils.mergeRanges(
+                rangesToPrefetch, logicalIOConfiguration.getPagePrefetchMaxGapBytes());
+      }
+      long bytesToPrefetch = 0;
+      for (Range range : rangesToPrefetch) {
+        bytesToPrefetch += range.getLength();
+      }
+      if (bytesToPrefetch > budget) {
+        break;
+      }
+
+      budget -= bytesToPrefetch;
+      lookAheadRowGroups.add(rowGroupIndex);
+    }
+
+    return lookAheadRowGroups;
+  }
+
+  /**
+   * When dictionary first prefetching is enabled, prefetches the data pages of the row group of a
+   * column chunk once a read reaches them, if only the dictionary pages of the row group have been
+   * prefetched so far.
+   *
+   * @param columnMappers Parquet file column mappings
+   * @param columnMetadata Column metadata of the column chunk being read
+   * @param position The current position in the read
+   * @param len The length of the current read
+   */
+  private void prefetchDataPagesIfReadPastDictionary(
+      ColumnMappers columnMappers, ColumnMetadata columnMetadata, long position, int len) {
+    if (logicalIOConfiguration.isDictionaryFirstPrefetchingEnabled()
+        && position + len > columnMetadata.getDataPageOffset()
+        && parquetColumnPrefetchStore.removeRowGroupAwaitingDataPages(
             s3Uri, columnMetadata.getRowGroupIndex())) {
-      prefetchRecentColumns(
-          columnMappers, ParquetUtils.constructRowGroupsToPrefetch(columnMetadata));
-      parquetColumnPrefetchStore.storePrefetchedRowGroupIndex(
-          s3Uri, columnMetadata.getRowGroupIndex());
+      prefetchColumns(
+          columnMappers,
+          ParquetUtils.constructRowGroupsToPrefetch(columnMetadata),
+          ColumnChunkPart.DATA_PAGES);
     }
   }
 
   /**
-   * If any recent columns exist in the current parquet file, prefetch them.
+   * If any recent columns exist in the current parquet file, prefetch them. When a column
+   * projection was provided in the {@link ParquetReadHints}, the projected columns are prefetched
+   * instead. When dictionary first prefetching is enabled, only their dictionary pages are
+   * prefetched.
    *
    * @param columnMappers Parquet file column mappings
    * @param rowGroupsToPrefetch List of row group indexes to prefetch
@@ -175,6 +339,19 @@ public class ParquetPredictivePrefetchingTask {
    */
   public IOPlanExecution prefetchRecentColumns(
       ColumnMappers columnMappers, List<Integer> rowGroupsToPrefetch) {
+    return prefetchColumns(columnMappers, rowGroupsToPrefetch, getRecentColumnsChunkPart());
+  }
+
+  private ColumnChunkPart getRecentColumnsChunkPart() {
+    return logicalIOConfiguration.isDictionaryFirstPrefetchingEnabled()
+        ? ColumnChunkPart.DICTIONARY_PAGE
+        : ColumnChunkPart.WHOLE;
+  }
+
+  private IOPlanExecution prefetchColumns(
+      ColumnMappers columnMappers,
+      List<Integer> rowGroupsToPrefetch,
+      ColumnChunkPart columnChunkPart) {
     return telemetry.measureStandard(
         () ->
             Operation.builder()
@@ -184,8 +361,9 @@ public class ParquetPredictivePrefetchingTask {
         () -> {
           try {
             List<Range> prefetchRanges = new ArrayList<>();
-            for (String recentColumn :
-                getRecentColumns(columnMappers.getOffsetIndexToColumnMap())) {
+            Set<Integer> rowGroupsThatCannotMatch = getRowGroupsThatCannotMatch(columnMappers);
+            Map<Integer, List<Range>> rowsToReadByRowGroup = new HashMap<>();
+            for (String recentColumn : getColumnsToPrefetch(columnMappers)) {
               if (columnMappers.getColumnNameToColumnMap().containsKey(recentColumn)) {
                 LOG.debug(
                     "Column {} found in schema for {}, adding to prefetch list",
@@ -194,16 +372,34 @@ public class ParquetPredictivePrefetchingTask {
                 List<ColumnMetadata> columnMetadataList =
                     columnMappers.getColumnNameToColumnMap().get(recentColumn);
                 for (ColumnMetadata columnMetadata : columnMetadataList) {
-                  if (rowGroupsToPrefetch.contains(columnMetadata.getRowGroupIndex())) {
-                    prefetchRanges.add(
-                        new Range(
-                            columnMetadata.getStartPos(),
-                            columnMetadata.getStartPos() + columnMetadata.getCompressedSize() - 1));
+                  if (rowGroupsToPrefetch.contains(columnMetadata.getRowGroupIndex())
+                      && !rowGroupsThatCannotMatch.contains(columnMetadata.getRowGroupIndex())) {
+                    prefetchRanges.addAll(
+                        getRangesToPrefetch(
+                            columnMetadata,
+                            columnMappers,
+                            rowsToReadByRowGroup,
+                            columnChunkPart));
                   }
                 }
               }
             }
 
+            if (logicalIOConfiguration.isPageIndexPrefetchingEnabled()) {
+              // Pages are small, so coalesce them into as few requests as possible
+              prefetchRanges =
+                  ParquetUtils.mergeRanges(
+                      prefetchRanges, logicalIOConfiguration.getPagePrefetchMaxGapBytes());
+            }
+
+            if (columnChunkPart == ColumnChunkPart.DICTIONARY_PAGE) {
+              for (Integer rowGroupIndex : rowGroupsToPrefetch) {
+                if (!rowGroupsThatCannotMatch.contains(rowGroupIndex)) {
+                  parquetColumnPrefetchStore.storeRowGroupAwaitingDataPages(s3Uri, rowGroupIndex);
+                }
+              }
+            }
+
             IOPlan ioPlan =
                 (prefetchRanges.isEmpty()) ? IOPlan.EMPTY_PLAN : new IOPlan(prefetchRanges);
             return physicalIO.execute(ioPlan);
@@ -306,15 +502,195 @@ public class ParquetPredictivePrefetchingTask {
     return addedColumns;
   }
 
-  private Set<String> getRecentColumns(Map<Long, ColumnMetadata> offsetIndexToColumnMap) {
+  /**
+   * Returns the ranges to prefetch for the requested part of a column chunk. The data pages are
+   * fetched whole, unless page index prefetching is enabled and the column chunk has a page index,
+   * in which case only the data pages holding rows to be read are returned.
+   *
+   * @param columnMetadata Column metadata of the column chunk
+   * @param columnMappers Parquet file column mappings
+   * @param rowsToReadByRowGroup rows to read of the row groups seen so far
+   * @param columnChunkPart the part of the column chunk to prefetch
+   * @return the ranges to prefetch
+   */
+  private List<Range> getRangesToPrefetch(
+      ColumnMetadata columnMetadata,
+      ColumnMappers columnMappers,
+      Map<Integer, List<Range>> rowsToReadByRowGroup,
+      ColumnChunkPart columnChunkPart) {
+    if (columnChunkPart == ColumnChunkPart.DICTIONARY_PAGE) {
+      return columnMetadata.hasDictionary()
+          ? Collections.singletonList(
+              new Range(columnMetadata.getStartPos(), columnMetadata.getDataPageOffset() - 1))
+          : Collections.emptyList();
+    }
+
+    ColumnPageIndex pageIndex = columnMetadata.getPageIndex();
+    if (!logicalIOConfiguration.isPageIndexPrefetchingEnabled() || !pageIndex.hasPageLocations()) {
+      long start =
+          columnChunkPart == ColumnChunkPart.DATA_PAGES
+              ? columnMetadata.getDataPageOffset()
+              : columnMetadata.getStartPos();
+      long end = columnMetadata.getStartPos() + columnMetadata.getCompressedSize() - 1;
+      return start <= end
+          ? Collections.singletonList(new Range(start, end))
+          : Collections.emptyList();
+    }
+
+    List<Range> rowsToRead =
+        rowsToReadByRowGroup.computeIfAbsent(
+            columnMetadata.getRowGroupIndex(),
+            rowGroupIndex -> getRowsToRead(rowGroupIndex, pageIndex, columnMappers));
+
+    List<Range> pageRanges = new ArrayList<>();
+    for (int i = 0; i < pageIndex.getPageLocations().size(); i++) {
+      if (ParquetUtils.overlaps(pageIndex.getPageRows(i), rowsToRead)) {
+        pageRanges.add(pageIndex.getPageBytes(i));
+      }
+    }
+
+    // The dictionary page, if any, sits between the start of the column chunk and its first data
+    // page, and is needed to decode any of them
+    long firstDataPageOffset = pageIndex.getPageLocations().get(0).getOffset();
+    if (columnChunkPart == ColumnChunkPart.WHOLE
+        && !pageRanges.isEmpty()
+        && columnMetadata.getStartPos() < firstDataPageOffset) {
+      pageRanges.add(new Range(columnMetadata.getStartPos(), firstDataPageOffset - 1));
+    }
+
+    return pageRanges;
+  }
+
+  /**
+   * Works out which rows of a row group need to be read, from the row range and the predicates in
+   * the {@link ParquetReadHints}. Predicates are evaluated against the page statistics of their
+   * column, when present.
+   *
+   * @param rowGroupIndex index of the row group
+   * @param pageIndex page index of any column chunk of the row group
+   * @param columnMappers Parquet file column mappings
+   * @return sorted, non overlapping ranges of rows relative to the start of the row group
+   */
+  private List<Range> getRowsToRead(
+      int rowGroupIndex, ColumnPageIndex pageIndex, ColumnMappers columnMappers) {
+    long firstRow = Math.max(0, parquetReadHints.getFirstRow() - pageIndex.getRowGroupFirstRow());
+    long lastRow =
+        Math.min(
+            pageIndex.getRowGroupRowCount() - 1,
+            parquetReadHints.getLastRow() - pageIndex.getRowGroupFirstRow());
+    if (firstRow > lastRow) {
+      return Collections.emptyList();
+    }
+
+    List<Range> rowsToRead = Collections.singletonList(new Range(firstRow, lastRow));
+    for (ParquetPredicate predicate : parquetReadHints.getPredicates()) {
+      List<ColumnMetadata> columnMetadataList =
+          columnMappers.getColumnNameToColumnMap().get(predicate.getColumnName());
+      if (columnMetadataList == null) {
+        continue;
+      }
+
+      for (ColumnMetadata columnMetadata : columnMetadataList) {
+        ColumnPageIndex predicatePageIndex = columnMetadata.getPageIndex();
+        if (columnMetadata.getRowGroupIndex() == rowGroupIndex
+            && predicatePageIndex.hasPageStatistics()) {
+          List<Range> matchingRows = new ArrayList<>();
+          for (int i = 0; i < predicatePageIndex.getPageStatistics().size(); i++) {
+            if (predicatePageIndex.getPageStatistics().get(i).mightMatch(predicate)) {
+              matchingRows.add(predicatePageIndex.getPageRows(i));
+            }
+          }
+          rowsToRead =
+              ParquetUtils.intersectRanges(rowsToRead, ParquetUtils.mergeRanges(matchingRows, 0));
+        }
+      }
+    }
+
+    return rowsToRead;
+  }
+
+  /**
+   * Evaluates the predicates from the {@link ParquetReadHints} against the column statistics of
+   * each row group.
+   *
+   * @param columnMappers Parquet file column mappings
+   * @return indexes of the row groups for which at least one predicate cannot hold
+   */
+  private Set<Integer> getRowGroupsThatCannotMatch(ColumnMappers columnMappers) {
+    Set<Integer> rowGroupsThatCannotMatch = new HashSet<>();
+    for (ParquetPredicate predicate : parquetReadHints.getPredicates()) {
+      List<ColumnMetadata> columnMetadataList =
+          columnMappers.getColumnNameToColumnMap().get(predicate.getColumnName());
+      if (columnMetadataList != null) {
+        for (ColumnMetadata columnMetadata : columnMetadataList) {
+          if (!columnMetadata.getStatistics().mightMatch(predicate)) {
+            LOG.debug(
+                "Row group {} of {} cannot match {}, skipping it for prefetch",
+                columnMetadata.getRowGroupIndex(),
+                this.s3Uri.getKey(),
+                predicate);
+            rowGroupsThatCannotMatch.add(columnMetadata.getRowGroupIndex());
+          }
+        }
+      }
+    }
+
+    return rowGroupsThatCannotMatch;
+  }
+
+  private Set<String> getColumnsToPrefetch(ColumnMappers columnMappers) {
+    if (parquetReadHints.hasProjectedColumns()) {
+      Set<String> projectedColumns = new HashSet<>();
+      for (String columnName : columnMappers.getColumnNameToColumnMap().keySet()) {
+        if (parquetReadHints.isProjected(columnName)) {
+          projectedColumns.add(columnName);
+        }
+      }
+      return projectedColumns;
+    }
+
+    return getRecentColumns(columnMappers);
+  }
+
+  /**
+   * Gets the names, in this file, of the columns predicted to be read. Predictions are made on
+   * column ids, which may be shared by files whose schemas differ, so only the columns present in
+   * this file are returned.
+   *
+   * @param columnMappers the column mappers of the file
+   * @return the names of the predicted columns present in the file
+   */
+  private Set<String> getRecentColumns(ColumnMappers columnMappers) {
+    Map<Long, ColumnMetadata> offsetIndexToColumnMap = columnMappers.getOffsetIndexToColumnMap();
     if (!offsetIndexToColumnMap.isEmpty()) {
       Map.Entry<Long, ColumnMetadata> firstColumnData =
           offsetIndexToColumnMap.entrySet().iterator().next();
 
       int schemaHash = firstColumnData.getValue().getSchemaHash();
-      return parquetColumnPrefetchStore.getUniqueRecentColumnsForSchema(schemaHash);
+      Set<String> predictedColumnIds =
+          parquetColumnPrefetchStore.getPredictedColumnsForSchema(schemaHash);
+
+      Set<String> recentColumns = new HashSet<>();
+      for (Map.Entry<String, List<ColumnMetadata>> column :
+          columnMappers.getColumnNameToColumnMap().entrySet()) {
+        if (!column.getValue().isEmpty()
+            && predictedColumnIds.contains(column.getValue().get(0).getColumnId())) {
+          recentColumns.add(column.getKey());
+        }
+      }
+      return recentColumns;
     }
 
     return Collections.emptySet();
   }
+
+  /** The parts of a column chunk that can be prefetched. */
+  private enum ColumnChunkPart {
+    /** The dictionary page and the data pages. */
+    WHOLE,
+    /** The dictionary page only, if any. */
+    DICTIONARY_PAGE,
+    /** The data pages only. */
+    DATA_PAGES
+  }
 }
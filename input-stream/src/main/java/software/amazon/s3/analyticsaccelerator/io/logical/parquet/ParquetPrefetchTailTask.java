@@ -23,7 +23,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import software.amazon.s3.analyticsaccelerator.common.telemetry.Operation;
 import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
+import software.amazon.s3.analyticsaccelerator.io.logical.FileTailUtils;
 import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.logical.impl.ParquetColumnPrefetchStore;
 import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
 import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlan;
 import software.amazon.s3.analyticsaccelerator.request.Range;
@@ -36,26 +38,55 @@ public class ParquetPrefetchTailTask {
   private final Telemetry telemetry;
   private final LogicalIOConfiguration logicalIOConfiguration;
   private final PhysicalIO physicalIO;
+  private final long fileTailSize;
   private static final String OPERATION_PARQUET_PREFETCH_TAIL = "parquet.task.prefetch.tail";
   private static final Logger LOG = LoggerFactory.getLogger(ParquetPrefetchTailTask.class);
 
   /**
-   * Creates a new instance of {@link ParquetPrefetchTailTask}
+   * Creates a new instance of {@link ParquetPrefetchTailTask}, prefetching a tail of the size
+   * expected when the task is created.
    *
    * @param s3URI the S3URI of the object to prefetch
    * @param telemetry an instance of {@link Telemetry} to use
    * @param logicalIOConfiguration LogicalIO configuration
    * @param physicalIO PhysicalIO instance
+   * @param parquetColumnPrefetchStore object containing Parquet usage information
    */
   public ParquetPrefetchTailTask(
       @NonNull S3URI s3URI,
       @NonNull Telemetry telemetry,
       @NonNull LogicalIOConfiguration logicalIOConfiguration,
-      @NonNull PhysicalIO physicalIO) {
+      @NonNull PhysicalIO physicalIO,
+      @NonNull ParquetColumnPrefetchStore parquetColumnPrefetchStore) {
+    this(
+        s3URI,
+        telemetry,
+        logicalIOConfiguration,
+        physicalIO,
+        ParquetUtils.getFileTailSize(logicalIOConfiguration, parquetColumnPrefetchStore, s3URI));
+  }
+
+  /**
+   * Creates a new instance of {@link ParquetPrefetchTailTask}.
+   *
+   * @param s3URI the S3URI of the object to prefetch
+   * @param telemetry an instance of {@link Telemetry} to use
+   * @param logicalIOConfiguration LogicalIO configuration
+   * @param physicalIO PhysicalIO instance
+   * @param fileTailSize size of the tail to prefetch, as given by {@link
+   *     ParquetUtils#getFileTailSize}, which the tail read must use as well
+   */
+  public ParquetPrefetchTailTask(
+      @NonNull S3URI s3URI,
+      @NonNull Telemetry telemetry,
+      @NonNull LogicalIOConfiguration logicalIOConfiguration,
+      @NonNull PhysicalIO physicalIO,
+      long fileTailSize) {
     this.s3URI = s3URI;
     this.telemetry = telemetry;
     this.logicalIOConfiguration = logicalIOConfiguration;
     this.physicalIO = physicalIO;
+    this.fileTailSize = fileTailSize;
   }
 
   /**
@@ -74,7 +105,8 @@ public class ParquetPrefetchTailTask {
           try {
             long contentLength = physicalIO.metadata().getContentLength();
             Optional<Range> tailRangeOptional =
-                ParquetUtils.getFileTailRange(logicalIOConfiguration, 0, contentLength);
+                FileTailUtils.getFileTailRange(
+                    logicalIOConfiguration, 0, contentLength, fileTailSize);
             // Create a non-empty IOPlan only if we have a valid range to work with
             IOPlan ioPlan = tailRangeOptional.map(IOPlan::new).orElse(IOPlan.EMPTY_PLAN);
             physicalIO.execute(ioPlan);
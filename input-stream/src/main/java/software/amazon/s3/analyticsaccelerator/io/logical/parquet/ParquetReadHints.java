@@ -0,0 +1,100 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.parquet;
+
+import java.util.List;
+import java.util.Set;
+import lombok.Builder;
+import lombok.Singular;
+import lombok.Value;
+
+/**
+ * Hints about how a Parquet object is going to be read, supplied by the caller when opening a
+ * stream. When the caller knows which columns the query projects, the prefetcher fetches exactly
+ * those column chunks instead of guessing from the columns recently read for the same schema. When
+ * the caller knows the query filter, row groups whose statistics show that they cannot match are
+ * not prefetched. With page index prefetching enabled, the predicates and the row range further
+ * narrow prefetching down to the data pages holding the needed rows.
+ */
+@Value
+@Builder
+public class ParquetReadHints {
+  /** Hints carrying no information, prefetching falls back to access history. */
+  public static final ParquetReadHints NONE = ParquetReadHints.builder().build();
+
+  /**
+   * Paths of the projected columns, with nested fields joined by "." (for example {@code
+   * address.city}). A path naming a group projects all the leaf columns underneath it.
+   */
+  @Singular Set<String> projectedColumns;
+
+  /** Predicates of the query filter, all of which must hold for a row to match. */
+  @Singular List<ParquetPredicate> predicates;
+
+  /** Index of the first row of the file to be read, used when prefetching pages. */
+  @Builder.Default long firstRow = 0;
+
+  /** Index of the last row of the file to be read (inclusive), used when prefetching pages. */
+  @Builder.Default long lastRow = Long.MAX_VALUE;
+
+  /**
+   * Whether the caller provided a column projection.
+   *
+   * @return true if at least one projected column was provided
+   */
+  public boolean hasProjectedColumns() {
+    return !projectedColumns.isEmpty();
+  }
+
+  /**
+   * Whether the caller provided a query filter.
+   *
+   * @return true if at least one predicate was provided
+   */
+  public boolean hasPredicates() {
+    return !predicates.isEmpty();
+  }
+
+  /**
+   * Whether the caller restricted the rows to be read.
+   *
+   * @return true if a row range was provided
+   */
+  public boolean hasRowRange() {
+    return firstRow > 0 || lastRow < Long.MAX_VALUE;
+  }
+
+  /**
+   * Checks whether a leaf column of the file is part of the projection, either directly or through
+   * one of its parent groups.
+   *
+   * @param columnName the full path of the leaf column, with nested fields joined by "."
+   * @return true if the column is projected
+   */
+  public boolean isProjected(String columnName) {
+    String path = columnName;
+    while (true) {
+      if (projectedColumns.contains(path)) {
+        return true;
+      }
+      int separator = path.lastIndexOf('.');
+      if (separator < 0) {
+        return false;
+      }
+      path = path.substring(0, separator);
+    }
+  }
+}
@@ -15,7 +15,14 @@
  */
 package software.amazon.s3.analyticsaccelerator.io.logical.parquet;
 
+import static software.amazon.s3.analyticsaccelerator.util.Constants.PARQUET_FOOTER_LENGTH_SIZE;
+import static software.amazon.s3.analyticsaccelerator.util.Constants.PARQUET_MAGIC_STR;
+import static software.amazon.s3.analyticsaccelerator.util.Constants.PARQUET_MAGIC_STR_LENGTH;
+
+import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
 import java.util.Optional;
 import java.util.concurrent.CompletionException;
 import lombok.NonNull;
@@ -23,7 +30,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import software.amazon.s3.analyticsaccelerator.common.telemetry.Operation;
 import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
+import software.amazon.s3.analyticsaccelerator.io.logical.FileTailUtils;
 import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.logical.impl.ParquetColumnPrefetchStore;
 import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
 import software.amazon.s3.analyticsaccelerator.request.Range;
 import software.amazon.s3.analyticsaccelerator.util.S3URI;
@@ -35,9 +44,36 @@ public class ParquetReadTailTask {
   private final Telemetry telemetry;
   private final LogicalIOConfiguration logicalIOConfiguration;
   private final PhysicalIO physicalIO;
+  private final ParquetColumnPrefetchStore parquetColumnPrefetchStore;
+  private final long fileTailSize;
   private static final String OPERATION_PARQUET_READ_TAIL = "parquet.task.read.tail";
   private static final Logger LOG = LoggerFactory.getLogger(ParquetReadTailTask.class);
 
+  /**
+   * Creates a new instance of {@link ParquetReadTailTask}, reading a tail of the size expected when
+   * the task is created.
+   *
+   * @param s3URI the S3URI of the object to read
+   * @param telemetry an instance of {@link Telemetry} to use
+   * @param logicalIOConfiguration LogicalIO configuration
+   * @param physicalIO PhysicalIO instance
+   * @param parquetColumnPrefetchStore object containing Parquet usage information
+   */
+  public ParquetReadTailTask(
+      @NonNull S3URI s3URI,
+      @NonNull Telemetry telemetry,
+      @NonNull LogicalIOConfiguration logicalIOConfiguration,
+      @NonNull PhysicalIO physicalIO,
+      @NonNull ParquetColumnPrefetchStore parquetColumnPrefetchStore) {
+    this(
+        s3URI,
+        telemetry,
+        logicalIOConfiguration,
+        physicalIO,
+        parquetColumnPrefetchStore,
+        ParquetUtils.getFileTailSize(logicalIOConfiguration, parquetColumnPrefetchStore, s3URI));
+  }
+
   /**
    * Creates a new instance of {@link ParquetReadTailTask}.
    *
@@ -45,16 +81,23 @@ public class ParquetReadTailTask {
    * @param telemetry an instance of {@link Telemetry} to use
    * @param logicalIOConfiguration LogicalIO configuration
    * @param physicalIO PhysicalIO instance
+   * @param parquetColumnPrefetchStore object containing Parquet usage information
+   * @param fileTailSize size of the tail to read, as given by {@link ParquetUtils#getFileTailSize},
+   *     which must be the size of the tail prefetched for the stream so that it is served from it
    */
   public ParquetReadTailTask(
       @NonNull S3URI s3URI,
       @NonNull Telemetry telemetry,
       @NonNull LogicalIOConfiguration logicalIOConfiguration,
-      @NonNull PhysicalIO physicalIO) {
+      @NonNull PhysicalIO physicalIO,
+      @NonNull ParquetColumnPrefetchStore parquetColumnPrefetchStore,
+      long fileTailSize) {
     this.s3URI = s3URI;
     this.telemetry = telemetry;
     this.logicalIOConfiguration = logicalIOConfiguration;
     this.physicalIO = physicalIO;
+    this.parquetColumnPrefetchStore = parquetColumnPrefetchStore;
+    this.fileTailSize = fileTailSize;
   }
 
   /**
@@ -72,14 +115,25 @@ public class ParquetReadTailTask {
         () -> {
           long contentLength = physicalIO.metadata().getContentLength();
           Optional<Range> tailRangeOptional =
-              ParquetUtils.getFileTailRange(logicalIOConfiguration, 0, contentLength);
+              FileTailUtils.getFileTailRange(
+                  logicalIOConfiguration, 0, contentLength, fileTailSize);
           if (tailRangeOptional.isPresent()) {
             Range tailRange = tailRangeOptional.get();
             int tailLength = (int) tailRange.getLength();
             try {
               byte[] fileTail = new byte[tailLength];
               physicalIO.readTail(fileTail, 0, tailLength);
-              return new FileTail(ByteBuffer.wrap(fileTail), (int) tailRange.getLength());
+
+              long footerSize = getFooterSize(fileTail);
+              if (footerSize > 0) {
+                parquetColumnPrefetchStore.recordFooterSize(s3URI, footerSize);
+                if (footerSize > tailLength && footerSize <= contentLength) {
+                  return readRemainingFooter(fileTail, (int) footerSize, contentLength);
+                }
+              }
+
+              return new FileTail(
+                  ByteBuffer.wrap(fileTail), (int) tailRange.getLength(), tailRange.getStart());
             } catch (Exception e) {
               LOG.warn(
                   "Unable to read file tail for {}, parquet prefetch optimisations will be disabled for this key.",
@@ -93,4 +147,59 @@ public class ParquetReadTailTask {
           }
         });
   }
+
+  /**
+   * When the footer does not fit in the tail that was read, reads the missing bytes before the
+   * tail with a second, targeted request, instead of giving up on Parquet optimisations.
+   *
+   * @param fileTail the tail read
+   * @param footerSize the size of the footer, including its trailer
+   * @param contentLength the length of the object
+   * @return the tail holding the whole footer
+   * @throws IOException if the missing bytes cannot be read
+   */
+  private FileTail readRemainingFooter(byte[] fileTail, int footerSize, long contentLength)
+      throws IOException {
+    LOG.debug(
+        "Footer of {} is {} bytes, larger than the tail of {} bytes read, reading the rest of it.",
+        s3URI.getKey(),
+        footerSize,
+        fileTail.length);
+
+    int missingLength = footerSize - fileTail.length;
+    long footerStart = contentLength - footerSize;
+    byte[] footer = new byte[footerSize];
+    physicalIO.read(footer, 0, missingLength, footerStart);
+    System.arraycopy(fileTail, 0, footer, missingLength, fileTail.length);
+    return new FileTail(ByteBuffer.wrap(footer), footerSize, footerStart);
+  }
+
+  /**
+   * Reads the size of the footer, including the trailer holding its length and the magic string,
+   * from the end of the tail.
+   *
+   * @param fileTail the tail read
+   * @return the size of the footer, or -1 if the tail does not end with a Parquet trailer
+   */
+  private static long getFooterSize(byte[] fileTail) {
+    int trailerLength = PARQUET_FOOTER_LENGTH_SIZE + PARQUET_MAGIC_STR_LENGTH;
+    if (fileTail.length < trailerLength) {
+      return -1;
+    }
+
+    String magic =
+        new String(
+            fileTail,
+            fileTail.length - PARQUET_MAGIC_STR_LENGTH,
+            PARQUET_MAGIC_STR_LENGTH,
+            StandardCharsets.US_ASCII);
+    int footerLength =
+        ByteBuffer.wrap(fileTail)
+            .order(ByteOrder.LITTLE_ENDIAN)
+            .getInt(fileTail.length - trailerLength);
+    if (!PARQUET_MAGIC_STR.equals(magic) || footerLength < 0) {
+      return -1;
+    }
+    return (long) footerLength + trailerLength;
+  }
 }
@@ -0,0 +1,35 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.parquet;
+
+import java.util.List;
+import lombok.NonNull;
+import lombok.Value;
+
+/** Immutable view of a row group of a Parquet file, part of a {@link ParquetFooter}. */
+@Value
+public class ParquetRowGroup {
+  /** Index of the row group within the file. */
+  int rowGroupIndex;
+  /** Index of the first row of the row group within the file. */
+  long firstRow;
+  /** Number of rows in the row group. */
+  long numRows;
+  /** Total byte size of the uncompressed column data of the row group. */
+  long totalByteSize;
+  /** Column chunks of the row group, in file order. */
+  @NonNull List<ParquetColumnChunk> columns;
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.parquet;
+
+import java.util.List;
+import lombok.NonNull;
+import lombok.Value;
+
+/**
+ * Immutable view of an element of the schema of a Parquet file, part of a {@link ParquetFooter}.
+ * Groups, starting with the root of the schema, hold their fields as children, while leaves are the
+ * columns of the file.
+ */
+@Value
+public class ParquetSchemaElement {
+  /** Name of the field, or of the schema for the root. */
+  @NonNull String name;
+  /** Physical type of a leaf, or null for a group. */
+  PhysicalType physicalType;
+  /** Length in bytes of the values of a FIXED_LEN_BYTE_ARRAY leaf, 0 otherwise. */
+  int typeLength;
+  /** Repetition of the field, or null for the root. */
+  Repetition repetition;
+  /** Logical type of the field, or null if it has none. */
+  ParquetLogicalType logicalType;
+  /** Field id assigned by the writer, or null if it has none. */
+  Integer fieldId;
+  /** Fields of a group, in schema order, empty for a leaf. */
+  @NonNull List<ParquetSchemaElement> children;
+
+  /**
+   * Whether the element is a column of the file rather than a group.
+   *
+   * @return true if the element has a physical type
+   */
+  public boolean isLeaf() {
+    return physicalType != null;
+  }
+
+  /** Physical types of the values of Parquet columns. */
+  public enum PhysicalType {
+    BOOLEAN,
+    INT32,
+    INT64,
+    INT96,
+    FLOAT,
+    DOUBLE,
+    BYTE_ARRAY,
+    FIXED_LEN_BYTE_ARRAY
+  }
+
+  /** Repetitions of Parquet fields. */
+  public enum Repetition {
+    REQUIRED,
+    OPTIONAL,
+    REPEATED
+  }
+}
@@ -16,43 +16,47 @@
 package software.amazon.s3.analyticsaccelerator.io.logical.parquet;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Optional;
+import java.util.OptionalLong;
 import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.logical.impl.ParquetColumnPrefetchStore;
 import software.amazon.s3.analyticsaccelerator.request.Range;
 import software.amazon.s3.analyticsaccelerator.util.PrefetchMode;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
 
 /** Utils class for the Parquet logical layer. */
 public final class ParquetUtils {
   /** Prevent direct instantiation, this is meant to be a facade. */
   private ParquetUtils() {}
   /**
-   * Gets range of file tail to be read.
+   * Gets the size of the tail to read for a Parquet file. This is footerCachingSize, unless
+   * adaptive footer caching is enabled and a footer size was learned for the prefix of the file,
+   * in which case exactly that size is read. Page indexes are written just before the footer, so
+   * footerCachingSize remains a lower bound when page index prefetching is enabled.
    *
    * @param logicalIOConfiguration logical io configuration
-   * @param startRange start of file
-   * @param contentLength length of file
-   * @return range to be read
+   * @param parquetColumnPrefetchStore store holding the footer sizes learned per prefix
+   * @param s3URI the S3URI of the file
+   * @return size of the tail to read
    */
-  public static Optional<Range> getFileTailRange(
-      LogicalIOConfiguration logicalIOConfiguration, long startRange, long contentLength) {
-
-    if (contentLength > logicalIOConfiguration.getFooterCachingSize()) {
-      boolean shouldPrefetchSmallFile =
-          logicalIOConfiguration.isSmallObjectsPrefetchingEnabled()
-              && contentLength <= logicalIOConfiguration.getSmallObjectSizeThreshold();
-
-      if (!shouldPrefetchSmallFile) {
-        startRange = contentLength - logicalIOConfiguration.getFooterCachingSize();
-      }
+  public static long getFileTailSize(
+      LogicalIOConfiguration logicalIOConfiguration,
+      ParquetColumnPrefetchStore parquetColumnPrefetchStore,
+      S3URI s3URI) {
+    long footerCachingSize = logicalIOConfiguration.getFooterCachingSize();
+    if (!logicalIOConfiguration.isAdaptiveFooterCachingEnabled()) {
+      return footerCachingSize;
     }
 
-    // Return a range if we have non-zero range to work with, and Empty otherwise
-    if (startRange < contentLength) {
-      return Optional.of(new Range(startRange, contentLength - 1));
-    } else {
-      return Optional.empty();
+    OptionalLong expectedFooterSize = parquetColumnPrefetchStore.getExpectedFooterSize(s3URI);
+    if (!expectedFooterSize.isPresent()) {
+      return footerCachingSize;
     }
+    if (logicalIOConfiguration.isPageIndexPrefetchingEnabled()) {
+      return Math.max(footerCachingSize, expectedFooterSize.getAsLong());
+    }
+    return expectedFooterSize.getAsLong();
   }
 
   /**
@@ -84,4 +88,97 @@ public final class ParquetUtils {
 
     return rowGroupsToPrefetch;
   }
+
+  /**
+   * Sorts ranges and merges the ones that overlap or that are separated by at most maxGap.
+   *
+   * @param ranges the ranges to merge
+   * @param maxGap the largest gap between two ranges for them to be merged
+   * @return sorted, non overlapping ranges
+   */
+  public static List<Range> mergeRanges(List<Range> ranges, long maxGap) {
+    List<Range> sortedRanges = new ArrayList<>(ranges);
+    sortedRanges.sort(Comparator.comparingLong(Range::getStart));
+
+    List<Range> mergedRanges = new ArrayList<>();
+    for (Range range : sortedRanges) {
+      int last = mergedRanges.size() - 1;
+      if (last >= 0 && range.getStart() <= mergedRanges.get(last).getEnd() + 1 + maxGap) {
+        Range previous = mergedRanges.get(last);
+        mergedRanges.set(
+            last, new Range(previous.getStart(), Math.max(previous.getEnd(), range.getEnd())));
+      } else {
+        mergedRanges.add(range);
+      }
+    }
+
+    return mergedRanges;
+  }
+
+  /**
+   * Intersects two lists of sorted, non overlapping ranges.
+   *
+   * @param left sorted, non overlapping ranges
+   * @param right sorted, non overlapping ranges
+   * @return the sorted, non overlapping ranges contained in both
+   */
+  public static List<Range> intersectRanges(List<Range> left, List<Range> right) {
+    List<Range> intersection = new ArrayList<>();
+    int i = 0;
+    int j = 0;
+    while (i < left.size() && j < right.size()) {
+      long start = Math.max(left.get(i).getStart(), right.get(j).getStart());
+      long end = Math.min(left.get(i).getEnd(), right.get(j).getEnd());
+      if (start <= end) {
+        intersection.add(new Range(start, end));
+      }
+
+      if (left.get(i).getEnd() < right.get(j).getEnd()) {
+        i++;
+      } else {
+        j++;
+      }
+    }
+
+    return intersection;
+  }
+
+  /**
+   * Checks whether a range overlaps any of the given ranges.
+   *
+   * @param range the range to check
+   * @param ranges the ranges to check against
+   * @return true if the range overlaps at least one of the ranges
+   */
+  public static boolean overlaps(Range range, List<Range> ranges) {
+    for (Range other : ranges) {
+      if (range.getStart() <= other.getEnd() && other.getStart() <= range.getEnd()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Gets the location of the table a file belongs to: the directory of the file, without the
+   * trailing Hive style partition directories (such as {@code dt=2024-01-01}). All the files of a
+   * partitioned table, whatever their partition, then share the same location.
+   *
+   * @param s3URI the S3URI of the file
+   * @return the bucket and the key prefix of the table, separated by a "/"
+   */
+  public static String getTableLocation(S3URI s3URI) {
+    String key = s3URI.getKey();
+    int end = key.lastIndexOf('/');
+    while (end > 0) {
+      int start = key.lastIndexOf('/', end - 1);
+      int equals = key.indexOf('=', start + 1);
+      if (equals < 0 || equals >= end) {
+        break;
+      }
+      end = start;
+    }
+
+    return s3URI.getBucket() + "/" + (end > 0 ? key.substring(0, end) : "");
+  }
 }
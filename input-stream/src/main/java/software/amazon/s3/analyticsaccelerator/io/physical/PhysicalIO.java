@@ -16,6 +16,8 @@
 package software.amazon.s3.analyticsaccelerator.io.physical;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
 import software.amazon.s3.analyticsaccelerator.RandomAccessReadable;
 import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlan;
 import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanExecution;
@@ -30,4 +32,36 @@ public interface PhysicalIO extends RandomAccessReadable {
    * @return an IOPlanExecution object tracking the execution of the submitted plan
    */
   IOPlanExecution execute(IOPlan ioPlan) throws IOException;
+
+  /**
+   * Reads data into the provided buffer without blocking the caller. The returned future completes
+   * once the data is available and copied into the buffer, starting at its current position. The
+   * position of the buffer is then advanced by the number of bytes read.
+   *
+   * @param position the position to begin reading from
+   * @param dst buffer to read data into, at most its remaining bytes are read
+   * @return a future completing with the number of bytes read, or -1 if the position is at or past
+   *     the end of the object
+   */
+  CompletableFuture<Integer> readAsync(long position, ByteBuffer dst);
+
+  /**
+   * Returns a read-only view of the block holding the byte at the given position, fetching the
+   * block if needed. The view spans the whole block and is positioned at the byte, so that the
+   * following bytes of the block can be read from it directly.
+   *
+   * @param position the position of the byte
+   * @return a buffer holding the block's data, positioned at the byte
+   * @throws IOException IO error, if incurred
+   */
+  ByteBuffer blockView(long position) throws IOException;
+
+  /**
+   * Returns the number of bytes that can be read from the given position without blocking, which
+   * are the already fetched bytes of the block holding it. Unlike the reads, this never fetches.
+   *
+   * @param position the position of the byte
+   * @return the number of bytes from the position to the end of its block, 0 if not fetched
+   */
+  int available(long position);
 }
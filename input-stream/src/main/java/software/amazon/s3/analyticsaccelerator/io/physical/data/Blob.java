@@ -16,16 +16,24 @@
 package software.amazon.s3.analyticsaccelerator.io.physical.data;
 
 import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import lombok.NonNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import software.amazon.s3.analyticsaccelerator.common.Preconditions;
 import software.amazon.s3.analyticsaccelerator.common.telemetry.Operation;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.OperationContext;
 import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
 import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlan;
 import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanExecution;
 import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanState;
+import software.amazon.s3.analyticsaccelerator.request.ObjectMetadata;
+import software.amazon.s3.analyticsaccelerator.request.Range;
 import software.amazon.s3.analyticsaccelerator.request.ReadMode;
+import software.amazon.s3.analyticsaccelerator.util.IOStatistics;
 import software.amazon.s3.analyticsaccelerator.util.S3URI;
 import software.amazon.s3.analyticsaccelerator.util.StreamAttributes;
 
@@ -60,49 +68,69 @@ public class Blob implements Closeable {
   }
 
   /**
-   * Reads a byte from the underlying object
+   * Reads a byte from the underlying object, recording the I/O into the given statistics
    *
    * @param pos The position to read
+   * @param statistics the statistics of the stream reading the byte
    * @return an unsigned int representing the byte that was read
    */
-  public int read(long pos) {
+  public int read(long pos, @NonNull IOStatistics statistics) {
     Preconditions.checkArgument(pos >= 0, "`pos` must be non-negative");
-    blockManager.makePositionAvailable(pos, ReadMode.SYNC);
-    return blockManager.getBlock(pos).get().read(pos);
+    blockManager.makePositionAvailable(pos, ReadMode.SYNC, statistics);
+    return getAvailableBlock(pos, statistics).read(pos);
   }
 
   /**
-   * Reads data into the provided buffer
+   * Returns a read-only view of the block holding the byte at the given position, fetching it if
+   * needed and recording the I/O into the given statistics.
+   *
+   * @param pos the position of the byte
+   * @param statistics the statistics of the stream asking for the block
+   * @return a buffer spanning the whole block, positioned at the byte
+   */
+  public ByteBuffer blockView(long pos, @NonNull IOStatistics statistics) {
+    Preconditions.checkArgument(pos >= 0, "`pos` must be non-negative");
+    blockManager.makePositionAvailable(pos, ReadMode.SYNC, statistics);
+    return getAvailableBlock(pos, statistics).view(pos);
+  }
+
+  /**
+   * Returns the number of bytes that can be read from the given position without blocking, which
+   * are the fetched bytes of the block holding it. Nothing is fetched.
+   *
+   * @param pos the position of the byte
+   * @return the number of bytes from the position to the end of its block, 0 if not fetched
+   */
+  public int available(long pos) {
+    Preconditions.checkArgument(pos >= 0, "`pos` must be non-negative");
+    Block block = blockManager.findBlock(pos);
+    return block == null ? 0 : block.available(pos);
+  }
+
+  /**
+   * Reads data into the provided buffer, recording the I/O into the given statistics
    *
    * @param buf buffer to read data into
    * @param off start position in buffer at which data is written
    * @param len length of data to be read
    * @param pos the position to begin reading from
+   * @param statistics the statistics of the stream reading the data
    * @return the total number of bytes read into the buffer
    */
-  public int read(byte[] buf, int off, int len, long pos) {
+  public int read(byte[] buf, int off, int len, long pos, @NonNull IOStatistics statistics) {
     Preconditions.checkArgument(0 <= pos, "`pos` must not be negative");
     Preconditions.checkArgument(pos < contentLength(), "`pos` must be less than content length");
     Preconditions.checkArgument(0 <= off, "`off` must not be negative");
     Preconditions.checkArgument(0 <= len, "`len` must not be negative");
     Preconditions.checkArgument(off < buf.length, "`off` must be less than size of buffer");
 
-    blockManager.makeRangeAvailable(pos, len, ReadMode.SYNC);
+    blockManager.makeRangeAvailable(pos, len, ReadMode.SYNC, statistics);
 
     long nextPosition = pos;
     int numBytesRead = 0;
 
     while (numBytesRead < len && nextPosition < contentLength()) {
-      final long nextPositionFinal = nextPosition;
-      Block nextBlock =
-          blockManager
-              .getBlock(nextPosition)
-              .orElseThrow(
-                  () ->
-                      new IllegalStateException(
-                          String.format(
-                              "This block (for position %s) should have been available.",
-                              nextPositionFinal)));
+      Block nextBlock = getAvailableBlock(nextPosition, statistics);
 
       int bytesRead = nextBlock.read(buf, off + numBytesRead, len - numBytesRead, nextPosition);
 
@@ -118,12 +146,96 @@ public class Blob implements Closeable {
   }
 
   /**
-   * Execute an IOPlan.
+   * Reads data into the provided buffer, starting at its current position, recording the I/O into
+   * the given statistics.
+   *
+   * @param dst buffer to read data into
+   * @param pos the position to begin reading from
+   * @param statistics the statistics of the stream reading the data
+   * @return the total number of bytes read into the buffer
+   */
+  public int read(@NonNull ByteBuffer dst, long pos, @NonNull IOStatistics statistics) {
+    Preconditions.checkArgument(0 <= pos, "`pos` must not be negative");
+    Preconditions.checkArgument(pos < contentLength(), "`pos` must be less than content length");
+
+    blockManager.makeRangeAvailable(pos, dst.remaining(), ReadMode.SYNC, statistics);
+
+    long nextPosition = pos;
+    int numBytesRead = 0;
+
+    while (dst.hasRemaining() && nextPosition < contentLength()) {
+      Block nextBlock = getAvailableBlock(nextPosition, statistics);
+
+      int bytesRead = nextBlock.read(dst, nextPosition);
+
+      numBytesRead = numBytesRead + bytesRead;
+      nextPosition += bytesRead;
+    }
+
+    return numBytesRead;
+  }
+
+  /**
+   * Reads data into the provided buffer without blocking the caller, recording the I/O into the
+   * given statistics. The returned future completes once the blocks covering the read have their
+   * data, which is then copied into the buffer starting at its current position. The position of
+   * the buffer is advanced by the number of bytes read when the future completes, and must not be
+   * changed in the meantime. Reads waiting asynchronously do not count as blocked.
+   *
+   * @param pos the position to begin reading from
+   * @param dst buffer to read data into, at most its remaining bytes are read
+   * @param statistics the statistics of the stream reading the data
+   * @return a future completing with the number of bytes read, or -1 if the position is at or past
+   *     the end of the object
+   */
+  public CompletableFuture<Integer> readAsync(
+      long pos, @NonNull ByteBuffer dst, @NonNull IOStatistics statistics) {
+    Preconditions.checkArgument(0 <= pos, "`pos` must not be negative");
+
+    return metadataStore
+        .asyncGet(s3URI)
+        .thenCompose(
+            OperationContext.DEFAULT.wrapFunction(
+                (ObjectMetadata metadata) ->
+                    readAsync(pos, dst, metadata.getContentLength(), statistics)));
+  }
+
+  private CompletableFuture<Integer> readAsync(
+      long pos, ByteBuffer dst, long contentLength, IOStatistics statistics) {
+    if (pos >= contentLength) {
+      return CompletableFuture.completedFuture(-1);
+    }
+
+    int len = (int) Math.min(dst.remaining(), contentLength - pos);
+    if (len == 0) {
+      return CompletableFuture.completedFuture(0);
+    }
+
+    List<CompletableFuture<Integer>> blockReads = new ArrayList<>();
+    for (Block block : blockManager.claimBlocks(pos, len, statistics)) {
+      blockReads.add(block.readAsync(dst, pos, len));
+    }
+
+    return CompletableFuture.allOf(blockReads.toArray(new CompletableFuture<?>[0]))
+        .thenApply(
+            ignored -> {
+              int numBytesRead = 0;
+              for (CompletableFuture<Integer> blockRead : blockReads) {
+                numBytesRead += blockRead.join();
+              }
+              dst.position(dst.position() + numBytesRead);
+              return numBytesRead;
+            });
+  }
+
+  /**
+   * Execute an IOPlan, attributing the GET requests it issues to the given statistics.
    *
    * @param plan the IOPlan to execute
+   * @param statistics the statistics of the stream or factory executing the plan
    * @return the status of execution
    */
-  public IOPlanExecution execute(IOPlan plan) {
+  public IOPlanExecution execute(IOPlan plan, @NonNull IOStatistics statistics) {
     return telemetry.measureStandard(
         () ->
             Operation.builder()
@@ -133,14 +245,17 @@ public class Blob implements Closeable {
                 .build(),
         () -> {
           try {
-            plan.getPrefetchRanges()
-                .forEach(
-                    range -> {
-                      this.blockManager.makeRangeAvailable(
-                          range.getStart(), range.getLength(), ReadMode.ASYNC);
-                    });
-
-            return IOPlanExecution.builder().state(IOPlanState.SUBMITTED).build();
+            List<Block> issuedBlocks = new ArrayList<>();
+            for (Range range : plan.getPrefetchRanges()) {
+              issuedBlocks.addAll(
+                  this.blockManager.makeRangeAvailable(
+                      range.getStart(), range.getLength(), ReadMode.ASYNC, statistics));
+            }
+
+            return IOPlanExecution.builder()
+                .state(IOPlanState.SUBMITTED)
+                .completion(trackCompletion(plan, issuedBlocks))
+                .build();
           } catch (Exception e) {
             LOG.error("Failed to submit IOPlan to PhysicalIO", e);
             return IOPlanExecution.builder().state(IOPlanState.FAILED).build();
@@ -148,6 +263,62 @@ public class Blob implements Closeable {
         });
   }
 
+  /**
+   * Builds a future that completes once every block covering the plan has its data. Blocks that
+   * were already in flight before the plan was executed are awaited too, but only the blocks the
+   * plan issued itself are cancelled when the returned future is cancelled.
+   *
+   * @param plan the executed IOPlan
+   * @param issuedBlocks the blocks created while executing the plan
+   * @return a future completing when all the data requested by the plan is available
+   */
+  private CompletableFuture<Void> trackCompletion(IOPlan plan, List<Block> issuedBlocks) {
+    List<CompletableFuture<byte[]>> pendingData = new ArrayList<>();
+    for (Range range : plan.getPrefetchRanges()) {
+      for (Block block : this.blockManager.getBlocks(range.getStart(), range.getLength())) {
+        pendingData.add(block.getDataFuture());
+      }
+    }
+
+    CompletableFuture<Void> completion =
+        CompletableFuture.allOf(pendingData.toArray(new CompletableFuture<?>[0]));
+    completion.whenComplete(
+        (result, error) -> {
+          if (completion.isCancelled()) {
+            this.blockManager.cancelPendingBlocks(issuedBlocks);
+          }
+        });
+
+    return completion;
+  }
+
+  /**
+   * Returns the block holding the byte at the given position once its data is available, recording
+   * the time spent waiting for it into the given statistics. The block is claimed for the reader,
+   * so that a concurrently cancelled prefetch does not cancel it under the read.
+   *
+   * @param pos the position of the byte
+   * @param statistics the statistics of the stream waiting for the block
+   * @return the block holding the byte
+   */
+  private Block getAvailableBlock(long pos, IOStatistics statistics) {
+    Block block = blockManager.claimBlock(pos, statistics);
+    if (block == null) {
+      throw new IllegalStateException(
+          String.format("This block (for position %s) should have been available.", pos));
+    }
+
+    if (!block.getDataFuture().isDone()) {
+      long waitStart = System.nanoTime();
+      try {
+        block.awaitData();
+      } finally {
+        statistics.recordBlocked(System.nanoTime() - waitStart);
+      }
+    }
+    return block;
+  }
+
   private long contentLength() {
     return metadataStore.get(s3URI).getContentLength();
   }
@@ -72,6 +72,12 @@ public class BlobStore implements Closeable {
    * @return the blob representing the object from the BlobStore
    */
   public Blob get(S3URI s3URI) {
+    // Look the blob up first, which unlike computeIfAbsent does not allocate a capturing lambda
+    Blob blob = blobMap.get(s3URI);
+    if (blob != null) {
+      return blob;
+    }
+
     return blobMap.computeIfAbsent(
         s3URI,
         uri ->
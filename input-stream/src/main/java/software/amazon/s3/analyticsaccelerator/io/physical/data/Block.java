@@ -16,6 +16,7 @@
 package software.amazon.s3.analyticsaccelerator.io.physical.data;
 
 import java.io.Closeable;
+import java.nio.ByteBuffer;
 import java.util.concurrent.CompletableFuture;
 import lombok.Getter;
 import lombok.NonNull;
@@ -28,6 +29,7 @@ import software.amazon.s3.analyticsaccelerator.request.ObjectContent;
 import software.amazon.s3.analyticsaccelerator.request.Range;
 import software.amazon.s3.analyticsaccelerator.request.ReadMode;
 import software.amazon.s3.analyticsaccelerator.request.Referrer;
+import software.amazon.s3.analyticsaccelerator.util.IOStatistics;
 import software.amazon.s3.analyticsaccelerator.util.S3URI;
 import software.amazon.s3.analyticsaccelerator.util.StreamAttributes;
 import software.amazon.s3.analyticsaccelerator.util.StreamUtils;
@@ -42,6 +44,11 @@ public class Block implements Closeable {
   private final S3URI s3URI;
   private final Range range;
   private final Telemetry telemetry;
+  private final ReadMode readMode;
+  private final IOStatistics statistics;
+
+  // Whether any reader asked for the data, which tells apart prefetched blocks that went unused
+  private volatile boolean accessed;
 
   @Getter private final long start;
   @Getter private final long end;
@@ -51,7 +58,7 @@ public class Block implements Closeable {
   private static final String OPERATION_BLOCK_GET_JOIN = "block.get.join";
 
   /**
-   * Constructs a Block. data.
+   * Constructs a Block, attributing the GET request it issues to the given statistics.
    *
    * @param s3URI the S3 URI of the object
    * @param objectClient the object client to use to interact with the object store
@@ -60,6 +67,7 @@ public class Block implements Closeable {
    * @param end end of the block
    * @param generation generation of the block in a sequential read pattern (should be 0 by default)
    * @param readMode read mode describing whether this is a sync or async fetch
+   * @param statistics the statistics of the stream on behalf of which the block is fetched
    */
   public Block(
       @NonNull S3URI s3URI,
@@ -68,7 +76,8 @@ public class Block implements Closeable {
       long start,
       long end,
       long generation,
-      @NonNull ReadMode readMode) {
+      @NonNull ReadMode readMode,
+      @NonNull IOStatistics statistics) {
     Preconditions.checkArgument(
         0 <= generation, "`generation` must be non-negative; was: %s", generation);
     Preconditions.checkArgument(0 <= start, "`start` must be non-negative; was: %s", start);
@@ -82,6 +91,8 @@ public class Block implements Closeable {
     this.telemetry = telemetry;
     this.s3URI = s3URI;
     this.range = new Range(start, end);
+    this.readMode = readMode;
+    this.statistics = statistics;
 
     this.source =
         this.telemetry.measureCritical(
@@ -99,6 +110,7 @@ public class Block implements Closeable {
                     .referrer(new Referrer(range.toHttpString(), readMode))
                     .build()));
     this.data = this.source.thenApply(StreamUtils::toByteArray);
+    this.statistics.recordGet(this.range.getLength(), readMode == ReadMode.ASYNC);
   }
 
   /**
@@ -130,16 +142,106 @@ public class Block implements Closeable {
     Preconditions.checkArgument(off < buf.length, "`off` must be less than size of buffer");
 
     byte[] content = this.getData();
-    int available = content.length - posToOffset(pos);
-    int bytesToCopy = Math.min(len, available);
+    int offset = posToOffset(pos);
+    int bytesToCopy = Math.min(len, content.length - offset);
+    System.arraycopy(content, offset, buf, off, bytesToCopy);
 
-    for (int i = 0; i < bytesToCopy; ++i) {
-      buf[off + i] = content[posToOffset(pos) + i];
-    }
+    return bytesToCopy;
+  }
+
+  /**
+   * Reads data into the provided buffer, starting at its current position, in a single bulk copy.
+   *
+   * @param dst buffer to read data into
+   * @param pos the position to begin reading from
+   * @return the total number of bytes read into the buffer
+   */
+  public int read(@NonNull ByteBuffer dst, long pos) {
+    Preconditions.checkArgument(0 <= pos, "`pos` must not be negative");
+
+    byte[] content = this.getData();
+    int bytesToCopy = Math.min(dst.remaining(), content.length - posToOffset(pos));
+    dst.put(content, posToOffset(pos), bytesToCopy);
 
     return bytesToCopy;
   }
 
+  /**
+   * Returns a read-only view of the data of this block, positioned at the given byte. This method
+   * will block until the data is fully available.
+   *
+   * @param pos the position of a byte of this block
+   * @return a buffer spanning the whole block, positioned at the byte
+   */
+  public ByteBuffer view(long pos) {
+    Preconditions.checkArgument(contains(pos), "`pos` must be within the block");
+
+    ByteBuffer view = ByteBuffer.wrap(this.getData()).asReadOnlyBuffer();
+    view.position(posToOffset(pos));
+    return view;
+  }
+
+  /**
+   * Copies the bytes of this block that fall within a range into the provided buffer, once they
+   * are available. Unlike {@link #read(byte[], int, int, long)}, this never blocks the caller. The
+   * bytes are written at the offset of the buffer matching their position in the range, and the
+   * position of the buffer is left unaltered.
+   *
+   * @param dst buffer to read data into, starting at its current position
+   * @param pos the position of the first byte of the range
+   * @param len the length of the range
+   * @return a future completing with the number of bytes copied
+   */
+  CompletableFuture<Integer> readAsync(@NonNull ByteBuffer dst, long pos, int len) {
+    Preconditions.checkArgument(0 <= pos, "`pos` must not be negative");
+    Preconditions.checkArgument(0 <= len, "`len` must not be negative");
+    Preconditions.checkArgument(len <= dst.remaining(), "`len` must fit in the buffer");
+
+    long first = Math.max(pos, start);
+    long last = Math.min(pos + len - 1, end);
+    if (first > last) {
+      return CompletableFuture.completedFuture(0);
+    }
+
+    markAccessed();
+
+    int dstPosition = dst.position() + (int) (first - pos);
+    return this.data.thenApply(
+        content -> {
+          int bytesToCopy = Math.min((int) (last - first + 1), content.length - posToOffset(first));
+          ByteBuffer target = dst.duplicate();
+          target.position(dstPosition);
+          target.put(content, posToOffset(first), bytesToCopy);
+          return bytesToCopy;
+        });
+  }
+
+  /**
+   * Returns the number of bytes of this block that can be read from the given position without
+   * blocking, which is <code>0</code> while the data is still being fetched.
+   *
+   * @param pos the position of a byte of this block
+   * @return the number of bytes from the position to the end of the block, if already fetched
+   */
+  int available(long pos) {
+    Preconditions.checkArgument(contains(pos), "`pos` must be within the block");
+
+    if (!this.data.isDone() || this.data.isCompletedExceptionally()) {
+      return 0;
+    }
+    return Math.max(0, this.data.join().length - posToOffset(pos));
+  }
+
+  /**
+   * Returns a future that completes once the bytes fetched by the issued {@link GetRequest} are
+   * fully available. Unlike {@link #read(long)}, this never blocks the caller.
+   *
+   * @return a future completing with the block's data
+   */
+  CompletableFuture<byte[]> getDataFuture() {
+    return this.data;
+  }
+
   /**
    * Does this block contain the position?
    *
@@ -169,6 +271,13 @@ public class Block implements Closeable {
    * @return the bytes fetched by the issued {@link GetRequest}.
    */
   private byte[] getData() {
+    markAccessed();
+
+    // Data that is already there is returned without allocating the measured lambda
+    if (this.data.isDone() && !this.data.isCompletedExceptionally()) {
+      return this.data.join();
+    }
+
     return this.telemetry.measureJoinCritical(
         () ->
             Operation.builder()
@@ -180,9 +289,43 @@ public class Block implements Closeable {
         this.data);
   }
 
+  /**
+   * Blocks until the data of this block is fully available, without reading any of it. The wait is
+   * measured the same way as the one of a read.
+   */
+  void awaitData() {
+    getData();
+  }
+
+  /**
+   * Records that a reader asked for the data of this block. Blocks a reader asked for are neither
+   * counted as wasted prefetches nor cancelled along with the prefetch that issued them.
+   */
+  void markAccessed() {
+    // Avoid writing to the volatile field on every read once it is set
+    if (!this.accessed) {
+      this.accessed = true;
+    }
+  }
+
+  /**
+   * Whether a reader asked for the data of this block.
+   *
+   * @return true if a reader asked for the data of this block
+   */
+  boolean isAccessed() {
+    return this.accessed;
+  }
+
   /** Closes the {@link Block} and frees up all resources it holds */
   @Override
   public void close() {
+    if (this.readMode == ReadMode.ASYNC && !this.accessed) {
+      // Count the prefetched bytes as wasted only once, however many times the block is closed
+      this.accessed = true;
+      this.statistics.recordPrefetchWasted(this.range.getLength());
+    }
+
     // Only the source needs to be canceled, the continuation will cancel on its own
     this.source.cancel(false);
   }
@@ -16,9 +16,10 @@
 package software.amazon.s3.analyticsaccelerator.io.physical.data;
 
 import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
-import java.util.OptionalLong;
 import lombok.NonNull;
 import software.amazon.s3.analyticsaccelerator.common.Preconditions;
 import software.amazon.s3.analyticsaccelerator.common.telemetry.Operation;
@@ -29,6 +30,7 @@ import software.amazon.s3.analyticsaccelerator.io.physical.prefetcher.Sequential
 import software.amazon.s3.analyticsaccelerator.request.ObjectClient;
 import software.amazon.s3.analyticsaccelerator.request.Range;
 import software.amazon.s3.analyticsaccelerator.request.ReadMode;
+import software.amazon.s3.analyticsaccelerator.util.IOStatistics;
 import software.amazon.s3.analyticsaccelerator.util.S3URI;
 import software.amazon.s3.analyticsaccelerator.util.StreamAttributes;
 
@@ -85,52 +87,144 @@ public class BlockManager implements Closeable {
   }
 
   /**
-   * Make sure that the byte at a give position is in the BlockStore.
+   * Given the position of a byte, return the block holding it, without allocating.
+   *
+   * @param pos the position of a byte
+   * @return the Block holding the byte or null if the byte is not in the BlockStore
+   */
+  public synchronized Block findBlock(long pos) {
+    return this.blockStore.findBlock(pos);
+  }
+
+  /**
+   * Returns all the blocks holding at least one byte of the given range.
+   *
+   * @param pos start of the range
+   * @param len length of the range
+   * @return the blocks overlapping the range
+   */
+  public synchronized List<Block> getBlocks(long pos, long len) {
+    Preconditions.checkArgument(0 <= pos, "`pos` must not be negative");
+    Preconditions.checkArgument(0 <= len, "`len` must not be negative");
+
+    if (len == 0) {
+      return Collections.emptyList();
+    }
+
+    return this.blockStore.getBlocks(pos, pos + len - 1);
+  }
+
+  /**
+   * Returns the block holding the byte at the given position, and marks it as asked for by a
+   * reader so that cancelling the prefetch that issued it does not take it away. If the block is
+   * no longer in the BlockStore, because such a prefetch was cancelled after the read made the
+   * byte available, it is fetched again.
+   *
+   * @param pos the position of a byte
+   * @param statistics the statistics of the stream reading the byte
+   * @return the Block holding the byte or null if the byte is past the end of the object
+   */
+  synchronized Block claimBlock(long pos, @NonNull IOStatistics statistics) {
+    Block block = this.blockStore.findBlock(pos);
+    if (block == null && pos <= getLastObjectByte()) {
+      makeRangeAvailable(pos, 1, ReadMode.SYNC, statistics);
+      block = this.blockStore.findBlock(pos);
+    }
+
+    if (block != null) {
+      block.markAccessed();
+    }
+    return block;
+  }
+
+  /**
+   * Makes the given range available, and returns the blocks holding it marked as asked for by a
+   * reader, so that cancelling the prefetch that issued them does not take them away.
+   *
+   * @param pos start of the range
+   * @param len length of the range
+   * @param statistics the statistics of the stream reading the range
+   * @return the blocks overlapping the range
+   */
+  synchronized List<Block> claimBlocks(long pos, long len, @NonNull IOStatistics statistics) {
+    makeRangeAvailable(pos, len, ReadMode.SYNC, statistics);
+
+    List<Block> blocks = getBlocks(pos, len);
+    blocks.forEach(Block::markAccessed);
+    return blocks;
+  }
+
+  /**
+   * Cancels the given blocks if they are still fetching data and no reader asked for them, and
+   * removes them from the BlockStore so that later reads of their ranges go back to the object
+   * store. Blocks that already hold their data, or that a reader is waiting for, are left
+   * untouched since they may be shared with other streams of the object.
+   *
+   * @param blocks the blocks to cancel
+   */
+  public synchronized void cancelPendingBlocks(List<Block> blocks) {
+    for (Block block : blocks) {
+      if (!block.getDataFuture().isDone() && !block.isAccessed()) {
+        this.blockStore.remove(block);
+      }
+    }
+  }
+
+  /**
+   * Make sure that the byte at a give position is in the BlockStore, recording into the given
+   * statistics whether a sync read found it there and the GET request issued otherwise.
    *
    * @param pos the position of the byte
    * @param readMode whether this ask corresponds to a sync or async read
+   * @param statistics the statistics of the stream asking for the byte
    */
-  public synchronized void makePositionAvailable(long pos, ReadMode readMode) {
+  public synchronized void makePositionAvailable(
+      long pos, ReadMode readMode, @NonNull IOStatistics statistics) {
     Preconditions.checkArgument(0 <= pos, "`pos` must not be negative");
 
     // Position is already available --> return corresponding block
-    if (getBlock(pos).isPresent()) {
+    if (this.blockStore.findBlock(pos) != null) {
+      if (readMode == ReadMode.SYNC) {
+        statistics.recordCacheHit();
+      }
       return;
     }
 
-    makeRangeAvailable(pos, 1, readMode);
+    makeRangeAvailable(pos, 1, readMode, statistics);
   }
 
   private boolean isRangeAvailable(long pos, long len) {
     Preconditions.checkArgument(0 <= pos, "`pos` must not be negative");
     Preconditions.checkArgument(0 <= len, "`len` must not be negative");
 
-    long lastByteOfRange = pos + len - 1;
-
-    OptionalLong nextMissingByte = blockStore.findNextMissingByte(pos);
-    if (nextMissingByte.isPresent()) {
-      return lastByteOfRange < nextMissingByte.getAsLong();
-    }
-
-    // If there is no missing byte after pos, then the whole object is already fetched
-    return true;
+    return blockStore.isRangeAvailable(pos, pos + len - 1);
   }
 
   /**
-   * Method that ensures that a range is fully available in the object store. After calling this
-   * method the BlockStore should contain all bytes in the range and we should be able to service a
-   * read through the BlockStore.
+   * Method that ensures that a range is fully available in the object store, recording into the
+   * given statistics whether a sync read found the range there and the GET requests issued
+   * otherwise.
    *
    * @param pos start of a read
    * @param len length of the read
    * @param readMode whether this ask corresponds to a sync or async read
+   * @param statistics the statistics of the stream asking for the range
+   * @return the blocks that were created to cover the missing parts of the range
    */
-  public synchronized void makeRangeAvailable(long pos, long len, ReadMode readMode) {
+  public synchronized List<Block> makeRangeAvailable(
+      long pos, long len, ReadMode readMode, @NonNull IOStatistics statistics) {
     Preconditions.checkArgument(0 <= pos, "`pos` must not be negative");
     Preconditions.checkArgument(0 <= len, "`len` must not be negative");
 
     if (isRangeAvailable(pos, len)) {
-      return;
+      if (readMode == ReadMode.SYNC) {
+        statistics.recordCacheHit();
+      }
+      return Collections.emptyList();
+    }
+
+    if (readMode == ReadMode.SYNC) {
+      statistics.recordCacheMiss();
     }
 
     // In case of a sequential reading pattern, calculate the generation and adjust the requested
@@ -151,7 +245,7 @@ public class BlockManager implements Closeable {
 
     // Fix "effectiveEnd", so we can pass it into the lambda
     final long effectiveEndFinal = effectiveEnd;
-    this.telemetry.measureStandard(
+    return this.telemetry.measureStandard(
         () ->
             Operation.builder()
                 .name(OPERATION_MAKE_RANGE_AVAILABLE)
@@ -165,6 +259,7 @@ public class BlockManager implements Closeable {
           List<Range> missingRanges =
               ioPlanner.planRead(pos, effectiveEndFinal, getLastObjectByte());
           List<Range> splits = rangeOptimiser.splitRanges(missingRanges);
+          List<Block> createdBlocks = new ArrayList<>(splits.size());
           splits.forEach(
               r -> {
                 Block block =
@@ -175,9 +270,12 @@ public class BlockManager implements Closeable {
                         r.getStart(),
                         r.getEnd(),
                         generation,
-                        readMode);
+                        readMode,
+                        statistics);
                 blockStore.add(block);
+                createdBlocks.add(block);
               });
+          return createdBlocks;
         });
   }
 
@@ -16,7 +16,7 @@
 package software.amazon.s3.analyticsaccelerator.io.physical.data;
 
 import java.io.Closeable;
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.OptionalLong;
@@ -46,7 +46,7 @@ public class BlockStore implements Closeable {
 
     this.s3URI = s3URI;
     this.metadataStore = metadataStore;
-    this.blocks = new LinkedList<>();
+    this.blocks = new ArrayList<>();
   }
 
   /**
@@ -57,9 +57,49 @@ public class BlockStore implements Closeable {
    *     in the BlockStore
    */
   public Optional<Block> getBlock(long pos) {
+    return Optional.ofNullable(findBlock(pos));
+  }
+
+  /**
+   * Given a position, return the Block holding the byte at that position. Unlike {@link
+   * #getBlock(long)}, this does not allocate, and is meant for the read path.
+   *
+   * @param pos the position of the byte
+   * @return the Block containing the byte from the BlockStore or null if the byte is not present in
+   *     the BlockStore
+   */
+  public Block findBlock(long pos) {
     Preconditions.checkArgument(0 <= pos, "`pos` must not be negative");
 
-    return blocks.stream().filter(b -> b.contains(pos)).findFirst();
+    for (int i = 0; i < blocks.size(); i++) {
+      Block block = blocks.get(i);
+      if (block.contains(pos)) {
+        return block;
+      }
+    }
+
+    return null;
+  }
+
+  /**
+   * Returns all the Blocks that hold at least one byte of the given range.
+   *
+   * @param start the first byte of the range
+   * @param end the last byte of the range
+   * @return the Blocks overlapping the range, in the order they were added to the BlockStore
+   */
+  public List<Block> getBlocks(long start, long end) {
+    Preconditions.checkArgument(0 <= start, "`start` must not be negative");
+    Preconditions.checkArgument(start <= end, "`start` must not be bigger than `end`");
+
+    List<Block> overlappingBlocks = new ArrayList<>();
+    for (Block block : blocks) {
+      if (block.getStart() <= end && start <= block.getEnd()) {
+        overlappingBlocks.add(block);
+      }
+    }
+
+    return overlappingBlocks;
   }
 
   /**
@@ -73,11 +113,21 @@ public class BlockStore implements Closeable {
   public OptionalLong findNextLoadedByte(long pos) {
     Preconditions.checkArgument(0 <= pos, "`pos` must not be negative");
 
-    if (getBlock(pos).isPresent()) {
+    if (findBlock(pos) != null) {
       return OptionalLong.of(pos);
     }
 
-    return blocks.stream().mapToLong(Block::getStart).filter(startPos -> pos < startPos).min();
+    long nextLoadedByte = Long.MAX_VALUE;
+    for (int i = 0; i < blocks.size(); i++) {
+      long startPos = blocks.get(i).getStart();
+      if (pos < startPos && startPos < nextLoadedByte) {
+        nextLoadedByte = startPos;
+      }
+    }
+
+    return nextLoadedByte == Long.MAX_VALUE
+        ? OptionalLong.empty()
+        : OptionalLong.of(nextLoadedByte);
   }
 
   /**
@@ -91,17 +141,39 @@ public class BlockStore implements Closeable {
   public OptionalLong findNextMissingByte(long pos) {
     Preconditions.checkArgument(0 <= pos, "`pos` must not be negative");
 
-    long nextMissingByte = pos;
-
-    while (getBlock(nextMissingByte).isPresent()) {
-      nextMissingByte = getBlock(nextMissingByte).get().getEnd() + 1;
-    }
+    long nextMissingByte = nextMissingByte(pos);
 
     return nextMissingByte <= getLastObjectByte()
         ? OptionalLong.of(nextMissingByte)
         : OptionalLong.empty();
   }
 
+  /**
+   * Checks whether all the bytes of a range are present in the BlockStore, without allocating.
+   *
+   * @param start the first byte of the range
+   * @param end the last byte of the range
+   * @return true if every byte of the range, up to the end of the object, is present
+   */
+  public boolean isRangeAvailable(long start, long end) {
+    Preconditions.checkArgument(0 <= start, "`start` must not be negative");
+
+    long nextMissingByte = nextMissingByte(start);
+    return end < nextMissingByte || getLastObjectByte() < nextMissingByte;
+  }
+
+  private long nextMissingByte(long pos) {
+    long nextMissingByte = pos;
+
+    Block block = findBlock(nextMissingByte);
+    while (block != null) {
+      nextMissingByte = block.getEnd() + 1;
+      block = findBlock(nextMissingByte);
+    }
+
+    return nextMissingByte;
+  }
+
   /**
    * Add a Block to the BlockStore.
    *
@@ -113,6 +185,20 @@ public class BlockStore implements Closeable {
     this.blocks.add(block);
   }
 
+  /**
+   * Removes a Block from the BlockStore and closes it. Subsequent reads of the bytes it held will
+   * have to fetch them again.
+   *
+   * @param block the block to remove from the BlockStore
+   */
+  public void remove(Block block) {
+    Preconditions.checkNotNull(block, "`block` must not be null");
+
+    if (this.blocks.remove(block)) {
+      safeClose(block);
+    }
+  }
+
   private long getLastObjectByte() {
     return this.metadataStore.get(s3URI).getContentLength() - 1;
   }
@@ -79,6 +79,12 @@ public class MetadataStore implements Closeable {
    * @return returns the {@link ObjectMetadata}.
    */
   public ObjectMetadata get(S3URI s3URI) {
+    // Metadata that is already cached is returned without allocating anything
+    CompletableFuture<ObjectMetadata> cached = this.cache.get(s3URI);
+    if (cached != null && cached.isDone() && !cached.isCompletedExceptionally()) {
+      return cached.join();
+    }
+
     return telemetry.measureJoinCritical(
         () ->
             Operation.builder()
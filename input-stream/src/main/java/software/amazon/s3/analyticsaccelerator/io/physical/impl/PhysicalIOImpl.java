@@ -16,16 +16,20 @@
 package software.amazon.s3.analyticsaccelerator.io.physical.impl;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
 import lombok.NonNull;
 import software.amazon.s3.analyticsaccelerator.common.Preconditions;
 import software.amazon.s3.analyticsaccelerator.common.telemetry.Operation;
 import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.TelemetryLevel;
 import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
 import software.amazon.s3.analyticsaccelerator.io.physical.data.BlobStore;
 import software.amazon.s3.analyticsaccelerator.io.physical.data.MetadataStore;
 import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlan;
 import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanExecution;
 import software.amazon.s3.analyticsaccelerator.request.ObjectMetadata;
+import software.amazon.s3.analyticsaccelerator.util.IOStatistics;
 import software.amazon.s3.analyticsaccelerator.util.S3URI;
 import software.amazon.s3.analyticsaccelerator.util.StreamAttributes;
 
@@ -35,6 +39,7 @@ public class PhysicalIOImpl implements PhysicalIO {
   private final MetadataStore metadataStore;
   private final BlobStore blobStore;
   private final Telemetry telemetry;
+  private final IOStatistics statistics;
 
   private final long physicalIOBirth = System.nanoTime();
 
@@ -42,9 +47,10 @@ public class PhysicalIOImpl implements PhysicalIO {
   private static final String OPERATION_EXECUTE = "physical.io.execute";
   private static final String FLAVOR_TAIL = "tail";
   private static final String FLAVOR_BYTE = "byte";
+  private static final String FLAVOR_ASYNC = "async";
 
   /**
-   * Construct a new instance of PhysicalIOV2.
+   * Construct a new instance of PhysicalIOV2, whose I/O is not attributed to any stream.
    *
    * @param s3URI the S3 URI of the object
    * @param metadataStore a metadata cache
@@ -56,10 +62,29 @@ public class PhysicalIOImpl implements PhysicalIO {
       @NonNull MetadataStore metadataStore,
       @NonNull BlobStore blobStore,
       @NonNull Telemetry telemetry) {
+    this(s3URI, metadataStore, blobStore, telemetry, IOStatistics.NONE);
+  }
+
+  /**
+   * Construct a new instance of PhysicalIOV2 recording its I/O into the given statistics.
+   *
+   * @param s3URI the S3 URI of the object
+   * @param metadataStore a metadata cache
+   * @param blobStore a data cache
+   * @param telemetry The {@link Telemetry} to use to report measurements.
+   * @param statistics the statistics of the stream this PhysicalIO belongs to
+   */
+  public PhysicalIOImpl(
+      @NonNull S3URI s3URI,
+      @NonNull MetadataStore metadataStore,
+      @NonNull BlobStore blobStore,
+      @NonNull Telemetry telemetry,
+      @NonNull IOStatistics statistics) {
     this.s3URI = s3URI;
     this.metadataStore = metadataStore;
     this.blobStore = blobStore;
     this.telemetry = telemetry;
+    this.statistics = statistics;
   }
 
   /**
@@ -83,6 +108,7 @@ public class PhysicalIOImpl implements PhysicalIO {
     Preconditions.checkArgument(0 <= pos, "`pos` must not be negative");
     Preconditions.checkArgument(pos < contentLength(), "`pos` must be less than content length");
 
+    statistics.recordRead(1);
     return this.telemetry.measureVerbose(
         () ->
             Operation.builder()
@@ -94,7 +120,7 @@ public class PhysicalIOImpl implements PhysicalIO {
                     StreamAttributes.physicalIORelativeTimestamp(
                         System.nanoTime() - physicalIOBirth))
                 .build(),
-        () -> blobStore.get(s3URI).read(pos));
+        () -> blobStore.get(s3URI).read(pos, statistics));
   }
 
   /**
@@ -114,6 +140,13 @@ public class PhysicalIOImpl implements PhysicalIO {
     Preconditions.checkArgument(0 <= len, "`len` must not be negative");
     Preconditions.checkArgument(off < buf.length, "`off` must be less than size of buffer");
 
+    statistics.recordRead(len);
+
+    // Skip building the measured lambdas, which allocate on every read, if nothing is recorded
+    if (!this.telemetry.isEnabled(TelemetryLevel.VERBOSE)) {
+      return blobStore.get(s3URI).read(buf, off, len, pos, statistics);
+    }
+
     return this.telemetry.measureVerbose(
         () ->
             Operation.builder()
@@ -124,7 +157,33 @@ public class PhysicalIOImpl implements PhysicalIO {
                     StreamAttributes.physicalIORelativeTimestamp(
                         System.nanoTime() - physicalIOBirth))
                 .build(),
-        () -> blobStore.get(s3URI).read(buf, off, len, pos));
+        () -> blobStore.get(s3URI).read(buf, off, len, pos, statistics));
+  }
+
+  /**
+   * Reads request data into the provided buffer, starting at its current position
+   *
+   * @param dst buffer to read data into
+   * @param pos the position to begin reading from
+   * @return the total number of bytes read into the buffer
+   */
+  @Override
+  public int read(@NonNull ByteBuffer dst, long pos) throws IOException {
+    Preconditions.checkArgument(0 <= pos, "`pos` must not be negative");
+    Preconditions.checkArgument(pos < contentLength(), "`pos` must be less than content length");
+
+    statistics.recordRead(dst.remaining());
+    return this.telemetry.measureVerbose(
+        () ->
+            Operation.builder()
+                .name(OPERATION_READ)
+                .attribute(StreamAttributes.uri(this.s3URI))
+                .attribute(StreamAttributes.range(pos, pos + Math.max(0, dst.remaining() - 1)))
+                .attribute(
+                    StreamAttributes.physicalIORelativeTimestamp(
+                        System.nanoTime() - physicalIOBirth))
+                .build(),
+        () -> blobStore.get(s3URI).read(dst, pos, statistics));
   }
 
   /**
@@ -140,6 +199,7 @@ public class PhysicalIOImpl implements PhysicalIO {
   public int readTail(byte[] buf, int off, int len) throws IOException {
     Preconditions.checkArgument(0 <= len, "`len` must not be negative");
     long contentLength = contentLength();
+    statistics.recordRead(len);
     return telemetry.measureVerbose(
         () ->
             Operation.builder()
@@ -151,7 +211,65 @@ public class PhysicalIOImpl implements PhysicalIO {
                     StreamAttributes.physicalIORelativeTimestamp(
                         System.nanoTime() - physicalIOBirth))
                 .build(),
-        () -> blobStore.get(s3URI).read(buf, off, len, contentLength - len));
+        () -> blobStore.get(s3URI).read(buf, off, len, contentLength - len, statistics));
+  }
+
+  /**
+   * Reads data into the provided buffer without blocking the caller.
+   *
+   * @param position the position to begin reading from
+   * @param dst buffer to read data into, at most its remaining bytes are read
+   * @return a future completing with the number of bytes read, or -1 if the position is at or past
+   *     the end of the object
+   */
+  @Override
+  public CompletableFuture<Integer> readAsync(long position, @NonNull ByteBuffer dst) {
+    Preconditions.checkArgument(0 <= position, "`position` must not be negative");
+
+    statistics.recordRead(dst.remaining());
+    return telemetry.measureVerbose(
+        () ->
+            Operation.builder()
+                .name(OPERATION_READ)
+                .attribute(StreamAttributes.variant(FLAVOR_ASYNC))
+                .attribute(StreamAttributes.uri(this.s3URI))
+                .attribute(
+                    StreamAttributes.range(position, position + Math.max(0, dst.remaining() - 1)))
+                .attribute(
+                    StreamAttributes.physicalIORelativeTimestamp(
+                        System.nanoTime() - physicalIOBirth))
+                .build(),
+        blobStore.get(s3URI).readAsync(position, dst, statistics));
+  }
+
+  /**
+   * Returns a read-only view of the block holding the byte at the given position
+   *
+   * @param position the position of the byte
+   * @return a buffer spanning the whole block, positioned at the byte
+   */
+  @Override
+  public ByteBuffer blockView(long position) throws IOException {
+    Preconditions.checkArgument(0 <= position, "`position` must not be negative");
+    Preconditions.checkArgument(
+        position < contentLength(), "`position` must be less than content length");
+
+    return blobStore.get(s3URI).blockView(position, statistics);
+  }
+
+  /**
+   * Returns the number of fetched bytes of the block holding the given position
+   *
+   * @param position the position of the byte
+   * @return the number of bytes from the position to the end of its block, 0 if not fetched
+   */
+  @Override
+  public int available(long position) {
+    if (position < 0 || position >= contentLength()) {
+      return 0;
+    }
+
+    return blobStore.get(s3URI).available(position);
   }
 
   /**
@@ -172,7 +290,7 @@ public class PhysicalIOImpl implements PhysicalIO {
                     StreamAttributes.physicalIORelativeTimestamp(
                         System.nanoTime() - physicalIOBirth))
                 .build(),
-        () -> blobStore.get(s3URI).execute(ioPlan));
+        () -> blobStore.get(s3URI).execute(ioPlan, statistics));
   }
 
   private long contentLength() {
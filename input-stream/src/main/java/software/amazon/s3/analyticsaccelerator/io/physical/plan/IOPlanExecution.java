@@ -15,9 +15,12 @@
  */
 package software.amazon.s3.analyticsaccelerator.io.physical.plan;
 
+import java.util.concurrent.CompletableFuture;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NonNull;
+import lombok.ToString;
 
 /**
  * Object representing the state of an IO Plan execution. Effectively, this will be a handle on an
@@ -29,4 +32,15 @@ public class IOPlanExecution {
 
   /** State of the IO Plan execution */
   @NonNull private final IOPlanState state;
+
+  /**
+   * Completes once all the data requested by the IO Plan is available. Cancelling it cancels the
+   * fetches the IO Plan issued that are still in flight. Plans that were not submitted complete
+   * immediately.
+   */
+  @Builder.Default
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  @NonNull
+  private final CompletableFuture<Void> completion = CompletableFuture.completedFuture(null);
 }
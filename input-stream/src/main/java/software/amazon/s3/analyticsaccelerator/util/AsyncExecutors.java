@@ -0,0 +1,138 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.util;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.s3.analyticsaccelerator.common.Preconditions;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+
+/**
+ * Creates the executor running the asynchronous work of the library, such as reading and parsing
+ * footers and prefetching columns, as selected by {@link ExecutorMode}.
+ *
+ * <p>This work blocks while waiting for data from S3. Run on the common ForkJoinPool, it competes
+ * with the application for the few threads of that pool, and can starve it under a high number of
+ * streams. A dedicated bounded pool isolates it, while virtual threads make blocking cheap as they
+ * are unmounted from their carrier thread while waiting.
+ */
+public final class AsyncExecutors {
+  private static final String THREAD_NAME_PREFIX = "s3-analytics-accelerator-async-";
+  private static final long KEEP_ALIVE_SECONDS = 60;
+
+  private static final Logger LOG = LoggerFactory.getLogger(AsyncExecutors.class);
+
+  /** Prevent direct instantiation, this is meant to be a facade. */
+  private AsyncExecutors() {}
+
+  /**
+   * Creates the executor selected by the configuration. The executor is owned by the caller, who
+   * is responsible for shutting it down, shutting down the common pool having no effect.
+   *
+   * @param configuration LogicalIO configuration holding the executor mode and the pool size
+   * @return the executor
+   */
+  public static ExecutorService create(@NonNull LogicalIOConfiguration configuration) {
+    switch (configuration.getAsyncExecutorMode()) {
+      case COMMON_POOL:
+        return ForkJoinPool.commonPool();
+
+      case VIRTUAL:
+        ExecutorService virtualThreadExecutor = createVirtualThreadExecutor();
+        if (virtualThreadExecutor != null) {
+          return virtualThreadExecutor;
+        }
+        LOG.warn("Virtual threads require JDK 21 or later, using a bounded pool instead.");
+        return createBoundedExecutor(configuration.getAsyncExecutorThreads());
+
+      default:
+        return createBoundedExecutor(configuration.getAsyncExecutorThreads());
+    }
+  }
+
+  /**
+   * Returns the executor of the streams built without one, a bounded pool of the default size owned
+   * by the library. It is created on first use and shared by all these streams. Its threads stop
+   * once idle, so it never needs shutting down.
+   *
+   * @return the shared executor
+   */
+  public static Executor shared() {
+    return SharedExecutorHolder.EXECUTOR;
+  }
+
+  /** Holds the shared executor, so that it is only created when first used. */
+  private static final class SharedExecutorHolder {
+    private static final Executor EXECUTOR =
+        createBoundedExecutor(LogicalIOConfiguration.DEFAULT.getAsyncExecutorThreads());
+  }
+
+  /**
+   * Creates a pool of daemon threads, of which there are at most the given number. Threads are
+   * started on demand, and stopped once idle for a minute.
+   *
+   * @param threads the maximum number of threads
+   * @return the executor
+   */
+  static ExecutorService createBoundedExecutor(int threads) {
+    Preconditions.checkArgument(threads > 0, "`threads` must be positive");
+
+    AtomicInteger threadCount = new AtomicInteger();
+    ThreadFactory threadFactory =
+        runnable -> {
+          Thread thread = new Thread(runnable, THREAD_NAME_PREFIX + threadCount.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        };
+    ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            KEEP_ALIVE_SECONDS,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            threadFactory);
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  /**
+   * Creates an executor starting a virtual thread per task. The library is built for Java 8, so
+   * the executor is looked up at runtime.
+   *
+   * @return the executor, or null if the JVM does not support virtual threads
+   */
+  static ExecutorService createVirtualThreadExecutor() {
+    try {
+      Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+      return (ExecutorService) method.invoke(null);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      LOG.debug("Unable to create a virtual thread executor.", e);
+      return null;
+    }
+  }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/** Class defining the executors running the asynchronous work of the library. */
+public enum ExecutorMode {
+  /** The common ForkJoinPool, shared with the rest of the application. */
+  COMMON_POOL("common_pool"),
+  /** A dedicated pool with a bounded number of threads. */
+  BOUNDED("bounded"),
+  /** A new virtual thread per task, on JDK 21 and later. */
+  VIRTUAL("virtual");
+
+  private final String name;
+
+  private static final Logger LOG = LoggerFactory.getLogger(ExecutorMode.class);
+
+  ExecutorMode(String name) {
+    this.name = name;
+  }
+
+  /**
+   * Converts user supplied configuration to enum. Defaults to BOUNDED if user input is not
+   * recognised.
+   *
+   * @param executorMode user supplied executor mode
+   * @return ExecutorMode enum to use
+   */
+  public static ExecutorMode fromString(String executorMode) {
+    for (ExecutorMode value : values()) {
+      if (value.name.equalsIgnoreCase(executorMode)) {
+        return value;
+      }
+    }
+    LOG.warn("Unknown executor mode {}, using default bounded mode.", executorMode);
+
+    return BOUNDED;
+  }
+}
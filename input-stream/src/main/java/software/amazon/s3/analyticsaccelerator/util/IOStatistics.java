@@ -0,0 +1,208 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.util;
+
+import java.util.concurrent.atomic.LongAdder;
+import lombok.NonNull;
+
+/**
+ * Counters describing the I/O done on behalf of a stream, such as the GET requests it issued, the
+ * bytes it read and fetched, and the time it spent blocked waiting for data. The counters are
+ * cheap to update from many threads at once, and are read through {@link #snapshot()}.
+ *
+ * <p>Statistics can have a parent, into which every update is also counted. This is how the
+ * statistics of all the streams of a factory are aggregated. Since blocks are shared between the
+ * streams of an object, a GET request is attributed to the stream whose read created the block,
+ * and its prefetched bytes are only known to be wasted once the block is released, which may
+ * happen after that stream has been closed.
+ *
+ * <p>Only reads made by the reader are counted as reads. The reads the library makes on its own
+ * behalf, such as the footer reads of prefetching tasks, go through {@link #internal()} statistics,
+ * which only count the GET requests those reads issue.
+ */
+public final class IOStatistics {
+  /** Statistics of the I/O that is not attributed to any stream, which discard every update. */
+  public static final IOStatistics NONE = new IOStatistics(null, false, false);
+
+  private final IOStatistics parent;
+  private final boolean countsReads;
+  private final boolean countsFetches;
+  private final LongAdder readOperations = new LongAdder();
+  private final LongAdder bytesRequested = new LongAdder();
+  private final LongAdder getRequests = new LongAdder();
+  private final LongAdder bytesFetched = new LongAdder();
+  private final LongAdder cacheHits = new LongAdder();
+  private final LongAdder cacheMisses = new LongAdder();
+  private final LongAdder prefetchedBytes = new LongAdder();
+  private final LongAdder prefetchedBytesWasted = new LongAdder();
+  private final LongAdder blockedNanos = new LongAdder();
+
+  /** Creates statistics without a parent. */
+  public IOStatistics() {
+    this(null, true, true);
+  }
+
+  /**
+   * Creates statistics whose updates are also counted into the given parent.
+   *
+   * @param parent the statistics aggregating these
+   */
+  public IOStatistics(@NonNull IOStatistics parent) {
+    this(parent, true, true);
+  }
+
+  /**
+   * Creates statistics
+   *
+   * @param parent the statistics aggregating these, if any
+   * @param countsReads whether the reads, and their hits, misses and waits, are counted
+   * @param countsFetches whether the GET requests, and their prefetched and wasted bytes, are
+   *     counted
+   */
+  private IOStatistics(IOStatistics parent, boolean countsReads, boolean countsFetches) {
+    this.parent = parent;
+    this.countsReads = countsReads;
+    this.countsFetches = countsFetches;
+  }
+
+  /**
+   * Returns statistics for the reads the library makes on behalf of the owner of these, rather
+   * than its reader. The GET requests issued by those reads are counted into these statistics,
+   * while the reads themselves, their cache hits and misses and their waits are discarded.
+   *
+   * @return statistics counting only the GET requests into these
+   */
+  public IOStatistics internal() {
+    return countsFetches ? new IOStatistics(this, false, true) : NONE;
+  }
+
+  /**
+   * Records a read served to the reader.
+   *
+   * @param bytes the number of bytes asked for by the read
+   */
+  public void recordRead(long bytes) {
+    if (!countsReads) {
+      return;
+    }
+    for (IOStatistics statistics = this; statistics != null; statistics = statistics.parent) {
+      statistics.readOperations.increment();
+      statistics.bytesRequested.add(bytes);
+    }
+  }
+
+  /**
+   * Records bytes asked for by the reader that are not part of a separately recorded read, such as
+   * single bytes served from a block the stream already holds.
+   *
+   * @param bytes the number of bytes asked for
+   */
+  public void recordBytesRequested(long bytes) {
+    if (!countsReads) {
+      return;
+    }
+    for (IOStatistics statistics = this; statistics != null; statistics = statistics.parent) {
+      statistics.bytesRequested.add(bytes);
+    }
+  }
+
+  /**
+   * Records a GET request issued to the object store.
+   *
+   * @param bytes the number of bytes requested
+   * @param prefetch whether the bytes are fetched ahead of the reader
+   */
+  public void recordGet(long bytes, boolean prefetch) {
+    if (!countsFetches) {
+      return;
+    }
+    for (IOStatistics statistics = this; statistics != null; statistics = statistics.parent) {
+      statistics.getRequests.increment();
+      statistics.bytesFetched.add(bytes);
+      if (prefetch) {
+        statistics.prefetchedBytes.add(bytes);
+      }
+    }
+  }
+
+  /** Records a read fully served from blocks that were already fetched or in flight. */
+  public void recordCacheHit() {
+    if (!countsReads) {
+      return;
+    }
+    for (IOStatistics statistics = this; statistics != null; statistics = statistics.parent) {
+      statistics.cacheHits.increment();
+    }
+  }
+
+  /** Records a read that had to issue at least one GET request. */
+  public void recordCacheMiss() {
+    if (!countsReads) {
+      return;
+    }
+    for (IOStatistics statistics = this; statistics != null; statistics = statistics.parent) {
+      statistics.cacheMisses.increment();
+    }
+  }
+
+  /**
+   * Records prefetched bytes that were released without ever having been read.
+   *
+   * @param bytes the number of wasted bytes
+   */
+  public void recordPrefetchWasted(long bytes) {
+    if (!countsFetches) {
+      return;
+    }
+    for (IOStatistics statistics = this; statistics != null; statistics = statistics.parent) {
+      statistics.prefetchedBytesWasted.add(bytes);
+    }
+  }
+
+  /**
+   * Records time spent by a read waiting for data to arrive from the object store.
+   *
+   * @param nanos the time spent waiting, in nanoseconds
+   */
+  public void recordBlocked(long nanos) {
+    if (!countsReads) {
+      return;
+    }
+    for (IOStatistics statistics = this; statistics != null; statistics = statistics.parent) {
+      statistics.blockedNanos.add(nanos);
+    }
+  }
+
+  /**
+   * Takes a snapshot of the counters. The counters are read one after the other, so updates made
+   * concurrently may only be partially reflected.
+   *
+   * @return the current values of the counters
+   */
+  public IOStatisticsSnapshot snapshot() {
+    return IOStatisticsSnapshot.builder()
+        .readOperations(readOperations.sum())
+        .bytesRequested(bytesRequested.sum())
+        .getRequests(getRequests.sum())
+        .bytesFetched(bytesFetched.sum())
+        .cacheHits(cacheHits.sum())
+        .cacheMisses(cacheMisses.sum())
+        .prefetchedBytes(prefetchedBytes.sum())
+        .prefetchedBytesWasted(prefetchedBytesWasted.sum())
+        .blockedNanos(blockedNanos.sum())
+        .build();
+  }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.util;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Point in time copy of {@link IOStatistics}, describing the I/O done on behalf of a stream or of
+ * all the streams of a factory.
+ */
+@Value
+@Builder
+public class IOStatisticsSnapshot {
+  /**
+   * Number of reads served from the blocks of the object, each of which may span several blocks.
+   * Single bytes served by a stream from the block it already holds are not counted as reads.
+   */
+  long readOperations;
+
+  /** Number of bytes asked for by the reader. */
+  long bytesRequested;
+
+  /** Number of GET requests issued to the object store. */
+  long getRequests;
+
+  /** Number of bytes requested from the object store by the issued GET requests. */
+  long bytesFetched;
+
+  /** Number of reads fully served from blocks that were already fetched or in flight. */
+  long cacheHits;
+
+  /** Number of reads that had to issue at least one GET request. */
+  long cacheMisses;
+
+  /** Number of bytes fetched by prefetching, before any read asked for them. */
+  long prefetchedBytes;
+
+  /** Number of prefetched bytes released without ever having been read. */
+  long prefetchedBytesWasted;
+
+  /** Time spent by reads waiting for data to arrive from the object store, in nanoseconds. */
+  long blockedNanos;
+}
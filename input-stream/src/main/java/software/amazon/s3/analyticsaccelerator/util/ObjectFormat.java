@@ -18,5 +18,6 @@ package software.amazon.s3.analyticsaccelerator.util;
 /** Enum for file formats. */
 public enum ObjectFormat {
   PARQUET,
+  ORC,
   DEFAULT
 }
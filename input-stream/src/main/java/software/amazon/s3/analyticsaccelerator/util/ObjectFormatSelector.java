@@ -15,13 +15,21 @@
  */
 package software.amazon.s3.analyticsaccelerator.util;
 
+import static software.amazon.s3.analyticsaccelerator.util.Constants.ORC_MAGIC_STR;
+import static software.amazon.s3.analyticsaccelerator.util.Constants.PARQUET_MAGIC_STR;
+import static software.amazon.s3.analyticsaccelerator.util.Constants.PARQUET_MAGIC_STR_LENGTH;
+
+import java.nio.charset.StandardCharsets;
 import java.util.regex.Pattern;
 import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
 
 /** A LogicalIO factory based on S3URI file extensions. */
 public class ObjectFormatSelector {
+  /** Number of bytes at the end of an object needed to detect its format from its content. */
+  public static final int FORMAT_DETECTION_TAIL_LENGTH = PARQUET_MAGIC_STR_LENGTH;
 
   private final Pattern parquetPattern;
+  private final Pattern orcPattern;
 
   /**
    * Creates a new instance of {@ObjectFormatSelector}. Used to select the file format of a
@@ -32,6 +40,8 @@ public class ObjectFormatSelector {
   public ObjectFormatSelector(LogicalIOConfiguration configuration) {
     this.parquetPattern =
         Pattern.compile(configuration.getParquetFormatSelectorRegex(), Pattern.CASE_INSENSITIVE);
+    this.orcPattern =
+        Pattern.compile(configuration.getOrcFormatSelectorRegex(), Pattern.CASE_INSENSITIVE);
   }
 
   /**
@@ -45,6 +55,45 @@ public class ObjectFormatSelector {
       return ObjectFormat.PARQUET;
     }
 
+    if (orcPattern.matcher(s3URI.getKey()).find()) {
+      return ObjectFormat.ORC;
+    }
+
+    return ObjectFormat.DEFAULT;
+  }
+
+  /**
+   * Selects the file format based on the content of the object, for keys whose name does not tell
+   * it. Parquet files end with the "PAR1" magic. ORC files end with their postscript, whose last
+   * field is the "ORC" magic, followed by a single byte holding the length of the postscript. That
+   * length must be non-zero and smaller than the object for the tail to be taken as ORC.
+   *
+   * @param tail the last {@link #FORMAT_DETECTION_TAIL_LENGTH} bytes of the object
+   * @param contentLength the length of the object
+   * @return the file format of the object, DEFAULT if no known magic was found
+   */
+  public ObjectFormat getObjectFormat(byte[] tail, long contentLength) {
+    if (tail.length < FORMAT_DETECTION_TAIL_LENGTH) {
+      return ObjectFormat.DEFAULT;
+    }
+
+    String magic =
+        new String(
+            tail,
+            tail.length - FORMAT_DETECTION_TAIL_LENGTH,
+            FORMAT_DETECTION_TAIL_LENGTH,
+            StandardCharsets.US_ASCII);
+    if (magic.equals(PARQUET_MAGIC_STR)) {
+      return ObjectFormat.PARQUET;
+    }
+
+    int postscriptLength = tail[tail.length - 1] & 0xFF;
+    if (magic.startsWith(ORC_MAGIC_STR)
+        && postscriptLength > 0
+        && postscriptLength < contentLength) {
+      return ObjectFormat.ORC;
+    }
+
     return ObjectFormat.DEFAULT;
   }
 }
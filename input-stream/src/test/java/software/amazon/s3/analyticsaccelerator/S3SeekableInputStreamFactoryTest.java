@@ -19,11 +19,24 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.mock;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.junit.jupiter.api.Test;
 import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
 import software.amazon.s3.analyticsaccelerator.io.logical.impl.DefaultLogicalIOImpl;
+import software.amazon.s3.analyticsaccelerator.io.logical.impl.OrcLogicalIOImpl;
 import software.amazon.s3.analyticsaccelerator.io.logical.impl.ParquetLogicalIOImpl;
+import software.amazon.s3.analyticsaccelerator.io.logical.parquet.ParquetReadHints;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanExecution;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanState;
 import software.amazon.s3.analyticsaccelerator.request.ObjectClient;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+import software.amazon.s3.analyticsaccelerator.util.FakeObjectClient;
+import software.amazon.s3.analyticsaccelerator.util.IOStatisticsSnapshot;
 import software.amazon.s3.analyticsaccelerator.util.S3URI;
 
 @SuppressFBWarnings(
@@ -54,6 +67,13 @@ public class S3SeekableInputStreamFactoryTest {
         () -> {
           new S3SeekableInputStreamFactory(mock(ObjectClient.class), null);
         });
+
+    assertThrows(
+        NullPointerException.class,
+        () -> {
+          new S3SeekableInputStreamFactory(
+              mock(ObjectClient.class), S3SeekableInputStreamConfiguration.DEFAULT, null);
+        });
   }
 
   @Test
@@ -94,6 +114,40 @@ public class S3SeekableInputStreamFactoryTest {
         () -> {
           s3SeekableInputStreamFactory.createStream(null);
         });
+    assertThrows(
+        NullPointerException.class,
+        () -> {
+          s3SeekableInputStreamFactory.createStream(null, ParquetReadHints.NONE);
+        });
+    assertThrows(
+        NullPointerException.class,
+        () -> {
+          s3SeekableInputStreamFactory.createStream(S3URI.of("bucket", "key"), null);
+        });
+  }
+
+  @Test
+  void testCreateStreamWithParquetReadHints() {
+    S3SeekableInputStreamFactory s3SeekableInputStreamFactory =
+        new S3SeekableInputStreamFactory(
+            mock(ObjectClient.class),
+            S3SeekableInputStreamConfiguration.builder()
+                .logicalIOConfiguration(
+                    LogicalIOConfiguration.builder().footerCachingEnabled(false).build())
+                .build());
+    ParquetReadHints parquetReadHints =
+        ParquetReadHints.builder().projectedColumn("ss_a").build();
+
+    assertNotNull(
+        s3SeekableInputStreamFactory.createStream(
+            S3URI.of("bucket", "key.parquet"), parquetReadHints));
+    assertTrue(
+        s3SeekableInputStreamFactory.createLogicalIO(
+                S3URI.of("bucket", "key.parquet"), parquetReadHints)
+            instanceof ParquetLogicalIOImpl);
+    assertTrue(
+        s3SeekableInputStreamFactory.createLogicalIO(S3URI.of("bucket", "key"), parquetReadHints)
+            instanceof DefaultLogicalIOImpl);
   }
 
   @Test
@@ -112,6 +166,9 @@ public class S3SeekableInputStreamFactoryTest {
     assertTrue(
         s3SeekableInputStreamFactory.createLogicalIO(S3URI.of("bucket", "key.par"))
             instanceof ParquetLogicalIOImpl);
+    assertTrue(
+        s3SeekableInputStreamFactory.createLogicalIO(S3URI.of("bucket", "key.orc"))
+            instanceof OrcLogicalIOImpl);
 
     assertTrue(
         s3SeekableInputStreamFactory.createLogicalIO(S3URI.of("bucket", "key.java"))
@@ -121,6 +178,181 @@ public class S3SeekableInputStreamFactoryTest {
             instanceof DefaultLogicalIOImpl);
   }
 
+  @Test
+  void testCreateLogicalIOWithFormatDetection() {
+    // Given: columnar objects whose keys do not tell their format
+    S3SeekableInputStreamConfiguration configuration =
+        S3SeekableInputStreamConfiguration.builder()
+            .logicalIOConfiguration(
+                LogicalIOConfiguration.builder()
+                    .footerCachingEnabled(false)
+                    .formatDetectionEnabled(true)
+                    .build())
+            .build();
+
+    // When & Then: the format is detected from the magic at the end of the objects
+    assertTrue(
+        new S3SeekableInputStreamFactory(new FakeObjectClient("dataPAR1"), configuration)
+                .createLogicalIO(S3URI.of("bucket", "part-00000"))
+            instanceof ParquetLogicalIOImpl);
+    assertTrue(
+        new S3SeekableInputStreamFactory(new FakeObjectClient("dataORC\u0003"), configuration)
+                .createLogicalIO(S3URI.of("bucket", "part-00000"))
+            instanceof OrcLogicalIOImpl);
+    assertTrue(
+        new S3SeekableInputStreamFactory(new FakeObjectClient("a,b\nc,d\n"), configuration)
+                .createLogicalIO(S3URI.of("bucket", "part-00000"))
+            instanceof DefaultLogicalIOImpl);
+    assertTrue(
+        new S3SeekableInputStreamFactory(new FakeObjectClient("AR1"), configuration)
+                .createLogicalIO(S3URI.of("bucket", "part-00000"))
+            instanceof DefaultLogicalIOImpl);
+  }
+
+  @Test
+  void testCreateLogicalIOWithoutFormatDetection() {
+    // Given: a Parquet object whose key does not tell its format
+    FakeObjectClient fakeObjectClient = new FakeObjectClient("dataPAR1");
+    S3SeekableInputStreamFactory s3SeekableInputStreamFactory =
+        new S3SeekableInputStreamFactory(
+            fakeObjectClient,
+            S3SeekableInputStreamConfiguration.builder()
+                .logicalIOConfiguration(
+                    LogicalIOConfiguration.builder().footerCachingEnabled(false).build())
+                .build());
+
+    // When & Then: the object is not read to detect its format
+    assertTrue(
+        s3SeekableInputStreamFactory.createLogicalIO(S3URI.of("bucket", "part-00000"))
+            instanceof DefaultLogicalIOImpl);
+    assertEquals(0, fakeObjectClient.getGetRequestCount().get());
+  }
+
+  @Test
+  void testPrefetchWarmsUpStreams() throws IOException {
+    // Given: a factory backed by a fake object client
+    String data = "test-data-0123456789";
+    FakeObjectClient fakeObjectClient = new FakeObjectClient(data);
+    S3SeekableInputStreamFactory s3SeekableInputStreamFactory =
+        new S3SeekableInputStreamFactory(
+            fakeObjectClient,
+            S3SeekableInputStreamConfiguration.builder()
+                .logicalIOConfiguration(
+                    LogicalIOConfiguration.builder().footerCachingEnabled(false).build())
+                .build());
+    S3URI s3URI = S3URI.of("bucket", "key");
+
+    // When: ranges are prefetched before any stream is open
+    IOPlanExecution execution =
+        s3SeekableInputStreamFactory.prefetch(
+            s3URI, Arrays.asList(new Range(0, 3), new Range(10, 19)));
+    execution.getCompletion().join();
+
+    // Then: the plan was submitted, and a new stream is served from the warmed blocks
+    assertEquals(IOPlanState.SUBMITTED, execution.getState());
+    int getRequestCount = fakeObjectClient.getGetRequestCount().get();
+    try (S3SeekableInputStream inputStream = s3SeekableInputStreamFactory.createStream(s3URI)) {
+      byte[] buffer = new byte[4];
+      assertEquals(4, inputStream.read(buffer, 0, 4));
+      assertEquals("test", new String(buffer, StandardCharsets.UTF_8));
+    }
+    assertEquals(getRequestCount, fakeObjectClient.getGetRequestCount().get());
+  }
+
+  @Test
+  void testIOStatisticsAreAggregatedAcrossStreams() throws IOException {
+    // Given: a factory backed by a fake object client
+    FakeObjectClient fakeObjectClient = new FakeObjectClient("test-data-0123456789");
+    S3SeekableInputStreamFactory s3SeekableInputStreamFactory =
+        new S3SeekableInputStreamFactory(
+            fakeObjectClient,
+            S3SeekableInputStreamConfiguration.builder()
+                .logicalIOConfiguration(
+                    LogicalIOConfiguration.builder().footerCachingEnabled(false).build())
+                .build());
+
+    // When: an object is prefetched, and two other objects are read through their own streams
+    s3SeekableInputStreamFactory
+        .prefetch(S3URI.of("bucket", "prefetched"), Arrays.asList(new Range(0, 3)))
+        .getCompletion()
+        .join();
+    IOStatisticsSnapshot first = readWithNewStream(s3SeekableInputStreamFactory, "first");
+    IOStatisticsSnapshot second = readWithNewStream(s3SeekableInputStreamFactory, "second");
+
+    // Then: each stream has its own statistics, which the factory aggregates with the prefetch
+    IOStatisticsSnapshot aggregate = s3SeekableInputStreamFactory.getIOStatistics();
+    assertEquals(4, first.getBytesRequested());
+    assertEquals(4, second.getBytesRequested());
+    assertEquals(8, aggregate.getBytesRequested());
+    assertEquals(first.getGetRequests() + second.getGetRequests() + 1, aggregate.getGetRequests());
+    assertEquals(fakeObjectClient.getGetRequestCount().get(), aggregate.getGetRequests());
+  }
+
+  @Test
+  void testFormatDetectionIsNotCountedAsReads() throws IOException {
+    // Given: a factory detecting the format of objects whose keys do not tell it
+    FakeObjectClient fakeObjectClient = new FakeObjectClient("a,b\nc,d\n");
+    S3SeekableInputStreamFactory s3SeekableInputStreamFactory =
+        new S3SeekableInputStreamFactory(
+            fakeObjectClient,
+            S3SeekableInputStreamConfiguration.builder()
+                .logicalIOConfiguration(
+                    LogicalIOConfiguration.builder()
+                        .footerCachingEnabled(false)
+                        .formatDetectionEnabled(true)
+                        .build())
+                .build());
+
+    // When: a stream is opened, which reads the tail of the object to detect its format
+    try (S3SeekableInputStream inputStream =
+        s3SeekableInputStreamFactory.createStream(S3URI.of("bucket", "part-00000"))) {
+      IOStatisticsSnapshot snapshot = inputStream.getIOStatistics();
+
+      // Then: the GET request of the detection is counted, but not its read, which the reader
+      // did not make
+      assertEquals(1, fakeObjectClient.getGetRequestCount().get());
+      assertEquals(1, snapshot.getGetRequests());
+      assertEquals(0, snapshot.getReadOperations());
+      assertEquals(0, snapshot.getBytesRequested());
+      assertEquals(0, snapshot.getCacheHits());
+      assertEquals(0, snapshot.getCacheMisses());
+    }
+  }
+
+  private static IOStatisticsSnapshot readWithNewStream(
+      S3SeekableInputStreamFactory s3SeekableInputStreamFactory, String key) throws IOException {
+    try (S3SeekableInputStream inputStream =
+        s3SeekableInputStreamFactory.createStream(S3URI.of("bucket", key))) {
+      assertEquals(4, inputStream.read(new byte[4], 0, 4));
+      return inputStream.getIOStatistics();
+    }
+  }
+
+  @Test
+  void testPrefetchWithNoRanges() {
+    S3SeekableInputStreamFactory s3SeekableInputStreamFactory =
+        new S3SeekableInputStreamFactory(
+            new FakeObjectClient("test-data"), S3SeekableInputStreamConfiguration.DEFAULT);
+
+    IOPlanExecution execution =
+        s3SeekableInputStreamFactory.prefetch(S3URI.of("bucket", "key"), Collections.emptyList());
+
+    assertTrue(execution.getCompletion().isDone());
+  }
+
+  @Test
+  void testPrefetchThrowsOnNullArgument() {
+    S3SeekableInputStreamFactory s3SeekableInputStreamFactory =
+        new S3SeekableInputStreamFactory(
+            mock(ObjectClient.class), S3SeekableInputStreamConfiguration.DEFAULT);
+    assertThrows(
+        NullPointerException.class,
+        () -> s3SeekableInputStreamFactory.prefetch(null, Collections.emptyList()));
+    assertThrows(
+        NullPointerException.class,
+        () -> s3SeekableInputStreamFactory.prefetch(S3URI.of("bucket", "key"), null));
+  }
+
   @Test
   void testClose() {
     S3SeekableInputStreamFactory s3SeekableInputStreamFactory =
@@ -128,4 +360,38 @@ public class S3SeekableInputStreamFactoryTest {
             mock(ObjectClient.class), S3SeekableInputStreamConfiguration.DEFAULT);
     assertDoesNotThrow(() -> s3SeekableInputStreamFactory.close());
   }
+
+  @Test
+  void testCloseShutsDownOwnedExecutor() throws IOException {
+    // Given
+    S3SeekableInputStreamFactory s3SeekableInputStreamFactory =
+        new S3SeekableInputStreamFactory(
+            mock(ObjectClient.class), S3SeekableInputStreamConfiguration.DEFAULT);
+
+    // When
+    s3SeekableInputStreamFactory.close();
+
+    // Then
+    assertTrue(s3SeekableInputStreamFactory.getAsyncExecutor().isShutdown());
+  }
+
+  @Test
+  void testCloseDoesNotShutDownSuppliedExecutor() throws IOException {
+    // Given
+    ExecutorService asyncExecutor = Executors.newSingleThreadExecutor();
+    S3SeekableInputStreamFactory s3SeekableInputStreamFactory =
+        new S3SeekableInputStreamFactory(
+            mock(ObjectClient.class), S3SeekableInputStreamConfiguration.DEFAULT, asyncExecutor);
+
+    try {
+      // When
+      s3SeekableInputStreamFactory.close();
+
+      // Then
+      assertSame(asyncExecutor, s3SeekableInputStreamFactory.getAsyncExecutor());
+      assertFalse(asyncExecutor.isShutdown());
+    } finally {
+      asyncExecutor.shutdown();
+    }
+  }
 }
@@ -26,14 +26,23 @@ import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import org.junit.jupiter.api.Test;
 import software.amazon.awssdk.utils.IoUtils;
 import software.amazon.awssdk.utils.StringUtils;
 import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIO;
 import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.logical.impl.DefaultLogicalIOImpl;
 import software.amazon.s3.analyticsaccelerator.io.logical.impl.ParquetColumnPrefetchStore;
 import software.amazon.s3.analyticsaccelerator.io.logical.impl.ParquetLogicalIOImpl;
+import software.amazon.s3.analyticsaccelerator.io.logical.parquet.ParquetFooter;
 import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
 import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIOConfiguration;
 import software.amazon.s3.analyticsaccelerator.io.physical.data.BlobStore;
@@ -41,6 +50,8 @@ import software.amazon.s3.analyticsaccelerator.io.physical.data.MetadataStore;
 import software.amazon.s3.analyticsaccelerator.io.physical.impl.PhysicalIOImpl;
 import software.amazon.s3.analyticsaccelerator.request.ObjectMetadata;
 import software.amazon.s3.analyticsaccelerator.util.FakeObjectClient;
+import software.amazon.s3.analyticsaccelerator.util.IOStatistics;
+import software.amazon.s3.analyticsaccelerator.util.IOStatisticsSnapshot;
 import software.amazon.s3.analyticsaccelerator.util.S3URI;
 
 @SuppressFBWarnings(
@@ -97,6 +108,131 @@ public class S3SeekableInputStreamTest extends S3SeekableInputStreamTestBase {
     }
   }
 
+  @Test
+  void testSingleByteReadsAreServedFromTheCurrentBlock() throws IOException {
+    // Given: a stream over an object fetched in blocks of 8 bytes
+    String content = "0123456789abcdefghijklmnopqrstuv";
+    FakeObjectClient fakeObjectClient = new FakeObjectClient(content);
+    PhysicalIOConfiguration configuration =
+        PhysicalIOConfiguration.builder().readAheadBytes(8).build();
+    MetadataStore metadataStore =
+        new MetadataStore(fakeObjectClient, TestTelemetry.DEFAULT, configuration);
+    BlobStore blobStore =
+        new BlobStore(metadataStore, fakeObjectClient, TestTelemetry.DEFAULT, configuration);
+    LogicalIO logicalIO =
+        spy(
+            new DefaultLogicalIOImpl(
+                TEST_OBJECT,
+                new PhysicalIOImpl(TEST_OBJECT, metadataStore, blobStore, TestTelemetry.DEFAULT),
+                TestTelemetry.DEFAULT));
+
+    try (S3SeekableInputStream stream =
+        new S3SeekableInputStream(TEST_URI, logicalIO, TestTelemetry.DEFAULT)) {
+
+      // When: the object is read byte by byte
+      byte[] bytesRead = new byte[content.length()];
+      for (int i = 0; i < bytesRead.length; i++) {
+        bytesRead[i] = (byte) stream.read();
+      }
+
+      // Then: the bytes are correct, and the logical IO is only called when crossing blocks
+      assertEquals(content, new String(bytesRead, StandardCharsets.UTF_8));
+      assertEquals(-1, stream.read());
+      verify(logicalIO, atMost(content.length() / 8)).blockView(anyLong());
+      verify(logicalIO, never()).read(anyLong());
+
+      // And: seeking back into a block serves the byte at the new position
+      stream.seek(3);
+      assertEquals('3', stream.read());
+      stream.seek(20);
+      assertEquals('k', stream.read());
+      assertEquals(21, stream.getPos());
+    }
+  }
+
+  @Test
+  void testSkipMovesPositionWithoutReading() throws IOException {
+    // Given: a stream over the test data
+    LogicalIO logicalIO = spy(fakeLogicalIO);
+    try (S3SeekableInputStream stream =
+        new S3SeekableInputStream(TEST_URI, logicalIO, TestTelemetry.DEFAULT)) {
+
+      // When & Then: skips move the position without reading, and stop at the end of the stream
+      assertEquals(0, stream.skip(-5));
+      assertEquals(0, stream.skip(0));
+      assertEquals(5, stream.skip(5));
+      assertEquals(5, stream.getPos());
+      verify(logicalIO, never()).read(any(), anyInt(), anyInt(), anyLong());
+      verify(logicalIO, never()).blockView(anyLong());
+
+      assertEquals(TEST_DATA.getBytes(StandardCharsets.UTF_8)[5], stream.read());
+      assertEquals(TEST_DATA.length() - 6, stream.skip(Long.MAX_VALUE));
+      assertEquals(TEST_DATA.length(), stream.getPos());
+      assertEquals(0, stream.skip(1));
+      assertEquals(-1, stream.read());
+    }
+  }
+
+  @Test
+  void testAvailableReportsBytesOfTheCurrentBlock() throws IOException {
+    // Given: a stream over the test data, held in a single block
+    try (S3SeekableInputStream stream =
+        new S3SeekableInputStream(TEST_URI, fakeLogicalIO, TestTelemetry.DEFAULT)) {
+
+      // When & Then: the bytes of the block following the position are reported
+      stream.read();
+      assertEquals(TEST_DATA.length() - 1, stream.available());
+
+      stream.seek(TEST_DATA.length() - 1);
+      assertEquals(1, stream.available());
+
+      stream.read();
+      assertEquals(0, stream.available());
+    }
+  }
+
+  @Test
+  void testAvailableReportsBytesBroughtInByBulkReads() throws IOException {
+    // Given: a stream over the test data
+    try (S3SeekableInputStream stream =
+        new S3SeekableInputStream(TEST_URI, fakeLogicalIO, TestTelemetry.DEFAULT)) {
+
+      // When: the data is brought in by a bulk read, not a single byte one
+      byte[] buffer = new byte[4];
+      assertEquals(4, stream.read(buffer, 0, buffer.length));
+
+      // Then: the fetched bytes following the position are reported
+      assertEquals(TEST_DATA.length() - 4, stream.available());
+    }
+  }
+
+  @Test
+  void testMarkAndReset() throws IOException {
+    // Given: a stream over the test data
+    try (S3SeekableInputStream stream =
+        new S3SeekableInputStream(TEST_URI, fakeLogicalIO, TestTelemetry.DEFAULT)) {
+
+      // When: resetting without a mark, an exception is thrown
+      assertTrue(stream.markSupported());
+      assertThrows(IOException.class, stream::reset);
+
+      // When: the stream is marked, read further and reset
+      stream.seek(4);
+      stream.mark(1);
+      byte[] first = new byte[8];
+      stream.read(first, 0, first.length);
+      int getRequestCount = fakeObjectClient.getGetRequestCount().get();
+      stream.reset();
+
+      // Then: the same bytes are read again, from the blocks already fetched
+      assertEquals(4, stream.getPos());
+      byte[] second = new byte[8];
+      stream.read(second, 0, second.length);
+      assertArrayEquals(first, second);
+      assertEquals(getRequestCount, fakeObjectClient.getGetRequestCount().get());
+    }
+  }
+
   @Test
   void testSeek() throws IOException {
     // Given
@@ -189,6 +325,26 @@ public class S3SeekableInputStreamTest extends S3SeekableInputStreamTestBase {
     verify(logicalIO, times(1)).close();
   }
 
+  @Test
+  void testGetParquetFooter() {
+    // Given
+    LogicalIO logicalIO = mock(LogicalIO.class);
+    ParquetFooter parquetFooter =
+        new ParquetFooter(
+            0,
+            null,
+            Collections.emptyMap(),
+            null,
+            Collections.emptyList(),
+            Collections.emptyList());
+    when(logicalIO.parquetFooter()).thenReturn(Optional.of(parquetFooter));
+    S3SeekableInputStream stream =
+        new S3SeekableInputStream(TEST_URI, logicalIO, TestTelemetry.DEFAULT);
+
+    // When & Then: the footer parsed by the logical IO is returned
+    assertEquals(Optional.of(parquetFooter), stream.getParquetFooter());
+  }
+
   @Test
   void testReadWithBufferNulls() throws IOException {
     try (S3SeekableInputStream stream = getTestStream()) {
@@ -405,6 +561,100 @@ public class S3SeekableInputStreamTest extends S3SeekableInputStreamTestBase {
     }
   }
 
+  @Test
+  void testPositionedReadDoesNotAlterPosition() throws IOException {
+    try (S3SeekableInputStream stream = getTestStream()) {
+      // When: 1) we are reading from the stream, 2) reading at a position, 3) reading more
+      byte[] one = new byte[5];
+      byte[] two = new byte[6];
+      byte[] three = new byte[5];
+
+      int numBytesRead1 = stream.read(one, 0, one.length);
+      int numBytesRead2 = stream.read(9, two, 1, 4);
+      int numBytesRead3 = stream.read(three, 0, three.length);
+
+      // Then: read #2 did not alter the position and reads #1 and #3 return subsequent bytes
+      assertEquals(5, numBytesRead1);
+      assertEquals(4, numBytesRead2);
+      assertEquals(5, numBytesRead3);
+
+      assertEquals("test-", new String(one, StandardCharsets.UTF_8));
+      assertEquals("1234", new String(two, 1, 4, StandardCharsets.UTF_8));
+      assertEquals("data1", new String(three, StandardCharsets.UTF_8));
+    }
+  }
+
+  @Test
+  void testPositionedReadBoundaries() throws IOException {
+    try (S3SeekableInputStream stream = getTestStream()) {
+      byte[] buffer = new byte[8];
+
+      // Reads past the end are cut short, then return -1
+      assertEquals(2, stream.read(TEST_DATA.length() - 2, buffer, 0, 8));
+      assertEquals(-1, stream.read(TEST_DATA.length(), buffer, 0, 8));
+      assertEquals(0, stream.read(0, buffer, 0, 0));
+
+      assertThrows(IllegalArgumentException.class, () -> stream.read(-1, buffer, 0, 8));
+      assertThrows(IndexOutOfBoundsException.class, () -> stream.read(0, buffer, -1, 8));
+      assertThrows(IndexOutOfBoundsException.class, () -> stream.read(0, buffer, 4, 5));
+      assertThrows(NullPointerException.class, () -> stream.read(0, null, 0, 8));
+    }
+  }
+
+  @Test
+  void testPositionedReadFully() throws IOException {
+    try (S3SeekableInputStream stream = getTestStream()) {
+      byte[] buffer = new byte[6];
+
+      stream.readFully(5, buffer, 1, 4);
+
+      assertEquals("data", new String(buffer, 1, 4, StandardCharsets.UTF_8));
+      assertEquals(0, stream.getPos());
+      assertThrows(
+          EOFException.class, () -> stream.readFully(TEST_DATA.length() - 2, buffer, 0, 4));
+      assertThrows(IllegalArgumentException.class, () -> stream.readFully(-1, buffer, 0, 4));
+      assertThrows(IndexOutOfBoundsException.class, () -> stream.readFully(0, buffer, 4, 4));
+    }
+  }
+
+  @Test
+  void testConcurrentPositionedReadsOnOneStream() throws Exception {
+    // Given: one stream over an object made of distinct blocks of 1KB
+    int blockSize = 1024;
+    int blocks = 64;
+    StringBuilder sb = new StringBuilder(blockSize * blocks);
+    for (int i = 0; i < blocks; i++) {
+      sb.append(StringUtils.repeat(Character.toString((char) ('A' + i % 26)), blockSize));
+    }
+    String content = sb.toString();
+
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try (S3SeekableInputStream stream = getTestStreamWithContent(content, TEST_OBJECT)) {
+      // When: the blocks are read concurrently at their positions
+      List<Future<byte[]>> reads = new ArrayList<>();
+      for (int i = 0; i < blocks; i++) {
+        long position = (long) i * blockSize;
+        reads.add(
+            executor.submit(
+                () -> {
+                  byte[] buffer = new byte[blockSize];
+                  stream.readFully(position, buffer, 0, blockSize);
+                  return buffer;
+                }));
+      }
+
+      // Then: every read returns the bytes at its position, and the stream did not move
+      for (int i = 0; i < blocks; i++) {
+        byte[] expected =
+            content.substring(i * blockSize, (i + 1) * blockSize).getBytes(StandardCharsets.UTF_8);
+        assertArrayEquals(expected, reads.get(i).get(30, TimeUnit.SECONDS));
+      }
+      assertEquals(0, stream.getPos());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
   private S3SeekableInputStream getTestStream() {
     return new S3SeekableInputStream(TEST_URI, fakeLogicalIO, TestTelemetry.DEFAULT);
   }
@@ -430,4 +680,144 @@ public class S3SeekableInputStreamTest extends S3SeekableInputStreamTestBase {
             new ParquetColumnPrefetchStore(LogicalIOConfiguration.DEFAULT)),
         TestTelemetry.DEFAULT);
   }
+
+  @Test
+  void testReadAsyncDoesNotAlterPosition() throws IOException {
+    // Given: seekable stream
+    try (S3SeekableInputStream stream = getTestStream()) {
+
+      // When: 1) we are reading from the stream, 2) reading asynchronously, 3) reading more
+      byte[] one = new byte[5];
+      ByteBuffer two = ByteBuffer.allocate(4);
+      byte[] three = new byte[5];
+
+      int numBytesRead1 = stream.read(one, 0, one.length);
+      int numBytesRead2 = stream.readAsync(9, two).join();
+      int numBytesRead3 = stream.read(three, 0, three.length);
+
+      // Then: read #2 did not alter the position and reads #1 and #3 return subsequent bytes
+      assertEquals(5, numBytesRead1);
+      assertEquals(4, numBytesRead2);
+      assertEquals(5, numBytesRead3);
+
+      assertEquals("test-", new String(one, StandardCharsets.UTF_8));
+      assertEquals("data1", new String(three, StandardCharsets.UTF_8));
+      assertEquals("1234", new String(two.array(), StandardCharsets.UTF_8));
+      assertEquals(4, two.position());
+    }
+  }
+
+  @Test
+  void testReadAsyncPastEnd() throws IOException {
+    try (S3SeekableInputStream stream = getTestStream()) {
+      assertEquals(-1, stream.readAsync(TEST_DATA.length(), ByteBuffer.allocate(4)).join());
+      assertThrows(
+          IllegalArgumentException.class, () -> stream.readAsync(-1, ByteBuffer.allocate(4)));
+      assertThrows(NullPointerException.class, () -> stream.readAsync(0, null));
+    }
+  }
+
+  @Test
+  void testReadWithByteBuffer() throws IOException {
+    try (S3SeekableInputStream stream = getTestStream()) {
+      // When: reading into a heap and then a direct buffer
+      ByteBuffer heap = ByteBuffer.allocate(5);
+      ByteBuffer direct = ByteBuffer.allocateDirect(4);
+      int numBytesRead1 = stream.read(heap);
+      int numBytesRead2 = stream.read(direct);
+
+      // Then: both buffers are filled, and the stream position is advanced
+      assertEquals(5, numBytesRead1);
+      assertEquals(4, numBytesRead2);
+      assertEquals(9, stream.getPos());
+      assertEquals("test-", new String(heap.array(), StandardCharsets.UTF_8));
+      direct.flip();
+      byte[] bytes = new byte[4];
+      direct.get(bytes);
+      assertEquals("data", new String(bytes, StandardCharsets.UTF_8));
+    }
+  }
+
+  @Test
+  void testReadWithByteBufferAtEndOfStream() throws IOException {
+    try (S3SeekableInputStream stream = getTestStream()) {
+      // When: reading past the end of the stream
+      stream.seek(TEST_DATA.length() - 2);
+      ByteBuffer buffer = ByteBuffer.allocate(5);
+      int numBytesRead1 = stream.read(buffer);
+      int numBytesRead2 = stream.read(buffer);
+
+      // Then: the remaining bytes are read first, then -1 is returned
+      assertEquals(2, numBytesRead1);
+      assertEquals(2, buffer.position());
+      assertEquals(-1, numBytesRead2);
+      assertThrows(NullPointerException.class, () -> stream.read((ByteBuffer) null));
+    }
+  }
+
+  @Test
+  void testReadFullyWithByteBuffer() throws IOException {
+    try (S3SeekableInputStream stream = getTestStream()) {
+      // When: reading fully at a position
+      ByteBuffer buffer = ByteBuffer.allocateDirect(4);
+      stream.readFully(5, buffer);
+
+      // Then: the buffer is full, and the stream position is unaltered
+      assertFalse(buffer.hasRemaining());
+      assertEquals(0, stream.getPos());
+      buffer.flip();
+      byte[] bytes = new byte[4];
+      buffer.get(bytes);
+      assertEquals("data", new String(bytes, StandardCharsets.UTF_8));
+    }
+  }
+
+  @Test
+  void testReadFullyWithByteBufferPastEnd() throws IOException {
+    try (S3SeekableInputStream stream = getTestStream()) {
+      ByteBuffer buffer = ByteBuffer.allocate(4);
+      assertThrows(EOFException.class, () -> stream.readFully(TEST_DATA.length() - 2, buffer));
+      assertEquals(0, buffer.position());
+      assertThrows(IllegalArgumentException.class, () -> stream.readFully(-1, buffer));
+      assertThrows(NullPointerException.class, () -> stream.readFully(0, (ByteBuffer) null));
+    }
+  }
+
+  @Test
+  void testIOStatisticsCoverSingleByteAndPositionedReads() throws IOException {
+    // Given: a stream over an object fetched in blocks of 8 bytes, recording its statistics
+    String content = "0123456789abcdefghijklmnopqrstuv";
+    FakeObjectClient fakeObjectClient = new FakeObjectClient(content);
+    PhysicalIOConfiguration configuration =
+        PhysicalIOConfiguration.builder().readAheadBytes(8).build();
+    MetadataStore metadataStore =
+        new MetadataStore(fakeObjectClient, TestTelemetry.DEFAULT, configuration);
+    BlobStore blobStore =
+        new BlobStore(metadataStore, fakeObjectClient, TestTelemetry.DEFAULT, configuration);
+    IOStatistics statistics = new IOStatistics();
+    LogicalIO logicalIO =
+        new DefaultLogicalIOImpl(
+            TEST_OBJECT,
+            new PhysicalIOImpl(
+                TEST_OBJECT, metadataStore, blobStore, TestTelemetry.DEFAULT, statistics),
+            TestTelemetry.DEFAULT);
+
+    try (S3SeekableInputStream stream =
+        new S3SeekableInputStream(TEST_URI, logicalIO, TestTelemetry.DEFAULT, statistics)) {
+
+      // When: the object is read byte by byte, and then a range of it is read again
+      while (stream.read() != -1) {
+        // Consume the whole object
+      }
+      stream.readFully(0, new byte[4], 0, 4);
+
+      // Then: every byte asked for and every GET issued is accounted for
+      IOStatisticsSnapshot snapshot = stream.getIOStatistics();
+      assertEquals(content.length() + 4, snapshot.getBytesRequested());
+      assertEquals(1, snapshot.getReadOperations());
+      assertEquals(fakeObjectClient.getGetRequestCount().get(), snapshot.getGetRequests());
+      assertEquals(content.length(), snapshot.getBytesFetched());
+      assertEquals(snapshot.getGetRequests(), snapshot.getCacheMisses());
+    }
+  }
 }
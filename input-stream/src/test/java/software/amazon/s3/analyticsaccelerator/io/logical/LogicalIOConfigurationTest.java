@@ -17,10 +17,13 @@ package software.amazon.s3.analyticsaccelerator.io.logical;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.HashMap;
+import java.util.Map;
 import org.junit.jupiter.api.Test;
 import software.amazon.s3.analyticsaccelerator.S3SeekableInputStreamConfiguration;
 import software.amazon.s3.analyticsaccelerator.S3SeekableInputStreamConfigurationTest;
 import software.amazon.s3.analyticsaccelerator.common.ConnectorConfiguration;
+import software.amazon.s3.analyticsaccelerator.util.ExecutorMode;
 import software.amazon.s3.analyticsaccelerator.util.PrefetchMode;
 
 public class LogicalIOConfigurationTest {
@@ -56,4 +59,105 @@ public class LogicalIOConfigurationTest {
         logicalIOConfiguration.getPrefetchingMode());
     assertEquals(logicalIOConfiguration.getPrefetchingMode(), PrefetchMode.ROW_GROUP);
   }
+
+  @Test
+  void testPageIndexPrefetchingFromConfiguration() {
+    Map<String, String> properties = new HashMap<>();
+    properties.put("page.index.prefetching.enabled", "true");
+    properties.put("page.prefetch.max.gap.bytes", "1024");
+    LogicalIOConfiguration logicalIOConfiguration =
+        LogicalIOConfiguration.fromConfiguration(new ConnectorConfiguration(properties));
+
+    assertFalse(LogicalIOConfiguration.DEFAULT.isPageIndexPrefetchingEnabled());
+    assertTrue(logicalIOConfiguration.isPageIndexPrefetchingEnabled());
+    assertEquals(1024, logicalIOConfiguration.getPagePrefetchMaxGapBytes());
+  }
+
+  @Test
+  void testDictionaryFirstPrefetchingFromConfiguration() {
+    Map<String, String> properties = new HashMap<>();
+    properties.put("dictionary.first.prefetching.enabled", "true");
+    LogicalIOConfiguration logicalIOConfiguration =
+        LogicalIOConfiguration.fromConfiguration(new ConnectorConfiguration(properties));
+
+    assertFalse(LogicalIOConfiguration.DEFAULT.isDictionaryFirstPrefetchingEnabled());
+    assertTrue(logicalIOConfiguration.isDictionaryFirstPrefetchingEnabled());
+  }
+
+  @Test
+  void testAdaptiveFooterCachingFromConfiguration() {
+    Map<String, String> properties = new HashMap<>();
+    properties.put("adaptive.footer.caching.enabled", "true");
+    LogicalIOConfiguration logicalIOConfiguration =
+        LogicalIOConfiguration.fromConfiguration(new ConnectorConfiguration(properties));
+
+    assertFalse(LogicalIOConfiguration.DEFAULT.isAdaptiveFooterCachingEnabled());
+    assertTrue(logicalIOConfiguration.isAdaptiveFooterCachingEnabled());
+  }
+
+  @Test
+  void testRowGroupPrefetchLookAheadFromConfiguration() {
+    Map<String, String> properties = new HashMap<>();
+    properties.put("row.group.prefetch.look.ahead", "2");
+    properties.put("row.group.prefetch.look.ahead.bytes", "1024");
+    LogicalIOConfiguration logicalIOConfiguration =
+        LogicalIOConfiguration.fromConfiguration(new ConnectorConfiguration(properties));
+
+    assertEquals(0, LogicalIOConfiguration.DEFAULT.getRowGroupPrefetchLookAhead());
+    assertEquals(2, logicalIOConfiguration.getRowGroupPrefetchLookAhead());
+    assertEquals(1024, logicalIOConfiguration.getRowGroupPrefetchLookAheadBytes());
+  }
+
+  @Test
+  void testColumnAccessModelFromConfiguration() {
+    Map<String, String> properties = new HashMap<>();
+    properties.put("column.access.half.life", "5");
+    properties.put("max.tracked.columns.per.schema", "64");
+    properties.put("column.prefetch.min.confidence", "0.5");
+    properties.put("table.scoped.column.prediction.enabled", "true");
+    LogicalIOConfiguration logicalIOConfiguration =
+        LogicalIOConfiguration.fromConfiguration(new ConnectorConfiguration(properties));
+
+    assertEquals(15, LogicalIOConfiguration.DEFAULT.getColumnAccessHalfLife());
+    assertEquals(5, logicalIOConfiguration.getColumnAccessHalfLife());
+    assertEquals(64, logicalIOConfiguration.getMaxTrackedColumnsPerSchema());
+    assertEquals(0.5, logicalIOConfiguration.getColumnPrefetchMinConfidence());
+    assertFalse(LogicalIOConfiguration.DEFAULT.isTableScopedColumnPredictionEnabled());
+    assertTrue(logicalIOConfiguration.isTableScopedColumnPredictionEnabled());
+  }
+
+  @Test
+  void testOrcFormatSelectorRegexFromConfiguration() {
+    Map<String, String> properties = new HashMap<>();
+    properties.put("orc.format.selector.regex", "^.*\\.orcfile$");
+    LogicalIOConfiguration logicalIOConfiguration =
+        LogicalIOConfiguration.fromConfiguration(new ConnectorConfiguration(properties));
+
+    assertEquals("^.*\\.orc$", LogicalIOConfiguration.DEFAULT.getOrcFormatSelectorRegex());
+    assertEquals("^.*\\.orcfile$", logicalIOConfiguration.getOrcFormatSelectorRegex());
+  }
+
+  @Test
+  void testFormatDetectionFromConfiguration() {
+    Map<String, String> properties = new HashMap<>();
+    properties.put("format.detection.enabled", "true");
+    LogicalIOConfiguration logicalIOConfiguration =
+        LogicalIOConfiguration.fromConfiguration(new ConnectorConfiguration(properties));
+
+    assertFalse(LogicalIOConfiguration.DEFAULT.isFormatDetectionEnabled());
+    assertTrue(logicalIOConfiguration.isFormatDetectionEnabled());
+  }
+
+  @Test
+  void testAsyncExecutorFromConfiguration() {
+    Map<String, String> properties = new HashMap<>();
+    properties.put("async.executor.mode", "virtual");
+    properties.put("async.executor.threads", "8");
+    LogicalIOConfiguration logicalIOConfiguration =
+        LogicalIOConfiguration.fromConfiguration(new ConnectorConfiguration(properties));
+
+    assertEquals(ExecutorMode.BOUNDED, LogicalIOConfiguration.DEFAULT.getAsyncExecutorMode());
+    assertEquals(ExecutorMode.VIRTUAL, logicalIOConfiguration.getAsyncExecutorMode());
+    assertEquals(8, logicalIOConfiguration.getAsyncExecutorThreads());
+  }
 }
@@ -0,0 +1,146 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import software.amazon.s3.analyticsaccelerator.io.logical.parquet.ColumnPrediction;
+
+public class ColumnAccessModelTest {
+
+  @Test
+  void testConstructorRejectsInvalidArguments() {
+    assertThrows(IllegalArgumentException.class, () -> new ColumnAccessModel(0, 10));
+    assertThrows(IllegalArgumentException.class, () -> new ColumnAccessModel(10, 0));
+  }
+
+  @Test
+  void testEmptyModelPredictsNothing() {
+    assertTrue(new ColumnAccessModel(10, 10).predict(0).isEmpty());
+  }
+
+  @Test
+  void testRecentAccessesOutweighOlderOnes() {
+    // Given
+    ColumnAccessModel columnAccessModel = new ColumnAccessModel(1, 10);
+
+    // When
+    columnAccessModel.recordAccess("old");
+    columnAccessModel.recordAccess("old");
+    columnAccessModel.recordAccess("new");
+    List<ColumnPrediction> predictions = columnAccessModel.predict(0);
+
+    // Then: with a half life of 1, the weights of the accesses are 1, 2 and 4
+    assertEquals(2, predictions.size());
+    assertEquals(new ColumnPrediction("new", 1.0), predictions.get(0));
+    assertEquals(new ColumnPrediction("old", 0.75), predictions.get(1));
+  }
+
+  @Test
+  void testFrequentAccessesOutweighRecentOnes() {
+    // Given
+    ColumnAccessModel columnAccessModel = new ColumnAccessModel(100, 10);
+
+    // When
+    for (int i = 0; i < 10; i++) {
+      columnAccessModel.recordAccess("frequent");
+    }
+    columnAccessModel.recordAccess("recent");
+    List<ColumnPrediction> predictions = columnAccessModel.predict(0);
+
+    // Then
+    assertEquals("frequent", predictions.get(0).getColumnId());
+    assertEquals("recent", predictions.get(1).getColumnId());
+    assertTrue(predictions.get(1).getConfidence() < 0.2);
+  }
+
+  @Test
+  void testLowConfidenceColumnsAreLeftOut() {
+    // Given
+    ColumnAccessModel columnAccessModel = new ColumnAccessModel(100, 10);
+
+    // When
+    columnAccessModel.recordAccess("rare");
+    for (int i = 0; i < 20; i++) {
+      columnAccessModel.recordAccess("frequent");
+    }
+
+    // Then
+    assertEquals(2, columnAccessModel.predict(0).size());
+    List<ColumnPrediction> predictions = columnAccessModel.predict(0.1);
+    assertEquals(1, predictions.size());
+    assertEquals("frequent", predictions.get(0).getColumnId());
+  }
+
+  @Test
+  void testLowestScoreIsEvicted() {
+    // Given
+    ColumnAccessModel columnAccessModel = new ColumnAccessModel(10, 2);
+
+    // When
+    columnAccessModel.recordAccess("a");
+    columnAccessModel.recordAccess("a");
+    columnAccessModel.recordAccess("b");
+    columnAccessModel.recordAccess("c");
+    List<ColumnPrediction> predictions = columnAccessModel.predict(0);
+
+    // Then: b has the lowest score when c gets tracked
+    assertEquals(2, predictions.size());
+    assertEquals("a", predictions.get(0).getColumnId());
+    assertEquals("c", predictions.get(1).getColumnId());
+  }
+
+  @Test
+  void testColumnJustReadIsNotEvicted() {
+    // Given
+    ColumnAccessModel columnAccessModel = new ColumnAccessModel(100, 2);
+
+    // When: a new column is read once the model is full of frequently read columns
+    for (int i = 0; i < 10; i++) {
+      columnAccessModel.recordAccess("a");
+      columnAccessModel.recordAccess("b");
+    }
+    columnAccessModel.recordAccess("c");
+    List<ColumnPrediction> predictions = columnAccessModel.predict(0);
+
+    // Then: the new column is tracked, in place of the lowest scoring other column
+    assertEquals(2, predictions.size());
+    assertEquals("b", predictions.get(0).getColumnId());
+    assertEquals("c", predictions.get(1).getColumnId());
+  }
+
+  @Test
+  void testScoresStayInRangeOverManyAccesses() {
+    // Given
+    ColumnAccessModel columnAccessModel = new ColumnAccessModel(1, 10);
+
+    // When: weights double on every access, forcing several rescales
+    for (int i = 0; i < 2000; i++) {
+      columnAccessModel.recordAccess(i % 2 == 0 ? "even" : "odd");
+    }
+    List<ColumnPrediction> predictions = columnAccessModel.predict(0);
+
+    // Then
+    assertEquals(2, predictions.size());
+    assertEquals(new ColumnPrediction("odd", 1.0), predictions.get(0));
+    assertEquals("even", predictions.get(1).getColumnId());
+    assertEquals(0.5, predictions.get(1).getConfidence(), 1e-9);
+  }
+}
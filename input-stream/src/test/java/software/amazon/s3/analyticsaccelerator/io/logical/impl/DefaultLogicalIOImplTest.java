@@ -15,7 +15,9 @@
  */
 package software.amazon.s3.analyticsaccelerator.io.logical.impl;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -24,6 +26,9 @@ import static org.mockito.Mockito.when;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import org.junit.jupiter.api.Test;
 import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
 import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
@@ -99,4 +104,43 @@ public class DefaultLogicalIOImplTest {
     logicalIO.readTail(buffer, 0, 5);
     verify(physicalIO).readTail(buffer, 0, 5);
   }
+
+  @Test
+  void testParquetFooterIsEmpty() {
+    DefaultLogicalIOImpl logicalIO =
+        new DefaultLogicalIOImpl(TEST_URI, mock(PhysicalIO.class), mock(Telemetry.class));
+
+    assertEquals(Optional.empty(), logicalIO.parquetFooter());
+  }
+
+  @Test
+  void testBlockView() throws IOException {
+    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    ByteBuffer view = ByteBuffer.allocate(5);
+    when(physicalIO.blockView(5)).thenReturn(view);
+    DefaultLogicalIOImpl logicalIO = new DefaultLogicalIOImpl(TEST_URI, physicalIO, Telemetry.NOOP);
+
+    assertSame(view, logicalIO.blockView(5));
+  }
+
+  @Test
+  void testReadAsync() {
+    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    ByteBuffer buffer = ByteBuffer.allocate(5);
+    when(physicalIO.readAsync(5, buffer)).thenReturn(CompletableFuture.completedFuture(5));
+    DefaultLogicalIOImpl logicalIO = new DefaultLogicalIOImpl(TEST_URI, physicalIO, Telemetry.NOOP);
+
+    assertEquals(5, logicalIO.readAsync(5, buffer).join());
+    verify(physicalIO).readAsync(5, buffer);
+  }
+
+  @Test
+  void testReadWithByteBuffer() throws IOException {
+    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    DefaultLogicalIOImpl logicalIO = new DefaultLogicalIOImpl(TEST_URI, physicalIO, Telemetry.NOOP);
+
+    ByteBuffer buffer = ByteBuffer.allocateDirect(5);
+    logicalIO.read(buffer, 5);
+    verify(physicalIO).read(buffer, 5L);
+  }
 }
@@ -0,0 +1,130 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.logical.orc.OrcMetadata;
+import software.amazon.s3.analyticsaccelerator.io.logical.orc.OrcStream;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+public class OrcColumnPrefetchStoreTest {
+  private static final S3URI TEST_URI = S3URI.of("foo", "bar.orc");
+
+  @Test
+  void testConstructor() {
+    assertNotNull(new OrcColumnPrefetchStore(mock(LogicalIOConfiguration.class)));
+  }
+
+  @Test
+  void testOrcMetadata() {
+    // Given
+    OrcColumnPrefetchStore orcColumnPrefetchStore =
+        new OrcColumnPrefetchStore(LogicalIOConfiguration.DEFAULT);
+    OrcMetadata orcMetadata =
+        new OrcMetadata(0, 1024, Collections.emptyList(), Arrays.asList("", "a"), 42);
+
+    // When
+    orcColumnPrefetchStore.putOrcMetadata(TEST_URI, orcMetadata);
+
+    // Then
+    assertSame(orcMetadata, orcColumnPrefetchStore.getOrcMetadata(TEST_URI));
+    assertNull(orcColumnPrefetchStore.getOrcMetadata(S3URI.of("foo", "other.orc")));
+  }
+
+  @Test
+  void testStripeStreams() {
+    // Given
+    OrcColumnPrefetchStore orcColumnPrefetchStore =
+        new OrcColumnPrefetchStore(LogicalIOConfiguration.DEFAULT);
+    List<OrcStream> streams = Collections.singletonList(new OrcStream(1, 3, 100));
+
+    // When
+    orcColumnPrefetchStore.putStripeStreams(TEST_URI, 1, streams);
+
+    // Then
+    assertSame(streams, orcColumnPrefetchStore.getStripeStreams(TEST_URI, 1));
+    assertNull(orcColumnPrefetchStore.getStripeStreams(TEST_URI, 0));
+    assertNull(orcColumnPrefetchStore.getStripeStreams(S3URI.of("foo", "other.orc"), 1));
+  }
+
+  @Test
+  void testMarkStripePrefetched() {
+    // Given
+    OrcColumnPrefetchStore orcColumnPrefetchStore =
+        new OrcColumnPrefetchStore(LogicalIOConfiguration.DEFAULT);
+
+    // When & Then: a stripe is only to be prefetched once
+    assertTrue(orcColumnPrefetchStore.markStripePrefetched(TEST_URI, 0));
+    assertFalse(orcColumnPrefetchStore.markStripePrefetched(TEST_URI, 0));
+    assertTrue(orcColumnPrefetchStore.markStripePrefetched(TEST_URI, 1));
+  }
+
+  @Test
+  void testStoresAreBounded() {
+    // Given: room for the metadata of a single file
+    OrcColumnPrefetchStore orcColumnPrefetchStore =
+        new OrcColumnPrefetchStore(
+            LogicalIOConfiguration.builder().parquetMetadataStoreSize(1).build());
+    S3URI otherURI = S3URI.of("foo", "other.orc");
+
+    // When
+    orcColumnPrefetchStore.markStripePrefetched(TEST_URI, 0);
+    orcColumnPrefetchStore.markStripePrefetched(otherURI, 0);
+
+    // Then: the eldest file is evicted
+    assertTrue(orcColumnPrefetchStore.markStripePrefetched(TEST_URI, 0));
+  }
+
+  @Test
+  void testPredictedColumnsForSchema() {
+    // Given
+    OrcColumnPrefetchStore orcColumnPrefetchStore =
+        new OrcColumnPrefetchStore(
+            LogicalIOConfiguration.builder()
+                .columnAccessHalfLife(2)
+                .columnPrefetchMinConfidence(0.2)
+                .build());
+
+    // When: a is read once, then b many times
+    orcColumnPrefetchStore.addRecentColumn(1, "a");
+    for (int i = 0; i < 10; i++) {
+      orcColumnPrefetchStore.addRecentColumn(1, "b");
+    }
+    orcColumnPrefetchStore.addRecentColumn(2, "c");
+
+    // Then: a has decayed below the confidence threshold, and schemas are kept apart
+    assertEquals(
+        new HashSet<>(Collections.singletonList("b")),
+        orcColumnPrefetchStore.getPredictedColumnsForSchema(1));
+    assertEquals(
+        new HashSet<>(Collections.singletonList("c")),
+        orcColumnPrefetchStore.getPredictedColumnsForSchema(2));
+    assertTrue(orcColumnPrefetchStore.getPredictedColumnsForSchema(3).isEmpty());
+  }
+}
@@ -0,0 +1,284 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.impl;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import software.amazon.s3.analyticsaccelerator.TestTelemetry;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.logical.orc.OrcMetadata;
+import software.amazon.s3.analyticsaccelerator.io.logical.orc.OrcPrefetchingTask;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
+import software.amazon.s3.analyticsaccelerator.util.PrefetchMode;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+@SuppressFBWarnings(
+    value = "NP_NONNULL_PARAM_VIOLATION",
+    justification = "We mean to pass nulls to checks")
+public class OrcLogicalIOImplTest {
+  private static final S3URI TEST_URI = S3URI.of("foo", "bar.orc");
+
+  @Test
+  void testConstructor() {
+    assertNotNull(
+        new OrcLogicalIOImpl(
+            TEST_URI,
+            mock(PhysicalIO.class),
+            TestTelemetry.DEFAULT,
+            mock(LogicalIOConfiguration.class),
+            mock(OrcColumnPrefetchStore.class)));
+  }
+
+  @Test
+  void testConstructorThrowsOnNullArgument() {
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new OrcLogicalIOImpl(
+                null,
+                mock(PhysicalIO.class),
+                TestTelemetry.DEFAULT,
+                mock(LogicalIOConfiguration.class),
+                mock(OrcColumnPrefetchStore.class)));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new OrcLogicalIOImpl(
+                TEST_URI,
+                null,
+                TestTelemetry.DEFAULT,
+                mock(LogicalIOConfiguration.class),
+                mock(OrcColumnPrefetchStore.class)));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new OrcLogicalIOImpl(
+                TEST_URI,
+                mock(PhysicalIO.class),
+                null,
+                mock(LogicalIOConfiguration.class),
+                mock(OrcColumnPrefetchStore.class)));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new OrcLogicalIOImpl(
+                TEST_URI,
+                mock(PhysicalIO.class),
+                TestTelemetry.DEFAULT,
+                null,
+                mock(OrcColumnPrefetchStore.class)));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new OrcLogicalIOImpl(
+                TEST_URI,
+                mock(PhysicalIO.class),
+                TestTelemetry.DEFAULT,
+                mock(LogicalIOConfiguration.class),
+                null));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new OrcLogicalIOImpl(
+                TEST_URI,
+                mock(PhysicalIO.class),
+                TestTelemetry.DEFAULT,
+                mock(LogicalIOConfiguration.class),
+                mock(OrcColumnPrefetchStore.class),
+                null));
+  }
+
+  @Test
+  void testPrefetchesTailAndFirstStripeOnOpen() {
+    // Given: a tail already parsed by another stream of the object
+    OrcColumnPrefetchStore orcColumnPrefetchStore =
+        new OrcColumnPrefetchStore(LogicalIOConfiguration.DEFAULT);
+    OrcMetadata orcMetadata =
+        new OrcMetadata(0, 1024, Collections.emptyList(), Arrays.asList("", "a"), 42);
+    orcColumnPrefetchStore.putOrcMetadata(TEST_URI, orcMetadata);
+    OrcPrefetchingTask orcPrefetchingTask = mock(OrcPrefetchingTask.class);
+
+    // When
+    new OrcLogicalIOImpl(
+        TEST_URI,
+        mock(PhysicalIO.class),
+        TestTelemetry.DEFAULT,
+        LogicalIOConfiguration.DEFAULT,
+        orcColumnPrefetchStore,
+        orcPrefetchingTask,
+        ForkJoinPool.commonPool());
+
+    // Then: the tail is not parsed again, and the first stripe is prefetched
+    verify(orcPrefetchingTask, times(1)).prefetchTail();
+    verify(orcPrefetchingTask, timeout(5000)).prefetchStripe(orcMetadata, 0);
+    verify(orcPrefetchingTask, never()).readTail();
+  }
+
+  @Test
+  void testReadRecordsColumns() throws IOException {
+    // Given: a stream whose tail is already parsed
+    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    when(physicalIO.read(any(byte[].class), anyInt(), anyInt(), anyLong())).thenReturn(10);
+    OrcPrefetchingTask orcPrefetchingTask = mock(OrcPrefetchingTask.class);
+    when(orcPrefetchingTask.recordRead(100, 10)).thenReturn(-1);
+    OrcLogicalIOImpl logicalIO =
+        new OrcLogicalIOImpl(
+            TEST_URI,
+            physicalIO,
+            TestTelemetry.DEFAULT,
+            LogicalIOConfiguration.DEFAULT,
+            new OrcColumnPrefetchStore(LogicalIOConfiguration.DEFAULT),
+            orcPrefetchingTask,
+            Runnable::run);
+
+    // When
+    logicalIO.read(new byte[10], 0, 10, 100);
+
+    // Then: the columns read are recorded by the reader, and there is no stripe to prefetch
+    verify(physicalIO).read(any(byte[].class), anyInt(), anyInt(), anyLong());
+    verify(orcPrefetchingTask).recordRead(100, 10);
+    verify(orcPrefetchingTask, never()).onRead(anyLong(), anyInt());
+    verify(orcPrefetchingTask, never()).prefetchStripe(anyInt());
+  }
+
+  @Test
+  void testReadBeforeTailIsParsedIsRecordedOnceParsed() throws IOException {
+    // Given: an executor holding the tasks until told to run them
+    List<Runnable> pendingTasks = new ArrayList<>();
+    OrcPrefetchingTask orcPrefetchingTask = mock(OrcPrefetchingTask.class);
+    OrcLogicalIOImpl logicalIO =
+        new OrcLogicalIOImpl(
+            TEST_URI,
+            mock(PhysicalIO.class),
+            TestTelemetry.DEFAULT,
+            LogicalIOConfiguration.DEFAULT,
+            new OrcColumnPrefetchStore(LogicalIOConfiguration.DEFAULT),
+            orcPrefetchingTask,
+            pendingTasks::add);
+
+    // When: the stream is read while the tail is being parsed, and the tail is parsed afterwards
+    logicalIO.read(new byte[10], 0, 10, 100);
+    verify(orcPrefetchingTask, never()).onRead(anyLong(), anyInt());
+    while (!pendingTasks.isEmpty()) {
+      pendingTasks.remove(0).run();
+    }
+
+    // Then: the read is recorded along with the prefetch of the next stripe
+    verify(orcPrefetchingTask).readTail();
+    verify(orcPrefetchingTask).onRead(100, 10);
+    verify(orcPrefetchingTask, never()).recordRead(anyLong(), anyInt());
+  }
+
+  @Test
+  void testNoPrefetchingWhenTurnedOff() throws IOException {
+    // Given
+    LogicalIOConfiguration configuration =
+        LogicalIOConfiguration.builder()
+            .footerCachingEnabled(false)
+            .prefetchingMode(PrefetchMode.OFF)
+            .build();
+    OrcPrefetchingTask orcPrefetchingTask = mock(OrcPrefetchingTask.class);
+    OrcLogicalIOImpl logicalIO =
+        new OrcLogicalIOImpl(
+            TEST_URI,
+            mock(PhysicalIO.class),
+            TestTelemetry.DEFAULT,
+            configuration,
+            new OrcColumnPrefetchStore(configuration),
+            orcPrefetchingTask,
+            ForkJoinPool.commonPool());
+
+    // When
+    logicalIO.read(new byte[10], 0, 10, 100);
+
+    // Then
+    verify(orcPrefetchingTask, never()).prefetchTail();
+    verify(orcPrefetchingTask, never()).readTail();
+    verify(orcPrefetchingTask, never()).onRead(anyLong(), anyInt());
+    verify(orcPrefetchingTask, never()).recordRead(anyLong(), anyInt());
+  }
+
+  @Test
+  void testOpenDoesNotThrowWhenTailCannotBeRead() {
+    // Given
+    OrcPrefetchingTask orcPrefetchingTask = mock(OrcPrefetchingTask.class);
+    when(orcPrefetchingTask.prefetchTail()).thenThrow(new CompletionException("tail", null));
+    when(orcPrefetchingTask.readTail()).thenThrow(new CompletionException("tail", null));
+
+    // When & Then
+    assertDoesNotThrow(
+        () ->
+            new OrcLogicalIOImpl(
+                TEST_URI,
+                mock(PhysicalIO.class),
+                TestTelemetry.DEFAULT,
+                LogicalIOConfiguration.DEFAULT,
+                new OrcColumnPrefetchStore(LogicalIOConfiguration.DEFAULT),
+                orcPrefetchingTask,
+                ForkJoinPool.commonPool()));
+  }
+
+  @Test
+  void testPrefetchingRunsOnSuppliedExecutor() throws IOException {
+    // Given: an executor running the tasks in the calling thread
+    AtomicInteger executedTasks = new AtomicInteger();
+    OrcPrefetchingTask orcPrefetchingTask = mock(OrcPrefetchingTask.class);
+    when(orcPrefetchingTask.recordRead(100, 10)).thenReturn(1);
+    OrcLogicalIOImpl logicalIO =
+        new OrcLogicalIOImpl(
+            TEST_URI,
+            mock(PhysicalIO.class),
+            TestTelemetry.DEFAULT,
+            LogicalIOConfiguration.DEFAULT,
+            new OrcColumnPrefetchStore(LogicalIOConfiguration.DEFAULT),
+            orcPrefetchingTask,
+            task -> {
+              executedTasks.incrementAndGet();
+              task.run();
+            });
+
+    // When
+    logicalIO.read(new byte[10], 0, 10, 100);
+
+    // Then: both the tail parsing and the prefetch of the next stripe went through the executor
+    assertEquals(2, executedTasks.get());
+    verify(orcPrefetchingTask).readTail();
+    verify(orcPrefetchingTask).recordRead(100, 10);
+    verify(orcPrefetchingTask).prefetchStripe(1);
+  }
+}
@@ -16,21 +16,25 @@
 package software.amazon.s3.analyticsaccelerator.io.logical.impl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.OptionalLong;
 import java.util.Set;
 import org.junit.jupiter.api.Test;
 import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
 import software.amazon.s3.analyticsaccelerator.io.logical.parquet.ColumnMappers;
 import software.amazon.s3.analyticsaccelerator.io.logical.parquet.ColumnMetadata;
+import software.amazon.s3.analyticsaccelerator.io.logical.parquet.ColumnPrediction;
+import software.amazon.s3.analyticsaccelerator.io.logical.parquet.ParquetFooter;
 import software.amazon.s3.analyticsaccelerator.util.S3URI;
 
 public class ParquetColumnPrefetchStoreTest {
@@ -52,40 +56,52 @@ public class ParquetColumnPrefetchStoreTest {
     ColumnMetadata sk_test2 = new ColumnMetadata(0, "sk_test2", 0, 500, schemaHash);
     ColumnMetadata sk_test3 = new ColumnMetadata(0, "sk_test3", 0, 500, schemaHash);
 
-    Map<Integer, LinkedList<String>> recentlyReadColumnsPerSchema = new HashMap<>();
+    ColumnMetadata sk_test4 = new ColumnMetadata(0, "sk_test4", 0, 500, schemaHash);
+
+    Map<Integer, ColumnAccessModel> columnAccessModelsPerSchema = new HashMap<>();
 
     ParquetColumnPrefetchStore parquetColumnPrefetchStore =
         new ParquetColumnPrefetchStore(
-            LogicalIOConfiguration.builder().maxColumnAccessCountStoreSize(3).build(),
+            LogicalIOConfiguration.builder()
+                .maxColumnAccessCountStoreSize(3)
+                .columnAccessHalfLife(2)
+                .columnPrefetchMinConfidence(0.2)
+                .build(),
             columnMappersStore,
-            recentlyReadColumnsPerSchema,
-            rowGroupsPrefetched);
-
-    parquetColumnPrefetchStore.addRecentColumn(sk_test);
-    parquetColumnPrefetchStore.addRecentColumn(sk_test2);
-    parquetColumnPrefetchStore.addRecentColumn(sk_test);
-    parquetColumnPrefetchStore.addRecentColumn(sk_test2);
-    parquetColumnPrefetchStore.addRecentColumn(sk_test3);
+            new HashMap<>(),
+            columnAccessModelsPerSchema,
+            rowGroupsPrefetched,
+            new HashMap<>(),
+            new HashMap<>());
+
+    // sk_test4 is read once, then decays away as the other columns keep being read
+    parquetColumnPrefetchStore.addRecentColumn(sk_test4);
+    for (int i = 0; i < 4; i++) {
+      parquetColumnPrefetchStore.addRecentColumn(sk_test);
+      parquetColumnPrefetchStore.addRecentColumn(sk_test2);
+    }
     parquetColumnPrefetchStore.addRecentColumn(sk_test3);
 
-    assertEquals(recentlyReadColumnsPerSchema.get(schemaHash).size(), 3);
+    assertEquals(1, columnAccessModelsPerSchema.size());
+
+    List<ColumnPrediction> predictions =
+        parquetColumnPrefetchStore.getColumnPredictionsForSchema(schemaHash);
+    assertEquals(3, predictions.size());
+    assertEquals("sk_test2", predictions.get(0).getColumnId());
+    assertEquals(1.0, predictions.get(0).getConfidence());
+    // sk_test3 was read once, but recently enough to outweigh the older reads of sk_test
+    assertEquals("sk_test3", predictions.get(1).getColumnId());
+    assertEquals("sk_test", predictions.get(2).getColumnId());
 
-    // We should only have the last 3 recently read columns in the list
-    List<String> expectedColumns = new ArrayList<>();
+    // Only columns predicted with enough confidence are returned
+    Set<String> expectedColumns = new HashSet<>();
+    expectedColumns.add("sk_test");
     expectedColumns.add("sk_test2");
     expectedColumns.add("sk_test3");
-    expectedColumns.add("sk_test3");
-
-    assertEquals(recentlyReadColumnsPerSchema.get(schemaHash), expectedColumns);
-
-    // We should only have unique columns in the list
-    Set<String> expectedUniqueColumns = new HashSet<>();
-    expectedUniqueColumns.add("sk_test2");
-    expectedUniqueColumns.add("sk_test3");
 
     assertEquals(
-        parquetColumnPrefetchStore.getUniqueRecentColumnsForSchema(schemaHash),
-        expectedUniqueColumns);
+        expectedColumns, parquetColumnPrefetchStore.getPredictedColumnsForSchema(schemaHash));
+    assertTrue(parquetColumnPrefetchStore.getPredictedColumnsForSchema(schemaHash + 1).isEmpty());
   }
 
   @Test
@@ -97,7 +113,10 @@ public class ParquetColumnPrefetchStoreTest {
             LogicalIOConfiguration.builder().maxColumnAccessCountStoreSize(3).build(),
             Collections.emptyMap(),
             Collections.emptyMap(),
-            prefetchedRowGroups);
+            Collections.emptyMap(),
+            prefetchedRowGroups,
+            Collections.emptyMap(),
+            Collections.emptyMap());
 
     parquetColumnPrefetchStore.storePrefetchedRowGroupIndex(S3URI.of("test", "key"), 0);
     parquetColumnPrefetchStore.storePrefetchedRowGroupIndex(S3URI.of("test", "key"), 1);
@@ -109,4 +128,84 @@ public class ParquetColumnPrefetchStoreTest {
     assertEquals(
         parquetColumnPrefetchStore.isRowGroupPrefetched(S3URI.of("test", "key_3"), 0), false);
   }
+
+  @Test
+  public void rowGroupsAwaitingDataPages() {
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore =
+        new ParquetColumnPrefetchStore(
+            LogicalIOConfiguration.builder().maxColumnAccessCountStoreSize(3).build(),
+            Collections.emptyMap(),
+            Collections.emptyMap(),
+            Collections.emptyMap(),
+            Collections.emptyMap(),
+            new HashMap<>(),
+            Collections.emptyMap());
+
+    parquetColumnPrefetchStore.storeRowGroupAwaitingDataPages(S3URI.of("test", "key"), 0);
+    parquetColumnPrefetchStore.storeRowGroupAwaitingDataPages(S3URI.of("test", "key"), 1);
+
+    assertTrue(
+        parquetColumnPrefetchStore.removeRowGroupAwaitingDataPages(S3URI.of("test", "key"), 0));
+    assertFalse(
+        parquetColumnPrefetchStore.removeRowGroupAwaitingDataPages(S3URI.of("test", "key"), 0));
+    assertFalse(
+        parquetColumnPrefetchStore.removeRowGroupAwaitingDataPages(S3URI.of("test", "key"), 3));
+    assertFalse(
+        parquetColumnPrefetchStore.removeRowGroupAwaitingDataPages(S3URI.of("test", "key_3"), 1));
+    assertTrue(
+        parquetColumnPrefetchStore.removeRowGroupAwaitingDataPages(S3URI.of("test", "key"), 1));
+  }
+
+  @Test
+  public void parquetFooter() {
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore =
+        new ParquetColumnPrefetchStore(LogicalIOConfiguration.DEFAULT);
+    ParquetFooter parquetFooter =
+        new ParquetFooter(
+            0,
+            null,
+            Collections.emptyMap(),
+            null,
+            Collections.emptyList(),
+            Collections.emptyList());
+
+    parquetColumnPrefetchStore.putParquetFooter(S3URI.of("test", "key"), parquetFooter);
+
+    assertEquals(
+        parquetFooter, parquetColumnPrefetchStore.getParquetFooter(S3URI.of("test", "key")));
+    assertNull(parquetColumnPrefetchStore.getParquetFooter(S3URI.of("test", "key_2")));
+  }
+
+  @Test
+  public void expectedFooterSize() {
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore =
+        new ParquetColumnPrefetchStore(LogicalIOConfiguration.DEFAULT);
+
+    // Nothing learned yet
+    assertFalse(
+        parquetColumnPrefetchStore
+            .getExpectedFooterSize(S3URI.of("test", "table/part-0.parquet"))
+            .isPresent());
+
+    // Footer sizes are learned per prefix and follow the largest footer
+    parquetColumnPrefetchStore.recordFooterSize(S3URI.of("test", "table/part-0.parquet"), 800);
+    parquetColumnPrefetchStore.recordFooterSize(S3URI.of("test", "table/part-1.parquet"), 1600);
+    parquetColumnPrefetchStore.recordFooterSize(S3URI.of("test", "other/part-0.parquet"), 100);
+    assertEquals(
+        OptionalLong.of(1600),
+        parquetColumnPrefetchStore.getExpectedFooterSize(S3URI.of("test", "table/part-2.parquet")));
+    assertEquals(
+        OptionalLong.of(100),
+        parquetColumnPrefetchStore.getExpectedFooterSize(S3URI.of("test", "other/part-2.parquet")));
+    assertFalse(
+        parquetColumnPrefetchStore
+            .getExpectedFooterSize(S3URI.of("test", "table/nested/part-0.parquet"))
+            .isPresent());
+
+    // Smaller footers make the expected size decay
+    parquetColumnPrefetchStore.recordFooterSize(S3URI.of("test", "table/part-3.parquet"), 800);
+    assertEquals(
+        OptionalLong.of(1400),
+        parquetColumnPrefetchStore.getExpectedFooterSize(S3URI.of("test", "table/part-4.parquet")));
+  }
 }
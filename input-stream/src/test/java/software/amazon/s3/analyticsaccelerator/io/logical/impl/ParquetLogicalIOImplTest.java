@@ -20,6 +20,7 @@ import static org.mockito.Mockito.*;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.io.IOException;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import org.junit.jupiter.api.Test;
 import software.amazon.s3.analyticsaccelerator.TestTelemetry;
@@ -90,6 +91,16 @@ public class ParquetLogicalIOImplTest {
                 TestTelemetry.DEFAULT,
                 mock(LogicalIOConfiguration.class),
                 null));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new ParquetLogicalIOImpl(
+                TEST_URI,
+                mock(PhysicalIO.class),
+                TestTelemetry.DEFAULT,
+                mock(LogicalIOConfiguration.class),
+                mock(ParquetColumnPrefetchStore.class),
+                null));
   }
 
   @Test
@@ -117,6 +128,28 @@ public class ParquetLogicalIOImplTest {
     verify(physicalIO, times(1)).close();
   }
 
+  @Test
+  void testParquetFooterIsEmptyWhenFooterCannotBeParsed() {
+    // Given: an object whose tail cannot be read
+    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    LogicalIOConfiguration configuration =
+        LogicalIOConfiguration.builder()
+            .footerCachingEnabled(false)
+            .prefetchingMode(PrefetchMode.OFF)
+            .build();
+
+    ParquetLogicalIOImpl logicalIO =
+        new ParquetLogicalIOImpl(
+            TEST_URI,
+            physicalIO,
+            TestTelemetry.DEFAULT,
+            configuration,
+            new ParquetColumnPrefetchStore(configuration));
+
+    // When & Then: no footer is returned
+    assertEquals(Optional.empty(), logicalIO.parquetFooter());
+  }
+
   @Test
   void testMetadaWithZeroContentLength() {
     ObjectClient mockClient = mock(ObjectClient.class);
@@ -29,12 +29,21 @@ import static org.mockito.Mockito.when;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.Optional;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import org.junit.jupiter.api.Test;
+import software.amazon.s3.analyticsaccelerator.TestTelemetry;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Operation;
 import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
 import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
 import software.amazon.s3.analyticsaccelerator.io.logical.parquet.ColumnMappers;
 import software.amazon.s3.analyticsaccelerator.io.logical.parquet.FileTail;
+import software.amazon.s3.analyticsaccelerator.io.logical.parquet.ParquetFooter;
 import software.amazon.s3.analyticsaccelerator.io.logical.parquet.ParquetMetadataParsingTask;
 import software.amazon.s3.analyticsaccelerator.io.logical.parquet.ParquetPredictivePrefetchingTask;
 import software.amazon.s3.analyticsaccelerator.io.logical.parquet.ParquetPrefetchRemainingColumnTask;
@@ -184,6 +193,20 @@ public class ParquetPrefetcherTest {
                 mock(ParquetReadTailTask.class),
                 mock(ParquetPrefetchRemainingColumnTask.class),
                 null));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new ParquetPrefetcher(
+                mock(S3URI.class),
+                mock(LogicalIOConfiguration.class),
+                mock(ParquetColumnPrefetchStore.class),
+                mock(Telemetry.class),
+                mock(ParquetMetadataParsingTask.class),
+                mock(ParquetPrefetchTailTask.class),
+                mock(ParquetReadTailTask.class),
+                mock(ParquetPrefetchRemainingColumnTask.class),
+                mock(ParquetPredictivePrefetchingTask.class),
+                null));
 
     assertThrows(
         NullPointerException.class,
@@ -259,6 +282,81 @@ public class ParquetPrefetcherTest {
         .prefetchRemainingColumnChunk(anyLong(), anyInt());
   }
 
+  @Test
+  public void testPrefetchRemainingColumnChunkRunsOnSuppliedExecutor() {
+    // Given: an executor running the tasks in the calling thread
+    AtomicInteger executedTasks = new AtomicInteger();
+    LogicalIOConfiguration logicalIOConfiguration =
+        LogicalIOConfiguration.builder().prefetchingMode(PrefetchMode.COLUMN_BOUND).build();
+    ParquetPrefetchRemainingColumnTask parquetPrefetchRemainingColumnTask =
+        mock(ParquetPrefetchRemainingColumnTask.class);
+
+    ParquetPrefetcher parquetPrefetcher =
+        new ParquetPrefetcher(
+            TEST_URI,
+            logicalIOConfiguration,
+            mock(ParquetColumnPrefetchStore.class),
+            Telemetry.NOOP,
+            mock(ParquetMetadataParsingTask.class),
+            mock(ParquetPrefetchTailTask.class),
+            mock(ParquetReadTailTask.class),
+            parquetPrefetchRemainingColumnTask,
+            mock(ParquetPredictivePrefetchingTask.class),
+            task -> {
+              executedTasks.incrementAndGet();
+              task.run();
+            });
+
+    // When: prefetching a column chunk
+    parquetPrefetcher.prefetchRemainingColumnChunk(100, 200).join();
+
+    // Then: the prefetching went through the executor
+    assertEquals(1, executedTasks.get());
+    verify(parquetPrefetchRemainingColumnTask, times(1)).prefetchRemainingColumnChunk(100, 200);
+  }
+
+  @Test
+  public void testPrefetchRemainingColumnChunkOperationParentsTaskOperations() {
+    // Given: a prefetcher running its tasks on another thread, whose task starts an operation
+    LogicalIOConfiguration logicalIOConfiguration =
+        LogicalIOConfiguration.builder().prefetchingMode(PrefetchMode.COLUMN_BOUND).build();
+    ParquetPrefetchRemainingColumnTask parquetPrefetchRemainingColumnTask =
+        mock(ParquetPrefetchRemainingColumnTask.class);
+    AtomicReference<Operation> taskOperation = new AtomicReference<>();
+    when(parquetPrefetchRemainingColumnTask.prefetchRemainingColumnChunk(100, 200))
+        .thenAnswer(
+            invocation -> {
+              taskOperation.set(Operation.builder().name("test.task").build());
+              return IOPlanExecution.builder().state(IOPlanState.SUBMITTED).build();
+            });
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    try {
+      ParquetPrefetcher parquetPrefetcher =
+          new ParquetPrefetcher(
+              TEST_URI,
+              logicalIOConfiguration,
+              mock(ParquetColumnPrefetchStore.class),
+              TestTelemetry.DEFAULT,
+              mock(ParquetMetadataParsingTask.class),
+              mock(ParquetPrefetchTailTask.class),
+              mock(ParquetReadTailTask.class),
+              parquetPrefetchRemainingColumnTask,
+              mock(ParquetPredictivePrefetchingTask.class),
+              executor);
+
+      // When: prefetching a column chunk
+      parquetPrefetcher.prefetchRemainingColumnChunk(100, 200).join();
+    } finally {
+      executor.shutdown();
+    }
+
+    // Then: the operation of the task is a child of the prefetching operation
+    Optional<Operation> parent = taskOperation.get().getParent();
+    assertTrue(parent.isPresent());
+    assertEquals("parquet.prefetcher.prefetch.column.chunk.async", parent.get().getName());
+  }
+
   @Test
   public void testConfigurationsPrefetchRemainingColumnChunkDisabled() {
     // Given: config that should not trigger prefetching
@@ -281,9 +379,13 @@ public class ParquetPrefetcherTest {
     // When: prefetching a column chunk
     IOPlanExecution execution = parquetPrefetcher.prefetchRemainingColumnChunk(100, 200).join();
 
-    // Then: verify that the prefetching task is never actually triggered
+    // Then: verify that the prefetching task is never actually triggered, and that the same
+    // skipped execution is returned for every read
     verifyNoInteractions(parquetPrefetchRemainingColumnTask);
     assertEquals(IOPlanState.SKIPPED, execution.getState());
+    assertSame(
+        parquetPrefetcher.prefetchRemainingColumnChunk(100, 200),
+        parquetPrefetcher.prefetchRemainingColumnChunk(300, 200));
   }
 
   @Test
@@ -557,4 +659,122 @@ public class ParquetPrefetcherTest {
         parquetPrefetchRemainingColumnTask,
         parquetPredictivePrefetchingTask);
   }
+
+  @Test
+  public void testGetParquetFooterCached() {
+    // Given: a footer that has already been parsed
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore =
+        new ParquetColumnPrefetchStore(LogicalIOConfiguration.DEFAULT);
+    ParquetFooter parquetFooter = emptyParquetFooter();
+    parquetColumnPrefetchStore.putParquetFooter(TEST_URI, parquetFooter);
+    ParquetReadTailTask parquetReadTailTask = mock(ParquetReadTailTask.class);
+    ParquetPrefetcher parquetPrefetcher =
+        getTestPrefetcher(
+            LogicalIOConfiguration.DEFAULT,
+            parquetColumnPrefetchStore,
+            mock(ParquetMetadataParsingTask.class),
+            mock(ParquetPrefetchTailTask.class),
+            parquetReadTailTask,
+            mock(ParquetPrefetchRemainingColumnTask.class),
+            mock(ParquetPredictivePrefetchingTask.class));
+
+    // When: the footer is requested
+    Optional<ParquetFooter> result = parquetPrefetcher.getParquetFooter();
+
+    // Then: the cached footer is returned, without reading the tail again
+    assertEquals(Optional.of(parquetFooter), result);
+    verifyNoInteractions(parquetReadTailTask);
+  }
+
+  @Test
+  public void testGetParquetFooterParsesFooterWhenNotCached() {
+    // Given: a footer that has not been parsed yet
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore =
+        new ParquetColumnPrefetchStore(LogicalIOConfiguration.DEFAULT);
+    ParquetFooter parquetFooter = emptyParquetFooter();
+    ParquetMetadataParsingTask parquetMetadataParsingTask = mock(ParquetMetadataParsingTask.class);
+    when(parquetMetadataParsingTask.storeColumnMappers(any(FileTail.class)))
+        .thenAnswer(
+            invocation -> {
+              parquetColumnPrefetchStore.putParquetFooter(TEST_URI, parquetFooter);
+              return mock(ColumnMappers.class);
+            });
+    ParquetPrefetcher parquetPrefetcher =
+        getTestPrefetcher(
+            LogicalIOConfiguration.DEFAULT,
+            parquetColumnPrefetchStore,
+            parquetMetadataParsingTask,
+            mock(ParquetPrefetchTailTask.class),
+            getTestParquetReadTailTask(),
+            mock(ParquetPrefetchRemainingColumnTask.class),
+            mock(ParquetPredictivePrefetchingTask.class));
+
+    // When: the footer is requested
+    Optional<ParquetFooter> result = parquetPrefetcher.getParquetFooter();
+
+    // Then: the footer is parsed
+    assertEquals(Optional.of(parquetFooter), result);
+    verify(parquetMetadataParsingTask, times(1)).storeColumnMappers(any(FileTail.class));
+  }
+
+  @Test
+  public void testGetParquetFooterWaitsForFooterBeingPrefetched() {
+    // Given: row group prefetching, which parses the footer without prefetching any column
+    LogicalIOConfiguration logicalIOConfiguration =
+        LogicalIOConfiguration.builder().prefetchingMode(PrefetchMode.ROW_GROUP).build();
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore =
+        new ParquetColumnPrefetchStore(logicalIOConfiguration);
+    ParquetFooter parquetFooter = emptyParquetFooter();
+    ParquetMetadataParsingTask parquetMetadataParsingTask = mock(ParquetMetadataParsingTask.class);
+    when(parquetMetadataParsingTask.storeColumnMappers(any(FileTail.class)))
+        .thenAnswer(
+            invocation -> {
+              parquetColumnPrefetchStore.putParquetFooter(TEST_URI, parquetFooter);
+              return mock(ColumnMappers.class);
+            });
+    ParquetReadTailTask parquetReadTailTask = getTestParquetReadTailTask();
+    ParquetPrefetcher parquetPrefetcher =
+        getTestPrefetcher(
+            logicalIOConfiguration,
+            parquetColumnPrefetchStore,
+            parquetMetadataParsingTask,
+            mock(ParquetPrefetchTailTask.class),
+            parquetReadTailTask,
+            mock(ParquetPrefetchRemainingColumnTask.class),
+            mock(ParquetPredictivePrefetchingTask.class));
+
+    // When: the footer is requested right after being prefetched
+    IOPlanExecution execution = parquetPrefetcher.prefetchFooterAndBuildMetadata().join();
+    Optional<ParquetFooter> result = parquetPrefetcher.getParquetFooter();
+
+    // Then: the footer parsed by the prefetch is returned, and the tail is read only once
+    assertEquals(IOPlanState.SKIPPED, execution.getState());
+    assertEquals(Optional.of(parquetFooter), result);
+    verify(parquetReadTailTask, times(1)).readFileTail();
+  }
+
+  @Test
+  public void testGetParquetFooterFailureIsSwallowed() {
+    // Given: a footer that cannot be parsed
+    ParquetMetadataParsingTask parquetMetadataParsingTask = mock(ParquetMetadataParsingTask.class);
+    when(parquetMetadataParsingTask.storeColumnMappers(any(FileTail.class)))
+        .thenThrow(new CompletionException("Error", new IOException()));
+    ParquetPrefetcher parquetPrefetcher =
+        getTestPrefetcher(
+            LogicalIOConfiguration.DEFAULT,
+            new ParquetColumnPrefetchStore(LogicalIOConfiguration.DEFAULT),
+            parquetMetadataParsingTask,
+            mock(ParquetPrefetchTailTask.class),
+            getTestParquetReadTailTask(),
+            mock(ParquetPrefetchRemainingColumnTask.class),
+            mock(ParquetPredictivePrefetchingTask.class));
+
+    // When & Then: no footer is returned
+    assertEquals(Optional.empty(), parquetPrefetcher.getParquetFooter());
+  }
+
+  private static ParquetFooter emptyParquetFooter() {
+    return new ParquetFooter(
+        0, null, Collections.emptyMap(), null, Collections.emptyList(), Collections.emptyList());
+  }
 }
@@ -0,0 +1,144 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.orc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class OrcParserTest {
+
+  @ParameterizedTest
+  @ValueSource(ints = {OrcParser.COMPRESSION_NONE, OrcParser.COMPRESSION_ZLIB})
+  void testParseTail(int compression) throws Exception {
+    // Given
+    OrcTestUtils.OrcFile orcFile = OrcTestUtils.buildFile(compression);
+    ByteBuffer tail = ByteBuffer.wrap(orcFile.getContent());
+
+    // When
+    OrcParser.PostScript postScript = OrcParser.parsePostScript(tail);
+    OrcMetadata orcMetadata = OrcParser.parseFooter(tail, postScript);
+
+    // Then
+    assertEquals(compression, postScript.getCompression());
+    assertEquals(64 * 1024, postScript.getCompressionBlockSize());
+    assertEquals(compression, orcMetadata.getCompression());
+    assertEquals(Arrays.asList("", "a", "b"), orcMetadata.getColumnNames());
+    assertEquals(",a,b".hashCode(), orcMetadata.getSchemaHash());
+    assertEquals(2, orcMetadata.getStripes().size());
+
+    OrcStripe stripe = orcMetadata.getStripes().get(0);
+    assertEquals(0, stripe.getStripeIndex());
+    assertEquals(OrcTestUtils.STRIPE_0_OFFSET, stripe.getOffset());
+    assertEquals(OrcTestUtils.INDEX_LENGTH, stripe.getIndexLength());
+    assertEquals(2 * OrcTestUtils.STREAM_LENGTH, stripe.getDataLength());
+    assertEquals(1000, stripe.getNumberOfRows());
+    assertEquals(orcFile.getStripe1Offset(), orcMetadata.getStripes().get(1).getOffset());
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {OrcParser.COMPRESSION_NONE, OrcParser.COMPRESSION_ZLIB})
+  void testParseStripeFooter(int compression) throws Exception {
+    // Given
+    OrcTestUtils.OrcFile orcFile = OrcTestUtils.buildFile(compression);
+    ByteBuffer tail = ByteBuffer.wrap(orcFile.getContent());
+    OrcMetadata orcMetadata = OrcParser.parseFooter(tail, OrcParser.parsePostScript(tail));
+    OrcStripe stripe = orcMetadata.getStripes().get(1);
+
+    // When
+    ByteBuffer stripeFooter =
+        ByteBuffer.wrap(
+            orcFile.getContent(), (int) stripe.getFooterOffset(), (int) stripe.getFooterLength());
+    List<OrcStream> streams = OrcParser.parseStripeFooter(stripeFooter, orcMetadata, stripe);
+
+    // Then: streams are laid out one after the other from the start of the stripe
+    long stripeOffset = orcFile.getStripe1Offset();
+    assertEquals(
+        Arrays.asList(
+            new OrcStream(1, stripeOffset, OrcTestUtils.INDEX_LENGTH),
+            new OrcStream(1, stripeOffset + 10, OrcTestUtils.STREAM_LENGTH),
+            new OrcStream(2, stripeOffset + 110, OrcTestUtils.STREAM_LENGTH)),
+        streams);
+  }
+
+  @Test
+  void testGetStripeIndex() throws Exception {
+    // Given
+    OrcTestUtils.OrcFile orcFile = OrcTestUtils.buildFile(OrcParser.COMPRESSION_NONE);
+    ByteBuffer tail = ByteBuffer.wrap(orcFile.getContent());
+    OrcMetadata orcMetadata = OrcParser.parseFooter(tail, OrcParser.parsePostScript(tail));
+
+    // When & Then
+    assertEquals(-1, orcMetadata.getStripeIndex(0));
+    assertEquals(0, orcMetadata.getStripeIndex(OrcTestUtils.STRIPE_0_OFFSET));
+    assertEquals(0, orcMetadata.getStripeIndex(orcFile.getStripe1Offset() - 1));
+    assertEquals(1, orcMetadata.getStripeIndex(orcFile.getStripe1Offset()));
+    assertEquals(-1, orcMetadata.getStripeIndex(orcFile.getContent().length - 1));
+  }
+
+  @Test
+  void testParsePostScriptFailsOnBadMagic() throws Exception {
+    // Given: a tail which does not end with an ORC postscript
+    byte[] content = OrcTestUtils.buildFile(OrcParser.COMPRESSION_NONE).getContent();
+    content[content.length - 2] = 'X';
+
+    // When & Then
+    assertThrows(IOException.class, () -> OrcParser.parsePostScript(ByteBuffer.wrap(content)));
+    assertThrows(
+        IOException.class, () -> OrcParser.parsePostScript(ByteBuffer.wrap(new byte[] {0})));
+    assertThrows(
+        IOException.class, () -> OrcParser.parsePostScript(ByteBuffer.wrap(new byte[] {100})));
+  }
+
+  @Test
+  void testParseFooterFailsOnInsufficientTail() throws Exception {
+    // Given: a tail holding the postscript, but only part of the footer
+    byte[] content = OrcTestUtils.buildFile(OrcParser.COMPRESSION_NONE).getContent();
+    OrcParser.PostScript postScript = OrcParser.parsePostScript(ByteBuffer.wrap(content));
+    ByteBuffer tail =
+        ByteBuffer.wrap(
+            Arrays.copyOfRange(
+                content, content.length - (int) postScript.getTailSize() + 1, content.length));
+
+    // When & Then
+    assertThrows(IOException.class, () -> OrcParser.parseFooter(tail, postScript));
+  }
+
+  @Test
+  void testParseFooterFailsOnUnsupportedCompression() throws Exception {
+    // Given: a postscript announcing snappy compression
+    byte[] content = OrcTestUtils.buildFile(OrcParser.COMPRESSION_NONE).getContent();
+    OrcParser.PostScript postScript = OrcParser.parsePostScript(ByteBuffer.wrap(content));
+    OrcParser.PostScript snappyPostScript =
+        new OrcParser.PostScript(
+            postScript.getPostScriptLength(),
+            postScript.getFooterLength(),
+            2,
+            postScript.getCompressionBlockSize());
+
+    // When & Then
+    assertThrows(
+        IOException.class,
+        () -> OrcParser.parseFooter(ByteBuffer.wrap(content), snappyPostScript));
+  }
+}
@@ -0,0 +1,350 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.orc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CompletionException;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.logical.impl.OrcColumnPrefetchStore;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlan;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanExecution;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanState;
+import software.amazon.s3.analyticsaccelerator.request.ObjectMetadata;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+@SuppressFBWarnings(
+    value = "NP_NONNULL_PARAM_VIOLATION",
+    justification = "We mean to pass nulls to checks")
+public class OrcPrefetchingTaskTest {
+  private static final S3URI TEST_URI = S3URI.of("foo", "bar.orc");
+
+  @Test
+  void testConstructor() {
+    assertNotNull(
+        new OrcPrefetchingTask(
+            TEST_URI,
+            Telemetry.NOOP,
+            LogicalIOConfiguration.DEFAULT,
+            mock(PhysicalIO.class),
+            mock(OrcColumnPrefetchStore.class)));
+  }
+
+  @Test
+  void testConstructorFailsOnNull() {
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new OrcPrefetchingTask(
+                null,
+                Telemetry.NOOP,
+                LogicalIOConfiguration.DEFAULT,
+                mock(PhysicalIO.class),
+                mock(OrcColumnPrefetchStore.class)));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new OrcPrefetchingTask(
+                TEST_URI,
+                null,
+                LogicalIOConfiguration.DEFAULT,
+                mock(PhysicalIO.class),
+                mock(OrcColumnPrefetchStore.class)));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new OrcPrefetchingTask(
+                TEST_URI,
+                Telemetry.NOOP,
+                null,
+                mock(PhysicalIO.class),
+                mock(OrcColumnPrefetchStore.class)));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new OrcPrefetchingTask(
+                TEST_URI,
+                Telemetry.NOOP,
+                LogicalIOConfiguration.DEFAULT,
+                null,
+                mock(OrcColumnPrefetchStore.class)));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new OrcPrefetchingTask(
+                TEST_URI,
+                Telemetry.NOOP,
+                LogicalIOConfiguration.DEFAULT,
+                mock(PhysicalIO.class),
+                null));
+  }
+
+  @Test
+  void testPrefetchTail() throws Exception {
+    // Given
+    byte[] content = OrcTestUtils.buildFile(OrcParser.COMPRESSION_NONE).getContent();
+    PhysicalIO physicalIO = mockPhysicalIO(content);
+    LogicalIOConfiguration configuration =
+        LogicalIOConfiguration.builder()
+            .footerCachingSize(100)
+            .smallObjectsPrefetchingEnabled(false)
+            .build();
+    OrcPrefetchingTask orcPrefetchingTask =
+        new OrcPrefetchingTask(
+            TEST_URI,
+            Telemetry.NOOP,
+            configuration,
+            physicalIO,
+            new OrcColumnPrefetchStore(configuration));
+
+    // When
+    orcPrefetchingTask.prefetchTail();
+
+    // Then
+    ArgumentCaptor<IOPlan> ioPlan = ArgumentCaptor.forClass(IOPlan.class);
+    verify(physicalIO).execute(ioPlan.capture());
+    assertEquals(
+        Collections.singletonList(new Range(content.length - 100, content.length - 1)),
+        ioPlan.getValue().getPrefetchRanges());
+  }
+
+  @Test
+  void testReadTail() throws Exception {
+    // Given
+    byte[] content = OrcTestUtils.buildFile(OrcParser.COMPRESSION_ZLIB).getContent();
+    OrcColumnPrefetchStore orcColumnPrefetchStore =
+        new OrcColumnPrefetchStore(LogicalIOConfiguration.DEFAULT);
+    OrcPrefetchingTask orcPrefetchingTask =
+        new OrcPrefetchingTask(
+            TEST_URI,
+            Telemetry.NOOP,
+            LogicalIOConfiguration.DEFAULT,
+            mockPhysicalIO(content),
+            orcColumnPrefetchStore);
+
+    // When
+    OrcMetadata orcMetadata = orcPrefetchingTask.readTail();
+
+    // Then: the tail is parsed and stored for other streams of the object
+    assertEquals(Arrays.asList("", "a", "b"), orcMetadata.getColumnNames());
+    assertEquals(2, orcMetadata.getStripes().size());
+    assertSame(orcMetadata, orcColumnPrefetchStore.getOrcMetadata(TEST_URI));
+  }
+
+  @Test
+  void testReadTailReadsMissingFooterBytes() throws Exception {
+    // Given: a tail holding the postscript, but not the whole footer
+    byte[] content = OrcTestUtils.buildFile(OrcParser.COMPRESSION_NONE).getContent();
+    PhysicalIO physicalIO = mockPhysicalIO(content);
+    LogicalIOConfiguration configuration =
+        LogicalIOConfiguration.builder()
+            .footerCachingSize(20)
+            .smallObjectsPrefetchingEnabled(false)
+            .build();
+    OrcPrefetchingTask orcPrefetchingTask =
+        new OrcPrefetchingTask(
+            TEST_URI,
+            Telemetry.NOOP,
+            configuration,
+            physicalIO,
+            new OrcColumnPrefetchStore(configuration));
+
+    // When
+    OrcMetadata orcMetadata = orcPrefetchingTask.readTail();
+
+    // Then: the rest of the footer is read with a single targeted request
+    assertEquals(2, orcMetadata.getStripes().size());
+    long tailSize = getTailSize(content);
+    verify(physicalIO)
+        .read(any(byte[].class), eq(0), eq((int) tailSize - 20), eq(content.length - tailSize));
+  }
+
+  @Test
+  void testReadTailFailsOnInvalidTail() throws Exception {
+    // Given: an object which is not an ORC file
+    OrcColumnPrefetchStore orcColumnPrefetchStore =
+        new OrcColumnPrefetchStore(LogicalIOConfiguration.DEFAULT);
+    OrcPrefetchingTask orcPrefetchingTask =
+        new OrcPrefetchingTask(
+            TEST_URI,
+            Telemetry.NOOP,
+            LogicalIOConfiguration.DEFAULT,
+            mockPhysicalIO(new byte[100]),
+            orcColumnPrefetchStore);
+
+    // When & Then
+    assertThrows(CompletionException.class, orcPrefetchingTask::readTail);
+    assertNull(orcColumnPrefetchStore.getOrcMetadata(TEST_URI));
+  }
+
+  @Test
+  void testOnReadPrefetchesColumnsOfNextStripe() throws Exception {
+    // Given: a parsed tail
+    OrcTestUtils.OrcFile orcFile = OrcTestUtils.buildFile(OrcParser.COMPRESSION_NONE);
+    PhysicalIO physicalIO = mockPhysicalIO(orcFile.getContent());
+    OrcPrefetchingTask orcPrefetchingTask =
+        new OrcPrefetchingTask(
+            TEST_URI,
+            Telemetry.NOOP,
+            LogicalIOConfiguration.DEFAULT,
+            physicalIO,
+            new OrcColumnPrefetchStore(LogicalIOConfiguration.DEFAULT));
+    orcPrefetchingTask.readTail();
+
+    // When: column a of stripe 0 is read, index and data streams at once
+    IOPlanExecution ioPlanExecution =
+        orcPrefetchingTask.onRead(OrcTestUtils.STRIPE_0_OFFSET, 110);
+    IOPlanExecution secondIOPlanExecution =
+        orcPrefetchingTask.onRead(OrcTestUtils.STRIPE_0_OFFSET + 110, 100);
+
+    // Then: the streams of column a in stripe 1 are prefetched, once
+    assertEquals(IOPlanState.SUBMITTED, ioPlanExecution.getState());
+    assertEquals(IOPlanState.SKIPPED, secondIOPlanExecution.getState());
+    ArgumentCaptor<IOPlan> ioPlan = ArgumentCaptor.forClass(IOPlan.class);
+    verify(physicalIO, times(1)).execute(ioPlan.capture());
+    long stripe1Offset = orcFile.getStripe1Offset();
+    assertEquals(
+        Arrays.asList(
+            new Range(stripe1Offset, stripe1Offset + 9),
+            new Range(stripe1Offset + 10, stripe1Offset + 109)),
+        ioPlan.getValue().getPrefetchRanges());
+  }
+
+  @Test
+  void testRecordReadOnlyReturnsStripeToPrefetch() throws Exception {
+    // Given: a parsed tail
+    PhysicalIO physicalIO =
+        mockPhysicalIO(OrcTestUtils.buildFile(OrcParser.COMPRESSION_NONE).getContent());
+    OrcPrefetchingTask orcPrefetchingTask =
+        new OrcPrefetchingTask(
+            TEST_URI,
+            Telemetry.NOOP,
+            LogicalIOConfiguration.DEFAULT,
+            physicalIO,
+            new OrcColumnPrefetchStore(LogicalIOConfiguration.DEFAULT));
+    orcPrefetchingTask.readTail();
+
+    // When: column a of stripe 0 is read, before and after stripe 1 is prefetched
+    int nextStripeIndex = orcPrefetchingTask.recordRead(OrcTestUtils.STRIPE_0_OFFSET, 110);
+    verify(physicalIO, never()).execute(any(IOPlan.class));
+    IOPlanExecution ioPlanExecution = orcPrefetchingTask.prefetchStripe(nextStripeIndex);
+    int secondNextStripeIndex = orcPrefetchingTask.recordRead(OrcTestUtils.STRIPE_0_OFFSET, 110);
+
+    // Then: recording the read does not prefetch, and stripe 1 is only to be prefetched once
+    assertEquals(1, nextStripeIndex);
+    assertEquals(IOPlanState.SUBMITTED, ioPlanExecution.getState());
+    assertEquals(-1, secondNextStripeIndex);
+    verify(physicalIO, times(1)).execute(any(IOPlan.class));
+  }
+
+  @Test
+  void testOnReadSkipsWithoutMetadataOrOutsideOfStripes() throws Exception {
+    // Given
+    byte[] content = OrcTestUtils.buildFile(OrcParser.COMPRESSION_NONE).getContent();
+    PhysicalIO physicalIO = mockPhysicalIO(content);
+    OrcPrefetchingTask orcPrefetchingTask =
+        new OrcPrefetchingTask(
+            TEST_URI,
+            Telemetry.NOOP,
+            LogicalIOConfiguration.DEFAULT,
+            physicalIO,
+            new OrcColumnPrefetchStore(LogicalIOConfiguration.DEFAULT));
+
+    // When & Then: the tail was not parsed yet
+    assertEquals(IOPlanState.SKIPPED, orcPrefetchingTask.onRead(20, 10).getState());
+
+    // When & Then: the read falls in the tail
+    orcPrefetchingTask.readTail();
+    assertEquals(
+        IOPlanState.SKIPPED, orcPrefetchingTask.onRead(content.length - 10, 10).getState());
+    verify(physicalIO, never()).execute(any(IOPlan.class));
+  }
+
+  @Test
+  void testPrefetchStripeSkipsWithoutHistory() throws Exception {
+    // Given: a schema for which no column has been read
+    byte[] content = OrcTestUtils.buildFile(OrcParser.COMPRESSION_NONE).getContent();
+    PhysicalIO physicalIO = mockPhysicalIO(content);
+    OrcPrefetchingTask orcPrefetchingTask =
+        new OrcPrefetchingTask(
+            TEST_URI,
+            Telemetry.NOOP,
+            LogicalIOConfiguration.DEFAULT,
+            physicalIO,
+            new OrcColumnPrefetchStore(LogicalIOConfiguration.DEFAULT));
+    OrcMetadata orcMetadata = orcPrefetchingTask.readTail();
+
+    // When & Then
+    assertEquals(IOPlanState.SKIPPED, orcPrefetchingTask.prefetchStripe(orcMetadata, 0).getState());
+    assertEquals(IOPlanState.SKIPPED, orcPrefetchingTask.prefetchStripe(orcMetadata, 2).getState());
+    verify(physicalIO, never()).execute(any(IOPlan.class));
+  }
+
+  private static long getTailSize(byte[] content) throws IOException {
+    return OrcParser.parsePostScript(ByteBuffer.wrap(content)).getTailSize();
+  }
+
+  private static PhysicalIO mockPhysicalIO(byte[] content) throws IOException {
+    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    when(physicalIO.metadata())
+        .thenReturn(ObjectMetadata.builder().contentLength(content.length).build());
+    when(physicalIO.readTail(any(byte[].class), anyInt(), anyInt()))
+        .thenAnswer(
+            invocation -> {
+              byte[] buf = invocation.getArgument(0);
+              int off = invocation.getArgument(1);
+              int len = invocation.getArgument(2);
+              System.arraycopy(content, content.length - len, buf, off, len);
+              return len;
+            });
+    when(physicalIO.read(any(byte[].class), anyInt(), anyInt(), anyLong()))
+        .thenAnswer(
+            invocation -> {
+              byte[] buf = invocation.getArgument(0);
+              int off = invocation.getArgument(1);
+              int len = invocation.getArgument(2);
+              long position = invocation.getArgument(3);
+              System.arraycopy(content, (int) position, buf, off, len);
+              return len;
+            });
+    when(physicalIO.execute(any(IOPlan.class)))
+        .thenReturn(IOPlanExecution.builder().state(IOPlanState.SUBMITTED).build());
+    return physicalIO;
+  }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.orc;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Deflater;
+import lombok.Value;
+
+/**
+ * Builds a small synthetic ORC file, with a struct of two columns (a and b) stored in two stripes.
+ * Each stripe has an index stream of 10 bytes for column a, followed by data streams of 100 bytes
+ * for columns a and b:
+ *
+ * <ul>
+ *   <li>stripe 0 spans [3-212] plus its footer, with a at [13-112] and b at [113-212]
+ *   <li>stripe 1 follows, with the same layout
+ * </ul>
+ */
+final class OrcTestUtils {
+  static final long STRIPE_0_OFFSET = 3;
+  static final int INDEX_LENGTH = 10;
+  static final int STREAM_LENGTH = 100;
+
+  private OrcTestUtils() {}
+
+  /** An ORC file along with the offset of its second stripe. */
+  @Value
+  static class OrcFile {
+    byte[] content;
+    long stripe1Offset;
+  }
+
+  static OrcFile buildFile(int compression) throws Exception {
+    ByteArrayOutputStream file = new ByteArrayOutputStream();
+    file.write("ORC".getBytes(StandardCharsets.US_ASCII));
+
+    ByteArrayOutputStream footer = new ByteArrayOutputStream();
+    long stripe1Offset = 0;
+    for (int stripe = 0; stripe < 2; stripe++) {
+      long offset = file.size();
+      if (stripe == 1) {
+        stripe1Offset = offset;
+      }
+      file.write(new byte[INDEX_LENGTH + 2 * STREAM_LENGTH]);
+
+      ByteArrayOutputStream stripeFooter = new ByteArrayOutputStream();
+      writeMessage(stripeFooter, 1, stream(1, INDEX_LENGTH));
+      writeMessage(stripeFooter, 1, stream(1, STREAM_LENGTH));
+      writeMessage(stripeFooter, 1, stream(2, STREAM_LENGTH));
+      byte[] compressedStripeFooter = compress(stripeFooter.toByteArray(), compression);
+      file.write(compressedStripeFooter);
+
+      ByteArrayOutputStream stripeInformation = new ByteArrayOutputStream();
+      writeVarint(stripeInformation, 1, offset);
+      writeVarint(stripeInformation, 2, INDEX_LENGTH);
+      writeVarint(stripeInformation, 3, 2 * STREAM_LENGTH);
+      writeVarint(stripeInformation, 4, compressedStripeFooter.length);
+      writeVarint(stripeInformation, 5, 1000);
+      writeMessage(footer, 3, stripeInformation.toByteArray());
+    }
+
+    // Root struct, with packed subtypes
+    ByteArrayOutputStream root = new ByteArrayOutputStream();
+    writeVarint(root, 1, 12);
+    ByteArrayOutputStream subtypes = new ByteArrayOutputStream();
+    writeRawVarint(subtypes, 1);
+    writeRawVarint(subtypes, 2);
+    writeMessage(root, 2, subtypes.toByteArray());
+    writeMessage(root, 3, "a".getBytes(StandardCharsets.UTF_8));
+    writeMessage(root, 3, "b".getBytes(StandardCharsets.UTF_8));
+    writeMessage(footer, 4, root.toByteArray());
+    writeMessage(footer, 4, primitive(4));
+    writeMessage(footer, 4, primitive(7));
+    writeVarint(footer, 6, 2000);
+
+    byte[] compressedFooter = compress(footer.toByteArray(), compression);
+    file.write(compressedFooter);
+
+    ByteArrayOutputStream postScript = new ByteArrayOutputStream();
+    writeVarint(postScript, 1, compressedFooter.length);
+    writeVarint(postScript, 2, compression);
+    writeVarint(postScript, 3, 64 * 1024);
+    writeMessage(postScript, 8000, "ORC".getBytes(StandardCharsets.US_ASCII));
+    file.write(postScript.toByteArray());
+    file.write(postScript.size());
+
+    return new OrcFile(file.toByteArray(), stripe1Offset);
+  }
+
+  private static byte[] stream(int column, long length) {
+    ByteArrayOutputStream stream = new ByteArrayOutputStream();
+    writeVarint(stream, 1, 1);
+    writeVarint(stream, 2, column);
+    writeVarint(stream, 3, length);
+    return stream.toByteArray();
+  }
+
+  private static byte[] primitive(int kind) {
+    ByteArrayOutputStream type = new ByteArrayOutputStream();
+    writeVarint(type, 1, kind);
+    return type.toByteArray();
+  }
+
+  private static byte[] compress(byte[] data, int compression) {
+    if (compression == OrcParser.COMPRESSION_NONE) {
+      return data;
+    }
+
+    Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+    deflater.setInput(data);
+    deflater.finish();
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+    byte[] buffer = new byte[1024];
+    while (!deflater.finished()) {
+      int length = deflater.deflate(buffer);
+      compressed.write(buffer, 0, length);
+    }
+    deflater.end();
+
+    // A single compressed chunk, whose 3 byte header holds its length shifted by one
+    int header = compressed.size() << 1;
+    ByteArrayOutputStream chunk = new ByteArrayOutputStream();
+    chunk.write(header & 0xFF);
+    chunk.write((header >>> 8) & 0xFF);
+    chunk.write((header >>> 16) & 0xFF);
+    byte[] body = compressed.toByteArray();
+    chunk.write(body, 0, body.length);
+    return chunk.toByteArray();
+  }
+
+  private static void writeVarint(ByteArrayOutputStream out, int field, long value) {
+    writeRawVarint(out, (long) field << 3);
+    writeRawVarint(out, value);
+  }
+
+  private static void writeMessage(ByteArrayOutputStream out, int field, byte[] message) {
+    writeRawVarint(out, (long) field << 3 | 2);
+    writeRawVarint(out, message.length);
+    out.write(message, 0, message.length);
+  }
+
+  private static void writeRawVarint(ByteArrayOutputStream out, long value) {
+    while ((value & ~0x7FL) != 0) {
+      out.write((int) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    out.write((int) value);
+  }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.parquet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import org.apache.parquet.format.BoundaryOrder;
+import org.apache.parquet.format.ColumnIndex;
+import org.apache.parquet.format.Type;
+import org.junit.jupiter.api.Test;
+import software.amazon.s3.analyticsaccelerator.io.logical.parquet.ParquetPredicate.Comparison;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+
+@SuppressFBWarnings(
+    value = "NP_NONNULL_PARAM_VIOLATION",
+    justification = "We mean to pass nulls to checks")
+public class ColumnPageIndexTest {
+
+  @Test
+  void testNone() {
+    assertFalse(ColumnPageIndex.NONE.hasPageLocations());
+    assertFalse(ColumnPageIndex.NONE.hasPageStatistics());
+  }
+
+  @Test
+  void testOfThrowsOnNull() {
+    assertThrows(
+        NullPointerException.class, () -> ColumnPageIndex.of(0, 100, Type.INT64, null, null, null));
+  }
+
+  @Test
+  void testPageRowsAndBytes() {
+    ColumnPageIndex columnPageIndex =
+        ColumnPageIndex.of(
+            1000, 100, Type.INT64, null, PageIndexTestUtils.offsetIndex(500, 600), null);
+
+    assertTrue(columnPageIndex.hasPageLocations());
+    assertFalse(columnPageIndex.hasPageStatistics());
+    assertEquals(1000, columnPageIndex.getRowGroupFirstRow());
+    assertEquals(new Range(0, 49), columnPageIndex.getPageRows(0));
+    assertEquals(new Range(50, 99), columnPageIndex.getPageRows(1));
+    assertEquals(new Range(500, 599), columnPageIndex.getPageBytes(0));
+    assertEquals(new Range(600, 699), columnPageIndex.getPageBytes(1));
+  }
+
+  @Test
+  void testPageStatistics() {
+    ColumnPageIndex columnPageIndex =
+        ColumnPageIndex.of(
+            0,
+            100,
+            Type.INT64,
+            null,
+            PageIndexTestUtils.offsetIndex(0, 100),
+            PageIndexTestUtils.columnIndex());
+
+    assertTrue(columnPageIndex.hasPageStatistics());
+    ParquetPredicate predicate = ParquetPredicate.of("ss_a", Comparison.EQ, 60L);
+    assertFalse(columnPageIndex.getPageStatistics().get(0).mightMatch(predicate));
+    assertTrue(columnPageIndex.getPageStatistics().get(1).mightMatch(predicate));
+  }
+
+  @Test
+  void testNullPagesNeverMatch() {
+    ColumnIndex columnIndex =
+        new ColumnIndex(
+            Arrays.asList(true, false),
+            Arrays.asList(ByteBuffer.allocate(0), ByteBuffer.allocate(Long.BYTES)),
+            Arrays.asList(ByteBuffer.allocate(0), ByteBuffer.allocate(Long.BYTES)),
+            BoundaryOrder.UNORDERED);
+    ColumnPageIndex columnPageIndex =
+        ColumnPageIndex.of(
+            0, 100, Type.INT64, null, PageIndexTestUtils.offsetIndex(0, 100), columnIndex);
+
+    ParquetPredicate predicate = ParquetPredicate.of("ss_a", Comparison.EQ, 0L);
+    assertFalse(columnPageIndex.getPageStatistics().get(0).mightMatch(predicate));
+    assertTrue(columnPageIndex.getPageStatistics().get(1).mightMatch(predicate));
+  }
+
+  @Test
+  void testMismatchedColumnIndexIsIgnored() {
+    ColumnIndex columnIndex =
+        new ColumnIndex(
+            Arrays.asList(false),
+            Arrays.asList(ByteBuffer.allocate(Long.BYTES)),
+            Arrays.asList(ByteBuffer.allocate(Long.BYTES)),
+            BoundaryOrder.UNORDERED);
+    ColumnPageIndex columnPageIndex =
+        ColumnPageIndex.of(
+            0, 100, Type.INT64, null, PageIndexTestUtils.offsetIndex(0, 100), columnIndex);
+
+    assertTrue(columnPageIndex.hasPageLocations());
+    assertFalse(columnPageIndex.hasPageStatistics());
+  }
+}
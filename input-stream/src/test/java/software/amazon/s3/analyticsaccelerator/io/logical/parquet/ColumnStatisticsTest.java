@@ -0,0 +1,303 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.parquet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import org.apache.parquet.format.ColumnMetaData;
+import org.apache.parquet.format.ConvertedType;
+import org.apache.parquet.format.DecimalType;
+import org.apache.parquet.format.IntType;
+import org.apache.parquet.format.LogicalType;
+import org.apache.parquet.format.SchemaElement;
+import org.apache.parquet.format.Statistics;
+import org.apache.parquet.format.Type;
+import org.junit.jupiter.api.Test;
+import software.amazon.s3.analyticsaccelerator.io.logical.parquet.ParquetPredicate.Comparison;
+
+@SuppressFBWarnings(
+    value = "NP_NONNULL_PARAM_VIOLATION",
+    justification = "We mean to pass nulls to checks")
+public class ColumnStatisticsTest {
+
+  @Test
+  void testFromColumnMetaDataThrowsOnNull() {
+    assertThrows(NullPointerException.class, () -> ColumnStatistics.fromColumnMetaData(null));
+  }
+
+  @Test
+  void testMissingStatisticsAlwaysMatch() {
+    ColumnStatistics columnStatistics =
+        ColumnStatistics.fromColumnMetaData(new ColumnMetaData().setType(Type.INT64));
+
+    assertEquals(ColumnStatistics.NONE, columnStatistics);
+    assertTrue(columnStatistics.mightMatch(ParquetPredicate.of("c", Comparison.EQ, 1L)));
+  }
+
+  @Test
+  void testInt64Comparisons() {
+    ColumnStatistics columnStatistics = int64Statistics(10, 20);
+
+    assertTrue(columnStatistics.mightMatch(ParquetPredicate.of("c", Comparison.EQ, 10L)));
+    assertTrue(columnStatistics.mightMatch(ParquetPredicate.of("c", Comparison.EQ, 20L)));
+    assertFalse(columnStatistics.mightMatch(ParquetPredicate.of("c", Comparison.EQ, 9L)));
+    assertFalse(columnStatistics.mightMatch(ParquetPredicate.of("c", Comparison.EQ, 21L)));
+
+    assertTrue(columnStatistics.mightMatch(ParquetPredicate.of("c", Comparison.LT, 11L)));
+    assertFalse(columnStatistics.mightMatch(ParquetPredicate.of("c", Comparison.LT, 10L)));
+    assertTrue(columnStatistics.mightMatch(ParquetPredicate.of("c", Comparison.LT_EQ, 10L)));
+    assertFalse(columnStatistics.mightMatch(ParquetPredicate.of("c", Comparison.LT_EQ, 9L)));
+
+    assertTrue(columnStatistics.mightMatch(ParquetPredicate.of("c", Comparison.GT, 19L)));
+    assertFalse(columnStatistics.mightMatch(ParquetPredicate.of("c", Comparison.GT, 20L)));
+    assertTrue(columnStatistics.mightMatch(ParquetPredicate.of("c", Comparison.GT_EQ, 20L)));
+    assertFalse(columnStatistics.mightMatch(ParquetPredicate.of("c", Comparison.GT_EQ, 21L)));
+
+    // Floating point literals are compared numerically
+    assertTrue(columnStatistics.mightMatch(ParquetPredicate.of("c", Comparison.EQ, 15.5)));
+    assertFalse(columnStatistics.mightMatch(ParquetPredicate.of("c", Comparison.GT, 20.5)));
+
+    // String literals cannot be compared to numbers, so the row group might match
+    assertTrue(columnStatistics.mightMatch(ParquetPredicate.of("c", Comparison.EQ, "abc")));
+  }
+
+  @Test
+  void testInt32AndDoubleStatistics() {
+    ColumnStatistics int32Statistics =
+        ColumnStatistics.fromColumnMetaData(
+            new ColumnMetaData()
+                .setType(Type.INT32)
+                .setNum_values(10)
+                .setStatistics(
+                    new Statistics()
+                        .setMin_value(littleEndian(Integer.BYTES).putInt(-5).array())
+                        .setMax_value(littleEndian(Integer.BYTES).putInt(5).array())));
+    assertTrue(int32Statistics.mightMatch(ParquetPredicate.of("c", Comparison.EQ, -5L)));
+    assertFalse(int32Statistics.mightMatch(ParquetPredicate.of("c", Comparison.LT, -5L)));
+
+    ColumnStatistics doubleStatistics =
+        ColumnStatistics.fromColumnMetaData(
+            new ColumnMetaData()
+                .setType(Type.DOUBLE)
+                .setNum_values(10)
+                .setStatistics(
+                    new Statistics()
+                        .setMin_value(littleEndian(Double.BYTES).putDouble(-0.0).array())
+                        .setMax_value(littleEndian(Double.BYTES).putDouble(1.5).array())));
+    assertTrue(doubleStatistics.mightMatch(ParquetPredicate.of("c", Comparison.EQ, 0.0)));
+    assertTrue(doubleStatistics.mightMatch(ParquetPredicate.of("c", Comparison.EQ, 1L)));
+    assertFalse(doubleStatistics.mightMatch(ParquetPredicate.of("c", Comparison.GT, 1.5)));
+    assertTrue(doubleStatistics.mightMatch(ParquetPredicate.of("c", Comparison.GT, Double.NaN)));
+  }
+
+  @Test
+  void testUnsignedInt32ComparedUnsigned() {
+    // Given: a UINT_32 column holding values above Integer.MAX_VALUE, which are negative as ints
+    long max = Integer.MAX_VALUE + 100L;
+    ColumnMetaData columnMetaData =
+        new ColumnMetaData()
+            .setType(Type.INT32)
+            .setNum_values(10)
+            .setStatistics(
+                new Statistics()
+                    .setMin_value(littleEndian(Integer.BYTES).putInt(5).array())
+                    .setMax_value(littleEndian(Integer.BYTES).putInt((int) max).array()));
+
+    for (SchemaElement schemaElement :
+        new SchemaElement[] {
+          new SchemaElement("c").setConverted_type(ConvertedType.UINT_32),
+          new SchemaElement("c").setLogicalType(LogicalType.INTEGER(new IntType((byte) 32, false)))
+        }) {
+      // When: the statistics are read with the schema element of the column
+      ColumnStatistics columnStatistics =
+          ColumnStatistics.fromColumnMetaData(columnMetaData, schemaElement);
+
+      // Then: values are compared as unsigned
+      assertTrue(columnStatistics.mightMatch(ParquetPredicate.of("c", Comparison.GT, 100L)));
+      assertTrue(columnStatistics.mightMatch(ParquetPredicate.of("c", Comparison.EQ, max)));
+      assertTrue(
+          columnStatistics.mightMatch(
+              ParquetPredicate.of("c", Comparison.GT_EQ, (double) Integer.MAX_VALUE)));
+      assertFalse(columnStatistics.mightMatch(ParquetPredicate.of("c", Comparison.GT, max)));
+      assertFalse(columnStatistics.mightMatch(ParquetPredicate.of("c", Comparison.LT, 5L)));
+    }
+  }
+
+  @Test
+  void testUnsignedInt64ComparedUnsigned() {
+    // Given: a UINT_64 column holding values from 2^63, which are negative as longs
+    ColumnStatistics columnStatistics =
+        ColumnStatistics.fromColumnMetaData(
+            new ColumnMetaData()
+                .setType(Type.INT64)
+                .setNum_values(10)
+                .setStatistics(
+                    new Statistics()
+                        .setMin_value(littleEndian(Long.BYTES).putLong(5).array())
+                        .setMax_value(littleEndian(Long.BYTES).putLong(-1).array())),
+            new SchemaElement("c").setConverted_type(ConvertedType.UINT_64));
+
+    // Then: values are compared as unsigned
+    assertTrue(columnStatistics.mightMatch(ParquetPredicate.of("c", Comparison.GT, 100L)));
+    assertTrue(
+        columnStatistics.mightMatch(ParquetPredicate.of("c", Comparison.GT, Long.MAX_VALUE)));
+    assertTrue(columnStatistics.mightMatch(ParquetPredicate.of("c", Comparison.EQ, 1.0e19)));
+    assertFalse(columnStatistics.mightMatch(ParquetPredicate.of("c", Comparison.GT, 1.0e20)));
+    assertFalse(columnStatistics.mightMatch(ParquetPredicate.of("c", Comparison.LT, 5L)));
+  }
+
+  @Test
+  void testDecimalsAlwaysMatch() {
+    // Given: DECIMAL columns, whose statistics hold unscaled values
+    ColumnMetaData int64MetaData =
+        new ColumnMetaData()
+            .setType(Type.INT64)
+            .setNum_values(10)
+            .setStatistics(
+                new Statistics()
+                    .setMin_value(littleEndian(Long.BYTES).putLong(100).array())
+                    .setMax_value(littleEndian(Long.BYTES).putLong(200).array()));
+    ColumnMetaData binaryMetaData =
+        new ColumnMetaData()
+            .setType(Type.FIXED_LEN_BYTE_ARRAY)
+            .setNum_values(10)
+            .setStatistics(
+                new Statistics()
+                    .setMin_value(new byte[] {(byte) 0xFF, 0})
+                    .setMax_value(new byte[] {0, 1}));
+
+    // When: the statistics are read with the schema element of the column
+    ColumnStatistics int64Statistics =
+        ColumnStatistics.fromColumnMetaData(
+            int64MetaData,
+            new SchemaElement("c").setLogicalType(LogicalType.DECIMAL(new DecimalType(2, 10))));
+    ColumnStatistics binaryStatistics =
+        ColumnStatistics.fromColumnMetaData(
+            binaryMetaData, new SchemaElement("c").setConverted_type(ConvertedType.DECIMAL));
+
+    // Then: they are never used to skip rows
+    assertTrue(int64Statistics.mightMatch(ParquetPredicate.of("c", Comparison.EQ, 1.5)));
+    assertTrue(int64Statistics.mightMatch(ParquetPredicate.of("c", Comparison.GT, 300L)));
+    assertTrue(binaryStatistics.mightMatch(ParquetPredicate.of("c", Comparison.EQ, "zzz")));
+  }
+
+  @Test
+  void testStringComparisonsAreUnsigned() {
+    ColumnStatistics columnStatistics =
+        ColumnStatistics.fromColumnMetaData(
+            new ColumnMetaData()
+                .setType(Type.BYTE_ARRAY)
+                .setNum_values(10)
+                .setStatistics(
+                    new Statistics()
+                        .setMin_value("apple".getBytes(StandardCharsets.UTF_8))
+                        .setMax_value("pear".getBytes(StandardCharsets.UTF_8))));
+
+    assertTrue(columnStatistics.mightMatch(ParquetPredicate.of("c", Comparison.EQ, "banana")));
+    assertTrue(columnStatistics.mightMatch(ParquetPredicate.of("c", Comparison.EQ, "pear")));
+    assertFalse(columnStatistics.mightMatch(ParquetPredicate.of("c", Comparison.EQ, "pears")));
+    assertFalse(columnStatistics.mightMatch(ParquetPredicate.of("c", Comparison.EQ, "app")));
+    // Non ASCII characters sort after ASCII ones
+    assertFalse(
+        columnStatistics.mightMatch(ParquetPredicate.of("c", Comparison.GT_EQ, "\u00e9p\u00e9e")));
+  }
+
+  @Test
+  void testDeprecatedMinMaxOnlyUsedForSignedTypes() {
+    Statistics statistics =
+        new Statistics()
+            .setMin("a".getBytes(StandardCharsets.UTF_8))
+            .setMax("b".getBytes(StandardCharsets.UTF_8));
+    ColumnStatistics binaryStatistics =
+        ColumnStatistics.fromColumnMetaData(
+            new ColumnMetaData()
+                .setType(Type.BYTE_ARRAY)
+                .setNum_values(10)
+                .setStatistics(statistics));
+    assertTrue(binaryStatistics.mightMatch(ParquetPredicate.of("c", Comparison.EQ, "z")));
+
+    ColumnStatistics int64Statistics =
+        ColumnStatistics.fromColumnMetaData(
+            new ColumnMetaData()
+                .setType(Type.INT64)
+                .setNum_values(10)
+                .setStatistics(
+                    new Statistics()
+                        .setMin(littleEndian(Long.BYTES).putLong(1).array())
+                        .setMax(littleEndian(Long.BYTES).putLong(2).array())));
+    assertFalse(int64Statistics.mightMatch(ParquetPredicate.of("c", Comparison.EQ, 3L)));
+  }
+
+  @Test
+  void testAllNullsNeverMatch() {
+    ColumnStatistics columnStatistics =
+        ColumnStatistics.fromColumnMetaData(
+            new ColumnMetaData()
+                .setType(Type.BYTE_ARRAY)
+                .setNum_values(10)
+                .setStatistics(new Statistics().setNull_count(10)));
+
+    assertFalse(columnStatistics.mightMatch(ParquetPredicate.of("c", Comparison.EQ, "a")));
+  }
+
+  @Test
+  void testUnsupportedTypesAlwaysMatch() {
+    ColumnStatistics columnStatistics =
+        ColumnStatistics.fromColumnMetaData(
+            new ColumnMetaData()
+                .setType(Type.BOOLEAN)
+                .setNum_values(10)
+                .setStatistics(
+                    new Statistics().setMin_value(new byte[] {0}).setMax_value(new byte[] {0})));
+
+    assertTrue(columnStatistics.mightMatch(ParquetPredicate.of("c", Comparison.EQ, 1L)));
+  }
+
+  @Test
+  void testMalformedValuesAlwaysMatch() {
+    ColumnStatistics columnStatistics =
+        ColumnStatistics.fromColumnMetaData(
+            new ColumnMetaData()
+                .setType(Type.INT64)
+                .setNum_values(10)
+                .setStatistics(
+                    new Statistics().setMin_value(new byte[] {1}).setMax_value(new byte[] {2})));
+
+    assertTrue(columnStatistics.mightMatch(ParquetPredicate.of("c", Comparison.EQ, 100L)));
+  }
+
+  static ColumnStatistics int64Statistics(long min, long max) {
+    return ColumnStatistics.fromColumnMetaData(
+        new ColumnMetaData()
+            .setType(Type.INT64)
+            .setNum_values(10)
+            .setStatistics(
+                new Statistics()
+                    .setMin_value(littleEndian(Long.BYTES).putLong(min).array())
+                    .setMax_value(littleEndian(Long.BYTES).putLong(max).array())));
+  }
+
+  private static ByteBuffer littleEndian(int size) {
+    return ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+  }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.parquet;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.apache.parquet.format.BoundaryOrder;
+import org.apache.parquet.format.ColumnChunk;
+import org.apache.parquet.format.ColumnIndex;
+import org.apache.parquet.format.ColumnMetaData;
+import org.apache.parquet.format.CompressionCodec;
+import org.apache.parquet.format.Encoding;
+import org.apache.parquet.format.FileMetaData;
+import org.apache.parquet.format.OffsetIndex;
+import org.apache.parquet.format.PageLocation;
+import org.apache.parquet.format.RowGroup;
+import org.apache.parquet.format.SchemaElement;
+import org.apache.parquet.format.Type;
+import shaded.parquet.org.apache.thrift.TBase;
+import shaded.parquet.org.apache.thrift.protocol.TCompactProtocol;
+import shaded.parquet.org.apache.thrift.transport.TIOStreamTransport;
+
+/**
+ * Builds a small synthetic Parquet file with a page index, made of a single row group of 100 rows
+ * and two INT64 columns:
+ *
+ * <ul>
+ *   <li>ss_a, without a dictionary, with data pages at [0-99] for rows 0-49 and [100-199] for rows
+ *       50-99, whose values are respectively in [0, 49] and [50, 99]
+ *   <li>ss_b, with a dictionary page at [200-249] and data pages at [250-349] for rows 0-49 and
+ *       [350-449] for rows 50-99
+ * </ul>
+ */
+final class PageIndexTestUtils {
+  static final int DATA_LENGTH = 450;
+
+  private PageIndexTestUtils() {}
+
+  static FileTail buildFile() throws Exception {
+    ByteArrayOutputStream file = new ByteArrayOutputStream();
+    file.write(new byte[DATA_LENGTH]);
+
+    long ssAOffsetIndexOffset = file.size();
+    byte[] ssAOffsetIndex = serialize(offsetIndex(0, 100));
+    file.write(ssAOffsetIndex);
+
+    long ssAColumnIndexOffset = file.size();
+    byte[] ssAColumnIndex = serialize(columnIndex());
+    file.write(ssAColumnIndex);
+
+    long ssBOffsetIndexOffset = file.size();
+    byte[] ssBOffsetIndex = serialize(offsetIndex(250, 350));
+    file.write(ssBOffsetIndex);
+
+    ColumnChunk ssA = columnChunk("ss_a", 0, 200);
+    ssA.setOffset_index_offset(ssAOffsetIndexOffset);
+    ssA.setOffset_index_length(ssAOffsetIndex.length);
+    ssA.setColumn_index_offset(ssAColumnIndexOffset);
+    ssA.setColumn_index_length(ssAColumnIndex.length);
+
+    ColumnChunk ssB = columnChunk("ss_b", 250, 250);
+    ssB.getMeta_data().setDictionary_page_offset(200);
+    ssB.setOffset_index_offset(ssBOffsetIndexOffset);
+    ssB.setOffset_index_length(ssBOffsetIndex.length);
+
+    FileMetaData fileMetaData =
+        new FileMetaData(
+            1,
+            Arrays.asList(new SchemaElement("schema"), new SchemaElement("ss_a")),
+            100,
+            Collections.singletonList(new RowGroup(Arrays.asList(ssA, ssB), 450, 100)));
+    byte[] footer = serialize(fileMetaData);
+    file.write(footer);
+    file.write(
+        ByteBuffer.allocate(Integer.BYTES)
+            .order(ByteOrder.LITTLE_ENDIAN)
+            .putInt(footer.length)
+            .array());
+    file.write("PAR1".getBytes(StandardCharsets.US_ASCII));
+
+    byte[] bytes = file.toByteArray();
+    return new FileTail(ByteBuffer.wrap(bytes), bytes.length, 0);
+  }
+
+  static OffsetIndex offsetIndex(long firstPageOffset, long secondPageOffset) {
+    List<PageLocation> pageLocations = new ArrayList<>();
+    pageLocations.add(new PageLocation(firstPageOffset, 100, 0));
+    pageLocations.add(new PageLocation(secondPageOffset, 100, 50));
+    return new OffsetIndex(pageLocations);
+  }
+
+  static ColumnIndex columnIndex() {
+    return new ColumnIndex(
+        Arrays.asList(false, false),
+        Arrays.asList(int64(0), int64(50)),
+        Arrays.asList(int64(49), int64(99)),
+        BoundaryOrder.ASCENDING);
+  }
+
+  static byte[] serialize(TBase<?, ?> struct) throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    struct.write(new TCompactProtocol(new TIOStreamTransport(out)));
+    return out.toByteArray();
+  }
+
+  private static ColumnChunk columnChunk(String name, long dataPageOffset, long size) {
+    ColumnChunk columnChunk = new ColumnChunk(dataPageOffset);
+    columnChunk.setMeta_data(
+        new ColumnMetaData(
+            Type.INT64,
+            Collections.singletonList(Encoding.PLAIN),
+            Collections.singletonList(name),
+            CompressionCodec.UNCOMPRESSED,
+            100,
+            size,
+            size,
+            dataPageOffset));
+    return columnChunk;
+  }
+
+  private static ByteBuffer int64(long value) {
+    return ByteBuffer.wrap(
+        ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN).putLong(value).array());
+  }
+}
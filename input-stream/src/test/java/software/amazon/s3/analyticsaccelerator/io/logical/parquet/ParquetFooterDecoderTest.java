@@ -0,0 +1,427 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.parquet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+import org.apache.parquet.format.AesGcmV1;
+import org.apache.parquet.format.BsonType;
+import org.apache.parquet.format.ColumnChunk;
+import org.apache.parquet.format.ColumnMetaData;
+import org.apache.parquet.format.ColumnOrder;
+import org.apache.parquet.format.CompressionCodec;
+import org.apache.parquet.format.ConvertedType;
+import org.apache.parquet.format.DateType;
+import org.apache.parquet.format.DecimalType;
+import org.apache.parquet.format.Encoding;
+import org.apache.parquet.format.EncryptionAlgorithm;
+import org.apache.parquet.format.EnumType;
+import org.apache.parquet.format.FieldRepetitionType;
+import org.apache.parquet.format.FileMetaData;
+import org.apache.parquet.format.IntType;
+import org.apache.parquet.format.JsonType;
+import org.apache.parquet.format.KeyValue;
+import org.apache.parquet.format.ListType;
+import org.apache.parquet.format.LogicalType;
+import org.apache.parquet.format.MapType;
+import org.apache.parquet.format.MicroSeconds;
+import org.apache.parquet.format.MilliSeconds;
+import org.apache.parquet.format.NanoSeconds;
+import org.apache.parquet.format.NullType;
+import org.apache.parquet.format.PageEncodingStats;
+import org.apache.parquet.format.PageType;
+import org.apache.parquet.format.RowGroup;
+import org.apache.parquet.format.SchemaElement;
+import org.apache.parquet.format.Statistics;
+import org.apache.parquet.format.StringType;
+import org.apache.parquet.format.TimeType;
+import org.apache.parquet.format.TimeUnit;
+import org.apache.parquet.format.TimestampType;
+import org.apache.parquet.format.Type;
+import org.apache.parquet.format.TypeDefinedOrder;
+import org.apache.parquet.format.UUIDType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import shaded.parquet.org.apache.thrift.protocol.TCompactProtocol;
+import shaded.parquet.org.apache.thrift.protocol.TField;
+import shaded.parquet.org.apache.thrift.protocol.TList;
+import shaded.parquet.org.apache.thrift.protocol.TMap;
+import shaded.parquet.org.apache.thrift.protocol.TProtocol;
+import shaded.parquet.org.apache.thrift.protocol.TStruct;
+import shaded.parquet.org.apache.thrift.protocol.TType;
+import shaded.parquet.org.apache.thrift.transport.TIOStreamTransport;
+
+public class ParquetFooterDecoderTest {
+
+  @ParameterizedTest
+  @MethodSource("parquetFiles")
+  void testDecodeMatchesThrift(String parquetFilePath) throws Exception {
+    // Given: the footer of a Parquet file
+    byte[] footer = readFooter(parquetFilePath);
+    FileMetaData expected = new FileMetaData();
+    expected.read(new TCompactProtocol(new TIOStreamTransport(new ByteArrayInputStream(footer))));
+
+    // When: it is decoded
+    FileMetaData decoded = ParquetFooterDecoder.decode(ByteBuffer.wrap(footer));
+
+    // Then: every field used for prefetching matches the full Thrift deserialization
+    assertEquals(expected.getNum_rows(), decoded.getNum_rows());
+    assertEquals(expected.getCreated_by(), decoded.getCreated_by());
+    assertEquals(expected.getKey_value_metadata(), decoded.getKey_value_metadata());
+    assertEquals(expected.getRow_groups().size(), decoded.getRow_groups().size());
+    for (int i = 0; i < expected.getRow_groups().size(); i++) {
+      assertRowGroupEquals(expected.getRow_groups().get(i), decoded.getRow_groups().get(i));
+    }
+    assertEquals(expected.getSchema().size(), decoded.getSchema().size());
+    for (int i = 0; i < expected.getSchema().size(); i++) {
+      assertEquals(expected.getSchema().get(i), decoded.getSchema().get(i));
+    }
+  }
+
+  @Test
+  void testDecodeSkipsUnusedFields() throws Exception {
+    // Given: a footer setting many fields the prefetcher does not use
+    FileMetaData fileMetaData = fullFileMetaData();
+    byte[] footer = PageIndexTestUtils.serialize(fileMetaData);
+
+    // When: it is decoded
+    FileMetaData decoded = ParquetFooterDecoder.decode(ByteBuffer.wrap(footer));
+
+    // Then: the used fields are decoded and the others are left unset
+    assertEquals(300, decoded.getNum_rows());
+    assertEquals("writer", decoded.getCreated_by());
+    assertEquals(
+        Collections.singletonList(new KeyValue("key").setValue("value")),
+        decoded.getKey_value_metadata());
+    assertEquals(fileMetaData.getSchema(), decoded.getSchema());
+    assertFalse(decoded.isSetColumn_orders());
+    assertFalse(decoded.isSetEncryption_algorithm());
+
+    ColumnChunk columnChunk = decoded.getRow_groups().get(1).getColumns().get(0);
+    assertEquals(1000, columnChunk.getFile_offset());
+    assertEquals(5000, columnChunk.getOffset_index_offset());
+    assertEquals(20, columnChunk.getOffset_index_length());
+    assertEquals(6000, columnChunk.getColumn_index_offset());
+    assertEquals(30, columnChunk.getColumn_index_length());
+    assertFalse(columnChunk.isSetFile_path());
+
+    ColumnMetaData columnMetaData = columnChunk.getMeta_data();
+    assertEquals(Type.INT64, columnMetaData.getType());
+    assertEquals(Arrays.asList("a", "b"), columnMetaData.getPath_in_schema());
+    assertEquals(150, columnMetaData.getNum_values());
+    assertEquals(400, columnMetaData.getTotal_compressed_size());
+    assertEquals(1100, columnMetaData.getData_page_offset());
+    assertEquals(1000, columnMetaData.getDictionary_page_offset());
+    assertEquals(
+        fileMetaData.getRow_groups().get(1).getColumns().get(0).getMeta_data().getStatistics(),
+        columnMetaData.getStatistics());
+    assertFalse(columnMetaData.isSetEncodings());
+    assertFalse(columnMetaData.isSetKey_value_metadata());
+    assertFalse(columnMetaData.isSetEncoding_stats());
+    assertFalse(columnMetaData.isSetBloom_filter_offset());
+  }
+
+  @Test
+  void testDecodeSchemaTypes() throws Exception {
+    // Given: a footer whose schema uses every logical type
+    List<SchemaElement> schema = new ArrayList<>();
+    schema.add(new SchemaElement("schema").setNum_children(16));
+    schema.add(
+        leaf("string", Type.BYTE_ARRAY, LogicalType.STRING(new StringType()))
+            .setConverted_type(ConvertedType.UTF8));
+    schema.add(leaf("map", Type.BYTE_ARRAY, LogicalType.MAP(new MapType())));
+    schema.add(leaf("list", Type.BYTE_ARRAY, LogicalType.LIST(new ListType())));
+    schema.add(leaf("enum", Type.BYTE_ARRAY, LogicalType.ENUM(new EnumType())));
+    schema.add(
+        leaf("decimal", Type.FIXED_LEN_BYTE_ARRAY, LogicalType.DECIMAL(new DecimalType(2, 9)))
+            .setType_length(4)
+            .setConverted_type(ConvertedType.DECIMAL)
+            .setScale(2)
+            .setPrecision(9));
+    schema.add(leaf("date", Type.INT32, LogicalType.DATE(new DateType())));
+    schema.add(
+        leaf(
+            "time",
+            Type.INT64,
+            LogicalType.TIME(new TimeType(false, TimeUnit.MICROS(new MicroSeconds())))));
+    schema.add(
+        leaf(
+            "timestamp",
+            Type.INT64,
+            LogicalType.TIMESTAMP(new TimestampType(true, TimeUnit.NANOS(new NanoSeconds())))));
+    schema.add(
+        leaf("uint", Type.INT32, LogicalType.INTEGER(new IntType((byte) 32, false)))
+            .setConverted_type(ConvertedType.UINT_32));
+    schema.add(leaf("int", Type.INT64, LogicalType.INTEGER(new IntType((byte) 64, true))));
+    schema.add(leaf("unknown", Type.INT32, LogicalType.UNKNOWN(new NullType())));
+    schema.add(leaf("json", Type.BYTE_ARRAY, LogicalType.JSON(new JsonType())));
+    schema.add(leaf("bson", Type.BYTE_ARRAY, LogicalType.BSON(new BsonType())));
+    schema.add(leaf("uuid", Type.FIXED_LEN_BYTE_ARRAY, LogicalType.UUID(new UUIDType())));
+    schema.add(
+        new SchemaElement("interval")
+            .setType(Type.FIXED_LEN_BYTE_ARRAY)
+            .setRepetition_type(FieldRepetitionType.REPEATED)
+            .setConverted_type(ConvertedType.INTERVAL));
+    schema.add(new SchemaElement("plain").setType(Type.DOUBLE));
+    FileMetaData fileMetaData = new FileMetaData(2, schema, 0, Collections.emptyList());
+
+    // When: it is decoded
+    FileMetaData decoded =
+        ParquetFooterDecoder.decode(ByteBuffer.wrap(PageIndexTestUtils.serialize(fileMetaData)));
+
+    // Then: the types of every schema element are decoded
+    assertEquals(schema, decoded.getSchema());
+  }
+
+  @Test
+  void testDecodeSkipsUnknownFields() throws Exception {
+    // Given: a footer with fields unknown to the decoder, including containers of booleans
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    TProtocol protocol = new TCompactProtocol(new TIOStreamTransport(out));
+    protocol.writeStructBegin(new TStruct("FileMetaData"));
+    protocol.writeFieldBegin(new TField("unknownList", TType.LIST, (short) 100));
+    protocol.writeListBegin(new TList(TType.BOOL, 3));
+    protocol.writeBool(true);
+    protocol.writeBool(false);
+    protocol.writeBool(true);
+    protocol.writeListEnd();
+    protocol.writeFieldEnd();
+    protocol.writeFieldBegin(new TField("unknownMap", TType.MAP, (short) 101));
+    protocol.writeMapBegin(new TMap(TType.STRING, TType.DOUBLE, 1));
+    protocol.writeString("pi");
+    protocol.writeDouble(3.14);
+    protocol.writeMapEnd();
+    protocol.writeFieldEnd();
+    protocol.writeFieldBegin(new TField("unknownBool", TType.BOOL, (short) 102));
+    protocol.writeBool(true);
+    protocol.writeFieldEnd();
+    protocol.writeFieldBegin(new TField("num_rows", TType.I64, (short) 3));
+    protocol.writeI64(42);
+    protocol.writeFieldEnd();
+    protocol.writeFieldBegin(new TField("row_groups", TType.LIST, (short) 4));
+    protocol.writeListBegin(new TList(TType.STRUCT, 0));
+    protocol.writeListEnd();
+    protocol.writeFieldEnd();
+    protocol.writeFieldStop();
+    protocol.writeStructEnd();
+
+    // When: it is decoded
+    FileMetaData decoded = ParquetFooterDecoder.decode(ByteBuffer.wrap(out.toByteArray()));
+
+    // Then: the unknown fields are skipped
+    assertEquals(42, decoded.getNum_rows());
+    assertTrue(decoded.getRow_groups().isEmpty());
+  }
+
+  @Test
+  void testDecodeSharesRepeatedStrings() throws Exception {
+    // Given: a footer in which every row group lists the same column
+    byte[] footer = PageIndexTestUtils.serialize(fullFileMetaData());
+
+    // When: it is decoded
+    FileMetaData decoded = ParquetFooterDecoder.decode(ByteBuffer.wrap(footer));
+
+    // Then: the path of the column is shared across row groups
+    assertSame(
+        decoded.getRow_groups().get(0).getColumns().get(0).getMeta_data().getPath_in_schema(),
+        decoded.getRow_groups().get(1).getColumns().get(0).getMeta_data().getPath_in_schema());
+  }
+
+  @Test
+  void testDecodeDoesNotModifyBuffer() throws Exception {
+    // Given: a footer in the middle of a buffer
+    byte[] footer = PageIndexTestUtils.serialize(fullFileMetaData());
+    ByteBuffer buffer = ByteBuffer.allocate(footer.length + 20);
+    buffer.position(10);
+    buffer.put(footer);
+    buffer.position(10);
+    buffer.limit(10 + footer.length);
+
+    // When: it is decoded
+    FileMetaData decoded = ParquetFooterDecoder.decode(buffer);
+
+    // Then: the buffer is left as it was
+    assertEquals(300, decoded.getNum_rows());
+    assertEquals(10, buffer.position());
+    assertEquals(10 + footer.length, buffer.limit());
+  }
+
+  @Test
+  void testDecodeMalformedFooter() throws Exception {
+    byte[] footer = PageIndexTestUtils.serialize(fullFileMetaData());
+
+    // Truncated footer
+    assertThrows(
+        IOException.class,
+        () -> ParquetFooterDecoder.decode(ByteBuffer.wrap(footer, 0, footer.length / 2)));
+
+    // Empty footer
+    assertThrows(IOException.class, () -> ParquetFooterDecoder.decode(ByteBuffer.allocate(0)));
+
+    // Footer without row groups
+    byte[] bytes = serializeWithoutRowGroups(10);
+    assertThrows(IOException.class, () -> ParquetFooterDecoder.decode(ByteBuffer.wrap(bytes)));
+
+    // Unknown field type
+    assertThrows(
+        IOException.class,
+        () -> ParquetFooterDecoder.decode(ByteBuffer.wrap(new byte[] {0x1F, 0x00})));
+  }
+
+  private static Stream<String> parquetFiles() {
+    return Stream.of(
+        "src/test/resources/call_center.parquet",
+        "src/test/resources/nested_data.parquet",
+        "src/test/resources/multi_row_group.parquet",
+        "src/test/resources/nested_data_mrg.parquet");
+  }
+
+  private static byte[] readFooter(String parquetFilePath) throws IOException {
+    byte[] file = Files.readAllBytes(Paths.get(parquetFilePath));
+    int footerLength = ByteBuffer.wrap(file).order(ByteOrder.LITTLE_ENDIAN).getInt(file.length - 8);
+    return Arrays.copyOfRange(file, file.length - 8 - footerLength, file.length - 8);
+  }
+
+  private static void assertRowGroupEquals(RowGroup expected, RowGroup decoded) {
+    assertEquals(expected.getNum_rows(), decoded.getNum_rows());
+    assertEquals(expected.getTotal_byte_size(), decoded.getTotal_byte_size());
+    assertEquals(expected.getColumns().size(), decoded.getColumns().size());
+    for (int i = 0; i < expected.getColumns().size(); i++) {
+      ColumnChunk expectedColumn = expected.getColumns().get(i);
+      ColumnChunk decodedColumn = decoded.getColumns().get(i);
+      assertEquals(expectedColumn.getFile_offset(), decodedColumn.getFile_offset());
+      assertEquals(expectedColumn.getOffset_index_offset(), decodedColumn.getOffset_index_offset());
+      assertEquals(expectedColumn.getOffset_index_length(), decodedColumn.getOffset_index_length());
+      assertEquals(expectedColumn.getColumn_index_offset(), decodedColumn.getColumn_index_offset());
+      assertEquals(expectedColumn.getColumn_index_length(), decodedColumn.getColumn_index_length());
+
+      ColumnMetaData expectedMetaData = expectedColumn.getMeta_data();
+      ColumnMetaData decodedMetaData = decodedColumn.getMeta_data();
+      assertEquals(expectedMetaData.getType(), decodedMetaData.getType());
+      assertEquals(expectedMetaData.getPath_in_schema(), decodedMetaData.getPath_in_schema());
+      assertEquals(expectedMetaData.getNum_values(), decodedMetaData.getNum_values());
+      assertEquals(
+          expectedMetaData.getTotal_compressed_size(), decodedMetaData.getTotal_compressed_size());
+      assertEquals(expectedMetaData.getData_page_offset(), decodedMetaData.getData_page_offset());
+      assertEquals(
+          expectedMetaData.getDictionary_page_offset(),
+          decodedMetaData.getDictionary_page_offset());
+      assertEquals(
+          ColumnStatistics.fromColumnMetaData(expectedMetaData),
+          ColumnStatistics.fromColumnMetaData(decodedMetaData));
+    }
+  }
+
+  private static SchemaElement leaf(String name, Type type, LogicalType logicalType) {
+    return new SchemaElement(name)
+        .setType(type)
+        .setRepetition_type(FieldRepetitionType.OPTIONAL)
+        .setLogicalType(logicalType);
+  }
+
+  private static FileMetaData fullFileMetaData() {
+    List<SchemaElement> schema = new ArrayList<>();
+    schema.add(new SchemaElement("schema").setNum_children(1));
+    schema.add(
+        new SchemaElement("a")
+            .setType(Type.INT64)
+            .setRepetition_type(FieldRepetitionType.OPTIONAL)
+            .setField_id(7)
+            .setLogicalType(
+                LogicalType.TIMESTAMP(
+                    new TimestampType(true, TimeUnit.MILLIS(new MilliSeconds())))));
+
+    List<RowGroup> rowGroups = new ArrayList<>();
+    rowGroups.add(new RowGroup(Collections.singletonList(columnChunk(0)), 400, 150));
+    rowGroups.add(new RowGroup(Collections.singletonList(columnChunk(1000)), 400, 150));
+
+    FileMetaData fileMetaData = new FileMetaData(2, schema, 300, rowGroups);
+    fileMetaData.setCreated_by("writer");
+    fileMetaData.setKey_value_metadata(
+        Collections.singletonList(new KeyValue("key").setValue("value")));
+    fileMetaData.setColumn_orders(
+        Collections.singletonList(ColumnOrder.TYPE_ORDER(new TypeDefinedOrder())));
+    fileMetaData.setEncryption_algorithm(
+        EncryptionAlgorithm.AES_GCM_V1(new AesGcmV1().setSupply_aad_prefix(true)));
+    return fileMetaData;
+  }
+
+  private static ColumnChunk columnChunk(long offset) {
+    ColumnMetaData columnMetaData =
+        new ColumnMetaData(
+            Type.INT64,
+            Arrays.asList(Encoding.PLAIN, Encoding.RLE_DICTIONARY),
+            Arrays.asList("a", "b"),
+            CompressionCodec.SNAPPY,
+            150,
+            800,
+            400,
+            offset + 100);
+    columnMetaData.setDictionary_page_offset(offset);
+    columnMetaData.setIndex_page_offset(offset + 50);
+    columnMetaData.setKey_value_metadata(
+        Collections.singletonList(new KeyValue("column").setValue("metadata")));
+    columnMetaData.setEncoding_stats(
+        Collections.singletonList(new PageEncodingStats(PageType.DATA_PAGE, Encoding.PLAIN, 2)));
+    columnMetaData.setBloom_filter_offset(offset + 300);
+    columnMetaData.setStatistics(
+        new Statistics()
+            .setMin_value("min".getBytes(StandardCharsets.UTF_8))
+            .setMax_value("max".getBytes(StandardCharsets.UTF_8))
+            .setNull_count(3)
+            .setDistinct_count(7));
+
+    ColumnChunk columnChunk = new ColumnChunk(offset);
+    columnChunk.setFile_path("other.parquet");
+    columnChunk.setMeta_data(columnMetaData);
+    columnChunk.setOffset_index_offset(offset + 4000);
+    columnChunk.setOffset_index_length(20);
+    columnChunk.setColumn_index_offset(offset + 5000);
+    columnChunk.setColumn_index_length(30);
+    return columnChunk;
+  }
+
+  private static byte[] serializeWithoutRowGroups(long numRows) throws Exception {
+    // FileMetaData.write validates the required fields, so the struct is written by hand
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    TProtocol protocol = new TCompactProtocol(new TIOStreamTransport(out));
+    protocol.writeStructBegin(new TStruct("FileMetaData"));
+    protocol.writeFieldBegin(new TField("num_rows", TType.I64, (short) 3));
+    protocol.writeI64(numRows);
+    protocol.writeFieldEnd();
+    protocol.writeFieldStop();
+    protocol.writeStructEnd();
+    return out.toByteArray();
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.parquet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import org.apache.parquet.format.ConvertedType;
+import org.apache.parquet.format.DecimalType;
+import org.apache.parquet.format.IntType;
+import org.apache.parquet.format.LogicalType;
+import org.apache.parquet.format.MicroSeconds;
+import org.apache.parquet.format.NanoSeconds;
+import org.apache.parquet.format.SchemaElement;
+import org.apache.parquet.format.StringType;
+import org.apache.parquet.format.TimeUnit;
+import org.apache.parquet.format.TimestampType;
+import org.junit.jupiter.api.Test;
+import software.amazon.s3.analyticsaccelerator.io.logical.parquet.ParquetLogicalType.Kind;
+
+@SuppressFBWarnings(
+    value = "NP_NONNULL_PARAM_VIOLATION",
+    justification = "We mean to pass nulls to checks")
+public class ParquetLogicalTypeTest {
+
+  @Test
+  void testFromSchemaElementThrowsOnNull() {
+    assertThrows(NullPointerException.class, () -> ParquetLogicalType.fromSchemaElement(null));
+  }
+
+  @Test
+  void testFromLogicalType() {
+    assertEquals(
+        new ParquetLogicalType(Kind.STRING, 0, false, 0, 0, false, null),
+        fromLogicalType(LogicalType.STRING(new StringType())));
+    assertEquals(
+        new ParquetLogicalType(Kind.DECIMAL, 0, false, 2, 9, false, null),
+        fromLogicalType(LogicalType.DECIMAL(new DecimalType(2, 9))));
+    assertEquals(
+        new ParquetLogicalType(Kind.INTEGER, 16, false, 0, 0, false, null),
+        fromLogicalType(LogicalType.INTEGER(new IntType((byte) 16, false))));
+    assertEquals(
+        new ParquetLogicalType(
+            Kind.TIMESTAMP, 0, false, 0, 0, true, ParquetLogicalType.TimeUnit.NANOS),
+        fromLogicalType(
+            LogicalType.TIMESTAMP(new TimestampType(true, TimeUnit.NANOS(new NanoSeconds())))));
+  }
+
+  @Test
+  void testLogicalTypeTakesPrecedenceOverConvertedType() {
+    SchemaElement schemaElement =
+        new SchemaElement("c")
+            .setConverted_type(ConvertedType.TIMESTAMP_MILLIS)
+            .setLogicalType(
+                LogicalType.TIMESTAMP(
+                    new TimestampType(false, TimeUnit.MICROS(new MicroSeconds()))));
+
+    assertEquals(
+        new ParquetLogicalType(
+            Kind.TIMESTAMP, 0, false, 0, 0, false, ParquetLogicalType.TimeUnit.MICROS),
+        ParquetLogicalType.fromSchemaElement(schemaElement));
+  }
+
+  @Test
+  void testFromConvertedType() {
+    assertEquals(
+        new ParquetLogicalType(Kind.STRING, 0, false, 0, 0, false, null),
+        fromConvertedType(ConvertedType.UTF8));
+    assertEquals(
+        new ParquetLogicalType(Kind.INTEGER, 64, false, 0, 0, false, null),
+        fromConvertedType(ConvertedType.UINT_64));
+    assertEquals(
+        new ParquetLogicalType(Kind.INTEGER, 8, true, 0, 0, false, null),
+        fromConvertedType(ConvertedType.INT_8));
+    assertEquals(
+        new ParquetLogicalType(Kind.DECIMAL, 0, false, 3, 12, false, null),
+        ParquetLogicalType.fromSchemaElement(
+            new SchemaElement("c")
+                .setConverted_type(ConvertedType.DECIMAL)
+                .setScale(3)
+                .setPrecision(12)));
+    assertEquals(
+        new ParquetLogicalType(Kind.TIME, 0, false, 0, 0, true, ParquetLogicalType.TimeUnit.MILLIS),
+        fromConvertedType(ConvertedType.TIME_MILLIS));
+    assertEquals(
+        new ParquetLogicalType(Kind.MAP, 0, false, 0, 0, false, null),
+        fromConvertedType(ConvertedType.MAP_KEY_VALUE));
+  }
+
+  @Test
+  void testNoLogicalType() {
+    assertNull(ParquetLogicalType.fromSchemaElement(new SchemaElement("c")));
+  }
+
+  private static ParquetLogicalType fromConvertedType(ConvertedType convertedType) {
+    return ParquetLogicalType.fromSchemaElement(
+        new SchemaElement("c").setConverted_type(convertedType));
+  }
+
+  private static ParquetLogicalType fromLogicalType(LogicalType logicalType) {
+    return ParquetLogicalType.fromSchemaElement(
+        new SchemaElement("c").setLogicalType(logicalType));
+  }
+}
@@ -15,8 +15,12 @@
  */
 package software.amazon.s3.analyticsaccelerator.io.logical.parquet;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
@@ -29,14 +33,25 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.stream.Stream;
 import org.apache.parquet.format.ColumnChunk;
+import org.apache.parquet.format.ColumnMetaData;
+import org.apache.parquet.format.CompressionCodec;
+import org.apache.parquet.format.ConvertedType;
+import org.apache.parquet.format.Encoding;
+import org.apache.parquet.format.FieldRepetitionType;
 import org.apache.parquet.format.FileMetaData;
 import org.apache.parquet.format.RowGroup;
+import org.apache.parquet.format.SchemaElement;
+import org.apache.parquet.format.Statistics;
+import org.apache.parquet.format.Type;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -164,8 +179,11 @@ public class ParquetMetadataParsingTaskTest {
         long startPos;
         if (columnChunk.getMeta_data().getDictionary_page_offset() != 0) {
           startPos = columnChunk.getMeta_data().getDictionary_page_offset();
+          assertEquals(
+              columnChunk.getMeta_data().getData_page_offset(), columnMetadata.getDataPageOffset());
         } else {
           startPos = columnChunk.getFile_offset();
+          assertFalse(columnMetadata.hasDictionary());
         }
 
         assertEquals(startPos, columnMetadata.getStartPos());
@@ -246,6 +264,282 @@ public class ParquetMetadataParsingTaskTest {
     assertThrows(CompletionException.class, parquetMetadataTaskFuture::join);
   }
 
+  @Test
+  void testPageIndexIsReadWhenEnabled() throws Exception {
+    // Given: a file with a page index, and page index prefetching enabled
+    LogicalIOConfiguration configuration =
+        LogicalIOConfiguration.builder().pageIndexPrefetchingEnabled(true).build();
+    ParquetMetadataParsingTask parquetMetadataParsingTask =
+        new ParquetMetadataParsingTask(
+            TEST_URI, new ParquetColumnPrefetchStore(configuration), configuration);
+
+    // When: the footer is parsed
+    ColumnMappers columnMappers =
+        parquetMetadataParsingTask.storeColumnMappers(PageIndexTestUtils.buildFile());
+
+    // Then: page locations are known for both columns, and page statistics for ss_a only
+    ColumnMetadata ssA = columnMappers.getColumnNameToColumnMap().get("ss_a").get(0);
+    assertEquals(0, ssA.getStartPos());
+    assertEquals(2, ssA.getPageIndex().getPageLocations().size());
+    assertEquals(2, ssA.getPageIndex().getPageStatistics().size());
+    assertEquals(100, ssA.getPageIndex().getRowGroupRowCount());
+
+    ColumnMetadata ssB = columnMappers.getColumnNameToColumnMap().get("ss_b").get(0);
+    assertEquals(200, ssB.getStartPos());
+    assertEquals(2, ssB.getPageIndex().getPageLocations().size());
+    assertFalse(ssB.getPageIndex().hasPageStatistics());
+  }
+
+  @Test
+  void testParquetFooterIsStored() throws Exception {
+    // Given: a Parquet file with a single row group
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore =
+        new ParquetColumnPrefetchStore(LogicalIOConfiguration.DEFAULT);
+    ParquetMetadataParsingTask parquetMetadataParsingTask =
+        new ParquetMetadataParsingTask(TEST_URI, parquetColumnPrefetchStore);
+
+    // When: the footer is parsed
+    ColumnMappers columnMappers =
+        parquetMetadataParsingTask.storeColumnMappers(PageIndexTestUtils.buildFile());
+
+    // Then: a view of the footer is stored
+    ParquetFooter parquetFooter = parquetColumnPrefetchStore.getParquetFooter(TEST_URI);
+    assertEquals(100, parquetFooter.getNumRows());
+    assertEquals(Arrays.asList("ss_a", "ss_b"), parquetFooter.getColumnNames());
+    assertEquals(1, parquetFooter.getRowGroups().size());
+
+    ParquetRowGroup rowGroup = parquetFooter.getRowGroups().get(0);
+    assertEquals(0, rowGroup.getRowGroupIndex());
+    assertEquals(0, rowGroup.getFirstRow());
+    assertEquals(100, rowGroup.getNumRows());
+    assertEquals(450, rowGroup.getTotalByteSize());
+    assertEquals(2, rowGroup.getColumns().size());
+
+    ParquetColumnChunk ssA = rowGroup.getColumns().get(0);
+    ColumnMetadata ssAMetadata = columnMappers.getColumnNameToColumnMap().get("ss_a").get(0);
+    assertEquals("ss_a", ssA.getColumnName());
+    assertEquals(Collections.singletonList("ss_a"), ssA.getPath());
+    assertEquals(ParquetSchemaElement.PhysicalType.INT64, ssA.getPhysicalType());
+    assertEquals(0, ssA.getStartPos());
+    assertEquals(200, ssA.getCompressedSize());
+    assertEquals(100, ssA.getNumValues());
+    assertFalse(ssA.hasDictionary());
+    assertEquals(ssAMetadata.getStatistics(), ssA.getStatistics());
+
+    ParquetColumnChunk ssB = rowGroup.getColumns().get(1);
+    assertEquals(200, ssB.getStartPos());
+    assertEquals(250, ssB.getDataPageOffset());
+    assertTrue(ssB.hasDictionary());
+    assertThrows(
+        UnsupportedOperationException.class, () -> parquetFooter.getRowGroups().remove(0));
+  }
+
+  @Test
+  void testParquetFooterExposesSchemaAndStatistics() throws Exception {
+    // Given: a file with a nested schema and statistics on its first column
+    FileMetaData fileMetaData = fileMetaDataWithFieldIds("a");
+    fileMetaData.getSchema().get(1).setConverted_type(ConvertedType.UINT_32);
+    fileMetaData.getSchema().get(4).setRepetition_type(FieldRepetitionType.OPTIONAL);
+    byte[] min = new byte[] {1, 0, 0, 0};
+    byte[] max = new byte[] {2, 0, 0, 0};
+    fileMetaData
+        .getRow_groups()
+        .get(0)
+        .getColumns()
+        .get(0)
+        .getMeta_data()
+        .setStatistics(new Statistics().setMin_value(min).setMax_value(max).setNull_count(3));
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore =
+        new ParquetColumnPrefetchStore(LogicalIOConfiguration.DEFAULT);
+
+    // When: the footer is parsed
+    getColumnMappers(
+        TEST_URI, parquetColumnPrefetchStore, LogicalIOConfiguration.DEFAULT, fileMetaData);
+
+    // Then: the schema tree is exposed with the types of its elements
+    ParquetFooter parquetFooter = parquetColumnPrefetchStore.getParquetFooter(TEST_URI);
+    ParquetSchemaElement root = parquetFooter.getSchema();
+    assertEquals("schema", root.getName());
+    assertFalse(root.isLeaf());
+    assertEquals(3, root.getChildren().size());
+
+    ParquetSchemaElement a = root.getChildren().get(0);
+    assertEquals("a", a.getName());
+    assertTrue(a.isLeaf());
+    assertEquals(ParquetSchemaElement.PhysicalType.INT64, a.getPhysicalType());
+    assertEquals(Integer.valueOf(1), a.getFieldId());
+    assertEquals(ParquetLogicalType.Kind.INTEGER, a.getLogicalType().getKind());
+    assertEquals(32, a.getLogicalType().getBitWidth());
+    assertFalse(a.getLogicalType().isSigned());
+
+    ParquetSchemaElement b = root.getChildren().get(1);
+    assertFalse(b.isLeaf());
+    assertEquals(Integer.valueOf(2), b.getFieldId());
+    assertEquals("c", b.getChildren().get(0).getName());
+    assertEquals(Integer.valueOf(3), b.getChildren().get(0).getFieldId());
+
+    ParquetSchemaElement d = root.getChildren().get(2);
+    assertEquals(ParquetSchemaElement.Repetition.OPTIONAL, d.getRepetition());
+    assertNull(d.getFieldId());
+    assertNull(d.getLogicalType());
+    assertTrue(d.getChildren().isEmpty());
+
+    // And: the statistics of the column chunks can be read
+    ColumnStatistics statistics =
+        parquetFooter.getRowGroups().get(0).getColumns().get(0).getStatistics();
+    assertArrayEquals(min, statistics.getMin());
+    assertArrayEquals(max, statistics.getMax());
+    assertEquals(3, statistics.getNullCount());
+    assertEquals(
+        Arrays.asList("b", "c"), parquetFooter.getRowGroups().get(0).getColumns().get(1).getPath());
+  }
+
+  @Test
+  void testPageIndexIsNotReadByDefault() throws Exception {
+    ParquetMetadataParsingTask parquetMetadataParsingTask =
+        new ParquetMetadataParsingTask(
+            TEST_URI, new ParquetColumnPrefetchStore(LogicalIOConfiguration.DEFAULT));
+
+    ColumnMappers columnMappers =
+        parquetMetadataParsingTask.storeColumnMappers(PageIndexTestUtils.buildFile());
+
+    assertEquals(
+        ColumnPageIndex.NONE,
+        columnMappers.getColumnNameToColumnMap().get("ss_a").get(0).getPageIndex());
+  }
+
+  @Test
+  void testPageIndexIsNotReadWhenTailPositionIsUnknown() throws Exception {
+    LogicalIOConfiguration configuration =
+        LogicalIOConfiguration.builder().pageIndexPrefetchingEnabled(true).build();
+    ParquetMetadataParsingTask parquetMetadataParsingTask =
+        new ParquetMetadataParsingTask(
+            TEST_URI, new ParquetColumnPrefetchStore(configuration), configuration);
+    FileTail fileTail = PageIndexTestUtils.buildFile();
+
+    ColumnMappers columnMappers =
+        parquetMetadataParsingTask.storeColumnMappers(
+            new FileTail(fileTail.getFileTail(), fileTail.getFileTailLength()));
+
+    assertEquals(
+        ColumnPageIndex.NONE,
+        columnMappers.getColumnNameToColumnMap().get("ss_a").get(0).getPageIndex());
+  }
+
+  @Test
+  void testInvalidPageIndexIsIgnored() throws Exception {
+    // Given: a parser which fails to parse page indexes
+    FileTail fileTail = PageIndexTestUtils.buildFile();
+    ParquetParser mockedParquetParser = mock(ParquetParser.class);
+    when(mockedParquetParser.parseParquetFooter(any(ByteBuffer.class), anyInt(), any(S3URI.class)))
+        .thenReturn(
+            new ParquetParser()
+                .parseParquetFooter(
+                    fileTail.getFileTail(), fileTail.getFileTailLength(), TEST_URI));
+    when(mockedParquetParser.parseOffsetIndex(any(ByteBuffer.class), anyInt(), anyInt()))
+        .thenThrow(new IOException("can not read OffsetIndex"));
+
+    LogicalIOConfiguration configuration =
+        LogicalIOConfiguration.builder().pageIndexPrefetchingEnabled(true).build();
+    ParquetMetadataParsingTask parquetMetadataParsingTask =
+        new ParquetMetadataParsingTask(
+            TEST_URI,
+            new ParquetColumnPrefetchStore(configuration),
+            configuration,
+            mockedParquetParser);
+
+    // When: the footer is parsed, Then: column chunks are left without a page index
+    ColumnMappers columnMappers = parquetMetadataParsingTask.storeColumnMappers(fileTail);
+    assertEquals(
+        ColumnPageIndex.NONE,
+        columnMappers.getColumnNameToColumnMap().get("ss_a").get(0).getPageIndex());
+  }
+
+  @Test
+  void testColumnsAreIdentifiedByFieldId() throws Exception {
+    // Given: a file whose writer assigned field ids to some of the columns
+    ColumnMappers columnMappers = getColumnMappers(fileMetaDataWithFieldIds("a"));
+
+    // Then: columns with a field id are identified by it, the others by their path
+    assertEquals("#1", columnMappers.getColumnNameToColumnMap().get("a").get(0).getColumnId());
+    assertEquals("#3", columnMappers.getColumnNameToColumnMap().get("b.c").get(0).getColumnId());
+    assertEquals("d", columnMappers.getColumnNameToColumnMap().get("d").get(0).getColumnId());
+  }
+
+  @Test
+  void testTableScopedPredictionSurvivesSchemaEvolution() throws Exception {
+    // Given: two partitions of a table, where column a was renamed to a2 in the later one
+    LogicalIOConfiguration configuration =
+        LogicalIOConfiguration.builder().tableScopedColumnPredictionEnabled(true).build();
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore =
+        new ParquetColumnPrefetchStore(configuration);
+    S3URI before = S3URI.of("bucket", "warehouse/table/dt=1/part-0.parquet");
+    S3URI after = S3URI.of("bucket", "warehouse/table/dt=2/part-0.parquet");
+
+    // When: column a is read in the earlier partition
+    ColumnMappers beforeColumnMappers =
+        getColumnMappers(
+            before, parquetColumnPrefetchStore, configuration, fileMetaDataWithFieldIds("a"));
+    ColumnMappers afterColumnMappers =
+        getColumnMappers(
+            after, parquetColumnPrefetchStore, configuration, fileMetaDataWithFieldIds("a2"));
+    ColumnMetadata a = beforeColumnMappers.getColumnNameToColumnMap().get("a").get(0);
+    parquetColumnPrefetchStore.addRecentColumn(a);
+
+    // Then: it is predicted for the later partition, under its new name
+    ColumnMetadata a2 = afterColumnMappers.getColumnNameToColumnMap().get("a2").get(0);
+    assertEquals(a.getSchemaHash(), a2.getSchemaHash());
+    assertEquals(a.getColumnId(), a2.getColumnId());
+    assertTrue(
+        parquetColumnPrefetchStore
+            .getPredictedColumnsForSchema(a2.getSchemaHash())
+            .contains(a2.getColumnId()));
+  }
+
+  @Test
+  void testSchemaScopedPredictionByDefault() throws Exception {
+    // Given: files with different schemas under the same table
+    ColumnMappers beforeColumnMappers = getColumnMappers(fileMetaDataWithFieldIds("a"));
+    ColumnMappers afterColumnMappers = getColumnMappers(fileMetaDataWithFieldIds("a2"));
+
+    // Then: they do not share predictions
+    assertNotEquals(
+        beforeColumnMappers.getColumnNameToColumnMap().get("a").get(0).getSchemaHash(),
+        afterColumnMappers.getColumnNameToColumnMap().get("a2").get(0).getSchemaHash());
+  }
+
+  private static FileMetaData fileMetaDataWithFieldIds(String firstColumnName) {
+    // Schema: firstColumnName (id 1), b (id 2) { c (id 3) }, d (no id)
+    List<SchemaElement> schema = new ArrayList<>();
+    schema.add(new SchemaElement("schema").setNum_children(3));
+    schema.add(new SchemaElement(firstColumnName).setType(Type.INT64).setField_id(1));
+    schema.add(new SchemaElement("b").setNum_children(1).setField_id(2));
+    schema.add(new SchemaElement("c").setType(Type.INT64).setField_id(3));
+    schema.add(new SchemaElement("d").setType(Type.INT64));
+
+    List<ColumnChunk> columns = new ArrayList<>();
+    columns.add(columnChunk(4, Collections.singletonList(firstColumnName)));
+    columns.add(columnChunk(104, Arrays.asList("b", "c")));
+    columns.add(columnChunk(204, Collections.singletonList("d")));
+
+    return new FileMetaData(
+        1, schema, 10, Collections.singletonList(new RowGroup(columns, 300, 10)));
+  }
+
+  private static ColumnChunk columnChunk(long offset, List<String> path) {
+    return new ColumnChunk(offset)
+        .setMeta_data(
+            new ColumnMetaData(
+                Type.INT64,
+                Collections.singletonList(Encoding.PLAIN),
+                path,
+                CompressionCodec.UNCOMPRESSED,
+                10,
+                100,
+                100,
+                offset));
+  }
+
   private FileMetaData getFileMetadata(String filePath) throws IOException, ClassNotFoundException {
     // Deserialize fileMetaData object
     try (FileInputStream fileInStream = new FileInputStream(filePath)) {
@@ -256,15 +550,26 @@ public class ParquetMetadataParsingTaskTest {
   }
 
   private ColumnMappers getColumnMappers(FileMetaData fileMetaData) throws IOException {
+    return getColumnMappers(
+        TEST_URI,
+        new ParquetColumnPrefetchStore(LogicalIOConfiguration.DEFAULT),
+        LogicalIOConfiguration.DEFAULT,
+        fileMetaData);
+  }
+
+  private ColumnMappers getColumnMappers(
+      S3URI s3URI,
+      ParquetColumnPrefetchStore parquetColumnPrefetchStore,
+      LogicalIOConfiguration configuration,
+      FileMetaData fileMetaData)
+      throws IOException {
     ParquetParser mockedParquetParser = mock(ParquetParser.class);
     when(mockedParquetParser.parseParquetFooter(any(ByteBuffer.class), anyInt(), any(S3URI.class)))
         .thenReturn(fileMetaData);
 
     ParquetMetadataParsingTask parquetMetadataParsingTask =
         new ParquetMetadataParsingTask(
-            TEST_URI,
-            new ParquetColumnPrefetchStore(LogicalIOConfiguration.DEFAULT),
-            mockedParquetParser);
+            s3URI, parquetColumnPrefetchStore, configuration, mockedParquetParser);
 
     return parquetMetadataParsingTask.storeColumnMappers(new FileTail(ByteBuffer.allocate(0), 0));
   }
@@ -26,7 +26,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.util.stream.Stream;
+import org.apache.parquet.format.ColumnIndex;
 import org.apache.parquet.format.FileMetaData;
+import org.apache.parquet.format.OffsetIndex;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -41,6 +43,48 @@ public class ParquetParserTest {
     assertNotNull(new ParquetParser());
   }
 
+  @Test
+  void testParsePageIndex() throws Exception {
+    // Given: an offset index and a column index serialized at some position in a tail
+    byte[] offsetIndex = PageIndexTestUtils.serialize(PageIndexTestUtils.offsetIndex(0, 100));
+    byte[] columnIndex = PageIndexTestUtils.serialize(PageIndexTestUtils.columnIndex());
+    ByteBuffer fileTail = ByteBuffer.allocate(10 + offsetIndex.length + columnIndex.length);
+    fileTail.position(10);
+    fileTail.put(offsetIndex);
+    fileTail.put(columnIndex);
+
+    // When: they are parsed
+    ParquetParser parquetParser = new ParquetParser();
+    OffsetIndex parsedOffsetIndex =
+        parquetParser.parseOffsetIndex(fileTail, 10, offsetIndex.length);
+    ColumnIndex parsedColumnIndex =
+        parquetParser.parseColumnIndex(fileTail, 10 + offsetIndex.length, columnIndex.length);
+
+    // Then: they are equal to the serialized ones
+    assertEquals(PageIndexTestUtils.offsetIndex(0, 100), parsedOffsetIndex);
+    assertEquals(PageIndexTestUtils.columnIndex(), parsedColumnIndex);
+  }
+
+  @Test
+  void testParsePageIndexOutsideOfTail() {
+    ParquetParser parquetParser = new ParquetParser();
+    ByteBuffer fileTail = ByteBuffer.allocate(10);
+
+    assertThrows(
+        IllegalArgumentException.class, () -> parquetParser.parseOffsetIndex(fileTail, 5, 6));
+    assertThrows(
+        IllegalArgumentException.class, () -> parquetParser.parseColumnIndex(fileTail, -1, 6));
+  }
+
+  @Test
+  void testParseInvalidPageIndex() {
+    ParquetParser parquetParser = new ParquetParser();
+    ByteBuffer fileTail = ByteBuffer.allocate(10);
+
+    assertThrows(IOException.class, () -> parquetParser.parseOffsetIndex(fileTail, 0, 10));
+    assertThrows(IOException.class, () -> parquetParser.parseColumnIndex(fileTail, 0, 10));
+  }
+
   @ParameterizedTest
   @MethodSource("singleRowGroupArguments")
   void testParquetMetadataParsing(String parquetFilePath, int expectedColumns) throws IOException {
@@ -94,6 +138,26 @@ public class ParquetParserTest {
     }
   }
 
+  @Test
+  void testParquetMetadataParsingLeavesTailUnchanged() throws IOException {
+    // Given: the tail of a Parquet file
+    File file = new File("src/test/resources/call_center.parquet");
+    try (InputStream inputStream = new FileInputStream(file)) {
+      byte[] buffer = new byte[ONE_KB * 20];
+      int bytesRead = inputStream.read(buffer, 0, (int) file.length());
+      assertEquals((int) file.length(), bytesRead);
+      ByteBuffer fileTail = ByteBuffer.wrap(buffer);
+
+      // When: its footer is parsed
+      ParquetParser parquetParser = new ParquetParser();
+      parquetParser.parseParquetFooter(fileTail, (int) file.length(), TEST_URI);
+
+      // Then: the position and the limit of the tail are left as they were
+      assertEquals(0, fileTail.position());
+      assertEquals(buffer.length, fileTail.limit());
+    }
+  }
+
   @Test
   void testParquetMetadataParsingInvalidData() {
 
@@ -0,0 +1,44 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.parquet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import org.junit.jupiter.api.Test;
+import software.amazon.s3.analyticsaccelerator.io.logical.parquet.ParquetPredicate.Comparison;
+
+@SuppressFBWarnings(
+    value = "NP_NONNULL_PARAM_VIOLATION",
+    justification = "We mean to pass nulls to checks")
+public class ParquetPredicateTest {
+
+  @Test
+  void testLiteralTypes() {
+    assertEquals(5L, ParquetPredicate.of("c", Comparison.EQ, 5L).getLiteral());
+    assertEquals(5.5, ParquetPredicate.of("c", Comparison.EQ, 5.5).getLiteral());
+    assertEquals("five", ParquetPredicate.of("c", Comparison.EQ, "five").getLiteral());
+  }
+
+  @Test
+  void testThrowsOnNullArgument() {
+    assertThrows(NullPointerException.class, () -> ParquetPredicate.of(null, Comparison.EQ, 5L));
+    assertThrows(NullPointerException.class, () -> ParquetPredicate.of("c", null, 5L));
+    assertThrows(
+        NullPointerException.class, () -> ParquetPredicate.of("c", Comparison.EQ, (String) null));
+  }
+}
@@ -30,11 +30,14 @@ import static software.amazon.s3.analyticsaccelerator.util.Constants.ONE_KB;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import org.apache.parquet.format.Type;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
@@ -112,6 +115,16 @@ public class ParquetPredictivePrefetchingTaskTest {
                 LogicalIOConfiguration.DEFAULT,
                 mock(PhysicalIO.class),
                 null));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new ParquetPredictivePrefetchingTask(
+                TEST_URI,
+                Telemetry.NOOP,
+                LogicalIOConfiguration.DEFAULT,
+                mock(PhysicalIO.class),
+                new ParquetColumnPrefetchStore(LogicalIOConfiguration.DEFAULT),
+                null));
   }
 
   @Test
@@ -172,7 +185,7 @@ public class ParquetPredictivePrefetchingTaskTest {
 
     Set<String> recentColumns = new HashSet<>();
     recentColumns.add("sk_test");
-    when(parquetColumnPrefetchStore.getUniqueRecentColumnsForSchema("sk_test".hashCode()))
+    when(parquetColumnPrefetchStore.getPredictedColumnsForSchema("sk_test".hashCode()))
         .thenReturn(recentColumns);
 
     assertEquals(1, parquetPredictivePrefetchingTask.addToRecentColumnList(100, 0).size());
@@ -190,6 +203,119 @@ public class ParquetPredictivePrefetchingTaskTest {
     assertTrue(ioPlan.getPrefetchRanges().containsAll(expectedRanges));
   }
 
+  @Test
+  void testRowGroupPrefetchLookAhead() throws IOException {
+    // Given: a look-ahead of two row groups, and four row groups of 500 bytes each
+    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    LogicalIOConfiguration configuration =
+        LogicalIOConfiguration.builder()
+            .prefetchingMode(PrefetchMode.ROW_GROUP)
+            .rowGroupPrefetchLookAhead(2)
+            .build();
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore =
+        new ParquetColumnPrefetchStore(configuration);
+    ParquetPredictivePrefetchingTask parquetPredictivePrefetchingTask =
+        new ParquetPredictivePrefetchingTask(
+            TEST_URI, Telemetry.NOOP, configuration, physicalIO, parquetColumnPrefetchStore);
+    parquetColumnPrefetchStore.putColumnMappers(TEST_URI, rowGroupColumnMappers(4));
+
+    // When: the first row group is read
+    parquetPredictivePrefetchingTask.addToRecentColumnList(100, 0);
+
+    // Then: the next two row groups are prefetched along with it
+    ArgumentCaptor<IOPlan> ioPlanArgumentCaptor = ArgumentCaptor.forClass(IOPlan.class);
+    verify(physicalIO).execute(ioPlanArgumentCaptor.capture());
+    assertEquals(
+        new HashSet<>(
+            Arrays.asList(new Range(100, 599), new Range(600, 1099), new Range(1100, 1599))),
+        new HashSet<>(ioPlanArgumentCaptor.getValue().getPrefetchRanges()));
+
+    // When: the second row group is read
+    parquetPredictivePrefetchingTask.addToRecentColumnList(600, 0);
+
+    // Then: the window slides, and only the last row group is prefetched
+    verify(physicalIO, times(2)).execute(ioPlanArgumentCaptor.capture());
+    assertEquals(
+        Collections.singletonList(new Range(1600, 2099)),
+        ioPlanArgumentCaptor.getValue().getPrefetchRanges());
+  }
+
+  @Test
+  void testRowGroupPrefetchLookAheadIsBoundedByBytes() throws IOException {
+    // Given: a look-ahead of two row groups, but a budget allowing for a single one
+    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    LogicalIOConfiguration configuration =
+        LogicalIOConfiguration.builder()
+            .prefetchingMode(PrefetchMode.ROW_GROUP)
+            .rowGroupPrefetchLookAhead(2)
+            .rowGroupPrefetchLookAheadBytes(600)
+            .build();
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore =
+        new ParquetColumnPrefetchStore(configuration);
+    ParquetPredictivePrefetchingTask parquetPredictivePrefetchingTask =
+        new ParquetPredictivePrefetchingTask(
+            TEST_URI, Telemetry.NOOP, configuration, physicalIO, parquetColumnPrefetchStore);
+    parquetColumnPrefetchStore.putColumnMappers(TEST_URI, rowGroupColumnMappers(4));
+
+    // When: the first row group is read
+    parquetPredictivePrefetchingTask.addToRecentColumnList(100, 0);
+
+    // Then: only the next row group is prefetched along with it
+    ArgumentCaptor<IOPlan> ioPlanArgumentCaptor = ArgumentCaptor.forClass(IOPlan.class);
+    verify(physicalIO).execute(ioPlanArgumentCaptor.capture());
+    assertEquals(
+        new HashSet<>(Arrays.asList(new Range(100, 599), new Range(600, 1099))),
+        new HashSet<>(ioPlanArgumentCaptor.getValue().getPrefetchRanges()));
+  }
+
+  @Test
+  void testRowGroupPrefetchLookAheadIsChargedForDictionaryPagesOnly() throws IOException {
+    // Given: dictionary first prefetching, and a budget smaller than a row group but larger than
+    // the dictionary pages of two row groups
+    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    LogicalIOConfiguration configuration =
+        LogicalIOConfiguration.builder()
+            .prefetchingMode(PrefetchMode.ROW_GROUP)
+            .dictionaryFirstPrefetchingEnabled(true)
+            .rowGroupPrefetchLookAhead(2)
+            .rowGroupPrefetchLookAheadBytes(100)
+            .build();
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore =
+        new ParquetColumnPrefetchStore(configuration);
+    ParquetPredictivePrefetchingTask parquetPredictivePrefetchingTask =
+        new ParquetPredictivePrefetchingTask(
+            TEST_URI, Telemetry.NOOP, configuration, physicalIO, parquetColumnPrefetchStore);
+    HashMap<String, List<ColumnMetadata>> columnNameToColumnMap = new HashMap<>();
+    HashMap<Long, ColumnMetadata> offsetIndexToColumnMap = new HashMap<>();
+    for (int i = 0; i < 4; i++) {
+      addColumn(
+          columnNameToColumnMap,
+          offsetIndexToColumnMap,
+          new ColumnMetadata(
+              i,
+              "sk_test",
+              100 + 500L * i,
+              500,
+              "sk_test".hashCode(),
+              ColumnStatistics.NONE,
+              ColumnPageIndex.NONE,
+              150 + 500L * i));
+    }
+    parquetColumnPrefetchStore.putColumnMappers(
+        TEST_URI, new ColumnMappers(offsetIndexToColumnMap, columnNameToColumnMap));
+
+    // When: the first row group is read
+    parquetPredictivePrefetchingTask.addToRecentColumnList(100, 0);
+
+    // Then: the dictionary pages of the next two row groups are prefetched along with it
+    ArgumentCaptor<IOPlan> ioPlanArgumentCaptor = ArgumentCaptor.forClass(IOPlan.class);
+    verify(physicalIO).execute(ioPlanArgumentCaptor.capture());
+    assertEquals(
+        new HashSet<>(
+            Arrays.asList(new Range(100, 149), new Range(600, 649), new Range(1100, 1149))),
+        new HashSet<>(ioPlanArgumentCaptor.getValue().getPrefetchRanges()));
+  }
+
   @Test
   void testAddToRecentColumnListEmptyColumnMappers() {
     PhysicalIO physicalIO = mock(PhysicalIO.class);
@@ -337,7 +463,7 @@ public class ParquetPredictivePrefetchingTaskTest {
     recentColumns.add("sk_test");
     recentColumns.add("sk_test_2");
     recentColumns.add("sk_test_3");
-    when(parquetColumnPrefetchStore.getUniqueRecentColumnsForSchema(schemaHash))
+    when(parquetColumnPrefetchStore.getPredictedColumnsForSchema(schemaHash))
         .thenReturn(recentColumns);
 
     // When: recent columns get prefetched
@@ -365,6 +491,351 @@ public class ParquetPredictivePrefetchingTaskTest {
     assertTrue(ioPlan.getPrefetchRanges().containsAll(expectedRanges));
   }
 
+  @Test
+  void testPrefetchRecentColumnsByColumnId() throws IOException {
+    // Given: a column read under its field id in a file where it had another name
+    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore = mock(ParquetColumnPrefetchStore.class);
+    int schemaHash = "table".hashCode();
+
+    HashMap<String, List<ColumnMetadata>> columnNameToColumnMap = new HashMap<>();
+    HashMap<Long, ColumnMetadata> offsetIndexToColumnMap = new HashMap<>();
+    ColumnMetadata renamed =
+        new ColumnMetadata(
+            0,
+            "renamed",
+            100,
+            500,
+            schemaHash,
+            ColumnStatistics.NONE,
+            ColumnPageIndex.NONE,
+            100,
+            "#1");
+    ColumnMetadata other = new ColumnMetadata(0, "other", 600, 500, schemaHash);
+    columnNameToColumnMap.put("renamed", Collections.singletonList(renamed));
+    columnNameToColumnMap.put("other", Collections.singletonList(other));
+    offsetIndexToColumnMap.put(100L, renamed);
+    offsetIndexToColumnMap.put(600L, other);
+
+    Set<String> predictedColumnIds = new HashSet<>();
+    predictedColumnIds.add("#1");
+    predictedColumnIds.add("dropped");
+    when(parquetColumnPrefetchStore.getPredictedColumnsForSchema(schemaHash))
+        .thenReturn(predictedColumnIds);
+
+    // When: recent columns get prefetched
+    ParquetPredictivePrefetchingTask parquetPredictivePrefetchingTask =
+        new ParquetPredictivePrefetchingTask(
+            TEST_URI,
+            Telemetry.NOOP,
+            LogicalIOConfiguration.DEFAULT,
+            physicalIO,
+            parquetColumnPrefetchStore);
+    parquetPredictivePrefetchingTask.prefetchRecentColumns(
+        new ColumnMappers(offsetIndexToColumnMap, columnNameToColumnMap),
+        ParquetUtils.constructRowGroupsToPrefetch());
+
+    // Then: the column is prefetched under its name in this file
+    ArgumentCaptor<IOPlan> ioPlanArgumentCaptor = ArgumentCaptor.forClass(IOPlan.class);
+    verify(physicalIO).execute(ioPlanArgumentCaptor.capture());
+    assertEquals(
+        Collections.singletonList(new Range(100, 599)),
+        ioPlanArgumentCaptor.getValue().getPrefetchRanges());
+  }
+
+  @Test
+  void testPrefetchProjectedColumns() throws IOException {
+    // Given: a file with a nested column, and a projection that does not match recent columns
+    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore = mock(ParquetColumnPrefetchStore.class);
+    int schemaHash = "ss_aaddress.cityaddress.zip".hashCode();
+
+    HashMap<String, List<ColumnMetadata>> columnNameToColumnMap = new HashMap<>();
+    HashMap<Long, ColumnMetadata> offsetIndexToColumnMap = new HashMap<>();
+    addColumn(
+        columnNameToColumnMap,
+        offsetIndexToColumnMap,
+        new ColumnMetadata(0, "ss_a", 100, 500, schemaHash));
+    addColumn(
+        columnNameToColumnMap,
+        offsetIndexToColumnMap,
+        new ColumnMetadata(0, "address.city", 600, 500, schemaHash));
+    addColumn(
+        columnNameToColumnMap,
+        offsetIndexToColumnMap,
+        new ColumnMetadata(0, "address.zip", 1100, 500, schemaHash));
+    addColumn(
+        columnNameToColumnMap,
+        offsetIndexToColumnMap,
+        new ColumnMetadata(1, "address.city", 1600, 500, schemaHash));
+
+    Set<String> recentColumns = new HashSet<>();
+    recentColumns.add("ss_a");
+    when(parquetColumnPrefetchStore.getPredictedColumnsForSchema(schemaHash))
+        .thenReturn(recentColumns);
+
+    // When: columns are prefetched for a stream opened with a projection on the address group
+    ParquetPredictivePrefetchingTask parquetPredictivePrefetchingTask =
+        new ParquetPredictivePrefetchingTask(
+            TEST_URI,
+            Telemetry.NOOP,
+            LogicalIOConfiguration.DEFAULT,
+            physicalIO,
+            parquetColumnPrefetchStore,
+            ParquetReadHints.builder().projectedColumn("address").build());
+    parquetPredictivePrefetchingTask.prefetchRecentColumns(
+        new ColumnMappers(offsetIndexToColumnMap, columnNameToColumnMap),
+        ParquetUtils.constructRowGroupsToPrefetch());
+
+    // Then: exactly the projected leaf columns of the first row group are fetched
+    ArgumentCaptor<IOPlan> ioPlanArgumentCaptor = ArgumentCaptor.forClass(IOPlan.class);
+    verify(physicalIO).execute(ioPlanArgumentCaptor.capture());
+
+    List<Range> expectedRanges = new ArrayList<>();
+    expectedRanges.add(new Range(600, 1099));
+    expectedRanges.add(new Range(1100, 1599));
+    IOPlan ioPlan = ioPlanArgumentCaptor.getValue();
+    assertEquals(2, ioPlan.getPrefetchRanges().size());
+    assertTrue(ioPlan.getPrefetchRanges().containsAll(expectedRanges));
+    verify(parquetColumnPrefetchStore, times(0)).getPredictedColumnsForSchema(schemaHash);
+  }
+
+  @Test
+  void testPrefetchProjectedColumnsNotInFile() throws IOException {
+    // Given: a projection on a column the file does not have
+    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    HashMap<String, List<ColumnMetadata>> columnNameToColumnMap = new HashMap<>();
+    HashMap<Long, ColumnMetadata> offsetIndexToColumnMap = new HashMap<>();
+    addColumn(
+        columnNameToColumnMap,
+        offsetIndexToColumnMap,
+        new ColumnMetadata(0, "ss_a", 100, 500, "ss_a".hashCode()));
+
+    ParquetPredictivePrefetchingTask parquetPredictivePrefetchingTask =
+        new ParquetPredictivePrefetchingTask(
+            TEST_URI,
+            Telemetry.NOOP,
+            LogicalIOConfiguration.DEFAULT,
+            physicalIO,
+            new ParquetColumnPrefetchStore(LogicalIOConfiguration.DEFAULT),
+            ParquetReadHints.builder().projectedColumn("ss_b").build());
+
+    // When: columns are prefetched
+    parquetPredictivePrefetchingTask.prefetchRecentColumns(
+        new ColumnMappers(offsetIndexToColumnMap, columnNameToColumnMap),
+        ParquetUtils.constructRowGroupsToPrefetch());
+
+    // Then: nothing is fetched
+    verify(physicalIO).execute(IOPlan.EMPTY_PLAN);
+  }
+
+  @Test
+  void testPrefetchSkipsRowGroupsThatCannotMatch() throws IOException {
+    // Given: two row groups, where only the second one can contain ss_a > 100
+    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    int schemaHash = "ss_ass_b".hashCode();
+    HashMap<String, List<ColumnMetadata>> columnNameToColumnMap = new HashMap<>();
+    HashMap<Long, ColumnMetadata> offsetIndexToColumnMap = new HashMap<>();
+    addColumn(
+        columnNameToColumnMap,
+        offsetIndexToColumnMap,
+        new ColumnMetadata(
+            0, "ss_a", 100, 500, schemaHash, ColumnStatisticsTest.int64Statistics(0, 50)));
+    addColumn(
+        columnNameToColumnMap,
+        offsetIndexToColumnMap,
+        new ColumnMetadata(0, "ss_b", 600, 500, schemaHash));
+    addColumn(
+        columnNameToColumnMap,
+        offsetIndexToColumnMap,
+        new ColumnMetadata(
+            1, "ss_a", 1100, 500, schemaHash, ColumnStatisticsTest.int64Statistics(51, 150)));
+    addColumn(
+        columnNameToColumnMap,
+        offsetIndexToColumnMap,
+        new ColumnMetadata(1, "ss_b", 1600, 500, schemaHash));
+
+    ParquetPredictivePrefetchingTask parquetPredictivePrefetchingTask =
+        new ParquetPredictivePrefetchingTask(
+            TEST_URI,
+            Telemetry.NOOP,
+            LogicalIOConfiguration.DEFAULT,
+            physicalIO,
+            new ParquetColumnPrefetchStore(LogicalIOConfiguration.DEFAULT),
+            ParquetReadHints.builder()
+                .projectedColumn("ss_b")
+                .predicate(ParquetPredicate.of("ss_a", ParquetPredicate.Comparison.GT, 100L))
+                .build());
+    ColumnMappers columnMappers = new ColumnMappers(offsetIndexToColumnMap, columnNameToColumnMap);
+
+    // When: both row groups are prefetched
+    List<Integer> rowGroupsToPrefetch = new ArrayList<>();
+    rowGroupsToPrefetch.add(0);
+    rowGroupsToPrefetch.add(1);
+    parquetPredictivePrefetchingTask.prefetchRecentColumns(columnMappers, rowGroupsToPrefetch);
+
+    // Then: only the row group that can match is fetched
+    ArgumentCaptor<IOPlan> ioPlanArgumentCaptor = ArgumentCaptor.forClass(IOPlan.class);
+    verify(physicalIO).execute(ioPlanArgumentCaptor.capture());
+    assertEquals(
+        Collections.singletonList(new Range(1600, 2099)),
+        ioPlanArgumentCaptor.getValue().getPrefetchRanges());
+  }
+
+  @Test
+  void testPrefetchPagesThatCanMatch() throws IOException {
+    // Given: page index prefetching, and a filter only matching the second page of ss_a
+    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    ParquetPredictivePrefetchingTask parquetPredictivePrefetchingTask =
+        pagePrefetchingTask(
+            physicalIO,
+            ParquetReadHints.builder()
+                .projectedColumn("ss_a")
+                .projectedColumn("ss_b")
+                .predicate(ParquetPredicate.of("ss_a", ParquetPredicate.Comparison.GT_EQ, 50L))
+                .build());
+
+    // When: the row group is prefetched
+    parquetPredictivePrefetchingTask.prefetchRecentColumns(
+        pageIndexColumnMappers(), Collections.singletonList(0));
+
+    // Then: only the second pages are fetched, along with the dictionary page of ss_b
+    ArgumentCaptor<IOPlan> ioPlanArgumentCaptor = ArgumentCaptor.forClass(IOPlan.class);
+    verify(physicalIO).execute(ioPlanArgumentCaptor.capture());
+    assertEquals(
+        Arrays.asList(new Range(100, 249), new Range(350, 449)),
+        ioPlanArgumentCaptor.getValue().getPrefetchRanges());
+  }
+
+  @Test
+  void testPrefetchPagesInRowRange() throws IOException {
+    // Given: page index prefetching, and a row range only covering the first pages
+    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    ParquetPredictivePrefetchingTask parquetPredictivePrefetchingTask =
+        pagePrefetchingTask(
+            physicalIO,
+            ParquetReadHints.builder()
+                .projectedColumn("ss_a")
+                .projectedColumn("ss_b")
+                .firstRow(10)
+                .lastRow(20)
+                .build());
+
+    // When: the row group is prefetched
+    parquetPredictivePrefetchingTask.prefetchRecentColumns(
+        pageIndexColumnMappers(), Collections.singletonList(0));
+
+    // Then: only the first pages are fetched, along with the dictionary page of ss_b
+    ArgumentCaptor<IOPlan> ioPlanArgumentCaptor = ArgumentCaptor.forClass(IOPlan.class);
+    verify(physicalIO).execute(ioPlanArgumentCaptor.capture());
+    assertEquals(
+        Arrays.asList(new Range(0, 99), new Range(200, 349)),
+        ioPlanArgumentCaptor.getValue().getPrefetchRanges());
+  }
+
+  @Test
+  void testPrefetchPagesOutsideOfRowRange() throws IOException {
+    // Given: page index prefetching, and a row range past the end of the file
+    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    ParquetPredictivePrefetchingTask parquetPredictivePrefetchingTask =
+        pagePrefetchingTask(
+            physicalIO,
+            ParquetReadHints.builder().projectedColumn("ss_b").firstRow(1000).build());
+
+    // When: the row group is prefetched
+    parquetPredictivePrefetchingTask.prefetchRecentColumns(
+        pageIndexColumnMappers(), Collections.singletonList(0));
+
+    // Then: nothing is fetched
+    verify(physicalIO).execute(IOPlan.EMPTY_PLAN);
+  }
+
+  @Test
+  void testPageIndexIsIgnoredByDefault() throws IOException {
+    // Given: a filter only matching the second page of ss_a, without page index prefetching
+    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    ParquetPredictivePrefetchingTask parquetPredictivePrefetchingTask =
+        new ParquetPredictivePrefetchingTask(
+            TEST_URI,
+            Telemetry.NOOP,
+            LogicalIOConfiguration.DEFAULT,
+            physicalIO,
+            new ParquetColumnPrefetchStore(LogicalIOConfiguration.DEFAULT),
+            ParquetReadHints.builder()
+                .projectedColumn("ss_a")
+                .predicate(ParquetPredicate.of("ss_a", ParquetPredicate.Comparison.GT_EQ, 50L))
+                .build());
+
+    // When: the row group is prefetched
+    parquetPredictivePrefetchingTask.prefetchRecentColumns(
+        pageIndexColumnMappers(), Collections.singletonList(0));
+
+    // Then: the whole column chunk is fetched
+    ArgumentCaptor<IOPlan> ioPlanArgumentCaptor = ArgumentCaptor.forClass(IOPlan.class);
+    verify(physicalIO).execute(ioPlanArgumentCaptor.capture());
+    assertEquals(
+        Collections.singletonList(new Range(0, 199)),
+        ioPlanArgumentCaptor.getValue().getPrefetchRanges());
+  }
+
+  @Test
+  void testDictionaryFirstPrefetch() throws IOException {
+    // Given: dictionary first prefetching, ss_a without a dictionary and ss_b with one
+    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    LogicalIOConfiguration configuration =
+        LogicalIOConfiguration.builder()
+            .prefetchingMode(PrefetchMode.ALL)
+            .dictionaryFirstPrefetchingEnabled(true)
+            .build();
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore =
+        new ParquetColumnPrefetchStore(configuration);
+    ParquetPredictivePrefetchingTask parquetPredictivePrefetchingTask =
+        new ParquetPredictivePrefetchingTask(
+            TEST_URI,
+            Telemetry.NOOP,
+            configuration,
+            physicalIO,
+            parquetColumnPrefetchStore,
+            ParquetReadHints.builder().projectedColumn("ss_a").projectedColumn("ss_b").build());
+
+    int schemaHash = "ss_ass_b".hashCode();
+    HashMap<String, List<ColumnMetadata>> columnNameToColumnMap = new HashMap<>();
+    HashMap<Long, ColumnMetadata> offsetIndexToColumnMap = new HashMap<>();
+    addColumn(
+        columnNameToColumnMap,
+        offsetIndexToColumnMap,
+        new ColumnMetadata(0, "ss_a", 100, 500, schemaHash));
+    addColumn(
+        columnNameToColumnMap,
+        offsetIndexToColumnMap,
+        new ColumnMetadata(
+            0, "ss_b", 600, 500, schemaHash, ColumnStatistics.NONE, ColumnPageIndex.NONE, 650));
+    ColumnMappers columnMappers = new ColumnMappers(offsetIndexToColumnMap, columnNameToColumnMap);
+    parquetColumnPrefetchStore.putColumnMappers(TEST_URI, columnMappers);
+
+    // When: the row group is prefetched, and its dictionary is then read
+    parquetPredictivePrefetchingTask.prefetchRecentColumns(
+        columnMappers, ParquetUtils.constructRowGroupsToPrefetch());
+    parquetPredictivePrefetchingTask.addToRecentColumnList(600, 50);
+
+    // Then: only the dictionary page has been fetched
+    ArgumentCaptor<IOPlan> ioPlanArgumentCaptor = ArgumentCaptor.forClass(IOPlan.class);
+    verify(physicalIO).execute(ioPlanArgumentCaptor.capture());
+    assertEquals(
+        Collections.singletonList(new Range(600, 649)),
+        ioPlanArgumentCaptor.getValue().getPrefetchRanges());
+
+    // When: the reader moves past the dictionary, twice
+    parquetPredictivePrefetchingTask.addToRecentColumnList(100, 1000);
+    parquetPredictivePrefetchingTask.addToRecentColumnList(100, 1000);
+
+    // Then: the data pages of the row group are fetched once
+    verify(physicalIO, times(2)).execute(ioPlanArgumentCaptor.capture());
+    assertEquals(
+        Arrays.asList(new Range(100, 599), new Range(650, 1099)),
+        ioPlanArgumentCaptor.getValue().getPrefetchRanges());
+  }
+
   @Test
   void testExceptionInPrefetchingIsSwallowed() throws IOException {
     // Given: a task performing predictive prefetching
@@ -386,6 +857,84 @@ public class ParquetPredictivePrefetchingTaskTest {
             new ColumnMappers(new HashMap<>(), new HashMap<>()), Collections.emptyList()));
   }
 
+  private static ParquetPredictivePrefetchingTask pagePrefetchingTask(
+      PhysicalIO physicalIO, ParquetReadHints parquetReadHints) {
+    LogicalIOConfiguration configuration =
+        LogicalIOConfiguration.builder()
+            .pageIndexPrefetchingEnabled(true)
+            .pagePrefetchMaxGapBytes(0)
+            .build();
+    return new ParquetPredictivePrefetchingTask(
+        TEST_URI,
+        Telemetry.NOOP,
+        configuration,
+        physicalIO,
+        new ParquetColumnPrefetchStore(configuration),
+        parquetReadHints);
+  }
+
+  private static ColumnMappers rowGroupColumnMappers(int rowGroupCount) {
+    // A single column, whose chunks are laid out one row group after the other
+    HashMap<String, List<ColumnMetadata>> columnNameToColumnMap = new HashMap<>();
+    HashMap<Long, ColumnMetadata> offsetIndexToColumnMap = new HashMap<>();
+    for (int i = 0; i < rowGroupCount; i++) {
+      addColumn(
+          columnNameToColumnMap,
+          offsetIndexToColumnMap,
+          new ColumnMetadata(i, "sk_test", 100 + 500L * i, 500, "sk_test".hashCode()));
+    }
+    return new ColumnMappers(offsetIndexToColumnMap, columnNameToColumnMap);
+  }
+
+  private static ColumnMappers pageIndexColumnMappers() {
+    // Same layout as the file built by PageIndexTestUtils
+    int schemaHash = "ss_ass_b".hashCode();
+    HashMap<String, List<ColumnMetadata>> columnNameToColumnMap = new HashMap<>();
+    HashMap<Long, ColumnMetadata> offsetIndexToColumnMap = new HashMap<>();
+    addColumn(
+        columnNameToColumnMap,
+        offsetIndexToColumnMap,
+        new ColumnMetadata(
+            0,
+            "ss_a",
+            0,
+            200,
+            schemaHash,
+            ColumnStatistics.NONE,
+            ColumnPageIndex.of(
+                0,
+                100,
+                Type.INT64,
+                null,
+                PageIndexTestUtils.offsetIndex(0, 100),
+                PageIndexTestUtils.columnIndex()),
+            0));
+    addColumn(
+        columnNameToColumnMap,
+        offsetIndexToColumnMap,
+        new ColumnMetadata(
+            0,
+            "ss_b",
+            200,
+            250,
+            schemaHash,
+            ColumnStatistics.NONE,
+            ColumnPageIndex.of(
+                0, 100, Type.INT64, null, PageIndexTestUtils.offsetIndex(250, 350), null),
+            250));
+    return new ColumnMappers(offsetIndexToColumnMap, columnNameToColumnMap);
+  }
+
+  private static void addColumn(
+      Map<String, List<ColumnMetadata>> columnNameToColumnMap,
+      Map<Long, ColumnMetadata> offsetIndexToColumnMap,
+      ColumnMetadata columnMetadata) {
+    columnNameToColumnMap
+        .computeIfAbsent(columnMetadata.getColumnName(), name -> new ArrayList<>())
+        .add(columnMetadata);
+    offsetIndexToColumnMap.put(columnMetadata.getStartPos(), columnMetadata);
+  }
+
   private int getHashCode(StringBuilder stringToHash) {
     return stringToHash.toString().hashCode();
   }
@@ -35,6 +35,7 @@ import lombok.SneakyThrows;
 import org.junit.jupiter.api.Test;
 import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
 import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.logical.impl.ParquetColumnPrefetchStore;
 import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
 import software.amazon.s3.analyticsaccelerator.io.physical.impl.PhysicalIOImpl;
 import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlan;
@@ -52,7 +53,11 @@ public class ParquetPrefetchTailTaskTest {
   void testContructor() {
     assertNotNull(
         new ParquetPrefetchTailTask(
-            TEST_URI, Telemetry.NOOP, LogicalIOConfiguration.DEFAULT, mock(PhysicalIO.class)));
+            TEST_URI,
+            Telemetry.NOOP,
+            LogicalIOConfiguration.DEFAULT,
+            mock(PhysicalIO.class),
+            new ParquetColumnPrefetchStore(LogicalIOConfiguration.DEFAULT)));
   }
 
   @Test
@@ -61,20 +66,47 @@ public class ParquetPrefetchTailTaskTest {
         NullPointerException.class,
         () ->
             new ParquetPrefetchTailTask(
-                null, Telemetry.NOOP, LogicalIOConfiguration.DEFAULT, mock(PhysicalIO.class)));
+                null,
+                Telemetry.NOOP,
+                LogicalIOConfiguration.DEFAULT,
+                mock(PhysicalIO.class),
+                new ParquetColumnPrefetchStore(LogicalIOConfiguration.DEFAULT)));
     assertThrows(
         NullPointerException.class,
         () ->
             new ParquetPrefetchTailTask(
-                TEST_URI, null, LogicalIOConfiguration.DEFAULT, mock(PhysicalIO.class)));
+                TEST_URI,
+                null,
+                LogicalIOConfiguration.DEFAULT,
+                mock(PhysicalIO.class),
+                new ParquetColumnPrefetchStore(LogicalIOConfiguration.DEFAULT)));
     assertThrows(
         NullPointerException.class,
-        () -> new ParquetPrefetchTailTask(TEST_URI, Telemetry.NOOP, null, mock(PhysicalIO.class)));
+        () ->
+            new ParquetPrefetchTailTask(
+                TEST_URI,
+                Telemetry.NOOP,
+                null,
+                mock(PhysicalIO.class),
+                new ParquetColumnPrefetchStore(LogicalIOConfiguration.DEFAULT)));
     assertThrows(
         NullPointerException.class,
         () ->
             new ParquetPrefetchTailTask(
-                TEST_URI, Telemetry.NOOP, LogicalIOConfiguration.DEFAULT, null));
+                TEST_URI,
+                Telemetry.NOOP,
+                LogicalIOConfiguration.DEFAULT,
+                null,
+                new ParquetColumnPrefetchStore(LogicalIOConfiguration.DEFAULT)));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new ParquetPrefetchTailTask(
+                TEST_URI,
+                Telemetry.NOOP,
+                LogicalIOConfiguration.DEFAULT,
+                mock(PhysicalIO.class),
+                null));
   }
 
   @Test
@@ -94,7 +126,11 @@ public class ParquetPrefetchTailTaskTest {
 
       ParquetPrefetchTailTask parquetPrefetchTailTask =
           new ParquetPrefetchTailTask(
-              TEST_URI, Telemetry.NOOP, LogicalIOConfiguration.DEFAULT, mockedPhysicalIO);
+              TEST_URI,
+              Telemetry.NOOP,
+              LogicalIOConfiguration.DEFAULT,
+              mockedPhysicalIO,
+              new ParquetColumnPrefetchStore(LogicalIOConfiguration.DEFAULT));
       parquetPrefetchTailTask.prefetchTail();
 
       verify(mockedPhysicalIO).execute(any(IOPlan.class));
@@ -103,6 +139,35 @@ public class ParquetPrefetchTailTaskTest {
     }
   }
 
+  @Test
+  @SneakyThrows
+  void testPrefetchTailWithLearnedFooterSize() {
+    // Given: adaptive footer caching, with a footer size learned for the prefix of the file
+    LogicalIOConfiguration configuration =
+        LogicalIOConfiguration.builder().adaptiveFooterCachingEnabled(true).build();
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore =
+        new ParquetColumnPrefetchStore(configuration);
+    parquetColumnPrefetchStore.recordFooterSize(S3URI.of("foo", "table/part-0.parquet"), 1000);
+    PhysicalIOImpl mockedPhysicalIO = mock(PhysicalIOImpl.class);
+    long contentLength = 10L * configuration.getSmallObjectSizeThreshold();
+    when(mockedPhysicalIO.metadata())
+        .thenReturn(ObjectMetadata.builder().contentLength(contentLength).build());
+
+    // When: the tail of another file under the same prefix is prefetched
+    new ParquetPrefetchTailTask(
+            S3URI.of("foo", "table/part-1.parquet"),
+            Telemetry.NOOP,
+            configuration,
+            mockedPhysicalIO,
+            parquetColumnPrefetchStore)
+        .prefetchTail();
+
+    // Then: only the learned footer size is prefetched
+    List<Range> expectedRanges = new ArrayList<>();
+    expectedRanges.add(new Range(contentLength - 1000, contentLength - 1));
+    verify(mockedPhysicalIO).execute(argThat(new IOPlanMatcher(expectedRanges)));
+  }
+
   @Test
   @SneakyThrows
   void testExceptionRemappedToCompletionException() {
@@ -110,7 +175,11 @@ public class ParquetPrefetchTailTaskTest {
     PhysicalIO mockedPhysicalIO = mock(PhysicalIO.class);
     ParquetPrefetchTailTask parquetPrefetchTailTask =
         new ParquetPrefetchTailTask(
-            TEST_URI, Telemetry.NOOP, LogicalIOConfiguration.DEFAULT, mockedPhysicalIO);
+            TEST_URI,
+            Telemetry.NOOP,
+            LogicalIOConfiguration.DEFAULT,
+            mockedPhysicalIO,
+            new ParquetColumnPrefetchStore(LogicalIOConfiguration.DEFAULT));
 
     // When: task executes but PhysicalIO throws
     ObjectMetadata metadata = ObjectMetadata.builder().contentLength(600).build();
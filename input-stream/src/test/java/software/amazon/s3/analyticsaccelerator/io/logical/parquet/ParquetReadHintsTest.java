@@ -0,0 +1,89 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.parquet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+import software.amazon.s3.analyticsaccelerator.io.logical.parquet.ParquetPredicate.Comparison;
+
+public class ParquetReadHintsTest {
+
+  @Test
+  void testNoneHasNoProjection() {
+    assertFalse(ParquetReadHints.NONE.hasProjectedColumns());
+    assertFalse(ParquetReadHints.NONE.hasPredicates());
+    assertFalse(ParquetReadHints.NONE.hasRowRange());
+    assertFalse(ParquetReadHints.NONE.isProjected("ss_a"));
+  }
+
+  @Test
+  void testLeafColumnIsProjected() {
+    ParquetReadHints parquetReadHints =
+        ParquetReadHints.builder().projectedColumn("ss_a").projectedColumn("a.b.c").build();
+
+    assertTrue(parquetReadHints.hasProjectedColumns());
+    assertTrue(parquetReadHints.isProjected("ss_a"));
+    assertTrue(parquetReadHints.isProjected("a.b.c"));
+    assertFalse(parquetReadHints.isProjected("ss_b"));
+    assertFalse(parquetReadHints.isProjected("a.b.d"));
+    assertFalse(parquetReadHints.isProjected("ss_ab"));
+  }
+
+  @Test
+  void testGroupProjectsAllLeaves() {
+    ParquetReadHints parquetReadHints =
+        ParquetReadHints.builder().projectedColumn("address").build();
+
+    assertTrue(parquetReadHints.isProjected("address.city"));
+    assertTrue(parquetReadHints.isProjected("address.geo.lat"));
+    assertFalse(parquetReadHints.isProjected("addresses.city"));
+  }
+
+  @Test
+  void testProjectedColumnsAreImmutable() {
+    ParquetReadHints parquetReadHints =
+        ParquetReadHints.builder().projectedColumn("ss_a").build();
+
+    assertThrows(
+        UnsupportedOperationException.class,
+        () -> parquetReadHints.getProjectedColumns().add("ss_b"));
+  }
+
+  @Test
+  void testPredicates() {
+    ParquetPredicate predicate = ParquetPredicate.of("ss_a", Comparison.GT, 10L);
+    ParquetReadHints parquetReadHints = ParquetReadHints.builder().predicate(predicate).build();
+
+    assertTrue(parquetReadHints.hasPredicates());
+    assertFalse(parquetReadHints.hasProjectedColumns());
+    assertEquals(Collections.singletonList(predicate), parquetReadHints.getPredicates());
+  }
+
+  @Test
+  void testRowRange() {
+    ParquetReadHints parquetReadHints = ParquetReadHints.builder().firstRow(10).lastRow(20).build();
+
+    assertTrue(parquetReadHints.hasRowRange());
+    assertEquals(10, parquetReadHints.getFirstRow());
+    assertEquals(20, parquetReadHints.getLastRow());
+    assertTrue(ParquetReadHints.builder().lastRow(20).build().hasRowRange());
+  }
+}
@@ -20,17 +20,24 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
 import java.util.concurrent.CompletionException;
 import lombok.SneakyThrows;
 import org.junit.jupiter.api.Test;
 import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
 import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.logical.impl.ParquetColumnPrefetchStore;
 import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
 import software.amazon.s3.analyticsaccelerator.request.ObjectMetadata;
 import software.amazon.s3.analyticsaccelerator.util.S3URI;
@@ -45,7 +52,11 @@ public class ParquetReadTailTaskTest {
   void testConstructor() {
     assertNotNull(
         new ParquetReadTailTask(
-            TEST_URI, Telemetry.NOOP, LogicalIOConfiguration.DEFAULT, mock(PhysicalIO.class)));
+            TEST_URI,
+            Telemetry.NOOP,
+            LogicalIOConfiguration.DEFAULT,
+            mock(PhysicalIO.class),
+            new ParquetColumnPrefetchStore(LogicalIOConfiguration.DEFAULT)));
   }
 
   @Test
@@ -54,20 +65,47 @@ public class ParquetReadTailTaskTest {
         NullPointerException.class,
         () ->
             new ParquetReadTailTask(
-                null, Telemetry.NOOP, LogicalIOConfiguration.DEFAULT, mock(PhysicalIO.class)));
+                null,
+                Telemetry.NOOP,
+                LogicalIOConfiguration.DEFAULT,
+                mock(PhysicalIO.class),
+                new ParquetColumnPrefetchStore(LogicalIOConfiguration.DEFAULT)));
     assertThrows(
         NullPointerException.class,
         () ->
             new ParquetReadTailTask(
-                TEST_URI, null, LogicalIOConfiguration.DEFAULT, mock(PhysicalIO.class)));
+                TEST_URI,
+                null,
+                LogicalIOConfiguration.DEFAULT,
+                mock(PhysicalIO.class),
+                new ParquetColumnPrefetchStore(LogicalIOConfiguration.DEFAULT)));
     assertThrows(
         NullPointerException.class,
-        () -> new ParquetReadTailTask(TEST_URI, Telemetry.NOOP, null, mock(PhysicalIO.class)));
+        () ->
+            new ParquetReadTailTask(
+                TEST_URI,
+                Telemetry.NOOP,
+                null,
+                mock(PhysicalIO.class),
+                new ParquetColumnPrefetchStore(LogicalIOConfiguration.DEFAULT)));
     assertThrows(
         NullPointerException.class,
         () ->
             new ParquetReadTailTask(
-                TEST_URI, Telemetry.NOOP, LogicalIOConfiguration.DEFAULT, null));
+                TEST_URI,
+                Telemetry.NOOP,
+                LogicalIOConfiguration.DEFAULT,
+                null,
+                new ParquetColumnPrefetchStore(LogicalIOConfiguration.DEFAULT)));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new ParquetReadTailTask(
+                TEST_URI,
+                Telemetry.NOOP,
+                LogicalIOConfiguration.DEFAULT,
+                mock(PhysicalIO.class),
+                null));
   }
 
   @Test
@@ -78,17 +116,118 @@ public class ParquetReadTailTaskTest {
         .thenReturn(ObjectMetadata.builder().contentLength(800).build());
     ParquetReadTailTask parquetReadTailTask =
         new ParquetReadTailTask(
-            TEST_URI, Telemetry.NOOP, LogicalIOConfiguration.DEFAULT, mockedPhysicalIO);
+            TEST_URI,
+            Telemetry.NOOP,
+            LogicalIOConfiguration.DEFAULT,
+            mockedPhysicalIO,
+            new ParquetColumnPrefetchStore(LogicalIOConfiguration.DEFAULT));
 
     // When: file tail is requested
     FileTail fileTail = parquetReadTailTask.readFileTail();
 
     // Then: file tail is fetched from the PhysicalIO
     assertEquals(fileTail.getFileTailLength(), 800);
+    assertEquals(fileTail.getFileTailStartPos(), 0);
     verify(mockedPhysicalIO).readTail(any(byte[].class), anyInt(), anyInt());
     verify(mockedPhysicalIO).metadata();
   }
 
+  @Test
+  void testFooterLargerThanTailIsReadWithSecondRequest() throws IOException {
+    // Given: a file whose footer of 300 bytes is larger than the footer caching size
+    PhysicalIO mockedPhysicalIO = mockPhysicalIOWithFooter(1000, 300);
+    LogicalIOConfiguration logicalIOConfiguration =
+        LogicalIOConfiguration.builder()
+            .footerCachingSize(100)
+            .smallObjectsPrefetchingEnabled(false)
+            .build();
+    ParquetReadTailTask parquetReadTailTask =
+        new ParquetReadTailTask(
+            TEST_URI,
+            Telemetry.NOOP,
+            logicalIOConfiguration,
+            mockedPhysicalIO,
+            new ParquetColumnPrefetchStore(logicalIOConfiguration));
+
+    // When: file tail is requested
+    FileTail fileTail = parquetReadTailTask.readFileTail();
+
+    // Then: only the missing part of the footer is fetched with a second request
+    verify(mockedPhysicalIO).readTail(any(byte[].class), eq(0), eq(100));
+    verify(mockedPhysicalIO).read(any(byte[].class), eq(0), eq(200), eq(700L));
+    assertEquals(300, fileTail.getFileTailLength());
+    assertEquals(700, fileTail.getFileTailStartPos());
+    assertEquals('1', fileTail.getFileTail().get(299));
+  }
+
+  @Test
+  void testFooterSizeIsLearnedPerPrefix() throws IOException {
+    // Given: adaptive footer caching, and a file of a table whose footer is 300 bytes
+    LogicalIOConfiguration logicalIOConfiguration =
+        LogicalIOConfiguration.builder()
+            .footerCachingSize(100)
+            .smallObjectsPrefetchingEnabled(false)
+            .adaptiveFooterCachingEnabled(true)
+            .build();
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore =
+        new ParquetColumnPrefetchStore(logicalIOConfiguration);
+    new ParquetReadTailTask(
+            S3URI.of("bucket", "table/part-0.parquet"),
+            Telemetry.NOOP,
+            logicalIOConfiguration,
+            mockPhysicalIOWithFooter(1000, 300),
+            parquetColumnPrefetchStore)
+        .readFileTail();
+
+    // When: the tail of another file of the table is requested
+    PhysicalIO mockedPhysicalIO = mockPhysicalIOWithFooter(2000, 300);
+    FileTail fileTail =
+        new ParquetReadTailTask(
+                S3URI.of("bucket", "table/part-1.parquet"),
+                Telemetry.NOOP,
+                logicalIOConfiguration,
+                mockedPhysicalIO,
+                parquetColumnPrefetchStore)
+            .readFileTail();
+
+    // Then: exactly the footer is fetched, with a single request
+    verify(mockedPhysicalIO).readTail(any(byte[].class), eq(0), eq(300));
+    verify(mockedPhysicalIO, never()).read(any(byte[].class), anyInt(), anyInt(), anyLong());
+    assertEquals(300, fileTail.getFileTailLength());
+    assertEquals(1700, fileTail.getFileTailStartPos());
+  }
+
+  @Test
+  void testTailSizeIsFixedWhenTaskIsCreated() throws IOException {
+    // Given: a read tail task created while the footer size learned for the prefix is 300 bytes
+    LogicalIOConfiguration logicalIOConfiguration =
+        LogicalIOConfiguration.builder()
+            .footerCachingSize(100)
+            .smallObjectsPrefetchingEnabled(false)
+            .adaptiveFooterCachingEnabled(true)
+            .build();
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore =
+        new ParquetColumnPrefetchStore(logicalIOConfiguration);
+    parquetColumnPrefetchStore.recordFooterSize(S3URI.of("bucket", "table/part-0.parquet"), 300);
+    PhysicalIO mockedPhysicalIO = mockPhysicalIOWithFooter(2000, 300);
+    ParquetReadTailTask parquetReadTailTask =
+        new ParquetReadTailTask(
+            S3URI.of("bucket", "table/part-1.parquet"),
+            Telemetry.NOOP,
+            logicalIOConfiguration,
+            mockedPhysicalIO,
+            parquetColumnPrefetchStore);
+
+    // When: another stream learns a larger footer before the tail is read
+    parquetColumnPrefetchStore.recordFooterSize(S3URI.of("bucket", "table/part-2.parquet"), 500);
+    FileTail fileTail = parquetReadTailTask.readFileTail();
+
+    // Then: the tail read keeps the size the tail was prefetched with
+    verify(mockedPhysicalIO).readTail(any(byte[].class), eq(0), eq(300));
+    assertEquals(300, fileTail.getFileTailLength());
+    assertEquals(1700, fileTail.getFileTailStartPos());
+  }
+
   @Test
   @SneakyThrows
   void testExceptionRemappedToCompletionException() {
@@ -100,10 +239,32 @@ public class ParquetReadTailTaskTest {
         .thenThrow(new IOException("Something went horribly wrong."));
     ParquetReadTailTask parquetReadTailTask =
         new ParquetReadTailTask(
-            TEST_URI, Telemetry.NOOP, LogicalIOConfiguration.DEFAULT, mockedPhysicalIO);
+            TEST_URI,
+            Telemetry.NOOP,
+            LogicalIOConfiguration.DEFAULT,
+            mockedPhysicalIO,
+            new ParquetColumnPrefetchStore(LogicalIOConfiguration.DEFAULT));
 
     // When & Then: file tail is requested --> IOException from PH/IO is wrapped in
     // CompletionException
     assertThrows(CompletionException.class, () -> parquetReadTailTask.readFileTail());
   }
+
+  private static PhysicalIO mockPhysicalIOWithFooter(long contentLength, int footerSize)
+      throws IOException {
+    PhysicalIO mockedPhysicalIO = mock(PhysicalIO.class);
+    when(mockedPhysicalIO.metadata())
+        .thenReturn(ObjectMetadata.builder().contentLength(contentLength).build());
+    when(mockedPhysicalIO.readTail(any(byte[].class), anyInt(), anyInt()))
+        .thenAnswer(
+            invocation -> {
+              byte[] buf = invocation.getArgument(0);
+              int len = invocation.getArgument(2);
+              ByteBuffer trailer = ByteBuffer.wrap(buf, len - 8, 8).order(ByteOrder.LITTLE_ENDIAN);
+              trailer.putInt(footerSize - 8);
+              trailer.put("PAR1".getBytes(StandardCharsets.US_ASCII));
+              return len;
+            });
+    return mockedPhysicalIO;
+  }
 }
@@ -16,46 +16,104 @@
 package software.amazon.s3.analyticsaccelerator.io.logical.parquet;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static software.amazon.s3.analyticsaccelerator.util.Constants.ONE_MB;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.logical.impl.ParquetColumnPrefetchStore;
 import software.amazon.s3.analyticsaccelerator.request.Range;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
 
 public class ParquetUtilsTest {
   @Test
-  void testGetFileTailRangeDefaultConfig() {
+  void testGetFileTailSize() {
+    S3URI s3URI = S3URI.of("bucket", "table/part-0.parquet");
+    LogicalIOConfiguration adaptive =
+        LogicalIOConfiguration.builder().adaptiveFooterCachingEnabled(true).build();
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore =
+        new ParquetColumnPrefetchStore(LogicalIOConfiguration.DEFAULT);
 
-    Range range =
-        ParquetUtils.getFileTailRange(LogicalIOConfiguration.DEFAULT, 0, 5 * ONE_MB).get();
+    // Nothing learned yet, footer caching size is used
+    assertEquals(ONE_MB, ParquetUtils.getFileTailSize(adaptive, parquetColumnPrefetchStore, s3URI));
 
+    // Learned footer size is used when adaptive footer caching is enabled
+    parquetColumnPrefetchStore.recordFooterSize(s3URI, 1000);
+    assertEquals(1000, ParquetUtils.getFileTailSize(adaptive, parquetColumnPrefetchStore, s3URI));
     assertEquals(
-        range.getStart(), 5 * ONE_MB - LogicalIOConfiguration.DEFAULT.getFooterCachingSize());
-    assertEquals(range.getEnd(), 5 * ONE_MB - 1);
+        ONE_MB,
+        ParquetUtils.getFileTailSize(
+            LogicalIOConfiguration.DEFAULT, parquetColumnPrefetchStore, s3URI));
+
+    // Footer caching size remains a lower bound with page index prefetching
+    assertEquals(
+        ONE_MB,
+        ParquetUtils.getFileTailSize(
+            LogicalIOConfiguration.builder()
+                .adaptiveFooterCachingEnabled(true)
+                .pageIndexPrefetchingEnabled(true)
+                .build(),
+            parquetColumnPrefetchStore,
+            s3URI));
+  }
+
+  @Test
+  void testMergeRanges() {
+    List<Range> ranges = Arrays.asList(new Range(300, 399), new Range(0, 99), new Range(100, 149));
+
+    assertEquals(
+        Arrays.asList(new Range(0, 149), new Range(300, 399)), ParquetUtils.mergeRanges(ranges, 0));
+    assertEquals(
+        Collections.singletonList(new Range(0, 399)), ParquetUtils.mergeRanges(ranges, 150));
+    assertEquals(Collections.emptyList(), ParquetUtils.mergeRanges(Collections.emptyList(), 0));
+  }
+
+  @Test
+  void testMergeRangesContainedRange() {
+    List<Range> ranges = Arrays.asList(new Range(0, 99), new Range(10, 19));
+
+    assertEquals(Collections.singletonList(new Range(0, 99)), ParquetUtils.mergeRanges(ranges, 0));
   }
 
   @Test
-  void testGetFileTailRangeSmallFile() {
-    Range range =
-        ParquetUtils.getFileTailRange(
-                LogicalIOConfiguration.builder()
-                    .smallObjectsPrefetchingEnabled(true)
-                    .smallObjectSizeThreshold(2 * ONE_MB)
-                    .build(),
-                0,
-                2 * ONE_MB)
-            .get();
-
-    assertEquals(range.getStart(), 0);
-    assertEquals(range.getEnd(), 2 * ONE_MB - 1);
+  void testIntersectRanges() {
+    List<Range> left = Arrays.asList(new Range(0, 49), new Range(100, 149));
+    List<Range> right = Arrays.asList(new Range(40, 109), new Range(140, 199));
+
+    assertEquals(
+        Arrays.asList(new Range(40, 49), new Range(100, 109), new Range(140, 149)),
+        ParquetUtils.intersectRanges(left, right));
+    assertEquals(
+        Collections.emptyList(), ParquetUtils.intersectRanges(left, Collections.emptyList()));
   }
 
   @Test
-  void testGetFileTailSmallContentLength() {
+  void testOverlaps() {
+    List<Range> ranges = Arrays.asList(new Range(0, 49), new Range(100, 149));
 
-    Range range = ParquetUtils.getFileTailRange(LogicalIOConfiguration.DEFAULT, 0, 5).get();
+    assertTrue(ParquetUtils.overlaps(new Range(49, 60), ranges));
+    assertTrue(ParquetUtils.overlaps(new Range(60, 100), ranges));
+    assertFalse(ParquetUtils.overlaps(new Range(50, 99), ranges));
+    assertFalse(ParquetUtils.overlaps(new Range(0, 10), Collections.emptyList()));
+  }
 
-    assertEquals(range.getStart(), 0);
-    assertEquals(range.getEnd(), 4);
+  @Test
+  void testGetTableLocation() {
+    assertEquals(
+        "bucket/warehouse/table",
+        ParquetUtils.getTableLocation(
+            S3URI.of("bucket", "warehouse/table/dt=2024-01-01/region=eu/part-0.parquet")));
+    assertEquals(
+        "bucket/warehouse/table",
+        ParquetUtils.getTableLocation(S3URI.of("bucket", "warehouse/table/part-0.parquet")));
+    assertEquals(
+        "bucket/warehouse/a=b/table",
+        ParquetUtils.getTableLocation(S3URI.of("bucket", "warehouse/a=b/table/part-0.parquet")));
+    assertEquals("bucket/", ParquetUtils.getTableLocation(S3URI.of("bucket", "dt=1/part-0")));
+    assertEquals("bucket/", ParquetUtils.getTableLocation(S3URI.of("bucket", "part-0")));
   }
 }
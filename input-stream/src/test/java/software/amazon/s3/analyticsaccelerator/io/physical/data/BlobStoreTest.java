@@ -29,6 +29,7 @@ import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIOConfigurati
 import software.amazon.s3.analyticsaccelerator.request.ObjectClient;
 import software.amazon.s3.analyticsaccelerator.request.ObjectMetadata;
 import software.amazon.s3.analyticsaccelerator.util.FakeObjectClient;
+import software.amazon.s3.analyticsaccelerator.util.IOStatistics;
 import software.amazon.s3.analyticsaccelerator.util.S3URI;
 
 @SuppressFBWarnings(
@@ -85,7 +86,7 @@ public class BlobStoreTest {
 
     // Then:
     byte[] b = new byte[TEST_DATA.length()];
-    blob.read(b, 0, b.length, 0);
+    blob.read(b, 0, b.length, 0, IOStatistics.NONE);
     assertEquals(TEST_DATA, new String(b, StandardCharsets.UTF_8));
   }
 }
@@ -16,23 +16,33 @@
 package software.amazon.s3.analyticsaccelerator.io.physical.data;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import static software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanState.SUBMITTED;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import org.junit.jupiter.api.Test;
 import software.amazon.s3.analyticsaccelerator.TestTelemetry;
 import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIOConfiguration;
 import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlan;
 import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanExecution;
+import software.amazon.s3.analyticsaccelerator.request.ObjectClient;
+import software.amazon.s3.analyticsaccelerator.request.ObjectContent;
+import software.amazon.s3.analyticsaccelerator.request.ObjectMetadata;
 import software.amazon.s3.analyticsaccelerator.request.Range;
 import software.amazon.s3.analyticsaccelerator.request.ReadMode;
 import software.amazon.s3.analyticsaccelerator.util.FakeObjectClient;
+import software.amazon.s3.analyticsaccelerator.util.IOStatistics;
+import software.amazon.s3.analyticsaccelerator.util.IOStatisticsSnapshot;
 import software.amazon.s3.analyticsaccelerator.util.S3URI;
 
 @SuppressFBWarnings(
@@ -67,10 +77,10 @@ public class BlobTest {
     Blob blob = getTestBlob(TEST_DATA);
 
     // When: single byte reads are performed
-    int r1 = blob.read(0);
-    int r2 = blob.read(5);
-    int r3 = blob.read(10);
-    int r4 = blob.read(TEST_DATA.length() - 1);
+    int r1 = blob.read(0, IOStatistics.NONE);
+    int r2 = blob.read(5, IOStatistics.NONE);
+    int r3 = blob.read(10, IOStatistics.NONE);
+    int r4 = blob.read(TEST_DATA.length() - 1, IOStatistics.NONE);
 
     // Then: correct bytes are returned
     assertEquals(116, r1); // 't' = 116
@@ -86,15 +96,31 @@ public class BlobTest {
 
     // When: buffered reads are performed
     byte[] b1 = new byte[4];
-    blob.read(b1, 0, b1.length, 0);
+    blob.read(b1, 0, b1.length, 0, IOStatistics.NONE);
     byte[] b2 = new byte[4];
-    blob.read(b2, 0, b2.length, 5);
+    blob.read(b2, 0, b2.length, 5, IOStatistics.NONE);
 
     // Then: correct bytes are returned
     assertEquals("test", new String(b1, StandardCharsets.UTF_8));
     assertEquals("data", new String(b2, StandardCharsets.UTF_8));
   }
 
+  @Test
+  public void testAvailableDoesNotFetch() {
+    // Given: test Blob
+    Blob blob = getTestBlob(TEST_DATA);
+
+    // When & Then: nothing is available before a read, and asking does not fetch the data
+    assertEquals(0, blob.available(0));
+    assertEquals(0, blob.available(TEST_DATA.length() - 1));
+
+    // When & Then: once read, the bytes of the block from the position on are available
+    byte[] b1 = new byte[4];
+    blob.read(b1, 0, b1.length, 0, IOStatistics.NONE);
+    assertTrue(blob.available(0) >= b1.length);
+    assertEquals(blob.available(0) - 1, blob.available(1));
+  }
+
   @Test
   public void testBufferedReadTestOverlappingRanges() {
     // Given: test Blob
@@ -102,9 +128,9 @@ public class BlobTest {
 
     // When: buffered reads are performed
     byte[] b1 = new byte[4];
-    blob.read(b1, 0, b1.length, 0);
+    blob.read(b1, 0, b1.length, 0, IOStatistics.NONE);
     byte[] b2 = new byte[4];
-    blob.read(b2, 0, b2.length, 2);
+    blob.read(b2, 0, b2.length, 2, IOStatistics.NONE);
 
     // Then: correct bytes are returned
     assertEquals("test", new String(b1, StandardCharsets.UTF_8));
@@ -119,12 +145,20 @@ public class BlobTest {
     // When & Then: read is called with illegal arguments, IllegalArgumentException is thrown
     byte[] b = new byte[4];
 
-    assertThrows(IllegalArgumentException.class, () -> blob.read(-100));
-    assertThrows(IllegalArgumentException.class, () -> blob.read(b, 0, b.length, -100));
-    assertThrows(IllegalArgumentException.class, () -> blob.read(b, 0, b.length, b.length + 1));
-    assertThrows(IllegalArgumentException.class, () -> blob.read(b, -1, b.length, 1));
-    assertThrows(IllegalArgumentException.class, () -> blob.read(b, 0, -1, 1));
-    assertThrows(IllegalArgumentException.class, () -> blob.read(b, b.length + 1, b.length, 1));
+    assertThrows(IllegalArgumentException.class, () -> blob.read(-100, IOStatistics.NONE));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> blob.read(b, 0, b.length, -100, IOStatistics.NONE));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> blob.read(b, 0, b.length, b.length + 1, IOStatistics.NONE));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> blob.read(b, -1, b.length, 1, IOStatistics.NONE));
+    assertThrows(IllegalArgumentException.class, () -> blob.read(b, 0, -1, 1, IOStatistics.NONE));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> blob.read(b, b.length + 1, b.length, 1, IOStatistics.NONE));
   }
 
   @Test
@@ -139,12 +173,124 @@ public class BlobTest {
     IOPlan ioPlan = new IOPlan(ranges);
 
     // When: the IOPlan is executed
-    IOPlanExecution execution = blob.execute(ioPlan);
+    IOPlanExecution execution = blob.execute(ioPlan, IOStatistics.NONE);
 
     // Then: correct ranges are submitted
     assertEquals(SUBMITTED, execution.getState());
-    verify(blockManager).makeRangeAvailable(0, 101, ReadMode.ASYNC);
-    verify(blockManager).makeRangeAvailable(999, 2, ReadMode.ASYNC);
+    verify(blockManager).makeRangeAvailable(0, 101, ReadMode.ASYNC, IOStatistics.NONE);
+    verify(blockManager).makeRangeAvailable(999, 2, ReadMode.ASYNC, IOStatistics.NONE);
+  }
+
+  @Test
+  public void testExecuteCompletesWhenDataIsAvailable() {
+    // Given: test blob and an IOPlan
+    Blob blob = getTestBlob(TEST_DATA);
+    IOPlan ioPlan = new IOPlan(new Range(0, 3));
+
+    // When: the IOPlan is executed
+    IOPlanExecution execution = blob.execute(ioPlan, IOStatistics.NONE);
+
+    // Then: the completion future finishes, and the data is there
+    assertDoesNotThrow(() -> execution.getCompletion().join());
+    byte[] b = new byte[4];
+    blob.read(b, 0, b.length, 0, IOStatistics.NONE);
+    assertEquals("test", new String(b, StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void testCancellingExecutionEvictsPendingBlocks() {
+    // Given: a blob whose GETs never complete
+    ObjectClient objectClient = mock(ObjectClient.class);
+    when(objectClient.getObject(any())).thenReturn(new CompletableFuture<>());
+    MetadataStore metadataStore = mock(MetadataStore.class);
+    when(metadataStore.get(any()))
+        .thenReturn(ObjectMetadata.builder().contentLength(TEST_DATA.length()).build());
+    BlockManager blockManager =
+        new BlockManager(
+            TEST_URI,
+            objectClient,
+            metadataStore,
+            TestTelemetry.DEFAULT,
+            PhysicalIOConfiguration.DEFAULT);
+    Blob blob = new Blob(TEST_URI, metadataStore, blockManager, TestTelemetry.DEFAULT);
+
+    // When: an IOPlan is executed and then cancelled
+    IOPlanExecution execution = blob.execute(new IOPlan(new Range(0, 3)), IOStatistics.NONE);
+    assertTrue(blockManager.getBlock(0).isPresent());
+    assertFalse(execution.getCompletion().isDone());
+    execution.getCompletion().cancel(false);
+
+    // Then: the pending block is removed, so a later read would fetch it again
+    assertFalse(blockManager.getBlock(0).isPresent());
+  }
+
+  @Test
+  public void testCancellingExecutionDoesNotFailOverlappingRead() {
+    // Given: a blob whose GETs only complete when told to
+    CompletableFuture<ObjectContent> content = new CompletableFuture<>();
+    ObjectClient objectClient = mock(ObjectClient.class);
+    when(objectClient.getObject(any())).thenReturn(content);
+    MetadataStore metadataStore = mock(MetadataStore.class);
+    ObjectMetadata metadata = ObjectMetadata.builder().contentLength(TEST_DATA.length()).build();
+    when(metadataStore.get(any())).thenReturn(metadata);
+    when(metadataStore.asyncGet(any())).thenReturn(CompletableFuture.completedFuture(metadata));
+    BlockManager blockManager =
+        new BlockManager(
+            TEST_URI,
+            objectClient,
+            metadataStore,
+            TestTelemetry.DEFAULT,
+            PhysicalIOConfiguration.DEFAULT);
+    Blob blob = new Blob(TEST_URI, metadataStore, blockManager, TestTelemetry.DEFAULT);
+
+    // When: an IOPlan is executed, a read waits for the block it issued, and the plan is cancelled
+    IOPlanExecution execution = blob.execute(new IOPlan(new Range(0, 3)), IOStatistics.NONE);
+    ByteBuffer buffer = ByteBuffer.allocate(4);
+    CompletableFuture<Integer> read = blob.readAsync(0, buffer, IOStatistics.NONE);
+    execution.getCompletion().cancel(false);
+    content.complete(
+        ObjectContent.builder()
+            .stream(new ByteArrayInputStream(TEST_DATA.getBytes(StandardCharsets.UTF_8)))
+            .build());
+
+    // Then: the block is kept for the read, which gets its data
+    assertTrue(blockManager.getBlock(0).isPresent());
+    assertEquals(4, read.join());
+    assertEquals("test", new String(buffer.array(), StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void testReadAfterCancelledExecutionFetchesAgain() {
+    // Given: a blob whose first GET never completes
+    ObjectClient objectClient = mock(ObjectClient.class);
+    when(objectClient.getObject(any()))
+        .thenReturn(new CompletableFuture<>())
+        .thenReturn(
+            CompletableFuture.completedFuture(
+                ObjectContent.builder()
+                    .stream(new ByteArrayInputStream(TEST_DATA.getBytes(StandardCharsets.UTF_8)))
+                    .build()));
+    MetadataStore metadataStore = mock(MetadataStore.class);
+    when(metadataStore.get(any()))
+        .thenReturn(ObjectMetadata.builder().contentLength(TEST_DATA.length()).build());
+    BlockManager blockManager =
+        new BlockManager(
+            TEST_URI,
+            objectClient,
+            metadataStore,
+            TestTelemetry.DEFAULT,
+            PhysicalIOConfiguration.DEFAULT);
+    Blob blob = new Blob(TEST_URI, metadataStore, blockManager, TestTelemetry.DEFAULT);
+
+    // When: an IOPlan is executed and cancelled before any read of its range
+    IOPlanExecution execution = blob.execute(new IOPlan(new Range(0, 3)), IOStatistics.NONE);
+    execution.getCompletion().cancel(false);
+    byte[] b = new byte[4];
+    blob.read(b, 0, b.length, 0, IOStatistics.NONE);
+
+    // Then: the read fetches the range again instead of failing
+    assertEquals("test", new String(b, StandardCharsets.UTF_8));
+    verify(objectClient, times(2)).getObject(any());
   }
 
   @Test
@@ -162,17 +308,200 @@ public class BlobTest {
   }
 
   private Blob getTestBlob(String data) {
+    return getTestBlob(data, PhysicalIOConfiguration.DEFAULT);
+  }
+
+  private Blob getTestBlob(String data, PhysicalIOConfiguration configuration) {
     FakeObjectClient fakeObjectClient = new FakeObjectClient(data);
     MetadataStore metadataStore =
         new MetadataStore(fakeObjectClient, TestTelemetry.DEFAULT, PhysicalIOConfiguration.DEFAULT);
+    BlockManager blockManager =
+        new BlockManager(
+            TEST_URI, fakeObjectClient, metadataStore, TestTelemetry.DEFAULT, configuration);
+
+    return new Blob(TEST_URI, metadataStore, blockManager, TestTelemetry.DEFAULT);
+  }
+
+  @Test
+  public void testReadAsyncReturnsCorrectBytes() {
+    // Given: test Blob
+    Blob blob = getTestBlob(TEST_DATA);
+
+    // When: asynchronous reads are performed, the second one being cut short by the end of data
+    ByteBuffer b1 = ByteBuffer.allocate(4);
+    int r1 = blob.readAsync(5, b1, IOStatistics.NONE).join();
+    ByteBuffer b2 = ByteBuffer.allocate(8);
+    int r2 = blob.readAsync(TEST_DATA.length() - 2, b2, IOStatistics.NONE).join();
+    int r3 = blob.readAsync(TEST_DATA.length(), ByteBuffer.allocate(8), IOStatistics.NONE).join();
+
+    // Then: correct bytes are returned, and the buffer positions are advanced
+    assertEquals(4, r1);
+    assertEquals(4, b1.position());
+    assertEquals("data", new String(b1.array(), StandardCharsets.UTF_8));
+    assertEquals(2, r2);
+    assertEquals(2, b2.position());
+    assertEquals("89", new String(b2.array(), 0, 2, StandardCharsets.UTF_8));
+    assertEquals(-1, r3);
+  }
+
+  @Test
+  public void testReadAsyncDoesNotBlock() {
+    // Given: a blob whose GETs only complete when told to
+    CompletableFuture<ObjectContent> content = new CompletableFuture<>();
+    ObjectClient objectClient = mock(ObjectClient.class);
+    when(objectClient.getObject(any())).thenReturn(content);
+    MetadataStore metadataStore = mock(MetadataStore.class);
+    ObjectMetadata metadata = ObjectMetadata.builder().contentLength(TEST_DATA.length()).build();
+    when(metadataStore.get(any())).thenReturn(metadata);
+    when(metadataStore.asyncGet(any())).thenReturn(CompletableFuture.completedFuture(metadata));
     BlockManager blockManager =
         new BlockManager(
             TEST_URI,
-            fakeObjectClient,
+            objectClient,
             metadataStore,
             TestTelemetry.DEFAULT,
             PhysicalIOConfiguration.DEFAULT);
+    Blob blob = new Blob(TEST_URI, metadataStore, blockManager, TestTelemetry.DEFAULT);
 
-    return new Blob(TEST_URI, metadataStore, blockManager, TestTelemetry.DEFAULT);
+    // When: an asynchronous read is issued
+    ByteBuffer buffer = ByteBuffer.allocate(4);
+    CompletableFuture<Integer> read = blob.readAsync(0, buffer, IOStatistics.NONE);
+
+    // Then: it only completes once the data arrives
+    assertFalse(read.isDone());
+    content.complete(
+        ObjectContent.builder()
+            .stream(new ByteArrayInputStream(TEST_DATA.getBytes(StandardCharsets.UTF_8)))
+            .build());
+    assertEquals(4, read.join());
+    assertEquals("test", new String(buffer.array(), StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void testByteBufferReadReturnsCorrectBytes() {
+    // Given: test Blob
+    Blob blob = getTestBlob(TEST_DATA);
+
+    // When: reads into heap and direct buffers are performed, the last one cut short by the end
+    ByteBuffer b1 = ByteBuffer.allocate(4);
+    int r1 = blob.read(b1, 0, IOStatistics.NONE);
+    ByteBuffer b2 = ByteBuffer.allocateDirect(8);
+    int r2 = blob.read(b2, TEST_DATA.length() - 2, IOStatistics.NONE);
+
+    // Then: correct bytes are returned, and the buffer positions are advanced
+    assertEquals(4, r1);
+    assertEquals("test", new String(b1.array(), StandardCharsets.UTF_8));
+    assertEquals(2, r2);
+    assertEquals(2, b2.position());
+    assertEquals((byte) '8', b2.get(0));
+    assertEquals((byte) '9', b2.get(1));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> blob.read(b1, TEST_DATA.length(), IOStatistics.NONE));
+  }
+
+  @Test
+  public void testBlockViewIsPositionedAtTheByte() {
+    // Given: test Blob
+    Blob blob = getTestBlob(TEST_DATA);
+
+    // When: a view of the block holding a byte is requested
+    ByteBuffer view = blob.blockView(5, IOStatistics.NONE);
+
+    // Then: the read-only view spans the block and is positioned at the byte
+    assertTrue(view.isReadOnly());
+    assertEquals(5, view.position());
+    assertEquals(TEST_DATA.length(), view.limit());
+    assertEquals((byte) 'd', view.get());
+    assertThrows(IllegalArgumentException.class, () -> blob.blockView(-1, IOStatistics.NONE));
+  }
+
+  @Test
+  public void testReadsRecordCacheHitsAndMisses() {
+    // Given: test Blob and statistics
+    Blob blob = getTestBlob(TEST_DATA);
+    IOStatistics statistics = new IOStatistics();
+
+    // When: a first read fetches the object, and later reads are served from its block
+    byte[] b = new byte[4];
+    blob.read(b, 0, b.length, 0, statistics);
+    blob.read(b, 0, b.length, 4, statistics);
+    blob.read(ByteBuffer.allocate(4), 8, statistics);
+    blob.read(12, statistics, IOStatistics.NONE);
+    blob.blockView(16, statistics);
+
+    // Then: a single GET fetching the whole object is recorded, along with one miss and four hits
+    IOStatisticsSnapshot snapshot = statistics.snapshot();
+    assertEquals(1, snapshot.getGetRequests());
+    assertEquals(TEST_DATA.length(), snapshot.getBytesFetched());
+    assertEquals(1, snapshot.getCacheMisses());
+    assertEquals(4, snapshot.getCacheHits());
+    assertEquals(0, snapshot.getPrefetchedBytes());
+  }
+
+  @Test
+  public void testExecuteRecordsPrefetchedBytes() {
+    // Given: test Blob not reading ahead, and statistics
+    Blob blob = getTestBlob(TEST_DATA, PhysicalIOConfiguration.builder().readAheadBytes(1).build());
+    IOStatistics statistics = new IOStatistics();
+
+    // When: two ranges are prefetched, only the first of which is read before the blob is closed
+    blob.execute(new IOPlan(new Range(0, 3)), statistics).getCompletion().join();
+    blob.execute(new IOPlan(new Range(10, 19)), statistics).getCompletion().join();
+    byte[] b = new byte[4];
+    blob.read(b, 0, b.length, 0, statistics);
+    blob.close();
+
+    // Then: prefetching is not counted as hits or misses, and the unread range is wasted
+    IOStatisticsSnapshot snapshot = statistics.snapshot();
+    assertEquals(2, snapshot.getGetRequests());
+    assertEquals(14, snapshot.getBytesFetched());
+    assertEquals(14, snapshot.getPrefetchedBytes());
+    assertEquals(10, snapshot.getPrefetchedBytesWasted());
+    assertEquals(1, snapshot.getCacheHits());
+    assertEquals(0, snapshot.getCacheMisses());
+  }
+
+  @Test
+  public void testReadRecordsTimeBlocked() throws InterruptedException {
+    // Given: a blob whose GETs complete a little later, from another thread
+    CompletableFuture<ObjectContent> content = new CompletableFuture<>();
+    ObjectClient objectClient = mock(ObjectClient.class);
+    when(objectClient.getObject(any())).thenReturn(content);
+    MetadataStore metadataStore = mock(MetadataStore.class);
+    when(metadataStore.get(any()))
+        .thenReturn(ObjectMetadata.builder().contentLength(TEST_DATA.length()).build());
+    BlockManager blockManager =
+        new BlockManager(
+            TEST_URI,
+            objectClient,
+            metadataStore,
+            TestTelemetry.DEFAULT,
+            PhysicalIOConfiguration.DEFAULT);
+    Blob blob = new Blob(TEST_URI, metadataStore, blockManager, TestTelemetry.DEFAULT);
+    IOStatistics statistics = new IOStatistics();
+    Thread completer =
+        new Thread(
+            () -> {
+              try {
+                Thread.sleep(100);
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+              content.complete(
+                  ObjectContent.builder()
+                      .stream(new ByteArrayInputStream(TEST_DATA.getBytes(StandardCharsets.UTF_8)))
+                      .build());
+            });
+
+    // When: the data is read while the GET is in flight
+    completer.start();
+    byte[] b = new byte[4];
+    blob.read(b, 0, b.length, 0, statistics);
+    completer.join();
+
+    // Then: the read returns the data, and the time it waited for it is recorded
+    assertEquals("test", new String(b, StandardCharsets.UTF_8));
+    assertTrue(statistics.snapshot().getBlockedNanos() > 0);
   }
 }
@@ -37,6 +37,7 @@ import software.amazon.s3.analyticsaccelerator.request.ObjectClient;
 import software.amazon.s3.analyticsaccelerator.request.ObjectContent;
 import software.amazon.s3.analyticsaccelerator.request.ObjectMetadata;
 import software.amazon.s3.analyticsaccelerator.request.ReadMode;
+import software.amazon.s3.analyticsaccelerator.util.IOStatistics;
 import software.amazon.s3.analyticsaccelerator.util.S3URI;
 
 @SuppressFBWarnings(
@@ -109,7 +110,7 @@ public class BlockManagerTest {
     BlockManager blockManager = getTestBlockManager(65 * ONE_KB);
 
     // When: have a 64KB block available from 0
-    blockManager.makePositionAvailable(0, ReadMode.SYNC);
+    blockManager.makePositionAvailable(0, ReadMode.SYNC, IOStatistics.NONE);
 
     // Then: 0 returns a block but 64KB + 1 byte returns no block
     assertTrue(blockManager.getBlock(0).isPresent());
@@ -124,7 +125,7 @@ public class BlockManagerTest {
     BlockManager blockManager = getTestBlockManager(objectClient, objectSize);
 
     // When
-    blockManager.makePositionAvailable(0, ReadMode.SYNC);
+    blockManager.makePositionAvailable(0, ReadMode.SYNC, IOStatistics.NONE);
 
     // Then
     ArgumentCaptor<GetRequest> requestCaptor = ArgumentCaptor.forClass(GetRequest.class);
@@ -144,7 +145,7 @@ public class BlockManagerTest {
     BlockManager blockManager = getTestBlockManager(objectClient, objectSize);
 
     // When
-    blockManager.makePositionAvailable(0, ReadMode.SYNC);
+    blockManager.makePositionAvailable(0, ReadMode.SYNC, IOStatistics.NONE);
 
     // Then
     ArgumentCaptor<GetRequest> requestCaptor = ArgumentCaptor.forClass(GetRequest.class);
@@ -159,11 +160,11 @@ public class BlockManagerTest {
     // Given: BM with 0-64KB and 64KB+1 to 128KB
     ObjectClient objectClient = mock(ObjectClient.class);
     BlockManager blockManager = getTestBlockManager(objectClient, 128 * ONE_KB);
-    blockManager.makePositionAvailable(0, ReadMode.SYNC);
-    blockManager.makePositionAvailable(64 * ONE_KB + 1, ReadMode.SYNC);
+    blockManager.makePositionAvailable(0, ReadMode.SYNC, IOStatistics.NONE);
+    blockManager.makePositionAvailable(64 * ONE_KB + 1, ReadMode.SYNC, IOStatistics.NONE);
 
     // When: requesting the byte at 64KB
-    blockManager.makeRangeAvailable(64 * ONE_KB, 100, ReadMode.SYNC);
+    blockManager.makeRangeAvailable(64 * ONE_KB, 100, ReadMode.SYNC, IOStatistics.NONE);
     ArgumentCaptor<GetRequest> requestCaptor = ArgumentCaptor.forClass(GetRequest.class);
     verify(objectClient, times(3)).getObject(requestCaptor.capture());
 
@@ -186,13 +187,13 @@ public class BlockManagerTest {
             objectClient,
             128 * ONE_MB,
             PhysicalIOConfiguration.builder().sequentialPrefetchBase(2.0).build());
-    blockManager.makeRangeAvailable(20_837_974, 8_323_072, ReadMode.SYNC);
-    blockManager.makeRangeAvailable(20_772_438, 65_536, ReadMode.SYNC);
-    blockManager.makeRangeAvailable(29_161_046, 4_194_305, ReadMode.SYNC);
-    blockManager.makeRangeAvailable(106_182_410, 1_048_576, ReadMode.SYNC);
+    blockManager.makeRangeAvailable(20_837_974, 8_323_072, ReadMode.SYNC, IOStatistics.NONE);
+    blockManager.makeRangeAvailable(20_772_438, 65_536, ReadMode.SYNC, IOStatistics.NONE);
+    blockManager.makeRangeAvailable(29_161_046, 4_194_305, ReadMode.SYNC, IOStatistics.NONE);
+    blockManager.makeRangeAvailable(106_182_410, 1_048_576, ReadMode.SYNC, IOStatistics.NONE);
 
     // When: [29161046 - 37549653] is requested
-    blockManager.makeRangeAvailable(29_161_046, 8_388_608, ReadMode.SYNC);
+    blockManager.makeRangeAvailable(29_161_046, 8_388_608, ReadMode.SYNC, IOStatistics.NONE);
 
     // Then: position 33_355_351 should be available
     // This was throwing before, and it shouldn't, given that 33_355_351 is contained in [29161046 -
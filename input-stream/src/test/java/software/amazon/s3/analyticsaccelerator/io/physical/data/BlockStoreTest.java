@@ -16,12 +16,18 @@
 package software.amazon.s3.analyticsaccelerator.io.physical.data;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.OptionalLong;
 import org.junit.jupiter.api.Test;
@@ -29,6 +35,7 @@ import software.amazon.s3.analyticsaccelerator.TestTelemetry;
 import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIOConfiguration;
 import software.amazon.s3.analyticsaccelerator.request.ReadMode;
 import software.amazon.s3.analyticsaccelerator.util.FakeObjectClient;
+import software.amazon.s3.analyticsaccelerator.util.IOStatistics;
 import software.amazon.s3.analyticsaccelerator.util.S3URI;
 
 public class BlockStoreTest {
@@ -45,7 +52,15 @@ public class BlockStoreTest {
 
     // When: a new block is added
     blockStore.add(
-        new Block(TEST_URI, fakeObjectClient, TestTelemetry.DEFAULT, 3, 5, 0, ReadMode.SYNC));
+        new Block(
+            TEST_URI,
+            fakeObjectClient,
+            TestTelemetry.DEFAULT,
+            3,
+            5,
+            0,
+            ReadMode.SYNC,
+            IOStatistics.NONE));
 
     // Then: getBlock can retrieve the same block
     Optional<Block> b = blockStore.getBlock(4);
@@ -56,6 +71,81 @@ public class BlockStoreTest {
     assertEquals(b.get().getGeneration(), 0);
   }
 
+  @Test
+  public void test__blockStore__findBlockReturnsNullWhenMissing() {
+    // Given: BlockStore with block (3,5)
+    FakeObjectClient fakeObjectClient = new FakeObjectClient("test-data");
+    MetadataStore metadataStore =
+        new MetadataStore(fakeObjectClient, TestTelemetry.DEFAULT, PhysicalIOConfiguration.DEFAULT);
+    BlockStore blockStore = new BlockStore(TEST_URI, metadataStore);
+    Block block =
+        new Block(
+            TEST_URI,
+            fakeObjectClient,
+            TestTelemetry.DEFAULT,
+            3,
+            5,
+            0,
+            ReadMode.SYNC,
+            IOStatistics.NONE);
+    blockStore.add(block);
+
+    // When & Then: findBlock returns the block holding the byte, or null
+    assertSame(block, blockStore.findBlock(3));
+    assertSame(block, blockStore.findBlock(5));
+    assertNull(blockStore.findBlock(2));
+    assertNull(blockStore.findBlock(6));
+    assertThrows(IllegalArgumentException.class, () -> blockStore.findBlock(-1));
+  }
+
+  @Test
+  public void test__blockStore__isRangeAvailableCorrect() {
+    // Given: BlockStore with blocks (2,3), (4,10), (12,15)
+    FakeObjectClient fakeObjectClient = new FakeObjectClient("xxxxxxxxxxxxxxxx");
+    MetadataStore metadataStore =
+        new MetadataStore(fakeObjectClient, TestTelemetry.DEFAULT, PhysicalIOConfiguration.DEFAULT);
+    BlockStore blockStore = new BlockStore(TEST_URI, metadataStore);
+
+    blockStore.add(
+        new Block(
+            TEST_URI,
+            fakeObjectClient,
+            TestTelemetry.DEFAULT,
+            2,
+            3,
+            0,
+            ReadMode.SYNC,
+            IOStatistics.NONE));
+    blockStore.add(
+        new Block(
+            TEST_URI,
+            fakeObjectClient,
+            TestTelemetry.DEFAULT,
+            4,
+            10,
+            0,
+            ReadMode.SYNC,
+            IOStatistics.NONE));
+    blockStore.add(
+        new Block(
+            TEST_URI,
+            fakeObjectClient,
+            TestTelemetry.DEFAULT,
+            12,
+            15,
+            0,
+            ReadMode.SYNC,
+            IOStatistics.NONE));
+
+    // When & Then: ranges spanning adjacent blocks are available, ranges with gaps are not
+    assertTrue(blockStore.isRangeAvailable(2, 10));
+    assertTrue(blockStore.isRangeAvailable(5, 5));
+    assertFalse(blockStore.isRangeAvailable(1, 3));
+    assertFalse(blockStore.isRangeAvailable(9, 12));
+    // Ranges reaching past the end of the object only need the bytes up to the end
+    assertTrue(blockStore.isRangeAvailable(12, 100));
+  }
+
   @Test
   public void test__blockStore__findNextMissingByteCorrect() {
     // Given: BlockStore with blocks (2,3), (5,10), (12,15)
@@ -66,11 +156,35 @@ public class BlockStoreTest {
     BlockStore blockStore = new BlockStore(TEST_URI, metadataStore);
 
     blockStore.add(
-        new Block(TEST_URI, fakeObjectClient, TestTelemetry.DEFAULT, 2, 3, 0, ReadMode.SYNC));
+        new Block(
+            TEST_URI,
+            fakeObjectClient,
+            TestTelemetry.DEFAULT,
+            2,
+            3,
+            0,
+            ReadMode.SYNC,
+            IOStatistics.NONE));
     blockStore.add(
-        new Block(TEST_URI, fakeObjectClient, TestTelemetry.DEFAULT, 5, 10, 0, ReadMode.SYNC));
+        new Block(
+            TEST_URI,
+            fakeObjectClient,
+            TestTelemetry.DEFAULT,
+            5,
+            10,
+            0,
+            ReadMode.SYNC,
+            IOStatistics.NONE));
     blockStore.add(
-        new Block(TEST_URI, fakeObjectClient, TestTelemetry.DEFAULT, 12, 15, 0, ReadMode.SYNC));
+        new Block(
+            TEST_URI,
+            fakeObjectClient,
+            TestTelemetry.DEFAULT,
+            12,
+            15,
+            0,
+            ReadMode.SYNC,
+            IOStatistics.NONE));
 
     // When & Then: we query for the next missing byte, the result is correct
     assertEquals(OptionalLong.of(0), blockStore.findNextMissingByte(0));
@@ -93,11 +207,35 @@ public class BlockStoreTest {
     BlockStore blockStore = new BlockStore(TEST_URI, metadataStore);
 
     blockStore.add(
-        new Block(TEST_URI, fakeObjectClient, TestTelemetry.DEFAULT, 2, 3, 0, ReadMode.SYNC));
+        new Block(
+            TEST_URI,
+            fakeObjectClient,
+            TestTelemetry.DEFAULT,
+            2,
+            3,
+            0,
+            ReadMode.SYNC,
+            IOStatistics.NONE));
     blockStore.add(
-        new Block(TEST_URI, fakeObjectClient, TestTelemetry.DEFAULT, 5, 10, 0, ReadMode.SYNC));
+        new Block(
+            TEST_URI,
+            fakeObjectClient,
+            TestTelemetry.DEFAULT,
+            5,
+            10,
+            0,
+            ReadMode.SYNC,
+            IOStatistics.NONE));
     blockStore.add(
-        new Block(TEST_URI, fakeObjectClient, TestTelemetry.DEFAULT, 12, 15, 0, ReadMode.SYNC));
+        new Block(
+            TEST_URI,
+            fakeObjectClient,
+            TestTelemetry.DEFAULT,
+            12,
+            15,
+            0,
+            ReadMode.SYNC,
+            IOStatistics.NONE));
 
     // When & Then: we query for the next available byte, the result is correct
     assertEquals(OptionalLong.of(2), blockStore.findNextLoadedByte(0));
@@ -110,6 +248,73 @@ public class BlockStoreTest {
     assertEquals(OptionalLong.of(15), blockStore.findNextLoadedByte(15));
   }
 
+  @Test
+  public void test__blockStore__getBlocksReturnsOverlappingBlocks() {
+    // Given: BlockStore with blocks (2,3), (5,10), (12,15)
+    FakeObjectClient fakeObjectClient = new FakeObjectClient("xxxxxxxxxxxxxxxx");
+    MetadataStore metadataStore =
+        new MetadataStore(fakeObjectClient, TestTelemetry.DEFAULT, PhysicalIOConfiguration.DEFAULT);
+    BlockStore blockStore = new BlockStore(TEST_URI, metadataStore);
+    Block b1 =
+        new Block(
+            TEST_URI,
+            fakeObjectClient,
+            TestTelemetry.DEFAULT,
+            2,
+            3,
+            0,
+            ReadMode.SYNC,
+            IOStatistics.NONE);
+    Block b2 =
+        new Block(
+            TEST_URI,
+            fakeObjectClient,
+            TestTelemetry.DEFAULT,
+            5,
+            10,
+            0,
+            ReadMode.SYNC,
+            IOStatistics.NONE);
+    Block b3 =
+        new Block(
+            TEST_URI,
+            fakeObjectClient,
+            TestTelemetry.DEFAULT,
+            12,
+            15,
+            0,
+            ReadMode.SYNC,
+            IOStatistics.NONE);
+    blockStore.add(b1);
+    blockStore.add(b2);
+    blockStore.add(b3);
+
+    // When & Then: we query for blocks in a range, the overlapping ones are returned
+    List<Block> blocks = blockStore.getBlocks(3, 12);
+    assertEquals(3, blocks.size());
+    assertEquals(b1, blocks.get(0));
+    assertEquals(b3, blocks.get(2));
+    assertEquals(1, blockStore.getBlocks(6, 7).size());
+    assertTrue(blockStore.getBlocks(0, 1).isEmpty());
+    assertTrue(blockStore.getBlocks(11, 11).isEmpty());
+  }
+
+  @Test
+  public void test__blockStore__removeClosesBlock() {
+    // Given: BlockStore with a block
+    BlockStore blockStore = new BlockStore(TEST_URI, mock(MetadataStore.class));
+    Block block = mock(Block.class);
+    when(block.contains(4)).thenReturn(true);
+    blockStore.add(block);
+
+    // When: the block is removed
+    blockStore.remove(block);
+
+    // Then: the block is closed and no longer served
+    verify(block, times(1)).close();
+    assertFalse(blockStore.getBlock(4).isPresent());
+  }
+
   @Test
   public void test__blockStore__closesBlocks() {
     // Given: BlockStore with a block
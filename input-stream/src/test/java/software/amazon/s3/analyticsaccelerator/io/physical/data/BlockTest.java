@@ -18,12 +18,15 @@ package software.amazon.s3.analyticsaccelerator.io.physical.data;
 import static org.junit.jupiter.api.Assertions.*;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import org.junit.jupiter.api.Test;
 import software.amazon.s3.analyticsaccelerator.TestTelemetry;
 import software.amazon.s3.analyticsaccelerator.request.ObjectClient;
 import software.amazon.s3.analyticsaccelerator.request.ReadMode;
 import software.amazon.s3.analyticsaccelerator.util.FakeObjectClient;
+import software.amazon.s3.analyticsaccelerator.util.IOStatistics;
+import software.amazon.s3.analyticsaccelerator.util.IOStatisticsSnapshot;
 import software.amazon.s3.analyticsaccelerator.util.S3URI;
 
 @SuppressFBWarnings(
@@ -45,7 +48,8 @@ public class BlockTest {
             0,
             TEST_DATA.length(),
             0,
-            ReadMode.SYNC);
+            ReadMode.SYNC,
+            IOStatistics.NONE);
 
     // When: bytes are requested from the block
     int r1 = block.read(0);
@@ -71,7 +75,8 @@ public class BlockTest {
             0,
             TEST_DATA.length(),
             0,
-            ReadMode.SYNC);
+            ReadMode.SYNC,
+            IOStatistics.NONE);
 
     // When: bytes are requested from the block
     byte[] b1 = new byte[4];
@@ -101,20 +106,44 @@ public class BlockTest {
                 0,
                 TEST_DATA.length(),
                 0,
-                ReadMode.SYNC));
+                ReadMode.SYNC,
+                IOStatistics.NONE));
     assertThrows(
         NullPointerException.class,
         () ->
             new Block(
-                TEST_URI, null, TestTelemetry.DEFAULT, 0, TEST_DATA.length(), 0, ReadMode.SYNC));
+                TEST_URI,
+                null,
+                TestTelemetry.DEFAULT,
+                0,
+                TEST_DATA.length(),
+                0,
+                ReadMode.SYNC,
+                IOStatistics.NONE));
     assertThrows(
         NullPointerException.class,
-        () -> new Block(TEST_URI, fakeObjectClient, null, 0, TEST_DATA.length(), 0, ReadMode.SYNC));
+        () ->
+            new Block(
+                TEST_URI,
+                fakeObjectClient,
+                null,
+                0,
+                TEST_DATA.length(),
+                0,
+                ReadMode.SYNC,
+                IOStatistics.NONE));
     assertThrows(
         NullPointerException.class,
         () ->
             new Block(
-                TEST_URI, fakeObjectClient, TestTelemetry.DEFAULT, 0, TEST_DATA.length(), 0, null));
+                TEST_URI,
+                fakeObjectClient,
+                TestTelemetry.DEFAULT,
+                0,
+                TEST_DATA.length(),
+                0,
+                null,
+                IOStatistics.NONE));
   }
 
   @Test
@@ -131,19 +160,44 @@ public class BlockTest {
                 -1,
                 TEST_DATA.length(),
                 0,
-                ReadMode.SYNC));
+                ReadMode.SYNC,
+                IOStatistics.NONE));
     assertThrows(
         IllegalArgumentException.class,
         () ->
-            new Block(TEST_URI, fakeObjectClient, TestTelemetry.DEFAULT, 0, -5, 0, ReadMode.SYNC));
+            new Block(
+                TEST_URI,
+                fakeObjectClient,
+                TestTelemetry.DEFAULT,
+                0,
+                -5,
+                0,
+                ReadMode.SYNC,
+                IOStatistics.NONE));
     assertThrows(
         IllegalArgumentException.class,
         () ->
-            new Block(TEST_URI, fakeObjectClient, TestTelemetry.DEFAULT, 20, 1, 0, ReadMode.SYNC));
+            new Block(
+                TEST_URI,
+                fakeObjectClient,
+                TestTelemetry.DEFAULT,
+                20,
+                1,
+                0,
+                ReadMode.SYNC,
+                IOStatistics.NONE));
     assertThrows(
         IllegalArgumentException.class,
         () ->
-            new Block(TEST_URI, fakeObjectClient, TestTelemetry.DEFAULT, 0, 5, -1, ReadMode.SYNC));
+            new Block(
+                TEST_URI,
+                fakeObjectClient,
+                TestTelemetry.DEFAULT,
+                0,
+                5,
+                -1,
+                ReadMode.SYNC,
+                IOStatistics.NONE));
     assertThrows(
         IllegalArgumentException.class,
         () ->
@@ -154,7 +208,8 @@ public class BlockTest {
                 -5,
                 0,
                 TEST_DATA.length(),
-                ReadMode.SYNC));
+                ReadMode.SYNC,
+                IOStatistics.NONE));
   }
 
   @Test
@@ -170,7 +225,8 @@ public class BlockTest {
             0,
             TEST_DATA.length(),
             0,
-            ReadMode.SYNC);
+            ReadMode.SYNC,
+            IOStatistics.NONE);
     assertThrows(IllegalArgumentException.class, () -> block.read(-10));
     assertThrows(NullPointerException.class, () -> block.read(null, 0, 3, 1));
     assertThrows(IllegalArgumentException.class, () -> block.read(b, -5, 3, 1));
@@ -190,7 +246,8 @@ public class BlockTest {
             0,
             TEST_DATA.length(),
             0,
-            ReadMode.SYNC);
+            ReadMode.SYNC,
+            IOStatistics.NONE);
     assertTrue(block.contains(0));
     assertFalse(block.contains(TEST_DATA.length() + 1));
   }
@@ -207,7 +264,8 @@ public class BlockTest {
             0,
             TEST_DATA.length(),
             0,
-            ReadMode.SYNC);
+            ReadMode.SYNC,
+            IOStatistics.NONE);
     assertThrows(IllegalArgumentException.class, () -> block.contains(-1));
   }
 
@@ -223,8 +281,192 @@ public class BlockTest {
             0,
             TEST_DATA.length(),
             0,
-            ReadMode.SYNC);
+            ReadMode.SYNC,
+            IOStatistics.NONE);
     block.close();
     block.close();
   }
+
+  @Test
+  public void testReadAsyncCopiesOverlappingBytes() {
+    // Given: a Block holding "data" out of "test-data"
+    final String TEST_DATA = "test-data";
+    ObjectClient fakeObjectClient = new FakeObjectClient(TEST_DATA);
+    Block block =
+        new Block(
+            TEST_URI,
+            fakeObjectClient,
+            TestTelemetry.DEFAULT,
+            5,
+            8,
+            0,
+            ReadMode.SYNC,
+            IOStatistics.NONE);
+
+    // When: a range starting before the block is read
+    ByteBuffer buffer = ByteBuffer.allocate(6);
+    int r1 = block.readAsync(buffer, 3, 6).join();
+    int r2 = block.readAsync(ByteBuffer.allocate(2), 0, 2).join();
+
+    // Then: only the bytes of the block are copied, at their offset in the range
+    assertEquals(4, r1);
+    assertEquals(0, buffer.position());
+    assertEquals("data", new String(buffer.array(), 2, 4, StandardCharsets.UTF_8));
+    assertEquals(0, r2);
+  }
+
+  @Test
+  public void testByteBufferReadReturnsCorrectBytes() {
+    // Given: a Block containing "test-data"
+    final String TEST_DATA = "test-data";
+    ObjectClient fakeObjectClient = new FakeObjectClient(TEST_DATA);
+    Block block =
+        new Block(
+            TEST_URI,
+            fakeObjectClient,
+            TestTelemetry.DEFAULT,
+            0,
+            TEST_DATA.length() - 1,
+            0,
+            ReadMode.SYNC,
+            IOStatistics.NONE);
+
+    // When: bytes are requested into a direct buffer larger than what is left in the block
+    ByteBuffer buffer = ByteBuffer.allocateDirect(8);
+    int r1 = block.read(buffer, 5);
+
+    // Then: the remaining bytes of the block are copied
+    assertEquals(4, r1);
+    assertEquals(4, buffer.position());
+    buffer.flip();
+    byte[] bytes = new byte[4];
+    buffer.get(bytes);
+    assertEquals("data", new String(bytes, StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void testViewIsPositionedAtTheByte() {
+    // Given: a Block holding bytes 2 to 8 of the object
+    final String TEST_DATA = "test-data";
+    ObjectClient fakeObjectClient = new FakeObjectClient(TEST_DATA);
+    Block block =
+        new Block(
+            TEST_URI,
+            fakeObjectClient,
+            TestTelemetry.DEFAULT,
+            2,
+            8,
+            0,
+            ReadMode.SYNC,
+            IOStatistics.NONE);
+
+    // When: a view of the block is requested at position 5
+    ByteBuffer view = block.view(5);
+
+    // Then: the read-only view spans the block and is positioned at the byte
+    assertTrue(view.isReadOnly());
+    assertEquals(3, view.position());
+    assertEquals(7, view.limit());
+    assertEquals((byte) 'd', view.get());
+    assertThrows(IllegalArgumentException.class, () -> block.view(1));
+    assertThrows(IllegalArgumentException.class, () -> block.view(9));
+  }
+
+  @Test
+  public void testGetIsRecordedIntoStatistics() {
+    // Given: statistics and a Block containing "test-data"
+    final String TEST_DATA = "test-data";
+    ObjectClient fakeObjectClient = new FakeObjectClient(TEST_DATA);
+    IOStatistics statistics = new IOStatistics();
+
+    // When: a sync and a prefetched block are created and read
+    Block sync =
+        new Block(
+            TEST_URI,
+            fakeObjectClient,
+            TestTelemetry.DEFAULT,
+            0,
+            3,
+            0,
+            ReadMode.SYNC,
+            statistics);
+    Block prefetched =
+        new Block(
+            TEST_URI,
+            fakeObjectClient,
+            TestTelemetry.DEFAULT,
+            4,
+            8,
+            0,
+            ReadMode.ASYNC,
+            statistics);
+    assertEquals(116, sync.read(0)); // 't' = 116
+    assertEquals(100, prefetched.read(5)); // 'd' = 100
+
+    // Then: both GETs are recorded, and only the bytes of the second as prefetched
+    IOStatisticsSnapshot snapshot = statistics.snapshot();
+    assertEquals(2, snapshot.getGetRequests());
+    assertEquals(9, snapshot.getBytesFetched());
+    assertEquals(5, snapshot.getPrefetchedBytes());
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new Block(
+                TEST_URI,
+                fakeObjectClient,
+                TestTelemetry.DEFAULT,
+                0,
+                3,
+                0,
+                ReadMode.SYNC,
+                null));
+  }
+
+  @Test
+  public void testClosingUnreadPrefetchedBlockRecordsWastedBytes() {
+    // Given: statistics and blocks containing "test-data"
+    final String TEST_DATA = "test-data";
+    ObjectClient fakeObjectClient = new FakeObjectClient(TEST_DATA);
+    IOStatistics statistics = new IOStatistics();
+    Block unread =
+        new Block(
+            TEST_URI,
+            fakeObjectClient,
+            TestTelemetry.DEFAULT,
+            0,
+            3,
+            0,
+            ReadMode.ASYNC,
+            statistics);
+    Block read =
+        new Block(
+            TEST_URI,
+            fakeObjectClient,
+            TestTelemetry.DEFAULT,
+            4,
+            8,
+            0,
+            ReadMode.ASYNC,
+            statistics);
+    Block sync =
+        new Block(
+            TEST_URI,
+            fakeObjectClient,
+            TestTelemetry.DEFAULT,
+            0,
+            8,
+            0,
+            ReadMode.SYNC,
+            statistics);
+
+    // When: one of the prefetched blocks is read, and all of them are closed, one of them twice
+    assertEquals(100, read.read(5)); // 'd' = 100
+    unread.close();
+    unread.close();
+    read.close();
+    sync.close();
+
+    // Then: only the prefetched block that was never read is wasted, and only once
+    assertEquals(4, statistics.snapshot().getPrefetchedBytesWasted());
+  }
 }
@@ -18,12 +18,15 @@ package software.amazon.s3.analyticsaccelerator.io.physical.impl;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import org.junit.jupiter.api.Test;
 import software.amazon.s3.analyticsaccelerator.TestTelemetry;
 import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIOConfiguration;
 import software.amazon.s3.analyticsaccelerator.io.physical.data.BlobStore;
 import software.amazon.s3.analyticsaccelerator.io.physical.data.MetadataStore;
 import software.amazon.s3.analyticsaccelerator.util.FakeObjectClient;
+import software.amazon.s3.analyticsaccelerator.util.IOStatistics;
+import software.amazon.s3.analyticsaccelerator.util.IOStatisticsSnapshot;
 import software.amazon.s3.analyticsaccelerator.util.S3URI;
 
 public class PhysicalIOImplTest {
@@ -73,4 +76,40 @@ public class PhysicalIOImplTest {
     // Then: returned data is correct
     assertEquals(120, physicalIOImplV2.read(0)); // a
   }
+
+  @Test
+  public void test__reads_areRecordedIntoStatistics() throws IOException {
+    // Given: physicalIOImplV2 recording into statistics aggregated by a parent
+    final String TEST_DATA = "abcdef0123456789";
+    FakeObjectClient fakeObjectClient = new FakeObjectClient(TEST_DATA);
+    MetadataStore metadataStore =
+        new MetadataStore(fakeObjectClient, TestTelemetry.DEFAULT, PhysicalIOConfiguration.DEFAULT);
+    BlobStore blobStore =
+        new BlobStore(
+            metadataStore,
+            fakeObjectClient,
+            TestTelemetry.DEFAULT,
+            PhysicalIOConfiguration.DEFAULT);
+    IOStatistics parent = new IOStatistics();
+    IOStatistics statistics = new IOStatistics(parent);
+    PhysicalIOImpl physicalIOImplV2 =
+        new PhysicalIOImpl(s3URI, metadataStore, blobStore, TestTelemetry.DEFAULT, statistics);
+
+    // When: we read in all the supported ways
+    physicalIOImplV2.read(0);
+    physicalIOImplV2.read(new byte[4], 0, 4, 1);
+    physicalIOImplV2.read(ByteBuffer.allocate(2), 5);
+    physicalIOImplV2.readTail(new byte[3], 0, 3);
+    physicalIOImplV2.readAsync(8, ByteBuffer.allocate(5)).join();
+
+    // Then: the reads, and the single GET they needed, are recorded and aggregated by the parent
+    IOStatisticsSnapshot snapshot = statistics.snapshot();
+    assertEquals(5, snapshot.getReadOperations());
+    assertEquals(15, snapshot.getBytesRequested());
+    assertEquals(1, snapshot.getGetRequests());
+    assertEquals(TEST_DATA.length(), snapshot.getBytesFetched());
+    assertEquals(1, snapshot.getCacheMisses());
+    assertEquals(4, snapshot.getCacheHits());
+    assertEquals(snapshot, parent.snapshot());
+  }
 }
@@ -0,0 +1,111 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+
+@SuppressFBWarnings(
+    value = "NP_NONNULL_PARAM_VIOLATION",
+    justification = "We mean to pass nulls to checks")
+public class AsyncExecutorsTest {
+
+  @Test
+  void testCreateThrowsOnNullArgument() {
+    assertThrows(NullPointerException.class, () -> AsyncExecutors.create(null));
+  }
+
+  @Test
+  void testCreateCommonPool() {
+    LogicalIOConfiguration configuration =
+        LogicalIOConfiguration.builder().asyncExecutorMode(ExecutorMode.COMMON_POOL).build();
+
+    assertSame(ForkJoinPool.commonPool(), AsyncExecutors.create(configuration));
+  }
+
+  @Test
+  void testCreateBoundedPool() throws Exception {
+    // Given
+    LogicalIOConfiguration configuration =
+        LogicalIOConfiguration.builder()
+            .asyncExecutorMode(ExecutorMode.BOUNDED)
+            .asyncExecutorThreads(4)
+            .build();
+
+    // When
+    ExecutorService executor = AsyncExecutors.create(configuration);
+
+    // Then: tasks run on named daemon threads of a pool of the configured size
+    try {
+      ThreadPoolExecutor threadPoolExecutor = assertInstanceOf(ThreadPoolExecutor.class, executor);
+      assertEquals(4, threadPoolExecutor.getMaximumPoolSize());
+      Thread thread = executor.submit(Thread::currentThread).get(5, TimeUnit.SECONDS);
+      assertTrue(thread.isDaemon());
+      assertTrue(thread.getName().startsWith("s3-analytics-accelerator-async-"));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void testCreateBoundedPoolThrowsOnInvalidSize() {
+    assertThrows(IllegalArgumentException.class, () -> AsyncExecutors.createBoundedExecutor(0));
+  }
+
+  @Test
+  void testSharedExecutor() throws Exception {
+    // When
+    Executor executor = AsyncExecutors.shared();
+
+    // Then: a single bounded pool of the library, running tasks on its daemon threads
+    assertSame(executor, AsyncExecutors.shared());
+    assertNotSame(ForkJoinPool.commonPool(), executor);
+    ThreadPoolExecutor threadPoolExecutor = assertInstanceOf(ThreadPoolExecutor.class, executor);
+    assertEquals(
+        LogicalIOConfiguration.DEFAULT.getAsyncExecutorThreads(),
+        threadPoolExecutor.getMaximumPoolSize());
+    Thread thread =
+        CompletableFuture.supplyAsync(Thread::currentThread, executor).get(5, TimeUnit.SECONDS);
+    assertTrue(thread.isDaemon());
+    assertTrue(thread.getName().startsWith("s3-analytics-accelerator-async-"));
+  }
+
+  @Test
+  void testCreateVirtualThreadsRunsTasks() throws Exception {
+    // Given: virtual threads, or a bounded pool on JVMs without them
+    LogicalIOConfiguration configuration =
+        LogicalIOConfiguration.builder().asyncExecutorMode(ExecutorMode.VIRTUAL).build();
+
+    // When
+    ExecutorService executor = AsyncExecutors.create(configuration);
+
+    // Then
+    try {
+      assertEquals(Integer.valueOf(42), executor.submit(() -> 42).get(5, TimeUnit.SECONDS));
+    } finally {
+      executor.shutdown();
+    }
+  }
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+public class ExecutorModeTest {
+
+  @Test
+  public void testExecutorModeFromString() {
+    assertEquals(ExecutorMode.COMMON_POOL, ExecutorMode.fromString("common_POOL"));
+    assertEquals(ExecutorMode.BOUNDED, ExecutorMode.fromString("bounded"));
+    assertEquals(ExecutorMode.VIRTUAL, ExecutorMode.fromString("VIRTUAL"));
+
+    // defaults to BOUNDED mode
+    assertEquals(ExecutorMode.BOUNDED, ExecutorMode.fromString("xyz"));
+  }
+}
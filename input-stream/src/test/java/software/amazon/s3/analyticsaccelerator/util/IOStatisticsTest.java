@@ -0,0 +1,176 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+@SuppressFBWarnings(
+    value = "NP_NONNULL_PARAM_VIOLATION",
+    justification = "We mean to pass nulls to checks")
+public class IOStatisticsTest {
+
+  @Test
+  public void testNewStatisticsAreEmpty() {
+    // Given: new statistics
+    IOStatistics statistics = new IOStatistics();
+
+    // When: a snapshot is taken
+    IOStatisticsSnapshot snapshot = statistics.snapshot();
+
+    // Then: all the counters are zero
+    assertEquals(IOStatisticsSnapshot.builder().build(), snapshot);
+  }
+
+  @Test
+  public void testRecordedValuesAreInTheSnapshot() {
+    // Given: new statistics
+    IOStatistics statistics = new IOStatistics();
+
+    // When: I/O is recorded
+    statistics.recordRead(10);
+    statistics.recordRead(5);
+    statistics.recordBytesRequested(3);
+    statistics.recordGet(100, false);
+    statistics.recordGet(50, true);
+    statistics.recordCacheHit();
+    statistics.recordCacheHit();
+    statistics.recordCacheMiss();
+    statistics.recordPrefetchWasted(20);
+    statistics.recordBlocked(1000);
+
+    // Then: the snapshot holds the recorded values
+    assertEquals(
+        IOStatisticsSnapshot.builder()
+            .readOperations(2)
+            .bytesRequested(18)
+            .getRequests(2)
+            .bytesFetched(150)
+            .cacheHits(2)
+            .cacheMisses(1)
+            .prefetchedBytes(50)
+            .prefetchedBytesWasted(20)
+            .blockedNanos(1000)
+            .build(),
+        statistics.snapshot());
+  }
+
+  @Test
+  public void testUpdatesAreAggregatedIntoParent() {
+    // Given: two statistics sharing a parent
+    IOStatistics parent = new IOStatistics();
+    IOStatistics first = new IOStatistics(parent);
+    IOStatistics second = new IOStatistics(parent);
+
+    // When: I/O is recorded into both
+    first.recordRead(10);
+    first.recordGet(100, true);
+    second.recordRead(5);
+    second.recordCacheHit();
+
+    // Then: each only holds its own, and the parent holds the sum
+    assertEquals(10, first.snapshot().getBytesRequested());
+    assertEquals(0, first.snapshot().getCacheHits());
+    assertEquals(5, second.snapshot().getBytesRequested());
+    assertEquals(0, second.snapshot().getGetRequests());
+    assertEquals(2, parent.snapshot().getReadOperations());
+    assertEquals(15, parent.snapshot().getBytesRequested());
+    assertEquals(1, parent.snapshot().getGetRequests());
+    assertEquals(100, parent.snapshot().getPrefetchedBytes());
+    assertEquals(1, parent.snapshot().getCacheHits());
+  }
+
+  @Test
+  public void testNoneDiscardsUpdates() {
+    // When: I/O is recorded into the statistics of no stream
+    IOStatistics.NONE.recordRead(10);
+    IOStatistics.NONE.recordBytesRequested(3);
+    IOStatistics.NONE.recordGet(100, true);
+    IOStatistics.NONE.recordCacheHit();
+    IOStatistics.NONE.recordCacheMiss();
+    IOStatistics.NONE.recordPrefetchWasted(20);
+    IOStatistics.NONE.recordBlocked(1000);
+
+    // Then: nothing is kept
+    assertEquals(IOStatisticsSnapshot.builder().build(), IOStatistics.NONE.snapshot());
+    assertSame(IOStatistics.NONE, IOStatistics.NONE.internal());
+  }
+
+  @Test
+  public void testInternalStatisticsOnlyCountFetches() {
+    // Given: the statistics of the internal reads of a stream
+    IOStatistics parent = new IOStatistics();
+    IOStatistics statistics = new IOStatistics(parent);
+    IOStatistics internal = statistics.internal();
+
+    // When: internal reads are recorded, along with the GET requests they issue
+    internal.recordRead(10);
+    internal.recordBytesRequested(3);
+    internal.recordCacheHit();
+    internal.recordCacheMiss();
+    internal.recordBlocked(1000);
+    internal.recordGet(100, false);
+    internal.recordGet(50, true);
+    internal.recordPrefetchWasted(20);
+
+    // Then: only the GET requests and their bytes are counted into the stream and its parent
+    IOStatisticsSnapshot expected =
+        IOStatisticsSnapshot.builder()
+            .getRequests(2)
+            .bytesFetched(150)
+            .prefetchedBytes(50)
+            .prefetchedBytesWasted(20)
+            .build();
+    assertEquals(expected, statistics.snapshot());
+    assertEquals(expected, parent.snapshot());
+  }
+
+  @Test
+  public void testConcurrentUpdatesAreAllCounted() throws InterruptedException {
+    // Given: statistics updated from several threads
+    IOStatistics parent = new IOStatistics();
+    IOStatistics statistics = new IOStatistics(parent);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    // When: each thread records reads
+    for (int i = 0; i < 4; i++) {
+      executor.execute(
+          () -> {
+            for (int j = 0; j < 1000; j++) {
+              statistics.recordRead(2);
+            }
+          });
+    }
+    executor.shutdown();
+    assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+    // Then: no update is lost
+    assertEquals(4000, statistics.snapshot().getReadOperations());
+    assertEquals(8000, parent.snapshot().getBytesRequested());
+  }
+
+  @Test
+  public void testConstructorThrowsOnNullParent() {
+    assertThrows(NullPointerException.class, () -> new IOStatistics(null));
+  }
+}
@@ -17,6 +17,8 @@ package software.amazon.s3.analyticsaccelerator.util;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
@@ -46,7 +48,16 @@ public class ObjectFormatSelectorTest {
   }
 
   @ParameterizedTest
-  @ValueSource(strings = {"key.jar", "key.txt", "key.parque", "key.pa"})
+  @ValueSource(strings = {"key.orc", "dir/KEY.ORC"})
+  public void testDefaultConfigOrcLogicalIOSelection(String key) {
+    ObjectFormatSelector objectFormatSelector =
+        new ObjectFormatSelector(LogicalIOConfiguration.DEFAULT);
+
+    assertEquals(objectFormatSelector.getObjectFormat(S3URI.of("bucket", key)), ObjectFormat.ORC);
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"key.jar", "key.txt", "key.parque", "key.pa", "key.borc", "key.or"})
   public void testNonParquetLogicalIOSelection(String key) {
     ObjectFormatSelector objectFormatSelector =
         new ObjectFormatSelector(LogicalIOConfiguration.DEFAULT);
@@ -54,4 +65,38 @@ public class ObjectFormatSelectorTest {
     assertEquals(
         objectFormatSelector.getObjectFormat(S3URI.of("bucket", key)), ObjectFormat.DEFAULT);
   }
+
+  @Test
+  public void testObjectFormatDetectionFromContent() {
+    ObjectFormatSelector objectFormatSelector =
+        new ObjectFormatSelector(LogicalIOConfiguration.DEFAULT);
+
+    assertEquals(ObjectFormat.PARQUET, objectFormatSelector.getObjectFormat(bytes("PAR1"), 1024));
+    assertEquals(
+        ObjectFormat.PARQUET, objectFormatSelector.getObjectFormat(bytes("footerPAR1"), 1024));
+    // ORC files end with the magic closing their postscript, followed by its length
+    assertEquals(ObjectFormat.ORC, objectFormatSelector.getObjectFormat(bytes("ORC\u0017"), 1024));
+
+    assertEquals(ObjectFormat.DEFAULT, objectFormatSelector.getObjectFormat(bytes("a,b\n"), 1024));
+    assertEquals(ObjectFormat.DEFAULT, objectFormatSelector.getObjectFormat(bytes("PAR1\n"), 1024));
+    assertEquals(ObjectFormat.DEFAULT, objectFormatSelector.getObjectFormat(bytes("AR1"), 1024));
+    assertEquals(ObjectFormat.DEFAULT, objectFormatSelector.getObjectFormat(new byte[0], 1024));
+  }
+
+  @Test
+  public void testOrcDetectionChecksPostscriptLength() {
+    ObjectFormatSelector objectFormatSelector =
+        new ObjectFormatSelector(LogicalIOConfiguration.DEFAULT);
+
+    // A postscript can be neither empty nor as long as the object holding it
+    assertEquals(
+        ObjectFormat.DEFAULT, objectFormatSelector.getObjectFormat(bytes("ORC\u0000"), 1024));
+    assertEquals(
+        ObjectFormat.DEFAULT, objectFormatSelector.getObjectFormat(bytes("ORC\u0017"), 23));
+    assertEquals(ObjectFormat.ORC, objectFormatSelector.getObjectFormat(bytes("ORC\u0017"), 24));
+  }
+
+  private static byte[] bytes(String content) {
+    return content.getBytes(StandardCharsets.US_ASCII);
+  }
 }